@@ -21,10 +21,13 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.file.StandardCopyOption;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
@@ -41,13 +44,30 @@ import org.apache.commons.io.FileUtils;
 import org.uberfire.java.nio.file.DirectoryStream;
 import org.uberfire.java.nio.file.Files;
 import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
 
+/**
+ * Materializes a project from the VFS into a local directory so it can be built. The directory is reused between
+ * builds: an index keeps the identity of every file written and only the files whose identity changed are written
+ * again, while the files no longer present are deleted.
+ * <p>
+ * On git backed file systems the identity of a file is its blob id and the identity of a folder its tree id, both
+ * already known by the repository, so unchanged files are never read and unchanged folders are not even visited. On
+ * other file systems the identity of a file is the MD5 of its content.
+ */
 public class RepositoryVisitor {
 
     private static final Random RND = new Random();
+    private static final int BUFFER = 64 * 1024;
+    private static final String INDEX_FILE = "/index.json";
+    private static final String TREE_INDEX_FILE = "/tree-index.json";
+    private static final String GIT_SCHEME = "git";
+
     private File root;
     private final Map<String, String> identityHash = new ConcurrentHashMap<>();
+    private final Map<String, String> treeHash = new ConcurrentHashMap<>();
     private Map<String, String> oldIdentityHash;
+    private Map<String, String> oldTreeHash = Collections.emptyMap();
 
     public RepositoryVisitor(final Path projectPath,
                              final String projectName) {
@@ -66,17 +86,20 @@ public class RepositoryVisitor {
             if (_projectRoot != null && !_projectRoot.equals("")) {
                 loadIndex(root.getAbsolutePath());
             }
-            visitPaths(root,
-                       Files.newDirectoryStream(projectPath));
+            visitDirectory(root,
+                           projectPath);
             if (oldIdentityHash != null) {
                 MapDifference<String, String> difference = Maps.difference(oldIdentityHash,
                                                                            identityHash);
                 Map<String, String> deletedFiles = difference.entriesOnlyOnLeft();
+                //The index keys are the VFS paths, the project path being materialized as the root directory
+                final String projectRoot = projectPath.toString().endsWith("/") ? projectPath.toString().substring(0,
+                                                                                                                    projectPath.toString().length() - 1) : projectPath.toString();
                 for (String path : deletedFiles.keySet()) {
-                    boolean deleted = new File(root.getAbsolutePath().replace(projectPath.toString(),
-                                                                              "") + "/" + path).delete();
-                    System.out.println("Deleted: " + root.getAbsolutePath().replace(projectPath.toString(),
-                                                                                    "") + "/" + path + " -> " + deleted);
+                    final File deletedFile = new File(root,
+                                                      path.startsWith(projectRoot) ? path.substring(projectRoot.length()) : path);
+                    boolean deleted = deletedFile.delete();
+                    System.out.println("Deleted: " + deletedFile.getAbsolutePath() + " -> " + deleted);
                 }
             }
             storeIndex(root.getAbsolutePath());
@@ -90,9 +113,17 @@ public class RepositoryVisitor {
     }
 
     private void storeIndex(String path) {
-        final File identityHashFile = new File(path + "/index.json");
+        storeIndex(path + INDEX_FILE,
+                   identityHash);
+        storeIndex(path + TREE_INDEX_FILE,
+                   treeHash);
+    }
+
+    private void storeIndex(final String indexPath,
+                            final Map<String, String> index) {
+        final File identityHashFile = new File(indexPath);
         Gson gson = new GsonBuilder().create();
-        String json = gson.toJson(identityHash);
+        String json = gson.toJson(index);
         try (FileOutputStream output = new FileOutputStream(identityHashFile)) {
             output.write(json.getBytes());
         } catch (IOException ex) {
@@ -103,16 +134,61 @@ public class RepositoryVisitor {
     }
 
     private void loadIndex(String path) {
+        oldIdentityHash = loadIndex(path + INDEX_FILE);
+        if (oldIdentityHash != null) {
+            //Folders can only be skipped when the files they hold are known
+            final Map<String, String> oldTrees = loadIndex(path + TREE_INDEX_FILE);
+            if (oldTrees != null) {
+                oldTreeHash = oldTrees;
+            }
+        }
+    }
+
+    private Map<String, String> loadIndex(final String indexPath) {
         Gson gson = new Gson();
-        try {
-            JsonReader reader = new JsonReader(new FileReader(path + "/index.json"));
+        try (JsonReader reader = new JsonReader(new FileReader(indexPath))) {
             Type type = new TypeToken<Map<String, String>>() {
             }.getType();
-            oldIdentityHash = gson.fromJson(reader,
-                                            type);
+            return gson.fromJson(reader,
+                                 type);
         } catch (FileNotFoundException ex) {
             //The Index doesn't exist yet, it will be generated after the Repository visitor is used for the first time.
+            return null;
+        } catch (IOException ex) {
+            Logger.getLogger(RepositoryVisitor.class.getName()).log(Level.WARNING,
+                                                                    null,
+                                                                    ex);
+            return null;
+        }
+    }
+
+    private void visitDirectory(final File directory,
+                                final Path path) throws IOException, NoSuchAlgorithmException {
+        final String resourcePath = path.toString();
+        final String treeId = getObjectId(path);
+        if (treeId != null) {
+            treeHash.put(resourcePath,
+                         treeId);
+            if (treeId.equals(oldTreeHash.get(resourcePath)) && directory.isDirectory()) {
+                //Nothing changed below this folder since the last visit, its files are already in place
+                final String prefix = resourcePath.endsWith("/") ? resourcePath : resourcePath + "/";
+                for (final Map.Entry<String, String> entry : oldIdentityHash.entrySet()) {
+                    if (entry.getKey().startsWith(prefix)) {
+                        identityHash.put(entry.getKey(),
+                                         entry.getValue());
+                    }
+                }
+                for (final Map.Entry<String, String> entry : oldTreeHash.entrySet()) {
+                    if (entry.getKey().startsWith(prefix)) {
+                        treeHash.put(entry.getKey(),
+                                     entry.getValue());
+                    }
+                }
+                return;
+            }
         }
+        visitPaths(directory,
+                   Files.newDirectoryStream(path));
     }
 
     private void visitPaths(final File parent,
@@ -121,8 +197,8 @@ public class RepositoryVisitor {
             if (Files.isDirectory(path)) {
                 final File newParent = makeTempDirectory(parent,
                                                          path.getFileName().toString());
-                visitPaths(newParent,
-                           Files.newDirectoryStream(path));
+                visitDirectory(newParent,
+                               path);
             } else {
                 makeTempFile(parent,
                              path);
@@ -162,98 +238,76 @@ public class RepositoryVisitor {
 
     private void makeTempFile(final File parent,
                               final Path path) throws IOException, NoSuchAlgorithmException {
-
-        final int BUFFER = 2048; //Dangerous stuff here ???
-        byte data[] = new byte[BUFFER];
-
-        MessageDigest md = MessageDigest.getInstance("MD5");
-        DigestInputStream dis = new DigestInputStream(Files.newInputStream(path),
-                                                      md);
-        try (BufferedInputStream origin = new BufferedInputStream(dis,
-                                                                  BUFFER)) {
-            String resourcePath = path.toString();
-            readFile(origin,
-                     data,
-                     BUFFER);
-            identityHash.put(resourcePath,
-                             getMD5String(dis.getMessageDigest().digest()));
+        final String resourcePath = path.toString();
+        String identity = getObjectId(path);
+        if (identity == null) {
+            identity = digest(path);
         }
+        identityHash.put(resourcePath,
+                         identity);
 
-        FileOutputStream output = null;
-        dis = new DigestInputStream(Files.newInputStream(path),
-                                    md);
-        try (BufferedInputStream origin = new BufferedInputStream(dis,
-                                                                  BUFFER)) {
-            String resourcePath = path.toString();
-            if (oldIdentityHash != null) {
-                //if the key exist in the old map and the hash is different then we need to override the file
-                if (oldIdentityHash.containsKey(resourcePath) && oldIdentityHash.get(resourcePath) != null
-                        && !oldIdentityHash.get(resourcePath).equals(identityHash.get(resourcePath))) {
+        if (oldIdentityHash != null) {
+            //if the key exist in the old map and the hash is different then we need to override the file
+            if (oldIdentityHash.containsKey(resourcePath) && oldIdentityHash.get(resourcePath) != null
+                    && !oldIdentityHash.get(resourcePath).equals(identity)) {
 
-                    output = writeFile(parent,
-                                       path,
-                                       output,
-                                       origin,
-                                       data,
-                                       BUFFER);
-                    System.out.println("Overriding existing file content : " + resourcePath);
-                } else if (!oldIdentityHash.containsKey(resourcePath)) {
+                writeFile(parent,
+                          path);
+                System.out.println("Overriding existing file content : " + resourcePath);
+            } else if (!oldIdentityHash.containsKey(resourcePath)) {
 
-                    output = writeFile(parent,
-                                       path,
-                                       output,
-                                       origin,
-                                       data,
-                                       BUFFER);
-                }
-            } else {
-                output = writeFile(parent,
-                                   path,
-                                   output,
-                                   origin,
-                                   data,
-                                   BUFFER);
-            }
-        } finally {
-            if (output != null) {
-                output.close();
+                writeFile(parent,
+                          path);
             }
+        } else {
+            writeFile(parent,
+                      path);
+        }
+    }
+
+    /*
+     * The git file system exposes the blob id of files and the tree id of folders as their file key, other file
+     * systems do not guarantee their file keys change along with the content
+     */
+    private String getObjectId(final Path path) {
+        if (!GIT_SCHEME.equals(path.toUri().getScheme())) {
+            return null;
+        }
+        try {
+            final Object fileKey = Files.readAttributes(path,
+                                                        BasicFileAttributes.class).fileKey();
+            return fileKey != null ? fileKey.toString() : null;
+        } catch (Exception e) {
+            return null;
         }
     }
 
     /*
      * reads the file to generate the MD5 Digest
      */
-    private void readFile(final BufferedInputStream origin,
-                          byte[] data,
-                          final int BUFFER) throws IOException {
-        while ((origin.read(data,
-                            0,
-                            BUFFER)) != -1) {
+    private String digest(final Path path) throws IOException, NoSuchAlgorithmException {
+        final byte[] data = new byte[BUFFER];
+        final MessageDigest md = MessageDigest.getInstance("MD5");
+        try (DigestInputStream dis = new DigestInputStream(new BufferedInputStream(Files.newInputStream(path),
+                                                                                   BUFFER),
+                                                           md)) {
+            while ((dis.read(data,
+                             0,
+                             BUFFER)) != -1) {
+            }
+            return getMD5String(md.digest());
         }
     }
 
-    private FileOutputStream writeFile(final File parent,
-                                       final Path path,
-                                       FileOutputStream output,
-                                       final BufferedInputStream origin,
-                                       byte[] data,
-                                       final int BUFFER) throws IOException, FileNotFoundException {
+    private void writeFile(final File parent,
+                           final Path path) throws IOException {
         final File tempFile = new File(parent,
                                        path.getFileName().toString());
-        if (!tempFile.exists()) {
-            tempFile.createNewFile();
-        }
-        output = new FileOutputStream(tempFile);
-        int count;
-        while ((count = origin.read(data,
-                                    0,
-                                    BUFFER)) != -1) {
-            output.write(data,
-                         0,
-                         count);
+        try (InputStream origin = Files.newInputStream(path)) {
+            java.nio.file.Files.copy(origin,
+                                     tempFile.toPath(),
+                                     StandardCopyOption.REPLACE_EXISTING);
         }
-        return output;
     }
 
     public Map<String, String> getIdentityHash() {
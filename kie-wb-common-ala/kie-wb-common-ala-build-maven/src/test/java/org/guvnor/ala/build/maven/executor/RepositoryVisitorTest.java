@@ -19,13 +19,16 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import com.google.common.collect.MapDifference;
 import com.google.common.collect.Maps;
+import com.google.gson.Gson;
 import org.apache.commons.io.FileUtils;
 import org.apache.maven.project.MavenProject;
 import org.appformer.maven.integration.embedder.MavenProjectLoader;
@@ -136,4 +139,73 @@ public class RepositoryVisitorTest {
                      addedFiles.size());
         assertNotNull(addedFiles.get("/file.txt"));
     }
+
+    @Test
+    public void repositoryVisitorSkipsUnchangedFoldersTest() throws IOException {
+        final IOServiceNio2WrapperImpl ioService = new IOServiceNio2WrapperImpl();
+
+        final Optional<Source> sourceOptional = new GitConfigExecutor(new InMemorySourceRegistry()).apply(new GitConfigImpl(tempPath.getAbsolutePath(),
+                                                                                                                    "master",
+                                                                                                                    gitUrl,
+                                                                                                                    "users-nested",
+                                                                                                                    "true"));
+
+        assertTrue(sourceOptional.isPresent());
+
+        final Source source = sourceOptional.get();
+        final FileSystem fs = FileSystems.getFileSystem(URI.create("git://users-nested"));
+
+        ioService.startBatch(fs);
+        ioService.write(fs.getPath("/src/test/resources/unchanged.txt"),
+                        "unchanged");
+        ioService.write(fs.getPath("/src/main/resources/nested/changed.txt"),
+                        "before");
+        ioService.write(fs.getPath("/src/main/resources/nested/deleted.txt"),
+                        "deleted");
+        ioService.endBatch();
+
+        final RepositoryVisitor repositoryVisitor = new RepositoryVisitor(source.getPath(),
+                                                                          "nested");
+        final File root = repositoryVisitor.getRoot();
+        assertTrue(new File(root,
+                            "src/main/resources/nested/deleted.txt").isFile());
+
+        //An identity no longer matching its file is only kept when the file's folder is not visited again
+        final Map<String, String> identityHash = new HashMap<>(repositoryVisitor.getIdentityHash());
+        identityHash.put("/src/test/resources/unchanged.txt",
+                         "not-visited");
+        FileUtils.writeStringToFile(new File(root,
+                                             "index.json"),
+                                    new Gson().toJson(identityHash),
+                                    StandardCharsets.UTF_8);
+
+        ioService.startBatch(fs);
+        ioService.write(fs.getPath("/src/main/resources/nested/changed.txt"),
+                        "after");
+        ioService.endBatch();
+        ioService.delete(fs.getPath("/src/main/resources/nested/deleted.txt"));
+
+        final RepositoryVisitor newRepositoryVisitor = new RepositoryVisitor(source.getPath(),
+                                                                             root.getAbsolutePath(),
+                                                                             false);
+        final Map<String, String> newIdentityHash = newRepositoryVisitor.getIdentityHash();
+
+        assertEquals("not-visited",
+                     newIdentityHash.get("/src/test/resources/unchanged.txt"));
+        assertEquals("unchanged",
+                     FileUtils.readFileToString(new File(root,
+                                                         "src/test/resources/unchanged.txt"),
+                                                StandardCharsets.UTF_8));
+
+        assertNotEquals(identityHash.get("/src/main/resources/nested/changed.txt"),
+                        newIdentityHash.get("/src/main/resources/nested/changed.txt"));
+        assertEquals("after",
+                     FileUtils.readFileToString(new File(root,
+                                                         "src/main/resources/nested/changed.txt"),
+                                                StandardCharsets.UTF_8));
+
+        assertFalse(newIdentityHash.containsKey("/src/main/resources/nested/deleted.txt"));
+        assertFalse(new File(root,
+                             "src/main/resources/nested/deleted.txt").exists());
+    }
 }
@@ -60,6 +60,14 @@ public class MigrationServicesCDIWrapper {
         ioService.write(Paths.convert(path), content, commentedOptionFactory.makeCommentedOption(comment));
     }
 
+    public void startBatch(Path path) {
+        ioService.startBatch(Paths.convert(path).getFileSystem());
+    }
+
+    public void endBatch() {
+        ioService.endBatch();
+    }
+
     public Repository getSystemRepository() {
         return systemRepository;
     }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.migration.tool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.CopyOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
+
+import org.kie.workbench.common.migration.cli.SystemAccess;
+
+/**
+ * Keeps what the migration of a module prints until {@link #flush()}, so the output of the modules migrated at the
+ * same time is not interleaved. Everything else is delegated.
+ */
+class BufferedSystemAccess implements SystemAccess {
+
+    private final SystemAccess system;
+    private final ByteArrayOutputStream outBuffer = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream errBuffer = new ByteArrayOutputStream();
+    private final PrintStream out = new PrintStream(outBuffer, true);
+    private final PrintStream err = new PrintStream(errBuffer, true);
+    private final Console console = new Console() {
+        @Override
+        public void format(String fmt, Object... args) {
+            out.format(fmt, args);
+        }
+
+        @Override
+        public String readLine(String promptFmt, Object... args) {
+            flush();
+            return system.console().readLine(promptFmt, args);
+        }
+    };
+
+    BufferedSystemAccess(SystemAccess system) {
+        this.system = system;
+    }
+
+    /**
+     * Prints the output kept so far at once.
+     */
+    void flush() {
+        synchronized (system) {
+            if (outBuffer.size() > 0) {
+                system.out().print(outBuffer.toString());
+                system.out().flush();
+                outBuffer.reset();
+            }
+            if (errBuffer.size() > 0) {
+                system.err().print(errBuffer.toString());
+                system.err().flush();
+                errBuffer.reset();
+            }
+        }
+    }
+
+    @Override
+    public <T> T exit(int status) throws HaltingException {
+        flush();
+        return system.exit(status);
+    }
+
+    @Override
+    public Console console() {
+        return console;
+    }
+
+    @Override
+    public PrintStream err() {
+        return err;
+    }
+
+    @Override
+    public PrintStream out() {
+        return out;
+    }
+
+    @Override
+    public void setProperty(String name, String value) {
+        system.setProperty(name, value);
+    }
+
+    @Override
+    public Path move(Path source, Path target, CopyOption... options) throws IOException {
+        return system.move(source, target, options);
+    }
+
+    @Override
+    public Path createDirectory(Path dir, FileAttribute<?>... attrs) throws IOException {
+        return system.createDirectory(dir, attrs);
+    }
+
+    @Override
+    public Path createTemporaryDirectory(String prefix, FileAttribute<?>... attrs) throws IOException {
+        return system.createTemporaryDirectory(prefix, attrs);
+    }
+
+    @Override
+    public Path currentWorkingDirectory() {
+        return system.currentWorkingDirectory();
+    }
+
+    @Override
+    public void recursiveDelete(Path tmpNiogit) throws IOException {
+        system.recursiveDelete(tmpNiogit);
+    }
+
+    @Override
+    public void copyDirectory(Path source, Path target) throws IOException {
+        system.copyDirectory(source, target);
+    }
+}
@@ -21,7 +21,13 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.guvnor.common.services.project.model.WorkspaceProject;
 import org.guvnor.common.services.project.service.WorkspaceProjectService;
@@ -45,6 +51,7 @@ import org.kie.workbench.common.migration.cli.ToolConfig;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.IOException;
+import org.uberfire.java.nio.file.FileSystem;
 import org.uberfire.java.nio.file.FileVisitResult;
 import org.uberfire.java.nio.file.Files;
 import org.uberfire.java.nio.file.SimpleFileVisitor;
@@ -60,6 +67,7 @@ public class FormsMigrationTool implements MigrationTool {
     private MigrationServicesCDIWrapper migrationServicesCDIWrapper;
     private FormsMigrationServicesCDIWrapper formMigrationServicesCDIWrapper;
     private MigrationPipeline pipeline;
+    private MigrationCheckpoint checkpoint;
 
     @Override
     public String getTitle() {
@@ -121,7 +129,15 @@ public class FormsMigrationTool implements MigrationTool {
 
                     WorkspaceProjectService service = weldContainer.instance().select(WorkspaceProjectService.class).get();
 
-                    service.getAllWorkspaceProjects().forEach(this::processWorkspaceProject);
+                    checkpoint = new MigrationCheckpoint(niogitDir.resolve(FormsMigrationConstants.MIGRATION_CHECKPOINT_FILE));
+
+                    if (checkpoint.size() > 0) {
+                        system.out().println(String.format("Resuming previous migration: %s modules were already migrated", checkpoint.size()));
+                    }
+
+                    if (processWorkspaceProjects(service.getAllWorkspaceProjects())) {
+                        checkpoint.clear();
+                    }
                 }
             } finally {
                 if (weldContainer != null) {
@@ -136,7 +152,76 @@ public class FormsMigrationTool implements MigrationTool {
         }
     }
 
-    private void processWorkspaceProject(WorkspaceProject workspaceProject) {
+    /**
+     * Modules are migrated concurrently, except the modules of the same repository: their forms are written in
+     * batches, and batches on the same repository can't run at the same time. A module that fails is reported and
+     * the migration goes on with the next one.
+     * @return true if every module has been migrated without errors.
+     */
+    private boolean processWorkspaceProjects(Collection<WorkspaceProject> workspaceProjects) {
+        Map<FileSystem, List<WorkspaceProject>> projectsByRepository = new LinkedHashMap<>();
+        workspaceProjects.forEach(workspaceProject -> projectsByRepository
+                .computeIfAbsent(Paths.convert(workspaceProject.getRootPath()).getFileSystem(), fs -> new ArrayList<>())
+                .add(workspaceProject));
+
+        int threads = Math.max(1, Integer.getInteger(FormsMigrationConstants.MIGRATION_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, projectsByRepository.size())));
+
+        try {
+            List<Future<Boolean>> tasks = new ArrayList<>();
+            projectsByRepository.values().forEach(repositoryProjects -> tasks.add(executor.submit(() -> {
+                boolean migrated = true;
+                for (WorkspaceProject workspaceProject : repositoryProjects) {
+                    migrated &= processWorkspaceProject(workspaceProject);
+                }
+                return migrated;
+            })));
+
+            boolean success = true;
+            for (Future<Boolean> task : tasks) {
+                try {
+                    success &= task.get();
+                } catch (ExecutionException e) {
+                    success = false;
+                    system.err().println("Error migrating forms, run the migration again to resume it:\n");
+                    e.getCause().printStackTrace(system.err());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return success;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Migrates the forms of a module. What the migration prints is kept and printed at once when the module is done.
+     * @return true if the module has been migrated without errors.
+     */
+    private boolean processWorkspaceProject(WorkspaceProject workspaceProject) {
+        BufferedSystemAccess moduleSystem = new BufferedSystemAccess(system);
+        try {
+            processWorkspaceProject(workspaceProject, moduleSystem);
+            return true;
+        } catch (Exception e) {
+            moduleSystem.err().println("Error migrating forms of module " + workspaceProject.getName() + ", run the migration again to resume it:\n");
+            e.printStackTrace(moduleSystem.err());
+            return false;
+        } finally {
+            moduleSystem.flush();
+        }
+    }
+
+    private void processWorkspaceProject(WorkspaceProject workspaceProject, SystemAccess moduleSystem) {
+
+        String moduleId = workspaceProject.getRootPath().toURI();
+
+        if (checkpoint.isCompleted(moduleId)) {
+            moduleSystem.console().format("\nSkipping module %s: already migrated\n", workspaceProject.getName());
+            return;
+        }
 
         List<FormMigrationSummary> summaries = new ArrayList<>();
 
@@ -166,8 +251,8 @@ public class FormsMigrationTool implements MigrationTool {
 
                             summaries.add(summary);
                         } catch (Exception e) {
-                            system.err().println("Error reading form: " + fileName + ":\n");
-                            e.printStackTrace(system.err());
+                            moduleSystem.err().println("Error reading form: " + fileName + ":\n");
+                            e.printStackTrace(moduleSystem.err());
                         }
                     }
                 }
@@ -175,12 +260,14 @@ public class FormsMigrationTool implements MigrationTool {
             }
         });
 
-        system.console().format("\nProcessing module %s: %s forms found\n", workspaceProject.getName(), summaries.size());
+        moduleSystem.console().format("\nProcessing module %s: %s forms found\n", workspaceProject.getName(), summaries.size());
 
         if(summaries.size() > 0) {
-            MigrationContext context = new MigrationContext(workspaceProject, weldContainer, formMigrationServicesCDIWrapper, system, summaries, migrationServicesCDIWrapper);
+            MigrationContext context = new MigrationContext(workspaceProject, weldContainer, formMigrationServicesCDIWrapper, moduleSystem, summaries, migrationServicesCDIWrapper);
             pipeline.migrate(context);
         }
+
+        checkpoint.complete(moduleId);
     }
 
     private boolean projectMigrationWasExecuted() {
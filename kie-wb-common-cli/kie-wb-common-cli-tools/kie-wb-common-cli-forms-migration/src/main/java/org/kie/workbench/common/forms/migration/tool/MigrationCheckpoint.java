@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.migration.tool;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Records the modules whose forms have been completely migrated, so an interrupted migration can be run again
+ * skipping them. Forms of partially migrated modules are skipped anyway as each migrated form keeps the last
+ * migration step applied to it.
+ */
+public class MigrationCheckpoint {
+
+    private final Path file;
+    private final Set<String> completedModules = Collections.synchronizedSet(new HashSet<>());
+
+    public MigrationCheckpoint(Path file) {
+        this.file = file;
+        if (Files.exists(file)) {
+            try {
+                completedModules.addAll(Files.readAllLines(file, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public boolean isCompleted(String module) {
+        return completedModules.contains(module);
+    }
+
+    public synchronized void complete(String module) {
+        if (completedModules.add(module)) {
+            try {
+                Files.write(file,
+                            Collections.singletonList(module),
+                            StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public int size() {
+        return completedModules.size();
+    }
+
+    /**
+     * Removes the checkpoint once the whole migration has finished, so forms added later are migrated by the next run.
+     */
+    public synchronized void clear() {
+        completedModules.clear();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
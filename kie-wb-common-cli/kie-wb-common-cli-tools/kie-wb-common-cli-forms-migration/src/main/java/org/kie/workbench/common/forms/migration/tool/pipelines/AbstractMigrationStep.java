@@ -21,7 +21,9 @@ import java.util.function.Function;
 import org.kie.workbench.common.forms.migration.legacy.model.Form;
 import org.kie.workbench.common.forms.migration.legacy.services.FormSerializationManager;
 import org.kie.workbench.common.forms.migration.legacy.services.impl.FormSerializationManagerImpl;
+import org.kie.workbench.common.forms.migration.tool.FormMigrationSummary;
 import org.kie.workbench.common.forms.migration.tool.Resource;
+import org.kie.workbench.common.forms.migration.tool.util.FormsMigrationConstants;
 import org.kie.workbench.common.forms.model.FormDefinition;
 import org.kie.workbench.common.forms.services.backend.serialization.FormDefinitionSerializer;
 import org.uberfire.backend.vfs.Path;
@@ -49,16 +51,37 @@ public abstract class AbstractMigrationStep implements MigrationStep {
 
         Function<Resource<FormDefinition>, String> newFormSerializationFuncion = formResource -> formDefinitionSerializer.serialize(formResource.get());
 
-        migrationContext.getSummaries().forEach(summary -> {
-            if (summary.getResult().isSuccess()) {
-                serializeResource(summary.getOriginalForm().getPath(), originaldFormSerializationFunction.apply(summary.getOriginalForm()), migrationContext);
+        // Forms are written in batches, each batch ends up in a single commit instead of one commit per file
+        int batchSize = Math.max(1, Integer.getInteger(FormsMigrationConstants.MIGRATION_BATCH_SIZE_PROPERTY, FormsMigrationConstants.DEFAULT_MIGRATION_BATCH_SIZE));
+        int written = 0;
+
+        try {
+            for (FormMigrationSummary summary : migrationContext.getSummaries()) {
+                if (summary.getResult().isSuccess()) {
+                    startBatchIfNeeded(written++, batchSize, summary.getOriginalForm().getPath(), migrationContext);
+                    serializeResource(summary.getOriginalForm().getPath(), originaldFormSerializationFunction.apply(summary.getOriginalForm()), migrationContext);
+                    serializeResource(summary.getNewForm().getPath(), newFormSerializationFuncion.apply(summary.getNewForm()), migrationContext);
+                }
+            }
+
+            for (FormMigrationSummary summary : migrationContext.getExtraSummaries()) {
+                startBatchIfNeeded(written++, batchSize, summary.getNewForm().getPath(), migrationContext);
                 serializeResource(summary.getNewForm().getPath(), newFormSerializationFuncion.apply(summary.getNewForm()), migrationContext);
             }
-        });
+        } finally {
+            if (written > 0) {
+                migrationContext.getMigrationServicesCDIWrapper().endBatch();
+            }
+        }
+    }
 
-        migrationContext.getExtraSummaries().forEach(summary -> {
-            serializeResource(summary.getNewForm().getPath(), newFormSerializationFuncion.apply(summary.getNewForm()), migrationContext);
-        });
+    private void startBatchIfNeeded(int written, int batchSize, Path path, MigrationContext context) {
+        if (written % batchSize == 0) {
+            if (written > 0) {
+                context.getMigrationServicesCDIWrapper().endBatch();
+            }
+            context.getMigrationServicesCDIWrapper().startBatch(path);
+        }
     }
 
     private void serializeResource(Path path, String content, MigrationContext context) {
@@ -34,6 +34,14 @@ public interface FormsMigrationConstants {
 
     String NEW_FOMRS_EXTENSION = "frm";
 
+    String MIGRATION_THREADS_PROPERTY = "org.kie.workbench.forms.migration.threads";
+
+    String MIGRATION_BATCH_SIZE_PROPERTY = "org.kie.workbench.forms.migration.batchSize";
+
+    int DEFAULT_MIGRATION_BATCH_SIZE = 100;
+
+    String MIGRATION_CHECKPOINT_FILE = ".forms-migration.checkpoint";
+
     String BPMN_PARSING_ERROR = "%s Cannot read process %s: something wrong happened reading the process file. The " +
             "migration will continue but forms related to this process won't be migrated. If you want to migrate its forms" +
             " please fix the process file and start the migration again\n";
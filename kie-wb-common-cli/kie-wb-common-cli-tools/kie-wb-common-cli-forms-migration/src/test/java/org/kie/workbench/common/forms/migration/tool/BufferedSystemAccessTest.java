@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.migration.tool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.Test;
+import org.kie.workbench.common.migration.cli.SystemAccess;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BufferedSystemAccessTest {
+
+    @Test
+    public void testOutputIsPrintedOnFlush() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        SystemAccess system = mock(SystemAccess.class);
+        when(system.out()).thenReturn(new PrintStream(out, true));
+        when(system.err()).thenReturn(new PrintStream(err, true));
+
+        BufferedSystemAccess moduleSystem = new BufferedSystemAccess(system);
+        moduleSystem.console().format("Processing module %s\n", "module1");
+        moduleSystem.out().println("Form migrated");
+        moduleSystem.err().println("Form failed");
+
+        assertEquals(0, out.size());
+        assertEquals(0, err.size());
+
+        moduleSystem.flush();
+
+        assertEquals("Processing module module1\nForm migrated\n", out.toString().replace(System.lineSeparator(), "\n"));
+        assertEquals("Form failed\n", err.toString().replace(System.lineSeparator(), "\n"));
+
+        moduleSystem.flush();
+
+        assertEquals("Processing module module1\nForm migrated\n", out.toString().replace(System.lineSeparator(), "\n"));
+    }
+}
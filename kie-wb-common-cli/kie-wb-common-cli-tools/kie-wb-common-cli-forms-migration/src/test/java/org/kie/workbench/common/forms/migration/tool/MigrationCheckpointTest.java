@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.migration.tool;
+
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MigrationCheckpointTest {
+
+    private static final String MODULE_1 = "default://master@space/repo/module1";
+    private static final String MODULE_2 = "default://master@space/repo/module2";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testResumeMigration() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("checkpoint");
+
+        MigrationCheckpoint checkpoint = new MigrationCheckpoint(file);
+        checkpoint.complete(MODULE_1);
+
+        MigrationCheckpoint resumed = new MigrationCheckpoint(file);
+        assertEquals(1, resumed.size());
+        assertTrue(resumed.isCompleted(MODULE_1));
+        assertFalse(resumed.isCompleted(MODULE_2));
+
+        resumed.complete(MODULE_2);
+        resumed.clear();
+
+        assertFalse(file.toFile().exists());
+        assertEquals(0, new MigrationCheckpoint(file).size());
+    }
+}
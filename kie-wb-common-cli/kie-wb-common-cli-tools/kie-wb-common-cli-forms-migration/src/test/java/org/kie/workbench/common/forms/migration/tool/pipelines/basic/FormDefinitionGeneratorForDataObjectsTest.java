@@ -26,6 +26,7 @@ import org.kie.workbench.common.forms.migration.legacy.model.Form;
 import org.kie.workbench.common.forms.migration.tool.FormMigrationSummary;
 import org.kie.workbench.common.forms.migration.tool.Resource;
 import org.kie.workbench.common.forms.migration.tool.pipelines.MigrationContext;
+import org.kie.workbench.common.forms.migration.tool.util.FormsMigrationConstants;
 import org.kie.workbench.common.migration.cli.RealSystemAccess;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -83,6 +84,10 @@ public class FormDefinitionGeneratorForDataObjectsTest extends AbstractFormDefin
         // 3 legacyforms + 3 migrated forms
         verify(migrationServicesCDIWrapper, times(6)).write(any(Path.class), anyString(), anyString());
 
+        // all the forms are written in a single batch
+        verify(migrationServicesCDIWrapper, times(1)).startBatch(any(Path.class));
+        verify(migrationServicesCDIWrapper, times(1)).endBatch();
+
         context.getSummaries().forEach(summary -> {
             assertTrue(summary.getResult().isSuccess());
             switch (summary.getBaseFormName() + ".form") {
@@ -98,4 +103,18 @@ public class FormDefinitionGeneratorForDataObjectsTest extends AbstractFormDefin
             }
         });
     }
+
+    @Test
+    public void testMigrationInSeveralBatches() {
+        System.setProperty(FormsMigrationConstants.MIGRATION_BATCH_SIZE_PROPERTY, "2");
+        try {
+            generator.execute(context);
+        } finally {
+            System.clearProperty(FormsMigrationConstants.MIGRATION_BATCH_SIZE_PROPERTY);
+        }
+
+        verify(migrationServicesCDIWrapper, times(6)).write(any(Path.class), anyString(), anyString());
+        verify(migrationServicesCDIWrapper, times(2)).startBatch(any(Path.class));
+        verify(migrationServicesCDIWrapper, times(2)).endBatch();
+    }
 }
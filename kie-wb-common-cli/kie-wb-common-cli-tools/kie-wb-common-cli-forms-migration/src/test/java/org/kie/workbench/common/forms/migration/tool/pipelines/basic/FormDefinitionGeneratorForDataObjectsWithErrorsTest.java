@@ -86,6 +86,7 @@ public class FormDefinitionGeneratorForDataObjectsWithErrorsTest extends Abstrac
                 .isEmpty();
 
         verify(migrationServicesCDIWrapper, never()).write(any(Path.class), anyString(), anyString());
+        verify(migrationServicesCDIWrapper, never()).startBatch(any(Path.class));
 
         context.getSummaries().forEach(summary -> {
             assertFalse(summary.getResult().isSuccess());
@@ -398,21 +398,15 @@ public class DecisionTableGrid extends BaseExpressionGrid<DecisionTable, Decisio
 
     @Override
     public void initialiseUiCells() {
+        //The entries and descriptions are read from the DecisionTable when first accessed, see DecisionTableGridData
+        model.setUiModelMapper(uiModelMapper);
         getExpression().get().ifPresent(e -> {
+            //Row numbers are set up front as commands update them for all rows
+            //Multi-line cells are read up front as the rows' height depends on them
             for (int rowIndex = 0; rowIndex < e.getRule().size(); rowIndex++) {
-                int columnIndex = 0;
                 uiModelMapper.fromDMNModel(rowIndex,
-                                           columnIndex++);
-                for (int ici = 0; ici < e.getInput().size(); ici++) {
-                    uiModelMapper.fromDMNModel(rowIndex,
-                                               columnIndex++);
-                }
-                for (int oci = 0; oci < e.getOutput().size(); oci++) {
-                    uiModelMapper.fromDMNModel(rowIndex,
-                                               columnIndex++);
-                }
-                uiModelMapper.fromDMNModel(rowIndex,
-                                           columnIndex);
+                                           0);
+                model.materializeMultiLineCells(rowIndex);
             }
         });
     }
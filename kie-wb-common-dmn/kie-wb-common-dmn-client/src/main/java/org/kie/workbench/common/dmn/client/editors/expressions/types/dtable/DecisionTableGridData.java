@@ -22,18 +22,33 @@ import java.util.Optional;
 import java.util.function.Supplier;
 
 import org.kie.soup.commons.util.Lists;
+import org.kie.workbench.common.dmn.api.definition.model.DecisionRule;
 import org.kie.workbench.common.dmn.api.definition.model.DecisionTable;
+import org.kie.workbench.common.dmn.api.definition.model.LiteralExpression;
+import org.kie.workbench.common.dmn.api.definition.model.UnaryTests;
+import org.kie.workbench.common.dmn.api.property.dmn.Description;
+import org.kie.workbench.common.dmn.api.property.dmn.Text;
 import org.kie.workbench.common.dmn.client.commands.expressions.types.dtable.MoveColumnsCommand;
 import org.kie.workbench.common.dmn.client.commands.expressions.types.dtable.MoveRowsCommand;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.DMNGridData;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.DelegatingGridData;
+import org.kie.workbench.common.dmn.client.widgets.grid.model.LiteralExpressionGridRow;
+import org.kie.workbench.common.dmn.client.widgets.grid.model.UIModelMapper;
 import org.kie.workbench.common.stunner.core.client.api.SessionManager;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
 import org.kie.workbench.common.stunner.core.client.command.SessionCommandManager;
+import org.uberfire.ext.wires.core.grids.client.model.GridCell;
+import org.uberfire.ext.wires.core.grids.client.model.GridCellValue;
 import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
 import org.uberfire.mvp.Command;
 
+/**
+ * The cells of the rules are not copied from the {@link DecisionTable} up front, but read from it the first time
+ * they are accessed, e.g. when rendered, by the {@link UIModelMapper} set with {@link #setUiModelMapper(UIModelMapper)}.
+ * Edits keep being written back to the {@link DecisionTable} by the commands. The cells with multi-line text are
+ * the exception, see {@link #materializeMultiLineCells(int)}.
+ */
 public class DecisionTableGridData extends DelegatingGridData {
 
     static final int HEADER_ROW_COUNT = 2;
@@ -43,6 +58,8 @@ public class DecisionTableGridData extends DelegatingGridData {
     private final Supplier<Optional<DecisionTable>> expression;
     private final Command canvasOperation;
 
+    private UIModelMapper uiModelMapper;
+
     public DecisionTableGridData(final DMNGridData delegate,
                                  final SessionManager sessionManager,
                                  final SessionCommandManager<AbstractCanvasHandler> sessionCommandManager,
@@ -57,6 +74,96 @@ public class DecisionTableGridData extends DelegatingGridData {
         setHeaderRowCount(HEADER_ROW_COUNT);
     }
 
+    public void setUiModelMapper(final UIModelMapper uiModelMapper) {
+        this.uiModelMapper = uiModelMapper;
+    }
+
+    // --- Intercepted methods materializing the cells on first access ---
+
+    @Override
+    public GridCell<?> getCell(final int rowIndex,
+                               final int columnIndex) {
+        materializeCell(rowIndex,
+                        columnIndex);
+        return super.getCell(rowIndex,
+                             columnIndex);
+    }
+
+    @Override
+    public Range setCellValue(final int rowIndex,
+                              final int columnIndex,
+                              final GridCellValue<?> value) {
+        //The cell must be of the right type (e.g. to have an editor) before setting its value
+        materializeCell(rowIndex,
+                        columnIndex);
+        return super.setCellValue(rowIndex,
+                                  columnIndex,
+                                  value);
+    }
+
+    private void materializeCell(final int rowIndex,
+                                 final int columnIndex) {
+        if (uiModelMapper == null || rowIndex < 0 || rowIndex >= getRowCount() || columnIndex < 0 || columnIndex >= getColumnCount()) {
+            return;
+        }
+        if (delegate.getCell(rowIndex,
+                             columnIndex) != null) {
+            return;
+        }
+        final boolean hasRule = expression.get()
+                .map(dtable -> rowIndex < dtable.getRule().size())
+                .orElse(false);
+        if (hasRule) {
+            uiModelMapper.fromDMNModel(rowIndex,
+                                       columnIndex);
+        }
+    }
+
+    /**
+     * Reads the cells of a rule with multi-line text. The height of a {@link LiteralExpressionGridRow} depends on
+     * the text of its cells and the height of all the rows is needed to lay out the grid, before they get rendered.
+     */
+    void materializeMultiLineCells(final int rowIndex) {
+        expression.get().ifPresent(dtable -> {
+            if (rowIndex < 0 || rowIndex >= dtable.getRule().size()) {
+                return;
+            }
+            final DecisionRule rule = dtable.getRule().get(rowIndex);
+            //The first column holds the row number
+            int columnIndex = 1;
+            for (final UnaryTests inputEntry : rule.getInputEntry()) {
+                materializeMultiLineCell(rowIndex,
+                                         columnIndex++,
+                                         getValue(inputEntry.getText()));
+            }
+            for (final LiteralExpression outputEntry : rule.getOutputEntry()) {
+                materializeMultiLineCell(rowIndex,
+                                         columnIndex++,
+                                         getValue(outputEntry.getText()));
+            }
+            materializeMultiLineCell(rowIndex,
+                                     columnIndex,
+                                     getValue(rule.getDescription()));
+        });
+    }
+
+    private void materializeMultiLineCell(final int rowIndex,
+                                          final int columnIndex,
+                                          final String value) {
+        if (value != null && value.contains("\n")) {
+            materializeCell(rowIndex,
+                            columnIndex);
+        }
+    }
+
+    private static String getValue(final Text text) {
+        return text == null ? null : text.getValue();
+    }
+
+    private static String getValue(final Description description) {
+        return description == null ? null : description.getValue();
+    }
+
     // --- Intercepted methods delegated to commands ---
 
     @Override
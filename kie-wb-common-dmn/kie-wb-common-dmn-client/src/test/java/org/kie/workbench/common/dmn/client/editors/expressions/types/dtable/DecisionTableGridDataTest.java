@@ -24,10 +24,18 @@ import com.ait.lienzo.test.LienzoMockitoTestRunner;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.workbench.common.dmn.api.definition.model.DecisionRule;
 import org.kie.workbench.common.dmn.api.definition.model.DecisionTable;
+import org.kie.workbench.common.dmn.api.definition.model.LiteralExpression;
+import org.kie.workbench.common.dmn.api.definition.model.UnaryTests;
+import org.kie.workbench.common.dmn.api.property.dmn.Description;
+import org.kie.workbench.common.dmn.api.property.dmn.Text;
 import org.kie.workbench.common.dmn.client.commands.expressions.types.dtable.MoveColumnsCommand;
 import org.kie.workbench.common.dmn.client.commands.expressions.types.dtable.MoveRowsCommand;
+import org.kie.workbench.common.dmn.client.editors.expressions.util.RendererUtils;
 import org.kie.workbench.common.dmn.client.widgets.grid.model.DMNGridData;
+import org.kie.workbench.common.dmn.client.widgets.grid.model.LiteralExpressionGridRow;
+import org.kie.workbench.common.dmn.client.widgets.grid.model.UIModelMapper;
 import org.kie.workbench.common.stunner.core.client.api.SessionManager;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
 import org.kie.workbench.common.stunner.core.client.command.SessionCommandManager;
@@ -35,11 +43,19 @@ import org.kie.workbench.common.stunner.core.client.session.ClientSession;
 import org.mockito.Mock;
 import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridCell;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridCellValue;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridRow;
 import org.uberfire.mvp.Command;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
@@ -67,11 +83,16 @@ public class DecisionTableGridDataTest {
     @Mock
     private Command canvasOperation;
 
+    @Mock
+    private UIModelMapper uiModelMapper;
+
     private DMNGridData delegate;
 
     private DecisionTableGridData uiModel;
 
-    private Supplier<Optional<DecisionTable>> expression = () -> Optional.of(new DecisionTable());
+    private DecisionTable dtable = new DecisionTable();
+
+    private Supplier<Optional<DecisionTable>> expression = () -> Optional.of(dtable);
 
     @Before
     public void setup() {
@@ -121,4 +142,92 @@ public class DecisionTableGridDataTest {
         verify(sessionCommandManager).execute(eq(canvasHandler),
                                               any(MoveColumnsCommand.class));
     }
+
+    @Test
+    public void testGetCellIsMaterializedOnFirstAccess() {
+        setupLazyCells();
+
+        uiModel.getCell(0, 0);
+        uiModel.getCell(0, 0);
+
+        verify(uiModelMapper).fromDMNModel(0, 0);
+    }
+
+    @Test
+    public void testSetCellValueMaterializesCell() {
+        setupLazyCells();
+
+        uiModel.setCellValue(0, 0, new BaseGridCellValue<>("value"));
+
+        verify(uiModelMapper).fromDMNModel(0, 0);
+    }
+
+    @Test
+    public void testGetCellWithoutRule() {
+        setupLazyCells();
+        dtable.getRule().clear();
+
+        uiModel.getCell(0, 0);
+
+        verify(uiModelMapper, never()).fromDMNModel(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testGetCellWithoutUiModelMapper() {
+        uiModel.appendColumn(gridColumn);
+        uiModel.appendRow(new BaseGridRow());
+        dtable.getRule().add(new DecisionRule());
+
+        uiModel.getCell(0, 0);
+
+        verify(uiModelMapper, never()).fromDMNModel(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testMultiLineCellsDriveTheRowHeight() {
+        final double lineHeight = 20.0;
+        final String multiLineText = "a\nb\nc\nd";
+        final LiteralExpressionGridRow row = new LiteralExpressionGridRow(lineHeight);
+        //Row number, input, output and description columns
+        for (int columnIndex = 0; columnIndex < 4; columnIndex++) {
+            final GridColumn column = mock(GridColumn.class);
+            doReturn(columnIndex).when(column).getIndex();
+            uiModel.appendColumn(column);
+        }
+        uiModel.appendRow(row);
+        final DecisionRule rule = new DecisionRule();
+        final UnaryTests inputEntry = new UnaryTests();
+        inputEntry.setText(new Text("single line"));
+        rule.getInputEntry().add(inputEntry);
+        final LiteralExpression outputEntry = new LiteralExpression();
+        outputEntry.setText(new Text(multiLineText));
+        rule.getOutputEntry().add(outputEntry);
+        rule.setDescription(new Description("single line"));
+        dtable.getRule().add(rule);
+        uiModel.setUiModelMapper(uiModelMapper);
+        doAnswer(i -> uiModel.setCell(0, 2, () -> new BaseGridCell<>(new BaseGridCellValue<>(multiLineText))))
+                .when(uiModelMapper).fromDMNModel(0, 2);
+        assertEquals(LiteralExpressionGridRow.DEFAULT_HEIGHT,
+                     row.getHeight(),
+                     0.0);
+
+        uiModel.materializeMultiLineCells(0);
+
+        verify(uiModelMapper).fromDMNModel(0, 2);
+        verify(uiModelMapper, never()).fromDMNModel(0, 1);
+        verify(uiModelMapper, never()).fromDMNModel(0, 3);
+        assertEquals(4 * lineHeight + RendererUtils.EXPRESSION_TEXT_PADDING * 3,
+                     row.getHeight(),
+                     0.0);
+    }
+
+    private void setupLazyCells() {
+        uiModel.appendColumn(gridColumn);
+        uiModel.appendRow(new BaseGridRow());
+        dtable.getRule().add(new DecisionRule());
+        uiModel.setUiModelMapper(uiModelMapper);
+
+        doAnswer(i -> uiModel.setCell(0, 0, () -> new BaseGridCell<>(new BaseGridCellValue<>("rule"))))
+                .when(uiModelMapper).fromDMNModel(0, 0);
+    }
 }
@@ -16,19 +16,27 @@
 
 package org.kie.workbench.common.forms.jbpm.server.service.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
 import org.eclipse.bpmn2.Bpmn2Package;
 import org.eclipse.bpmn2.Definitions;
 import org.eclipse.bpmn2.DocumentRoot;
@@ -49,6 +57,11 @@ import org.kie.workbench.common.forms.jbpm.model.authoring.task.TaskFormModel;
 import org.kie.workbench.common.forms.jbpm.server.service.BPMNFormModelGenerator;
 import org.kie.workbench.common.forms.jbpm.service.shared.BPMFinderService;
 import org.kie.workbench.common.forms.services.backend.util.VFSScanner;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueResourceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringMapPageRow;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,19 +75,32 @@ public class BPMFinderServiceImpl implements BPMFinderService {
 
     private static final Logger logger = LoggerFactory.getLogger(BPMFinderServiceImpl.class);
 
+    /**
+     * Name of the named query registered by the BPMN indexer that maps process ids to the files declaring them.
+     */
+    static final String FIND_BPMN_PROCESS_IDS_QUERY = "FindBpmnProcessIdsQuery";
+
     private IOService ioService;
 
     private KieModuleService moduleService;
 
     private BPMNFormModelGenerator bpmnFormModelGenerator;
 
+    private Instance<RefactoringQueryService> queryServiceInstance;
+
+    private BPMNProcessModelCache processModelCache;
+
     @Inject
     public BPMFinderServiceImpl(@Named("ioStrategy") IOService ioService,
                                 KieModuleService moduleService,
-                                BPMNFormModelGenerator bpmnFormModelGenerator) {
+                                BPMNFormModelGenerator bpmnFormModelGenerator,
+                                Instance<RefactoringQueryService> queryServiceInstance,
+                                BPMNProcessModelCache processModelCache) {
         this.ioService = ioService;
         this.moduleService = moduleService;
         this.bpmnFormModelGenerator = bpmnFormModelGenerator;
+        this.queryServiceInstance = queryServiceInstance;
+        this.processModelCache = processModelCache;
     }
 
     @Override
@@ -87,11 +113,72 @@ public class BPMFinderServiceImpl implements BPMFinderService {
     @Override
     public JBPMProcessModel getModelForProcess(final String processId, final Path path) {
 
+        final Optional<JBPMProcessModel> indexedModel = findIndexedModel(processId, path);
+
+        if (indexedModel.isPresent()) {
+            return indexedModel.get();
+        }
+
+        // The index may be unavailable or not up to date yet, falling back to scan the module
         return findModels(path, definitions -> matchProcessId(definitions, processId))
+                .filter(model -> matchProcessId(model, processId))
                 .findFirst()
                 .orElse(null);
     }
 
+    private Optional<JBPMProcessModel> findIndexedModel(final String processId, final Path path) {
+        if (queryServiceInstance == null || queryServiceInstance.isUnsatisfied()) {
+            return Optional.empty();
+        }
+
+        final org.uberfire.java.nio.file.Path rootPath = Paths.convert(moduleService.resolveModule(path).getRootPath());
+
+        final Set<ValueIndexTerm> queryTerms = Collections.singleton(new ValueResourceIndexTerm(processId,
+                                                                                                org.kie.workbench.common.services.refactoring.service.ResourceType.BPMN2));
+
+        final List<RefactoringPageRow> rows;
+        try {
+            rows = queryServiceInstance.get().query(FIND_BPMN_PROCESS_IDS_QUERY, queryTerms);
+        } catch (Exception ex) {
+            logger.debug("Cannot resolve process '{}' from the index", processId, ex);
+            return Optional.empty();
+        }
+
+        // The query maps each process id found to the Path of the file declaring it
+        return rows.stream()
+                .filter(row -> row instanceof RefactoringMapPageRow)
+                .map(row -> (Map<?, ?>) ((RefactoringMapPageRow) row).getValue())
+                .flatMap(map -> map.entrySet().stream())
+                .filter(entry -> processId.equals(entry.getKey()) && entry.getValue() instanceof Path)
+                .map(entry -> Paths.convert((Path) entry.getValue()))
+                .filter(processPath -> processPath.startsWith(rootPath) && ioService.exists(processPath))
+                .map(processPath -> loadModel(processPath, path))
+                .filter(model -> matchProcessId(model, processId))
+                .findFirst();
+    }
+
+    private JBPMProcessModel loadModel(final org.uberfire.java.nio.file.Path processPath, final Path path) {
+        final byte[] content = ioService.readAllBytes(processPath);
+        final String contentHash = DigestUtils.sha256Hex(content);
+
+        JBPMProcessModel model = processModelCache.getProcessModel(processPath, contentHash);
+
+        if (model == null) {
+            final Definitions definitions = toDefinitions(new ByteArrayInputStream(content));
+            if (definitions == null) {
+                return null;
+            }
+            model = parseToModel(definitions, path);
+            processModelCache.setProcessModel(processPath, contentHash, model);
+        }
+
+        return model;
+    }
+
+    private boolean matchProcessId(final JBPMProcessModel model, final String processId) {
+        return model != null && model.getProcessFormModel() != null && processId.equals(model.getProcessFormModel().getProcessId());
+    }
+
     private boolean matchProcessId(final Definitions definitions, final String processId) {
         if (definitions == null) {
             return false;
@@ -110,11 +197,41 @@ public class BPMFinderServiceImpl implements BPMFinderService {
 
         Path rootPath = moduleService.resolveModule(path).getRootPath();
 
-        return VFSScanner.scan(ioService, Paths.convert(rootPath), ResourceType.getResourceType("BPMN2").getAllExtensions(), this::toDefinitions, filter)
+        return VFSScanner.scan(ioService, Paths.convert(rootPath), ResourceType.getResourceType("BPMN2").getAllExtensions(), this::readContent)
                 .stream()
-                .filter(Objects::nonNull)
-                .map(VFSScanner.ScanResult::getResource)
-                .map(definitions -> parseToModel(definitions, path));
+                .filter(result -> result.getResource() != null)
+                .map(result -> toModel(result, path, filter))
+                .filter(Objects::nonNull);
+    }
+
+    private JBPMProcessModel toModel(final VFSScanner.ScanResult<byte[]> result, final Path path, final Predicate<Definitions> filter) {
+        final String contentHash = DigestUtils.sha256Hex(result.getResource());
+
+        final JBPMProcessModel cachedModel = processModelCache.getProcessModel(result.getAssetPath(), contentHash);
+
+        if (cachedModel != null) {
+            return cachedModel;
+        }
+
+        final Definitions definitions = toDefinitions(new ByteArrayInputStream(result.getResource()));
+
+        if (definitions == null || !filter.test(definitions)) {
+            return null;
+        }
+
+        final JBPMProcessModel model = parseToModel(definitions, path);
+        processModelCache.setProcessModel(result.getAssetPath(), contentHash, model);
+        return model;
+    }
+
+    private byte[] readContent(final InputStream in) {
+        try (InputStream stream = in) {
+            return IOUtils.toByteArray(stream);
+        } catch (IOException ex) {
+            logger.warn("Cannot read process content due to", ex);
+        }
+
+        return null;
     }
 
     private JBPMProcessModel parseToModel(final Definitions definitions, final Path path) {
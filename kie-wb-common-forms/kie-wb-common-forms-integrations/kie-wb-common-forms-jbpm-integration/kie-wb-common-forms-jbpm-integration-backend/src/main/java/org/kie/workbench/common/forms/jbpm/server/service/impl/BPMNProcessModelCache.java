@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.jbpm.server.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOModuleCacheEvent;
+import org.kie.soup.commons.validation.PortablePreconditions;
+import org.kie.workbench.common.forms.jbpm.model.authoring.JBPMProcessModel;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Keeps the {@link JBPMProcessModel} extracted from each BPMN file, keyed by the file path and validated against the
+ * hash of the file content, so a process is only parsed again when its content changes.
+ */
+@ApplicationScoped
+public class BPMNProcessModelCache {
+
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+    private KieModuleService moduleService;
+
+    public BPMNProcessModelCache() {
+        //CDI proxy
+    }
+
+    @Inject
+    public BPMNProcessModelCache(final KieModuleService moduleService) {
+        this.moduleService = moduleService;
+    }
+
+    public JBPMProcessModel getProcessModel(final Path path,
+                                            final String contentHash) {
+        PortablePreconditions.checkNotNull("path", path);
+        PortablePreconditions.checkNotNull("contentHash", contentHash);
+
+        final CacheEntry entry = entries.get(path.toUri().toString());
+        if (entry != null && entry.contentHash.equals(contentHash)) {
+            return entry.model;
+        }
+        return null;
+    }
+
+    public void setProcessModel(final Path path,
+                                final String contentHash,
+                                final JBPMProcessModel model) {
+        PortablePreconditions.checkNotNull("path", path);
+        PortablePreconditions.checkNotNull("contentHash", contentHash);
+        PortablePreconditions.checkNotNull("model", model);
+
+        entries.put(path.toUri().toString(), new CacheEntry(contentHash, model));
+    }
+
+    /**
+     * Process models hold the types resolved with the module ClassLoader, so they must be regenerated once the
+     * module is rebuilt.
+     */
+    public void onInvalidateModuleCache(@Observes final InvalidateDMOModuleCacheEvent event) {
+        PortablePreconditions.checkNotNull("event", event);
+        final KieModule module = moduleService.resolveModule(event.getResourcePath());
+        if (module == null) {
+            return;
+        }
+        final String prefix = module.getRootPath().toURI();
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static class CacheEntry {
+
+        private final String contentHash;
+        private final JBPMProcessModel model;
+
+        private CacheEntry(final String contentHash,
+                           final JBPMProcessModel model) {
+            this.contentHash = contentHash;
+            this.model = model;
+        }
+    }
+}
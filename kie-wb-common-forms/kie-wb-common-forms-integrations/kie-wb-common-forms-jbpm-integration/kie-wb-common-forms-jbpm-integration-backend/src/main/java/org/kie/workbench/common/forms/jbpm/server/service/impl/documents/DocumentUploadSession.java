@@ -19,16 +19,29 @@ package org.kie.workbench.common.forms.jbpm.server.service.impl.documents;
 import java.util.Comparator;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 
 import org.kie.workbench.common.forms.jbpm.service.shared.documents.DocumentUploadChunk;
 
+/**
+ * Tracks the chunks received for a document. Chunks of the same document may arrive concurrently, so every access to
+ * the session state is synchronized.
+ */
 public class DocumentUploadSession {
 
+    public static final String SESSION_TIMEOUT_PROPERTY = "org.kie.workbench.forms.jbpm.documents.uploadSessionTimeout";
+
+    /**
+     * Milliseconds a session may stay idle before it is considered abandoned and its content discarded.
+     */
+    public static final long SESSION_TIMEOUT = Long.getLong(SESSION_TIMEOUT_PROPERTY, TimeUnit.MINUTES.toMillis(30));
+
     private String documentId;
     private String documentName;
     private int maxChunks;
     private Set<DocumentUploadChunk> chunks = new TreeSet<>(Comparator.comparing(DocumentUploadChunk::getIndex));
-    private State state = State.UPLOADING;
+    private volatile State state = State.UPLOADING;
+    private volatile long lastAccess = System.currentTimeMillis();
 
     public DocumentUploadSession(final String documentId, final String documentName, final int maxChunks) {
         this.documentId = documentId;
@@ -44,18 +57,37 @@ public class DocumentUploadSession {
         return documentName;
     }
 
-    public Set<DocumentUploadChunk> getChunks() {
-        return chunks;
+    public synchronized Set<DocumentUploadChunk> getChunks() {
+        Set<DocumentUploadChunk> copy = new TreeSet<>(chunks.comparator());
+        copy.addAll(chunks);
+        return copy;
     }
 
-    public void add(DocumentUploadChunk chunk) {
+    public synchronized void add(DocumentUploadChunk chunk) {
         chunks.add(chunk);
+        lastAccess = System.currentTimeMillis();
     }
 
-    public boolean isComplete() {
+    public synchronized boolean isComplete() {
         return chunks.size() == maxChunks;
     }
 
+    /**
+     * Moves the session to {@link State#MERGING} if all the chunks have been received. Only the first caller gets
+     * <code>true</code>, so a document is never merged twice when its last chunks arrive concurrently.
+     */
+    public synchronized boolean startMerging() {
+        if (state == State.UPLOADING && isComplete()) {
+            state = State.MERGING;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isExpired(final long now) {
+        return state == State.UPLOADING && now - lastAccess > SESSION_TIMEOUT;
+    }
+
     public State getState() {
         return state;
     }
@@ -17,8 +17,8 @@
 package org.kie.workbench.common.forms.jbpm.server.service.impl.documents;
 
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PreDestroy;
 import javax.enterprise.context.SessionScoped;
@@ -39,7 +39,7 @@ public class UploadedDocumentServiceImpl implements UploadedDocumentService,
 
     private static final Logger logger = LoggerFactory.getLogger(UploadedDocumentServiceImpl.class);
 
-    protected Map<String, DocumentUploadSession> uploadSessions = new HashMap<>();
+    protected Map<String, DocumentUploadSession> uploadSessions = new ConcurrentHashMap<>();
 
     private UploadedDocumentStorage storage;
 
@@ -51,10 +51,12 @@ public class UploadedDocumentServiceImpl implements UploadedDocumentService,
     @Override
     public DocumentUploadResponse uploadContent(final DocumentUploadChunk chunk) {
 
+        expireSessions();
+
         try {
             DocumentUploadSession session = getSession(chunk);
 
-            if (session.isComplete()) {
+            if (session.startMerging()) {
                 return merge(session);
             } else {
                 return new DocumentUploadResponse(DocumentUploadResponse.DocumentUploadState.UPLOADING, true);
@@ -68,8 +70,6 @@ public class UploadedDocumentServiceImpl implements UploadedDocumentService,
     private DocumentUploadResponse merge(DocumentUploadSession session) {
         try {
 
-            session.setState(DocumentUploadSession.State.MERGING);
-
             storage.merge(session);
 
             uploadSessions.remove(session.getDocumentId());
@@ -77,19 +77,19 @@ public class UploadedDocumentServiceImpl implements UploadedDocumentService,
             return new DocumentUploadResponse(DocumentUploadResponse.DocumentUploadState.FINISH, true);
         } catch (Exception ex) {
             logger.warn("Error uploading content: ", ex);
+            uploadSessions.remove(session.getDocumentId());
+            session.setState(DocumentUploadSession.State.ABORTED);
             return new DocumentUploadResponse(DocumentUploadResponse.DocumentUploadState.FINISH, false);
         }
     }
 
     private DocumentUploadSession getSession(DocumentUploadChunk chunk) throws Exception {
-        DocumentUploadSession session = uploadSessions.get(chunk.getDocumentId());
-        if (session == null) {
-            session = new DocumentUploadSession(chunk.getDocumentId(), chunk.getDocumentName(), chunk.getMaxChunks());
-            uploadSessions.put(session.getDocumentId(), session);
-        }
+        DocumentUploadSession session = uploadSessions.computeIfAbsent(chunk.getDocumentId(),
+                                                                       documentId -> new DocumentUploadSession(documentId, chunk.getDocumentName(), chunk.getMaxChunks()));
 
-        session.add(chunk);
+        //The chunk is stored before it's added, so a session is never seen complete while a chunk is being written
         storage.uploadContentChunk(chunk);
+        session.add(chunk);
 
         return session;
     }
@@ -106,6 +106,20 @@ public class UploadedDocumentServiceImpl implements UploadedDocumentService,
         }
     }
 
+    protected void expireSessions() {
+        final long now = System.currentTimeMillis();
+
+        uploadSessions.values().stream()
+                .filter(session -> session.isExpired(now))
+                .forEach(session -> {
+                    if (uploadSessions.remove(session.getDocumentId(), session)) {
+                        logger.debug("Discarding expired upload of document {}", session.getDocumentName());
+                        session.setState(DocumentUploadSession.State.ABORTED);
+                        storage.removeContent(session.getDocumentId());
+                    }
+                });
+    }
+
     @PreDestroy
     public void clear() {
         uploadSessions.clear();
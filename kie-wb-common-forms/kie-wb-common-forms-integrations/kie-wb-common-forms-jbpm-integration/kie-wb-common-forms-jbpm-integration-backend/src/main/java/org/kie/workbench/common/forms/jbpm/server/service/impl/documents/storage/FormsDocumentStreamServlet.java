@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.jbpm.server.service.impl.documents.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.gson.Gson;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.kie.workbench.common.forms.jbpm.model.document.DocumentData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receives documents as raw binary ranges (no multipart, no Base64). Each request carries one range of the document
+ * in its body and the range position as parameters, ranges can be sent in any order or in parallel and are written
+ * straight to their offset in the stored document.
+ */
+@WebServlet(name = "FormsDocumentStreamServlet", urlPatterns = "/documentStreamUploadServlet")
+public class FormsDocumentStreamServlet extends HttpServlet {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormsDocumentStreamServlet.class);
+
+    public static final String PARAM_DOCUMENT_ID = "documentId";
+    public static final String PARAM_DOCUMENT_NAME = "documentName";
+    public static final String PARAM_DOCUMENT_SIZE = "size";
+    public static final String PARAM_OFFSET = "offset";
+
+    @Inject
+    protected UploadedDocumentStorage storage;
+
+    @Override
+    protected void doPut(HttpServletRequest req,
+                         HttpServletResponse resp) throws ServletException, IOException {
+        doPost(req, resp);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req,
+                          HttpServletResponse resp) throws ServletException, IOException {
+
+        Map<String, Object> response = new HashMap<>();
+
+        String id = req.getParameter(PARAM_DOCUMENT_ID);
+        String name = req.getParameter(PARAM_DOCUMENT_NAME);
+
+        if (!isValidName(id) || !isValidName(name)) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        try (InputStream content = req.getInputStream()) {
+
+            long size = Long.parseLong(req.getParameter(PARAM_DOCUMENT_SIZE));
+            long offset = Long.parseLong(req.getParameter(PARAM_OFFSET));
+
+            if (storage.uploadContentRange(id, name, size, offset, content)) {
+                response.put("document", new DocumentData(id,
+                                                          name,
+                                                          size,
+                                                          "",
+                                                          System.currentTimeMillis()));
+            } else {
+                response.put("uploading", id);
+            }
+        } catch (Exception e) {
+            logger.warn("Cannot upload range of document {}: {}", name, e);
+            resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.put("error", "error");
+        }
+
+        writeResponse(resp, response);
+    }
+
+    private boolean isValidName(String name) {
+        return !StringUtils.isEmpty(name) && FilenameUtils.getName(name).equals(name) && !"..".equals(name);
+    }
+
+    protected void writeResponse(HttpServletResponse response,
+                                 Map<String, Object> uploadResponse) throws IOException {
+        Gson gson = new Gson();
+        response.setContentType("application/json");
+        response.getWriter().write(gson.toJson(uploadResponse));
+        response.getWriter().flush();
+    }
+}
@@ -16,6 +16,9 @@
 
 package org.kie.workbench.common.forms.jbpm.server.service.impl.documents.storage;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 import org.kie.workbench.common.forms.jbpm.server.service.impl.documents.DocumentUploadSession;
 import org.kie.workbench.common.forms.jbpm.service.shared.documents.DocumentUploadChunk;
 
@@ -27,6 +30,18 @@ public interface UploadedDocumentStorage {
 
     void uploadContent(String id, byte[] content);
 
+    /**
+     * Writes a range of a document directly at its offset in the document file, which is preallocated with the
+     * document size when the first range arrives. Ranges may arrive in any order and concurrently.
+     * @param id the document id
+     * @param name the document name
+     * @param size the total size of the document
+     * @param offset the position of the range in the document
+     * @param content the stream with the range content
+     * @return true if all the bytes of the document have been received, false otherwise.
+     */
+    boolean uploadContentRange(String id, String name, long size, long offset, InputStream content) throws IOException;
+
     byte[] getContent(String id);
 
     void removeContent(String id);
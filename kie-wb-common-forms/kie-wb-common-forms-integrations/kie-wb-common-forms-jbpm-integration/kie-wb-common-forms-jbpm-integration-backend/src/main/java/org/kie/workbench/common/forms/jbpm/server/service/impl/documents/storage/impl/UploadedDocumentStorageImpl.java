@@ -16,23 +16,28 @@
 
 package org.kie.workbench.common.forms.jbpm.server.service.impl.documents.storage.impl;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.SessionScoped;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.kie.workbench.common.forms.jbpm.server.service.impl.documents.DocumentUploadSession;
 import org.kie.workbench.common.forms.jbpm.server.service.impl.documents.storage.UploadedDocumentStorage;
 import org.kie.workbench.common.forms.jbpm.service.shared.documents.DocumentUploadChunk;
@@ -49,9 +54,13 @@ public class UploadedDocumentStorageImpl implements UploadedDocumentStorage,
     public static final String PARTS_FOLDER = "parts";
     public static final String PART_EXTENSION = ".part";
 
+    private static final long TRANSFER_SIZE = 8 * 1024 * 1024;
+
     protected Path rootFolder;
 
-    private Map<String, File> uploadedFiles = new HashMap<>();
+    private Map<String, File> uploadedFiles = new ConcurrentHashMap<>();
+
+    private Map<String, StreamedDocument> streamedDocuments = new ConcurrentHashMap<>();
 
     @PostConstruct
     public void init() {
@@ -97,22 +106,38 @@ public class UploadedDocumentStorageImpl implements UploadedDocumentStorage,
             destination.delete();
         }
 
-        destination.createNewFile();
+        Set<DocumentUploadChunk> chunks = session.getChunks();
 
-        try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(destination))) {
-            for (DocumentUploadChunk chunk : session.getChunks()) {
-                if (!session.getState().equals(DocumentUploadSession.State.MERGING)) {
-                    return null;
+        if (chunks.size() == 1) {
+            // A single part already is the document, there's nothing to assemble
+            Files.move(resolveChunkFile(chunks.iterator().next()).toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            try (FileChannel out = FileChannel.open(destination.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                for (DocumentUploadChunk chunk : chunks) {
+                    if (!session.getState().equals(DocumentUploadSession.State.MERGING)) {
+                        return null;
+                    }
+                    try (FileChannel in = FileChannel.open(resolveChunkFile(chunk).toPath(), StandardOpenOption.READ)) {
+                        transfer(in, out);
+                    }
                 }
-                IOUtils.copy(new FileInputStream(resolveChunkFile(chunk)), out);
             }
-            FileUtils.deleteQuietly(docFolder.toPath().resolve(PARTS_FOLDER).toFile());
         }
+        FileUtils.deleteQuietly(docFolder.toPath().resolve(PARTS_FOLDER).toFile());
+
         session.setState(DocumentUploadSession.State.MERGED);
 
         return destination;
     }
 
+    private void transfer(FileChannel in, FileChannel out) throws IOException {
+        long position = 0;
+        long size = in.size();
+        while (position < size) {
+            position += in.transferTo(position, size - position, out);
+        }
+    }
+
     private File resolveChunkFile(DocumentUploadChunk chunk) {
         File docFolder = resolveDocStorage(chunk.getDocumentId());
 
@@ -151,6 +176,52 @@ public class UploadedDocumentStorageImpl implements UploadedDocumentStorage,
         uploadedFiles.put(id, file);
     }
 
+    @Override
+    public boolean uploadContentRange(String id, String name, long size, long offset, InputStream content) throws IOException {
+        expireStreamedDocuments();
+
+        if (offset < 0 || offset >= size) {
+            throw new IllegalArgumentException("Invalid offset " + offset + " for document " + name + " of size " + size);
+        }
+
+        StreamedDocument document = streamedDocuments.computeIfAbsent(id, documentId -> new StreamedDocument(resolveDocStorage(documentId).toPath().resolve(name).toFile(), size));
+
+        if (document.size != size) {
+            throw new IllegalArgumentException("Document " + name + " size doesn't match the size of previous ranges");
+        }
+
+        document.allocate();
+
+        long written = 0;
+
+        try (FileChannel out = FileChannel.open(document.file.toPath(), StandardOpenOption.WRITE);
+             ReadableByteChannel in = Channels.newChannel(content)) {
+            long transferred;
+            while ((transferred = out.transferFrom(in, offset + written, Math.min(TRANSFER_SIZE, size - offset - written))) > 0) {
+                written += transferred;
+            }
+        }
+
+        if (document.addRange(offset, written)) {
+            streamedDocuments.remove(id);
+            uploadedFiles.put(id, document.file);
+            return true;
+        }
+        return false;
+    }
+
+    private void expireStreamedDocuments() {
+        final long now = System.currentTimeMillis();
+
+        streamedDocuments.entrySet().removeIf(entry -> {
+            if (now - entry.getValue().lastAccess > DocumentUploadSession.SESSION_TIMEOUT) {
+                FileUtils.deleteQuietly(entry.getValue().file.getParentFile());
+                return true;
+            }
+            return false;
+        });
+    }
+
     @Override
     public byte[] getContent(String id) {
         File file = uploadedFiles.get(id);
@@ -167,6 +238,7 @@ public class UploadedDocumentStorageImpl implements UploadedDocumentStorage,
 
     @Override
     public void removeContent(String id) {
+        streamedDocuments.remove(id);
         File file = uploadedFiles.remove(id);
         if (file != null) {
             FileUtils.deleteQuietly(file.getParentFile());
@@ -176,7 +248,53 @@ public class UploadedDocumentStorageImpl implements UploadedDocumentStorage,
     }
 
     public void clear() {
+        streamedDocuments.clear();
         uploadedFiles.clear();
         FileUtils.deleteQuietly(rootFolder.toFile());
     }
+
+    /**
+     * Document received as byte ranges written straight into a preallocated file, so no assembly step is needed.
+     */
+    private static class StreamedDocument implements Serializable {
+
+        private final File file;
+        private final long size;
+        private final TreeMap<Long, Long> ranges = new TreeMap<>();
+        private boolean allocated = false;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private StreamedDocument(File file, long size) {
+            this.file = file;
+            this.size = size;
+        }
+
+        private synchronized void allocate() throws IOException {
+            lastAccess = System.currentTimeMillis();
+            if (!allocated) {
+                try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                    raf.setLength(size);
+                }
+                allocated = true;
+            }
+        }
+
+        /**
+         * Registers a received range and checks whether the ranges received so far cover the whole document. Ranges
+         * resent by the client are counted only once.
+         */
+        private synchronized boolean addRange(long offset, long length) {
+            lastAccess = System.currentTimeMillis();
+            ranges.merge(offset, length, Math::max);
+
+            long covered = 0;
+            for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+                if (range.getKey() > covered) {
+                    return false;
+                }
+                covered = Math.max(covered, range.getKey() + range.getValue());
+            }
+            return covered >= size;
+        }
+    }
 }
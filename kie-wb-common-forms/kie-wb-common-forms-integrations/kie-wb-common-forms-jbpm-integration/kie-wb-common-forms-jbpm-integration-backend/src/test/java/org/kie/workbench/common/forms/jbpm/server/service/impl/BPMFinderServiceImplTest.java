@@ -16,8 +16,11 @@
 package org.kie.workbench.common.forms.jbpm.server.service.impl;
 
 import java.net.URL;
+import java.util.Collections;
 import java.util.List;
 
+import javax.enterprise.inject.Instance;
+
 import org.guvnor.common.services.project.builder.service.BuildService;
 import org.guvnor.m2repo.backend.server.repositories.ArtifactRepositoryService;
 import org.jboss.weld.environment.se.Weld;
@@ -27,7 +30,10 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.kie.workbench.common.forms.jbpm.model.authoring.JBPMProcessModel;
+import org.kie.workbench.common.forms.jbpm.server.service.BPMNFormModelGenerator;
 import org.kie.workbench.common.services.backend.project.ModuleClassLoaderHelper;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringMapPageRow;
+import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
 import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.uberfire.backend.server.util.Paths;
@@ -38,6 +44,15 @@ import org.uberfire.java.nio.fs.jgit.JGitFileSystemProviderConfiguration;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anySet;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class BPMFinderServiceImplTest {
 
@@ -147,6 +162,83 @@ public class BPMFinderServiceImplTest {
                         PROCESS_WITH_SHARED_FORMS_WRONG_MAPPINGS_TASKS);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFindProcessFromTheIndex() throws Exception {
+        final URL processUrl = BPMFinderServiceImplTest.class.getResource("/module/src/main/resources/com/example/definitions/process-with-all-possible-variables.bpmn2");
+        final org.uberfire.java.nio.file.Path processPath = ioService.get(processUrl.toURI());
+        final RefactoringMapPageRow row = new RefactoringMapPageRow();
+        row.setValue(Collections.singletonMap(PROCESS_WITH_ALL_VARIABLES_ID,
+                                              Paths.convert(processPath)));
+        final RefactoringQueryService queryService = mock(RefactoringQueryService.class);
+        when(queryService.query(eq(BPMFinderServiceImpl.FIND_BPMN_PROCESS_IDS_QUERY),
+                                anySet())).thenReturn(Collections.singletonList(row));
+        final BPMNProcessModelCache processModelCache = spy(new BPMNProcessModelCache(moduleService));
+
+        final JBPMProcessModel model = newBPMFinderService(queryService,
+                                                           processModelCache).getModelForProcess(PROCESS_WITH_ALL_VARIABLES_ID,
+                                                                                                 currentModulePath);
+
+        assertNotNull(model);
+        assertEquals(PROCESS_WITH_ALL_VARIABLES_ID,
+                     model.getProcessFormModel().getProcessId());
+        assertEquals(PROCESS_WITH_ALL_VARIABLES_TASKS,
+                     model.getTaskFormModels().size());
+        //Only the file found in the index is read, the module is not scanned
+        verify(processModelCache,
+               times(1)).getProcessModel(any(org.uberfire.java.nio.file.Path.class),
+                                         anyString());
+        verify(processModelCache).getProcessModel(eq(processPath),
+                                                  anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFindProcessNotInTheIndex() {
+        final RefactoringQueryService queryService = mock(RefactoringQueryService.class);
+        when(queryService.query(eq(BPMFinderServiceImpl.FIND_BPMN_PROCESS_IDS_QUERY),
+                                anySet())).thenReturn(Collections.emptyList());
+
+        final JBPMProcessModel model = newBPMFinderService(queryService,
+                                                           new BPMNProcessModelCache(moduleService)).getModelForProcess(PROCESS_WITH_SHARED_FORMS_ID,
+                                                                                                                        currentModulePath);
+
+        assertNotNull(model);
+        assertEquals(PROCESS_WITH_SHARED_FORMS_ID,
+                     model.getProcessFormModel().getProcessId());
+        verify(queryService).query(eq(BPMFinderServiceImpl.FIND_BPMN_PROCESS_IDS_QUERY),
+                                   anySet());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFindProcessWhenTheIndexFails() {
+        final RefactoringQueryService queryService = mock(RefactoringQueryService.class);
+        when(queryService.query(eq(BPMFinderServiceImpl.FIND_BPMN_PROCESS_IDS_QUERY),
+                                anySet())).thenThrow(new IllegalArgumentException("Unknown query"));
+
+        final JBPMProcessModel model = newBPMFinderService(queryService,
+                                                           new BPMNProcessModelCache(moduleService)).getModelForProcess(PROCESS_WITHOUT_VARIABLES_ID,
+                                                                                                                        currentModulePath);
+
+        assertNotNull(model);
+        assertEquals(PROCESS_WITHOUT_VARIABLES_ID,
+                     model.getProcessFormModel().getProcessId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private BPMFinderServiceImpl newBPMFinderService(final RefactoringQueryService queryService,
+                                                     final BPMNProcessModelCache processModelCache) {
+        final Instance<RefactoringQueryService> queryServiceInstance = mock(Instance.class);
+        when(queryServiceInstance.isUnsatisfied()).thenReturn(false);
+        when(queryServiceInstance.get()).thenReturn(queryService);
+        return new BPMFinderServiceImpl(ioService,
+                                        moduleService,
+                                        weldContainer.select(BPMNFormModelGenerator.class).get(),
+                                        queryServiceInstance,
+                                        processModelCache);
+    }
+
     protected void testFindProcess(String processId,
                                    int expectedTasks) {
         JBPMProcessModel model = bpmFinderService.getModelForProcess(processId, currentModulePath);
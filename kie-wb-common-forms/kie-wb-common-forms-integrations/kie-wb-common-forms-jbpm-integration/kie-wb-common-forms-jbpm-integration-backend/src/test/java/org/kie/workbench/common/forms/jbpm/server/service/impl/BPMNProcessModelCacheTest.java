@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.jbpm.server.service.impl;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOModuleCacheEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.forms.jbpm.model.authoring.JBPMProcessModel;
+import org.kie.workbench.common.forms.jbpm.model.authoring.process.BusinessProcessFormModel;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BPMNProcessModelCacheTest {
+
+    private static final String MODULE_URI = "default://master@myRepo/myModule/";
+
+    @Mock
+    private SessionInfo sessionInfo;
+
+    @Mock
+    private KieModuleService moduleService;
+
+    @Mock
+    private KieModule module;
+
+    @Mock
+    private Path moduleRootPath;
+
+    private BPMNProcessModelCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new BPMNProcessModelCache(moduleService);
+    }
+
+    @Test
+    public void testModelIsReusedWhileContentIsUnchanged() {
+        final org.uberfire.java.nio.file.Path processPath = mockPath(MODULE_URI + "src/main/resources/process.bpmn2");
+        final String contentHash = DigestUtils.sha256Hex("<definitions/>".getBytes(StandardCharsets.UTF_8));
+        final JBPMProcessModel model = newModel();
+
+        cache.setProcessModel(processPath, contentHash, model);
+
+        assertSame(model, cache.getProcessModel(processPath, contentHash));
+
+        final String changedHash = DigestUtils.sha256Hex("<definitions id=\"changed\"/>".getBytes(StandardCharsets.UTF_8));
+
+        assertNotEquals(contentHash, changedHash);
+        assertNull(cache.getProcessModel(processPath, changedHash));
+    }
+
+    @Test
+    public void testModuleInvalidation() {
+        final org.uberfire.java.nio.file.Path processPath = mockPath(MODULE_URI + "src/main/resources/process.bpmn2");
+        final org.uberfire.java.nio.file.Path otherModuleProcessPath = mockPath("default://master@myRepo/otherModule/src/main/resources/process.bpmn2");
+        final String contentHash = DigestUtils.sha256Hex(new byte[0]);
+
+        cache.setProcessModel(processPath, contentHash, newModel());
+        cache.setProcessModel(otherModuleProcessPath, contentHash, newModel());
+
+        assertEquals(2, cache.size());
+
+        when(moduleRootPath.toURI()).thenReturn(MODULE_URI);
+        when(module.getRootPath()).thenReturn(moduleRootPath);
+        when(moduleService.resolveModule(any())).thenReturn(module);
+
+        cache.onInvalidateModuleCache(new InvalidateDMOModuleCacheEvent(sessionInfo, module, moduleRootPath));
+
+        assertEquals(1, cache.size());
+        assertNull(cache.getProcessModel(processPath, contentHash));
+    }
+
+    private org.uberfire.java.nio.file.Path mockPath(final String uri) {
+        final org.uberfire.java.nio.file.Path path = mock(org.uberfire.java.nio.file.Path.class);
+        when(path.toUri()).thenReturn(URI.create(uri));
+        return path;
+    }
+
+    private JBPMProcessModel newModel() {
+        return new JBPMProcessModel(new BusinessProcessFormModel("process", "process", new ArrayList<>()), new ArrayList<>());
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.jbpm.server.service.impl.documents.storage.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.forms.jbpm.server.service.impl.documents.DocumentUploadSession;
+import org.kie.workbench.common.forms.jbpm.service.shared.documents.DocumentUploadChunk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UploadedDocumentStorageImplTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadedDocumentStorageImplTest.class);
+
+    private static final String DOC_ID = "docId";
+    private static final String DOC_NAME = "example.bin";
+
+    // Size of the documents used on the throughput tests, kept small for the unit suite. Measure real throughput by
+    // setting this system property to a big size (e.g. 268435456 for 256MB)
+    private static final long THROUGHPUT_DOCUMENT_SIZE = Long.getLong("org.kie.workbench.forms.jbpm.documents.throughputTestSize",
+                                                                      4L * 1024 * 1024);
+    private static final int RANGE_SIZE = (int) Math.min(8 * 1024 * 1024,
+                                                         Math.max(1024, THROUGHPUT_DOCUMENT_SIZE / 8));
+
+    private TestUploadedDocumentStorageImpl storage;
+
+    @Before
+    public void init() {
+        storage = new TestUploadedDocumentStorageImpl();
+        storage.init();
+    }
+
+    @After
+    public void cleanup() {
+        storage.clear();
+    }
+
+    @Test
+    public void testUploadRangesOutOfOrder() throws Exception {
+        byte[] part1 = "Lorem ipsum ".getBytes();
+        byte[] part2 = "dolor sit amet".getBytes();
+        long size = part1.length + part2.length;
+
+        assertFalse(storage.uploadContentRange(DOC_ID, DOC_NAME, size, part1.length, new ByteArrayInputStream(part2)));
+
+        // Resending a range must not complete the document
+        assertFalse(storage.uploadContentRange(DOC_ID, DOC_NAME, size, part1.length, new ByteArrayInputStream(part2)));
+
+        assertTrue(storage.uploadContentRange(DOC_ID, DOC_NAME, size, 0, new ByteArrayInputStream(part1)));
+
+        assertEquals("Lorem ipsum dolor sit amet", new String(storage.getContent(DOC_ID)));
+    }
+
+    @Test
+    public void testUploadRangeWithWrongOffset() {
+        Assertions.assertThatThrownBy(() -> storage.uploadContentRange(DOC_ID, DOC_NAME, 10, 10, new ByteArrayInputStream(new byte[1])))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRemoveStreamedContent() throws Exception {
+        storage.uploadContentRange(DOC_ID, DOC_NAME, 10, 0, new ByteArrayInputStream(new byte[5]));
+
+        storage.removeContent(DOC_ID);
+
+        Assertions.assertThat(storage.getRootFolder().resolve(DOC_ID).toFile())
+                .doesNotExist();
+        Assertions.assertThat(storage.getContent(DOC_ID))
+                .isEmpty();
+    }
+
+    @Test
+    public void testStreamedUploadThroughput() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            long start = System.currentTimeMillis();
+
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (long offset = 0; offset < THROUGHPUT_DOCUMENT_SIZE; offset += RANGE_SIZE) {
+                final long rangeOffset = offset;
+                final long rangeSize = Math.min(RANGE_SIZE, THROUGHPUT_DOCUMENT_SIZE - offset);
+                results.add(executor.submit(() -> storage.uploadContentRange(DOC_ID, DOC_NAME, THROUGHPUT_DOCUMENT_SIZE, rangeOffset, new PatternInputStream(rangeOffset, rangeSize))));
+            }
+
+            long completed = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    completed++;
+                }
+            }
+
+            logThroughput("streamed", start);
+
+            assertEquals(1, completed);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verifyDocument(storage.getRootFolder().resolve(DOC_ID).resolve(DOC_NAME).toFile());
+    }
+
+    @Test
+    public void testMergedUploadThroughput() throws Exception {
+        int maxChunks = (int) ((THROUGHPUT_DOCUMENT_SIZE + RANGE_SIZE - 1) / RANGE_SIZE);
+
+        DocumentUploadSession session = new DocumentUploadSession(DOC_ID, DOC_NAME, maxChunks);
+
+        long start = System.currentTimeMillis();
+
+        for (int index = 0; index < maxChunks; index++) {
+            long offset = (long) index * RANGE_SIZE;
+            byte[] content = new byte[(int) Math.min(RANGE_SIZE, THROUGHPUT_DOCUMENT_SIZE - offset)];
+            new PatternInputStream(offset, content.length).read(content);
+
+            DocumentUploadChunk chunk = new DocumentUploadChunk(DOC_ID, DOC_NAME, index, maxChunks, Base64.getEncoder().encodeToString(content));
+            storage.uploadContentChunk(chunk);
+            session.add(chunk);
+        }
+
+        assertTrue(session.startMerging());
+
+        storage.merge(session);
+
+        logThroughput("merged", start);
+
+        assertEquals(DocumentUploadSession.State.MERGED, session.getState());
+
+        verifyDocument(storage.getRootFolder().resolve(DOC_ID).resolve(DOC_NAME).toFile());
+    }
+
+    private void logThroughput(String mode, long start) {
+        long time = Math.max(1, System.currentTimeMillis() - start);
+        logger.info("Uploaded {} bytes ({}) in {} ms: {} MB/s", THROUGHPUT_DOCUMENT_SIZE, mode, time, (THROUGHPUT_DOCUMENT_SIZE / 1024 / 1024) * 1000 / time);
+    }
+
+    private void verifyDocument(File file) throws Exception {
+        assertEquals(THROUGHPUT_DOCUMENT_SIZE, file.length());
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            for (long position = 0; position < THROUGHPUT_DOCUMENT_SIZE; position += RANGE_SIZE / 3) {
+                raf.seek(position);
+                assertEquals(PatternInputStream.valueAt(position), raf.read());
+            }
+            raf.seek(THROUGHPUT_DOCUMENT_SIZE - 1);
+            assertEquals(PatternInputStream.valueAt(THROUGHPUT_DOCUMENT_SIZE - 1), raf.read());
+        }
+    }
+
+    /**
+     * Generates the document content on the fly so huge documents can be uploaded without holding them in memory.
+     */
+    private static class PatternInputStream extends InputStream {
+
+        private long position;
+        private final long end;
+
+        private PatternInputStream(long offset, long length) {
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        static int valueAt(long position) {
+            return (int) ((position * 31 + (position >>> 12)) & 0xFF);
+        }
+
+        @Override
+        public int read() {
+            if (position >= end) {
+                return -1;
+            }
+            return valueAt(position++);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= end) {
+                return -1;
+            }
+            int count = (int) Math.min(len, end - position);
+            for (int i = 0; i < count; i++) {
+                b[off + i] = (byte) valueAt(position++);
+            }
+            return count;
+        }
+    }
+}
@@ -73,6 +73,10 @@ public interface LibraryService {
 
     List<String> getAllUsers();
 
+    List<String> searchUsers(final String prefix,
+                             final int page,
+                             final int pageSize);
+
     void addBranch(final String newBranchName,
                    final String baseBranchName,
                    final WorkspaceProject project);
@@ -58,7 +58,6 @@ import org.guvnor.structure.repositories.changerequest.ChangeRequestService;
 import org.guvnor.structure.security.OrganizationalUnitAction;
 import org.guvnor.structure.security.RepositoryAction;
 import org.jboss.errai.bus.server.annotations.Service;
-import org.jboss.errai.security.shared.api.identity.User;
 import org.jboss.errai.security.shared.exception.UnauthorizedException;
 import org.kie.workbench.common.screens.examples.model.ExampleRepository;
 import org.kie.workbench.common.screens.examples.model.ImportProject;
@@ -87,8 +86,6 @@ import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.commons.cluster.ClusterService;
-import org.uberfire.ext.security.management.api.service.UserManagerService;
-import org.uberfire.ext.security.management.impl.SearchRequestImpl;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.NoSuchFileException;
 import org.uberfire.java.nio.file.attribute.FileTime;
@@ -114,7 +111,7 @@ public class LibraryServiceImpl implements LibraryService {
     private KieModuleService moduleService;
     private ExamplesService examplesService;
     private IOService ioService;
-    private UserManagerService userManagerService;
+    private LibraryUserDirectory userDirectory;
     private IndexStatusOracle indexOracle;
     private RepositoryService repoService;
     private PathUtil pathUtil;
@@ -139,7 +136,7 @@ public class LibraryServiceImpl implements LibraryService {
                               final KieModuleService moduleService,
                               final ExamplesService examplesService,
                               @Named("ioStrategy") final IOService ioService,
-                              final UserManagerService userManagerService,
+                              final LibraryUserDirectory userDirectory,
                               final IndexStatusOracle indexOracle,
                               final RepositoryService repoService,
                               final PathUtil pathUtil,
@@ -159,7 +156,7 @@ public class LibraryServiceImpl implements LibraryService {
         this.moduleService = moduleService;
         this.examplesService = examplesService;
         this.ioService = ioService;
-        this.userManagerService = userManagerService;
+        this.userDirectory = userDirectory;
         this.indexOracle = indexOracle;
         this.repoService = repoService;
         this.pathUtil = pathUtil;
@@ -396,16 +393,17 @@ public class LibraryServiceImpl implements LibraryService {
     }
 
     @Override
-    public synchronized List<String> getAllUsers() {
-        try {
-            final List<User> users = userManagerService.search(new SearchRequestImpl("",
-                                                                                     1,
-                                                                                     Integer.MAX_VALUE)).getResults();
-            return users.stream().map(User::getIdentifier).collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error while searching all users: " + e.getClass().getCanonicalName() );
-            return Collections.emptyList();
-        }
+    public List<String> getAllUsers() {
+        return userDirectory.getAllUsers();
+    }
+
+    @Override
+    public List<String> searchUsers(final String prefix,
+                                    final int page,
+                                    final int pageSize) {
+        return userDirectory.searchUsers(prefix,
+                                         page,
+                                         pageSize);
     }
 
     @Override
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.jboss.errai.security.shared.api.identity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.ext.security.management.api.service.UserManagerService;
+import org.uberfire.ext.security.management.impl.SearchRequestImpl;
+
+/**
+ * In-memory copy of the user identifiers known by the {@link UserManagerService}, sorted so it can be searched by
+ * prefix and sliced in pages. The copy is an immutable snapshot replaced as a whole, so readers never lock: once it is
+ * older than the refresh interval the next caller reloads it while the others keep being served the previous one. Only
+ * the first load, when there is nothing to serve yet, makes the concurrent callers wait for it.
+ */
+@ApplicationScoped
+public class LibraryUserDirectory {
+
+    public static final String REFRESH_INTERVAL_PROPERTY = "org.kie.workbench.library.users.refreshInterval";
+
+    private static final long DEFAULT_REFRESH_INTERVAL = 60000L;
+
+    private static final Logger log = LoggerFactory.getLogger(LibraryUserDirectory.class);
+
+    private UserManagerService userManagerService;
+    private long refreshInterval;
+    private LongSupplier clock;
+
+    private volatile Snapshot snapshot;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final Object initialLoad = new Object();
+
+    public LibraryUserDirectory() {
+        //CDI proxy
+    }
+
+    @Inject
+    public LibraryUserDirectory(final UserManagerService userManagerService) {
+        this(userManagerService,
+             Long.getLong(REFRESH_INTERVAL_PROPERTY,
+                          DEFAULT_REFRESH_INTERVAL),
+             System::currentTimeMillis);
+    }
+
+    LibraryUserDirectory(final UserManagerService userManagerService,
+                         final long refreshInterval,
+                         final LongSupplier clock) {
+        this.userManagerService = userManagerService;
+        this.refreshInterval = refreshInterval;
+        this.clock = clock;
+    }
+
+    public List<String> getAllUsers() {
+        return getSnapshot().users;
+    }
+
+    /**
+     * @param prefix Case sensitive prefix of the user identifiers, all users are returned when empty or null.
+     * @param page First page is 1.
+     * @param pageSize Maximum number of users returned.
+     * @return The users of the requested page, sorted by identifier.
+     */
+    public List<String> searchUsers(final String prefix,
+                                    final int page,
+                                    final int pageSize) {
+        final List<String> users = getSnapshot().users;
+        int from = 0;
+        int to = users.size();
+        if (prefix != null && !prefix.isEmpty()) {
+            from = indexOf(users,
+                           prefix);
+            to = indexOf(users,
+                         prefix + Character.MAX_VALUE);
+        }
+        final long start = from + (long) Math.max(page - 1,
+                                                  0) * pageSize;
+        if (pageSize <= 0 || start >= to) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(users.subList((int) start,
+                                             (int) Math.min(start + pageSize,
+                                                            to)));
+    }
+
+    private Snapshot getSnapshot() {
+        final Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (initialLoad) {
+                final Snapshot loaded = snapshot;
+                return loaded != null ? loaded : refresh(null);
+            }
+        }
+        if (clock.getAsLong() - current.loadedAt >= refreshInterval && refreshing.compareAndSet(false,
+                                                                                               true)) {
+            try {
+                return refresh(current);
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        return current;
+    }
+
+    private Snapshot refresh(final Snapshot current) {
+        try {
+            final List<User> users = userManagerService.search(new SearchRequestImpl("",
+                                                                                     1,
+                                                                                     Integer.MAX_VALUE)).getResults();
+            final Snapshot loaded = new Snapshot(users.stream()
+                                                         .map(User::getIdentifier)
+                                                         .sorted()
+                                                         .distinct()
+                                                         .collect(Collectors.collectingAndThen(Collectors.toList(),
+                                                                                               Collections::unmodifiableList)),
+                                                 clock.getAsLong());
+            snapshot = loaded;
+            return loaded;
+        } catch (Exception e) {
+            log.error("Error while searching all users: " + e.getClass().getCanonicalName());
+            if (current == null) {
+                //Nothing to serve yet, the waiting callers get no users and the next call tries again
+                final Snapshot empty = new Snapshot(Collections.emptyList(),
+                                                    clock.getAsLong() - refreshInterval);
+                snapshot = empty;
+                return empty;
+            }
+            //Keep serving the previous users until the next refresh
+            final Snapshot retained = new Snapshot(current.users,
+                                                   clock.getAsLong());
+            snapshot = retained;
+            return retained;
+        }
+    }
+
+    private static int indexOf(final List<String> users,
+                               final String key) {
+        final int index = Collections.binarySearch(users,
+                                                   key);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    private static class Snapshot {
+
+        private final List<String> users;
+        private final long loadedAt;
+
+        private Snapshot(final List<String> users,
+                         final long loadedAt) {
+            this.users = users;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
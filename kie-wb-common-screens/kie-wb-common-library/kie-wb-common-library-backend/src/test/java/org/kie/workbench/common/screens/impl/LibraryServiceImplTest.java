@@ -227,7 +227,7 @@ public class LibraryServiceImplTest {
                                                     moduleService,
                                                     examplesService,
                                                     ioService,
-                                                    userManagerService,
+                                                    new LibraryUserDirectory(userManagerService),
                                                     indexOracle,
                                                     repositoryService,
                                                     pathUtil,
@@ -827,6 +827,25 @@ public class LibraryServiceImplTest {
         assertTrue(allUsers.isEmpty());
     }
 
+    @Test
+    public void searchUsersTest() {
+        final User admin = mock(User.class);
+        doReturn("admin").when(admin).getIdentifier();
+        final User alice = mock(User.class);
+        doReturn("alice").when(alice).getIdentifier();
+        final AbstractEntityManager.SearchResponse<User> searchResponse = mock(AbstractEntityManager.SearchResponse.class);
+        doReturn(Arrays.asList(alice,
+                               admin)).when(searchResponse).getResults();
+        doReturn(searchResponse).when(userManagerService).search(any());
+
+        final List<String> users = libraryService.searchUsers("a",
+                                                              1,
+                                                              1);
+
+        assertEquals(1, users.size());
+        assertEquals("admin", users.get(0));
+    }
+
     private Branch makeBranch(final String branchName,
                               final String repoName) {
         final Path path = mock(Path.class);
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.jboss.errai.security.shared.api.identity.User;
+import org.jboss.errai.security.shared.api.identity.UserImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.ext.security.management.api.AbstractEntityManager;
+import org.uberfire.ext.security.management.api.service.UserManagerService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LibraryUserDirectoryTest {
+
+    private static final long REFRESH_INTERVAL = 1000L;
+
+    @Mock
+    private UserManagerService userManagerService;
+
+    private final AtomicLong time = new AtomicLong();
+
+    private LibraryUserDirectory userDirectory;
+
+    @Before
+    public void setup() {
+        setUsers("john",
+                 "admin",
+                 "jane",
+                 "joe",
+                 "alice");
+        userDirectory = new LibraryUserDirectory(userManagerService,
+                                                 REFRESH_INTERVAL,
+                                                 time::get);
+    }
+
+    @Test
+    public void usersAreSortedAndCachedTest() {
+        assertThat(userDirectory.getAllUsers()).containsExactly("admin",
+                                                                "alice",
+                                                                "jane",
+                                                                "joe",
+                                                                "john");
+        userDirectory.getAllUsers();
+
+        verify(userManagerService,
+               times(1)).search(any());
+    }
+
+    @Test
+    public void searchUsersByPrefixTest() {
+        assertThat(userDirectory.searchUsers("j",
+                                             1,
+                                             10)).containsExactly("jane",
+                                                                  "joe",
+                                                                  "john");
+        assertThat(userDirectory.searchUsers("jo",
+                                             1,
+                                             10)).containsExactly("joe",
+                                                                  "john");
+        assertThat(userDirectory.searchUsers("x",
+                                             1,
+                                             10)).isEmpty();
+    }
+
+    @Test
+    public void searchUsersPagesTest() {
+        assertThat(userDirectory.searchUsers("",
+                                             1,
+                                             2)).containsExactly("admin",
+                                                                 "alice");
+        assertThat(userDirectory.searchUsers(null,
+                                             3,
+                                             2)).containsExactly("john");
+        assertThat(userDirectory.searchUsers("j",
+                                             2,
+                                             2)).containsExactly("john");
+        assertThat(userDirectory.searchUsers("j",
+                                             3,
+                                             2)).isEmpty();
+    }
+
+    @Test
+    public void concurrentCallersShareTheFirstLoadTest() throws Exception {
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AbstractEntityManager.SearchResponse<User> response = setUsers("john",
+                                                                            "admin",
+                                                                            "jane",
+                                                                            "joe",
+                                                                            "alice");
+        doAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return response;
+        }).when(userManagerService).search(any());
+
+        final List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final Thread caller = new Thread(userDirectory::getAllUsers);
+            caller.start();
+            callers.add(caller);
+        }
+        loading.await();
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertThat(userDirectory.getAllUsers()).hasSize(5);
+        verify(userManagerService,
+               times(1)).search(any());
+    }
+
+    @Test
+    public void failedFirstLoadIsRetriedTest() {
+        doThrow(new RuntimeException()).when(userManagerService).search(any());
+        assertThat(userDirectory.getAllUsers()).isEmpty();
+
+        setUsers("bob");
+        assertThat(userDirectory.getAllUsers()).containsExactly("bob");
+    }
+
+    @Test
+    public void usersAreRefreshedAfterIntervalTest() {
+        userDirectory.getAllUsers();
+        setUsers("bob");
+
+        time.set(REFRESH_INTERVAL - 1);
+        assertThat(userDirectory.getAllUsers()).hasSize(5);
+
+        time.set(REFRESH_INTERVAL);
+        assertThat(userDirectory.getAllUsers()).containsExactly("bob");
+    }
+
+    @Test
+    public void previousUsersAreKeptWhenRefreshFailsTest() {
+        userDirectory.getAllUsers();
+        doThrow(new RuntimeException()).when(userManagerService).search(any());
+
+        time.set(REFRESH_INTERVAL);
+        assertThat(userDirectory.getAllUsers()).hasSize(5);
+        assertThat(userDirectory.getAllUsers()).hasSize(5);
+
+        //The failed refresh is not retried until the next interval
+        verify(userManagerService,
+               times(2)).search(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private AbstractEntityManager.SearchResponse<User> setUsers(final String... identifiers) {
+        final List<User> users = Arrays.stream(identifiers)
+                .map(UserImpl::new)
+                .collect(Collectors.toList());
+        final AbstractEntityManager.SearchResponse<User> searchResponse = mock(AbstractEntityManager.SearchResponse.class);
+        doReturn(users).when(searchResponse).getResults();
+        doReturn(searchResponse).when(userManagerService).search(any());
+        return searchResponse;
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import com.thoughtworks.xstream.XStream;
+import org.guvnor.common.services.project.model.Module;
+import org.kie.soup.commons.xstream.XStreamUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.async.DescriptiveThreadFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Navigation state of the users, this is the content of their "user.nav" and "last.user.nav" files. The files of a
+ * user are read once and then the state is served and updated in memory, while a background task writes the users
+ * whose state changed every flush interval, both files in a single batch. So all the navigation done by a user within
+ * an interval ends up in one commit on the config file system.
+ * <p>
+ * The changes themselves are kept until flushed: on flush the user's files are read again and the changes are
+ * replayed on top of them, so the changes done on other cluster nodes meanwhile are not overwritten. The state of the
+ * users that have not been accessed for the idle timeout is dropped once flushed, so it is read again from the files
+ * on their next access. The state may be stale for a user navigating on several nodes at the same time, which only
+ * affects what the explorer initially selects.
+ * <p>
+ * The state held in memory is never modified, updates work on a copy that replaces it, so it can be safely read while
+ * being updated or written.
+ */
+@ApplicationScoped
+public class ExplorerNavigationStore {
+
+    public static final String FLUSH_INTERVAL_PROPERTY = "org.kie.workbench.explorer.navigation.flushInterval";
+
+    public static final String IDLE_TIMEOUT_PROPERTY = "org.kie.workbench.explorer.navigation.idleTimeout";
+
+    private static final long DEFAULT_FLUSH_INTERVAL = 5000L;
+
+    private static final long DEFAULT_IDLE_TIMEOUT = 600000L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExplorerNavigationStore.class);
+
+    private final Map<String, UserNavigation> navigations = new ConcurrentHashMap<>();
+
+    private final XStream xs = XStreamUtils.createTrustingXStream();
+
+    private IOService ioServiceConfig;
+    private long flushInterval;
+    private long idleTimeout;
+    private LongSupplier clock;
+
+    private ScheduledExecutorService scheduler;
+
+    public ExplorerNavigationStore() {
+        //CDI proxy
+    }
+
+    @Inject
+    public ExplorerNavigationStore(@Named("configIO") final IOService ioServiceConfig) {
+        this(ioServiceConfig,
+             Long.getLong(FLUSH_INTERVAL_PROPERTY,
+                          DEFAULT_FLUSH_INTERVAL),
+             Long.getLong(IDLE_TIMEOUT_PROPERTY,
+                          DEFAULT_IDLE_TIMEOUT),
+             System::currentTimeMillis);
+    }
+
+    ExplorerNavigationStore(final IOService ioServiceConfig,
+                            final long flushInterval,
+                            final long idleTimeout,
+                            final LongSupplier clock) {
+        this.ioServiceConfig = ioServiceConfig;
+        this.flushInterval = flushInterval;
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (flushInterval > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(new DescriptiveThreadFactory());
+            scheduler.scheduleWithFixedDelay(this::flush,
+                                             flushInterval,
+                                             flushInterval,
+                                             TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (scheduler != null && !scheduler.isShutdown()) {
+            try {
+                scheduler.shutdownNow();
+            } catch (Exception e) {
+                //uncommon case
+                LOGGER.warn("ExplorerNavigationStore termination error: " + e.getMessage(),
+                            e);
+            }
+        }
+        //Pending changes are not lost on shutdown
+        flush();
+    }
+
+    /**
+     * @return The user's explorer data, null when the user has none. It must not be modified.
+     */
+    public UserExplorerData getUserContent(final Path userNav,
+                                           final Path lastUserNav) {
+        return getNavigation(userNav,
+                             lastUserNav).content;
+    }
+
+    /**
+     * @return The user's last explorer data, null when the user has none. It must not be modified.
+     */
+    public UserExplorerLastData getLastContent(final Path userNav,
+                                               final Path lastUserNav) {
+        return getNavigation(userNav,
+                             lastUserNav).lastContent;
+    }
+
+    /**
+     * Updates the user's navigation state, it is written on the next flush.
+     * @param update Receives a copy of the current user's explorer data to be updated, and returns the new last
+     * explorer data. The update is discarded when the resulting explorer data is empty. It is applied again on the
+     * data read from the files when flushed, so it must only depend on the data it receives.
+     */
+    public void update(final Path userNav,
+                       final Path lastUserNav,
+                       final Function<UserExplorerData, UserExplorerLastData> update) {
+        while (true) {
+            final UserNavigation navigation = getNavigation(userNav,
+                                                            lastUserNav);
+            synchronized (navigation) {
+                if (navigation.evicted) {
+                    continue;
+                }
+                final UserExplorerData content = navigation.content == null ? new UserExplorerData() : new UserExplorerData(navigation.content);
+                final UserExplorerLastData lastContent = update.apply(content);
+                if (!content.isEmpty()) {
+                    navigation.content = content;
+                    navigation.lastContent = lastContent;
+                    navigation.changes.add((changedContent, changedLastContent) -> update.apply(changedContent));
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the module from the navigation state of the users held in memory.
+     */
+    public void deleteModule(final Module module) {
+        for (final UserNavigation navigation : navigations.values()) {
+            synchronized (navigation) {
+                boolean changed = false;
+                if (navigation.content != null) {
+                    final UserExplorerData content = new UserExplorerData(navigation.content);
+                    if (content.deleteModule(module)) {
+                        navigation.content = content;
+                        changed = true;
+                    }
+                }
+                if (navigation.lastContent != null) {
+                    final UserExplorerLastData lastContent = new UserExplorerLastData(navigation.lastContent);
+                    if (lastContent.deleteModule(module)) {
+                        navigation.lastContent = lastContent;
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    navigation.changes.add((changedContent, changedLastContent) -> {
+                        changedContent.deleteModule(module);
+                        if (changedLastContent != null) {
+                            changedLastContent.deleteModule(module);
+                        }
+                        return changedLastContent;
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the navigation state of the users that changed since the last flush, and drops the state of the users
+     * that have been idle for longer than the idle timeout.
+     */
+    public synchronized void flush() {
+        final long now = clock.getAsLong();
+        for (final Map.Entry<String, UserNavigation> entry : navigations.entrySet()) {
+            final UserNavigation navigation = entry.getValue();
+            final List<Change> changes;
+            synchronized (navigation) {
+                if (navigation.changes.isEmpty()) {
+                    if (now - navigation.lastAccess >= idleTimeout) {
+                        navigation.evicted = true;
+                        navigations.remove(entry.getKey(),
+                                           navigation);
+                    }
+                    continue;
+                }
+                changes = navigation.changes;
+                navigation.changes = new ArrayList<>();
+            }
+            try {
+                write(navigation,
+                      changes);
+            } catch (final Exception e) {
+                LOGGER.error("Can't serialize user's state navigation",
+                             e);
+                //Retried on the next flush
+                synchronized (navigation) {
+                    changes.addAll(navigation.changes);
+                    navigation.changes = changes;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the user's explorer data from the file system, regardless of the state held in memory.
+     * @return The user's explorer data, null when not found or not readable.
+     */
+    public UserExplorerData readUserContent(final Path userNav) {
+        return read(userNav,
+                    UserExplorerData.class);
+    }
+
+    /**
+     * Reads the user's last explorer data from the file system, regardless of the state held in memory.
+     * @return The user's last explorer data, null when not found or not readable.
+     */
+    public UserExplorerLastData readLastContent(final Path lastUserNav) {
+        return read(lastUserNav,
+                    UserExplorerLastData.class);
+    }
+
+    private UserNavigation getNavigation(final Path userNav,
+                                         final Path lastUserNav) {
+        final UserNavigation navigation = navigations.computeIfAbsent(userNav.toUri().toString(),
+                                                                      key -> new UserNavigation(userNav,
+                                                                                                lastUserNav,
+                                                                                                readUserContent(userNav),
+                                                                                                readLastContent(lastUserNav)));
+        navigation.lastAccess = clock.getAsLong();
+        return navigation;
+    }
+
+    private void write(final UserNavigation navigation,
+                       final List<Change> changes) {
+        try {
+            ioServiceConfig.startBatch(navigation.userNav.getFileSystem());
+            //The files may have been changed by other cluster nodes since they were read
+            final UserExplorerData stored = readUserContent(navigation.userNav);
+            final UserExplorerData content = stored == null ? new UserExplorerData() : stored;
+            UserExplorerLastData lastContent = readLastContent(navigation.lastUserNav);
+            for (final Change change : changes) {
+                lastContent = change.apply(content,
+                                           lastContent);
+            }
+            ioServiceConfig.write(navigation.userNav,
+                                  xs.toXML(content));
+            if (lastContent != null) {
+                ioServiceConfig.write(navigation.lastUserNav,
+                                      xs.toXML(lastContent));
+            }
+            refresh(navigation,
+                    content,
+                    lastContent);
+        } finally {
+            ioServiceConfig.endBatch();
+        }
+    }
+
+    private void refresh(final UserNavigation navigation,
+                         final UserExplorerData content,
+                         final UserExplorerLastData lastContent) {
+        synchronized (navigation) {
+            //The changes done while writing are kept on top of the written state
+            final UserExplorerData refreshedContent = new UserExplorerData(content);
+            UserExplorerLastData refreshedLastContent = lastContent == null ? null : new UserExplorerLastData(lastContent);
+            for (final Change change : navigation.changes) {
+                refreshedLastContent = change.apply(refreshedContent,
+                                                    refreshedLastContent);
+            }
+            navigation.content = refreshedContent;
+            navigation.lastContent = refreshedLastContent;
+        }
+    }
+
+    private <T> T read(final Path path,
+                       final Class<T> type) {
+        try {
+            if (ioServiceConfig.exists(path)) {
+                final String xml = ioServiceConfig.readAllString(path);
+                return type.cast(xs.fromXML(xml));
+            }
+        } catch (final Exception ignored) {
+        }
+        return null;
+    }
+
+    private interface Change {
+
+        /**
+         * Applies the change to the given explorer data.
+         * @return The resulting last explorer data.
+         */
+        UserExplorerLastData apply(final UserExplorerData content,
+                                   final UserExplorerLastData lastContent);
+    }
+
+    private static class UserNavigation {
+
+        private final Path userNav;
+        private final Path lastUserNav;
+
+        private volatile UserExplorerData content;
+        private volatile UserExplorerLastData lastContent;
+        private volatile long lastAccess;
+        private List<Change> changes = new ArrayList<>();
+        private boolean evicted;
+
+        private UserNavigation(final Path userNav,
+                               final Path lastUserNav,
+                               final UserExplorerData content,
+                               final UserExplorerLastData lastContent) {
+            this.userNav = userNav;
+            this.lastUserNav = lastUserNav;
+            this.content = content;
+            this.lastContent = lastContent;
+        }
+    }
+}
@@ -21,19 +21,16 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import com.google.common.collect.Lists;
-import com.thoughtworks.xstream.XStream;
 import org.guvnor.common.services.backend.file.LinkedDotFileFilter;
 import org.guvnor.common.services.backend.file.LinkedRegularFileFilter;
 import org.guvnor.common.services.project.model.Module;
 import org.guvnor.common.services.project.model.Package;
 import org.guvnor.common.services.project.model.WorkspaceProject;
 import org.guvnor.common.services.shared.metadata.MetadataService;
-import org.kie.soup.commons.xstream.XStreamUtils;
 import org.kie.workbench.common.screens.explorer.model.FolderItem;
 import org.kie.workbench.common.screens.explorer.model.FolderItemOperation;
 import org.kie.workbench.common.screens.explorer.model.FolderItemType;
@@ -48,8 +45,6 @@ import org.uberfire.backend.server.UserServicesImpl;
 import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
-import org.uberfire.commons.async.DescriptiveRunnable;
-import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.ext.editor.commons.service.CopyService;
 import org.uberfire.ext.editor.commons.service.DeleteService;
 import org.uberfire.ext.editor.commons.service.RenameService;
@@ -62,16 +57,13 @@ import static java.util.Collections.emptyList;
 public class ExplorerServiceHelper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ExplorerServiceHelper.class);
-    private ExecutorService executorService;
 
     private LinkedDotFileFilter dotFileFilter = new LinkedDotFileFilter();
     private LinkedRegularFileFilter regularFileFilter = new LinkedRegularFileFilter(dotFileFilter);
-    private XStream xs;
 
     private KieModuleService moduleService;
     private FolderListingResolver folderListingResolver;
     private IOService ioService;
-    private IOService ioServiceConfig;
     private VFSLockServiceImpl lockService;
     private MetadataService metadataService;
     private UserServicesImpl userServices;
@@ -80,35 +72,36 @@ public class ExplorerServiceHelper {
     private RenameService renameService;
     private CopyService copyService;
 
+    private PackageAssetsSummary packageAssetsSummary;
+    private ExplorerNavigationStore navigationStore;
+
     public ExplorerServiceHelper() {
         //WELD proxy support
-        xs = XStreamUtils.createTrustingXStream();
     }
 
     @Inject
     public ExplorerServiceHelper(final KieModuleService moduleService,
                                  final FolderListingResolver folderListingResolver,
                                  @Named("ioStrategy") final IOService ioService,
-                                 @Named("configIO") final IOService ioServiceConfig,
                                  final VFSLockServiceImpl lockService,
                                  final MetadataService metadataService,
                                  final UserServicesImpl userServices,
                                  final DeleteService deleteService,
                                  final RenameService renameService,
                                  final CopyService copyService,
-                                 @Managed final ExecutorService executorService) {
-        this();
+                                 final PackageAssetsSummary packageAssetsSummary,
+                                 final ExplorerNavigationStore navigationStore) {
         this.moduleService = moduleService;
         this.folderListingResolver = folderListingResolver;
         this.ioService = ioService;
-        this.ioServiceConfig = ioServiceConfig;
         this.lockService = lockService;
         this.metadataService = metadataService;
         this.userServices = userServices;
         this.deleteService = deleteService;
         this.renameService = renameService;
         this.copyService = copyService;
-        this.executorService = executorService;
+        this.packageAssetsSummary = packageAssetsSummary;
+        this.navigationStore = navigationStore;
     }
 
     public FolderItem toFolderItem(final org.guvnor.common.services.project.model.Package pkg) {
@@ -243,36 +236,7 @@ public class ExplorerServiceHelper {
             return false;
         }
 
-        if (hasAssets(pkg.getPackageMainSrcPath())
-                || hasAssets(pkg.getPackageTestSrcPath())
-                || hasAssets(pkg.getPackageMainResourcesPath())
-                || hasAssets(pkg.getPackageTestResourcesPath())) {
-            return true;
-        }
-
-        final Set<Package> childPackages = moduleService.resolvePackages(pkg);
-        for (final Package childPackage : childPackages) {
-
-            if (!childPackage.equals(pkg) && hasAssets(childPackage)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
-    boolean hasAssets(final Path packagePath) {
-        final org.uberfire.java.nio.file.Path nioPackagePath = Paths.convert(packagePath);
-
-        if (Files.exists(nioPackagePath)) {
-            final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream(nioPackagePath,
-                                                                                                           regularFileFilter);
-            for (org.uberfire.java.nio.file.Path nioPath : nioPaths) {
-                return true;
-            }
-        }
-
-        return false;
+        return packageAssetsSummary.hasAssets(pkg);
     }
 
     public List<FolderItem> getItems(final Package pkg,
@@ -369,28 +333,18 @@ public class ExplorerServiceHelper {
             _selectedPackage = null;
         }
 
-        this.executorService.execute(new DescriptiveRunnable() {
-            @Override
-            public String getDescription() {
-                return "Serialize Navigation State";
-            }
-
-            @Override
-            public void run() {
-                try {
-                    store(userNavPath,
-                          lastUserNavPath,
-                          project,
-                          _selectedModule,
-                          _selectedPackage,
-                          _selectedItem,
-                          options);
-                } catch (final Exception e) {
-                    LOGGER.error("Can't serialize user's state navigation",
-                                 e);
-                }
-            }
-        });
+        try {
+            store(userNavPath,
+                  lastUserNavPath,
+                  project,
+                  _selectedModule,
+                  _selectedPackage,
+                  _selectedItem,
+                  options);
+        } catch (final Exception e) {
+            LOGGER.error("Can't serialize user's state navigation",
+                         e);
+        }
     }
 
     public void store(final org.uberfire.java.nio.file.Path userNav,
@@ -400,73 +354,59 @@ public class ExplorerServiceHelper {
                       final Package pkg,
                       final FolderItem item,
                       final ActiveOptions options) {
-        final UserExplorerData content;
-        final UserExplorerData _content = loadUserContent(userNav);
-        if (_content == null) {
-            content = new UserExplorerData();
-        } else {
-            content = _content;
-        }
-        final UserExplorerLastData lastContent = new UserExplorerLastData();
-        if (project != null) {
-            content.addRepository(project.getOrganizationalUnit(),
-                                  project.getRepository());
-        }
-        if (module != null && project != null) {
-            content.addModule(project.getOrganizationalUnit(),
-                              project.getRepository(),
-                              module);
-        }
-        if (item != null && project != null && project.getBranch() != null && module != null) {
-            lastContent.setFolderItem(project.getRepository(),
-                                      project.getBranch().getName(),
-                                      module,
-                                      item);
-            content.addFolderItem(project.getOrganizationalUnit(),
-                                  project.getRepository(),
-                                  module,
-                                  item);
-        }
-        if (pkg != null && project != null && project.getBranch() != null && module != null) {
-            lastContent.setPackage(project.getRepository(),
-                                   project.getBranch().getName(),
-                                   module,
-                                   pkg);
-            content.addPackage(project.getOrganizationalUnit(),
-                               project.getRepository(),
-                               module,
-                               pkg);
-        }
-        if (options != null && !options.isEmpty()) {
-            lastContent.setOptions(options);
-        }
-        if (!content.isEmpty()) {
-            try {
-                ioServiceConfig.startBatch(userNav.getFileSystem());
-                ioServiceConfig.write(userNav,
-                                      xs.toXML(content));
-                ioServiceConfig.write(lastUserNav,
-                                      xs.toXML(lastContent));
-            } finally {
-                ioServiceConfig.endBatch();
-            }
-        }
+        navigationStore.update(userNav,
+                               lastUserNav,
+                               content -> {
+                                   final UserExplorerLastData lastContent = new UserExplorerLastData();
+                                   if (project != null) {
+                                       content.addRepository(project.getOrganizationalUnit(),
+                                                             project.getRepository());
+                                   }
+                                   if (module != null && project != null) {
+                                       content.addModule(project.getOrganizationalUnit(),
+                                                         project.getRepository(),
+                                                         module);
+                                   }
+                                   if (item != null && project != null && project.getBranch() != null && module != null) {
+                                       lastContent.setFolderItem(project.getRepository(),
+                                                                 project.getBranch().getName(),
+                                                                 module,
+                                                                 item);
+                                       content.addFolderItem(project.getOrganizationalUnit(),
+                                                             project.getRepository(),
+                                                             module,
+                                                             item);
+                                   }
+                                   if (pkg != null && project != null && project.getBranch() != null && module != null) {
+                                       lastContent.setPackage(project.getRepository(),
+                                                              project.getBranch().getName(),
+                                                              module,
+                                                              pkg);
+                                       content.addPackage(project.getOrganizationalUnit(),
+                                                          project.getRepository(),
+                                                          module,
+                                                          pkg);
+                                   }
+                                   if (options != null && !options.isEmpty()) {
+                                       lastContent.setOptions(options);
+                                   }
+                                   return lastContent;
+                               });
     }
 
+    /**
+     * Reads the user's explorer data from the file system, changes not flushed yet by the
+     * {@link ExplorerNavigationStore} are not included.
+     */
     public UserExplorerData loadUserContent(final org.uberfire.java.nio.file.Path path) {
-        try {
-            if (ioServiceConfig.exists(path)) {
-                final String xml = ioServiceConfig.readAllString(path);
-                return (UserExplorerData) xs.fromXML(xml);
-            }
-        } catch (final Exception ignored) {
-        }
-        return null;
+        return navigationStore.readUserContent(path);
     }
 
     public UserExplorerData loadUserContent() {
-        final UserExplorerData userExplorerData = loadUserContent(userServices.buildPath("explorer",
-                                                                                         "user.nav"));
+        final UserExplorerData userExplorerData = navigationStore.getUserContent(userServices.buildPath("explorer",
+                                                                                                        "user.nav"),
+                                                                                 userServices.buildPath("explorer",
+                                                                                                        "last.user.nav"));
         if (userExplorerData != null) {
             return userExplorerData;
         }
@@ -475,8 +415,10 @@ public class ExplorerServiceHelper {
 
     public UserExplorerLastData getLastContent() {
         try {
-            final UserExplorerLastData lastData = getLastContent(userServices.buildPath("explorer",
-                                                                                        "last.user.nav"));
+            final UserExplorerLastData lastData = navigationStore.getLastContent(userServices.buildPath("explorer",
+                                                                                                        "user.nav"),
+                                                                                 userServices.buildPath("explorer",
+                                                                                                        "last.user.nav"));
             if (lastData != null) {
                 return lastData;
             }
@@ -485,15 +427,12 @@ public class ExplorerServiceHelper {
         return new UserExplorerLastData();
     }
 
+    /**
+     * Reads the user's last explorer data from the file system, changes not flushed yet by the
+     * {@link ExplorerNavigationStore} are not included.
+     */
     public UserExplorerLastData getLastContent(final org.uberfire.java.nio.file.Path path) {
-        try {
-            if (ioServiceConfig.exists(path)) {
-                final String xml = ioServiceConfig.readAllString(path);
-                return (UserExplorerLastData) xs.fromXML(xml);
-            }
-        } catch (final Exception ignored) {
-        }
-        return null;
+        return navigationStore.readLastContent(path);
     }
 
     public List<FolderItemOperation> getRestrictedOperations(final Path path) {
@@ -93,6 +93,9 @@ public class ExplorerServiceImpl
     @Inject
     private ExplorerServiceHelper helper;
 
+    @Inject
+    private ExplorerNavigationStore navigationStore;
+
     @Inject
     private UserServicesImpl userServices;
 
@@ -333,6 +336,9 @@ public class ExplorerServiceImpl
     }
 
     private void cleanup(final Module module) {
+        //Users' state held in memory is written on the next flush, overriding the files
+        navigationStore.deleteModule(module);
+
         final Collection<org.uberfire.java.nio.file.Path> lastNavs = userServicesBackend.getAllUsersData("explorer",
                                                                                                          "last.user.nav");
         final Collection<org.uberfire.java.nio.file.Path> userNavs = userServicesBackend.getAllUsersData("explorer",
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.guvnor.common.services.backend.file.LinkedDotFileFilter;
+import org.guvnor.common.services.project.model.Package;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+
+import static org.guvnor.common.services.project.utils.ModuleResourcePaths.MAIN_RESOURCES_PATH;
+import static org.guvnor.common.services.project.utils.ModuleResourcePaths.MAIN_SRC_PATH;
+import static org.guvnor.common.services.project.utils.ModuleResourcePaths.TEST_RESOURCES_PATH;
+import static org.guvnor.common.services.project.utils.ModuleResourcePaths.TEST_SRC_PATH;
+import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
+
+/**
+ * Number of assets (regular, non dot files) held by every package folder of a module. The source and resource folders
+ * of a module are scanned once, the first time one of its packages is checked, and then kept up to date from the
+ * resource events, recounting only the folders affected by them.
+ */
+@ApplicationScoped
+public class PackageAssetsSummary {
+
+    private static final String[] SOURCE_FOLDERS = {MAIN_SRC_PATH, MAIN_RESOURCES_PATH, TEST_SRC_PATH, TEST_RESOURCES_PATH};
+
+    private final LinkedDotFileFilter dotFileFilter = new LinkedDotFileFilter();
+
+    private final Map<String, ModuleSummary> summaries = new ConcurrentHashMap<>();
+
+    private IOService ioService;
+
+    public PackageAssetsSummary() {
+        //CDI proxy
+    }
+
+    @Inject
+    public PackageAssetsSummary(@Named("ioStrategy") final IOService ioService) {
+        this.ioService = ioService;
+    }
+
+    /**
+     * @return true when the package or any of its child packages holds assets
+     */
+    public boolean hasAssets(final Package pkg) {
+        final ModuleSummary summary = getSummary(pkg.getModuleRootPath());
+        return summary.hasAssets(pkg.getPackageMainSrcPath())
+                || summary.hasAssets(pkg.getPackageTestSrcPath())
+                || summary.hasAssets(pkg.getPackageMainResourcesPath())
+                || summary.hasAssets(pkg.getPackageTestResourcesPath());
+    }
+
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        checkNotNull("event",
+                     event);
+        update(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        checkNotNull("event",
+                     event);
+        update(event.getPath());
+    }
+
+    public void onResourceCopied(@Observes final ResourceCopiedEvent event) {
+        checkNotNull("event",
+                     event);
+        update(event.getDestinationPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        checkNotNull("event",
+                     event);
+        update(event.getPath());
+        update(event.getDestinationPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        checkNotNull("event",
+                     event);
+        //Batches come from bulk operations (e.g. a push), the affected modules are scanned again when needed
+        for (final Path path : event.getBatch().keySet()) {
+            summaries.values().removeIf(summary -> summary.contains(toURI(path)));
+        }
+    }
+
+    public void invalidate() {
+        summaries.clear();
+    }
+
+    private ModuleSummary getSummary(final Path moduleRootPath) {
+        return summaries.computeIfAbsent(toURI(moduleRootPath),
+                                         uri -> scan(moduleRootPath));
+    }
+
+    private ModuleSummary scan(final Path moduleRootPath) {
+        final org.uberfire.java.nio.file.Path nioModuleRootPath = Paths.convert(moduleRootPath);
+        final List<String> sourceFolders = new ArrayList<>();
+        final ModuleSummary summary = new ModuleSummary(sourceFolders);
+        for (final String sourceFolder : SOURCE_FOLDERS) {
+            final org.uberfire.java.nio.file.Path nioSourceFolder = nioModuleRootPath.resolve(sourceFolder);
+            sourceFolders.add(toURI(nioSourceFolder));
+            scan(summary,
+                 nioSourceFolder);
+        }
+        return summary;
+    }
+
+    private void scan(final ModuleSummary summary,
+                      final org.uberfire.java.nio.file.Path folder) {
+        if (!Files.isDirectory(folder)) {
+            return;
+        }
+        int assets = 0;
+        final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream(folder,
+                                                                                                       dotFileFilter);
+        for (final org.uberfire.java.nio.file.Path nioPath : nioPaths) {
+            if (Files.isRegularFile(nioPath)) {
+                assets++;
+            } else if (Files.isDirectory(nioPath)) {
+                scan(summary,
+                     nioPath);
+            }
+        }
+        summary.setAssets(toURI(folder),
+                          assets);
+    }
+
+    private int countAssets(final org.uberfire.java.nio.file.Path folder) {
+        int assets = 0;
+        if (Files.isDirectory(folder)) {
+            final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream(folder,
+                                                                                                           dotFileFilter);
+            for (final org.uberfire.java.nio.file.Path nioPath : nioPaths) {
+                if (Files.isRegularFile(nioPath)) {
+                    assets++;
+                }
+            }
+        }
+        return assets;
+    }
+
+    private void update(final Path path) {
+        if (path == null || summaries.isEmpty()) {
+            return;
+        }
+        final String uri = toURI(path);
+        for (final ModuleSummary summary : summaries.values()) {
+            if (!summary.contains(uri)) {
+                continue;
+            }
+            final org.uberfire.java.nio.file.Path nioPath = Paths.convert(path);
+            //The resource can be a whole package that has been added, copied or removed
+            summary.remove(uri);
+            if (Files.isDirectory(nioPath)) {
+                scan(summary,
+                     nioPath);
+            }
+            final org.uberfire.java.nio.file.Path nioParent = nioPath.getParent();
+            if (nioParent != null && summary.contains(toURI(nioParent))) {
+                summary.setAssets(toURI(nioParent),
+                                  countAssets(nioParent));
+            }
+        }
+    }
+
+    private static String toURI(final org.uberfire.java.nio.file.Path path) {
+        return toURI(Paths.convert(path));
+    }
+
+    //Folders can be given with or without the trailing slash
+    private static String toURI(final Path path) {
+        final String uri = path.toURI();
+        return uri.endsWith("/") ? uri.substring(0,
+                                                 uri.length() - 1) : uri;
+    }
+
+    private static class ModuleSummary {
+
+        private final List<String> sourceFolders;
+
+        //Only the folders holding assets are kept
+        private final NavigableMap<String, Integer> assetsByFolder = new ConcurrentSkipListMap<>();
+
+        private ModuleSummary(final List<String> sourceFolders) {
+            this.sourceFolders = sourceFolders;
+        }
+
+        private boolean contains(final String uri) {
+            for (final String sourceFolder : sourceFolders) {
+                if (uri.equals(sourceFolder) || uri.startsWith(sourceFolder + "/")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean hasAssets(final Path packagePath) {
+            final String uri = toURI(packagePath);
+            if (assetsByFolder.containsKey(uri)) {
+                return true;
+            }
+            final String descendant = assetsByFolder.ceilingKey(uri + "/");
+            return descendant != null && descendant.startsWith(uri + "/");
+        }
+
+        private void setAssets(final String uri,
+                               final int assets) {
+            if (assets > 0) {
+                assetsByFolder.put(uri,
+                                   assets);
+            } else {
+                assetsByFolder.remove(uri);
+            }
+        }
+
+        private void remove(final String uri) {
+            assetsByFolder.remove(uri);
+            assetsByFolder.subMap(uri + "/",
+                                  uri + "0").clear();
+        }
+    }
+}
@@ -40,6 +40,18 @@ public class UserExplorerData {
     public UserExplorerData() {
     }
 
+    UserExplorerData(final UserExplorerData other) {
+        content.putAll(other.content);
+        for (final Map.Entry<String, Set<String>> entry : other.repositoryKeys.entrySet()) {
+            repositoryKeys.put(entry.getKey(),
+                               new HashSet<String>(entry.getValue()));
+        }
+        for (final Map.Entry<String, Set<String>> entry : other.moduleKeys.entrySet()) {
+            moduleKeys.put(entry.getKey(),
+                           new HashSet<String>(entry.getValue()));
+        }
+    }
+
     public Repository get(final OrganizationalUnit organizationalUnit) {
         if (organizationalUnit == null) {
             return null;
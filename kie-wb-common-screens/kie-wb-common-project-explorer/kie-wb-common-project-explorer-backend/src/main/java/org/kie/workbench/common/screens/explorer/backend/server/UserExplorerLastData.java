@@ -33,6 +33,15 @@ public class UserExplorerLastData {
     private LastFolderItem lastFolderItem = null;
     private Set<Option> options = new HashSet<Option>();
 
+    public UserExplorerLastData() {
+    }
+
+    UserExplorerLastData(final UserExplorerLastData other) {
+        lastPackage = other.lastPackage;
+        lastFolderItem = other.lastFolderItem;
+        options.addAll(other.options);
+    }
+
     public boolean isDataEmpty() {
         return lastPackage == null && lastFolderItem == null;
     }
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.net.URI;
+
+import org.guvnor.structure.organizationalunit.OrganizationalUnit;
+import org.kie.soup.commons.xstream.XStreamUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.screens.explorer.service.ActiveOptions;
+import org.kie.workbench.common.screens.explorer.service.Option;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExplorerNavigationStoreTest {
+
+    @Mock
+    private IOService ioServiceConfig;
+
+    @Mock
+    private FileSystem fileSystem;
+
+    @Mock
+    private Path userNav;
+
+    @Mock
+    private Path lastUserNav;
+
+    @Mock
+    private OrganizationalUnit organizationalUnit;
+
+    @Mock
+    private OrganizationalUnit otherOrganizationalUnit;
+
+    private long now;
+
+    private ExplorerNavigationStore store;
+
+    @Before
+    public void setUp() {
+        doReturn(URI.create("default://user/explorer/user.nav")).when(userNav).toUri();
+        doReturn(URI.create("default://user/explorer/last.user.nav")).when(lastUserNav).toUri();
+        doReturn(fileSystem).when(userNav).getFileSystem();
+        doReturn("space").when(organizationalUnit).getName();
+        doReturn("otherSpace").when(otherOrganizationalUnit).getName();
+
+        //Flushed on demand
+        store = new ExplorerNavigationStore(ioServiceConfig,
+                                            0,
+                                            1000,
+                                            () -> now);
+    }
+
+    @Test
+    public void contentIsReadOnceTest() {
+        assertNull(store.getUserContent(userNav,
+                                        lastUserNav));
+        assertNull(store.getLastContent(userNav,
+                                        lastUserNav));
+
+        verify(ioServiceConfig,
+               times(1)).exists(userNav);
+        verify(ioServiceConfig,
+               times(1)).exists(lastUserNav);
+    }
+
+    @Test
+    public void readsAreServedFromMemoryTest() {
+        final UserExplorerLastData lastContent = new UserExplorerLastData();
+        lastContent.setOptions(new ActiveOptions(Option.BUSINESS_CONTENT));
+
+        store.update(userNav,
+                     lastUserNav,
+                     content -> {
+                         content.addRepository(organizationalUnit,
+                                               null);
+                         return lastContent;
+                     });
+
+        assertFalse(store.getUserContent(userNav,
+                                         lastUserNav).isEmpty());
+        assertSame(lastContent,
+                   store.getLastContent(userNav,
+                                        lastUserNav));
+        verify(ioServiceConfig,
+               never()).write(any(Path.class),
+                              anyString());
+    }
+
+    @Test
+    public void updatesAreCoalescedTest() {
+        for (int i = 0; i < 3; i++) {
+            store.update(userNav,
+                         lastUserNav,
+                         content -> {
+                             content.addRepository(organizationalUnit,
+                                                   null);
+                             return new UserExplorerLastData();
+                         });
+        }
+
+        store.flush();
+        store.flush();
+
+        verify(ioServiceConfig,
+               times(1)).startBatch(fileSystem);
+        verify(ioServiceConfig,
+               times(1)).write(eq(userNav),
+                               anyString());
+        verify(ioServiceConfig,
+               times(1)).write(eq(lastUserNav),
+                               anyString());
+        verify(ioServiceConfig,
+               times(1)).endBatch();
+    }
+
+    @Test
+    public void updateWorksOnCopyTest() {
+        store.update(userNav,
+                     lastUserNav,
+                     content -> {
+                         content.addRepository(organizationalUnit,
+                                               null);
+                         return new UserExplorerLastData();
+                     });
+        final UserExplorerData previous = store.getUserContent(userNav,
+                                                               lastUserNav);
+
+        store.update(userNav,
+                     lastUserNav,
+                     content -> {
+                         assertTrue(content != previous);
+                         return new UserExplorerLastData();
+                     });
+
+        assertTrue(previous != store.getUserContent(userNav,
+                                                    lastUserNav));
+    }
+
+    @Test
+    public void emptyUpdateIsDiscardedTest() {
+        store.update(userNav,
+                     lastUserNav,
+                     content -> new UserExplorerLastData());
+
+        store.flush();
+
+        assertNull(store.getUserContent(userNav,
+                                        lastUserNav));
+        verify(ioServiceConfig,
+               never()).startBatch(any(FileSystem.class));
+    }
+
+    @Test
+    public void failedFlushIsRetriedTest() {
+        store.update(userNav,
+                     lastUserNav,
+                     content -> {
+                         content.addRepository(organizationalUnit,
+                                               null);
+                         return new UserExplorerLastData();
+                     });
+        doThrow(new RuntimeException()).when(ioServiceConfig).write(eq(userNav),
+                                                                    anyString());
+
+        store.flush();
+        reset(ioServiceConfig);
+        store.flush();
+
+        verify(ioServiceConfig,
+               times(1)).write(eq(userNav),
+                               anyString());
+        verify(ioServiceConfig,
+               times(1)).endBatch();
+    }
+
+    @Test
+    public void destroyFlushesPendingChangesTest() {
+        store.update(userNav,
+                     lastUserNav,
+                     content -> {
+                         content.addRepository(organizationalUnit,
+                                               null);
+                         return new UserExplorerLastData();
+                     });
+
+        store.destroy();
+
+        verify(ioServiceConfig,
+               times(1)).write(eq(userNav),
+                               anyString());
+    }
+
+    @Test
+    public void flushKeepsChangesOfOtherNodesTest() {
+        store.update(userNav,
+                     lastUserNav,
+                     content -> {
+                         content.addRepository(organizationalUnit,
+                                               null);
+                         return new UserExplorerLastData();
+                     });
+
+        //Another cluster node wrote the user's state meanwhile
+        final UserExplorerData stored = new UserExplorerData();
+        stored.addRepository(otherOrganizationalUnit,
+                             null);
+        doReturn(true).when(ioServiceConfig).exists(userNav);
+        doReturn(XStreamUtils.createTrustingXStream().toXML(stored)).when(ioServiceConfig).readAllString(userNav);
+
+        store.flush();
+
+        final ArgumentCaptor<String> written = ArgumentCaptor.forClass(String.class);
+        verify(ioServiceConfig).write(eq(userNav),
+                                      written.capture());
+        assertTrue(written.getValue().contains(">space<"));
+        assertTrue(written.getValue().contains(">otherSpace<"));
+    }
+
+    @Test
+    public void idleUsersAreEvictedTest() {
+        store.getUserContent(userNav,
+                             lastUserNav);
+
+        now = 999;
+        store.flush();
+        store.getUserContent(userNav,
+                             lastUserNav);
+        verify(ioServiceConfig,
+               times(1)).exists(userNav);
+
+        now = 2000;
+        store.flush();
+        store.getUserContent(userNav,
+                             lastUserNav);
+        verify(ioServiceConfig,
+               times(2)).exists(userNav);
+    }
+
+    @Test
+    public void changedUsersAreNotEvictedBeforeFlushedTest() {
+        store.update(userNav,
+                     lastUserNav,
+                     content -> {
+                         content.addRepository(organizationalUnit,
+                                               null);
+                         return new UserExplorerLastData();
+                     });
+        final UserExplorerData content = store.getUserContent(userNav,
+                                                              lastUserNav);
+        doThrow(new RuntimeException()).when(ioServiceConfig).write(eq(userNav),
+                                                                    anyString());
+
+        now = 2000;
+        store.flush();
+
+        assertSame(content,
+                   store.getUserContent(userNav,
+                                        lastUserNav));
+    }
+}
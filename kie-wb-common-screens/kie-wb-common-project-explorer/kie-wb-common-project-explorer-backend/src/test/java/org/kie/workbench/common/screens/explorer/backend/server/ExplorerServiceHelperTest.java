@@ -16,11 +16,8 @@
 package org.kie.workbench.common.screens.explorer.backend.server;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.guvnor.common.services.backend.file.LinkedFilter;
 import org.guvnor.common.services.backend.metadata.attribute.OtherMetaView;
@@ -42,7 +39,6 @@ import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.PathFactory;
-import org.uberfire.commons.async.DescriptiveThreadFactory;
 import org.uberfire.ext.editor.commons.service.CopyService;
 import org.uberfire.ext.editor.commons.service.DeleteService;
 import org.uberfire.ext.editor.commons.service.RenameService;
@@ -63,8 +59,6 @@ public class ExplorerServiceHelperTest {
     @Mock
     private IOService ioService;
     @Mock
-    private IOService ioServiceConfig;
-    @Mock
     private OtherMetaView otherMetaView;
     @Mock
     private VFSLockServiceImpl lockService;
@@ -79,9 +73,11 @@ public class ExplorerServiceHelperTest {
     @Mock
     private CopyService copyService;
     @Mock
-    private Package pkg;
+    private PackageAssetsSummary packageAssetsSummary;
+    @Mock
+    private ExplorerNavigationStore navigationStore;
     @Mock
-    private Package childPkg;
+    private Package pkg;
     @Mock
     private Path srcPath;
     @Mock
@@ -131,19 +127,17 @@ public class ExplorerServiceHelperTest {
             }
         });
 
-        ExecutorService executorService = Executors.newCachedThreadPool(new DescriptiveThreadFactory());
-
         helper = spy(new ExplorerServiceHelper(moduleService,
                                                folderListingResolver,
                                                ioService,
-                                               ioServiceConfig,
                                                lockService,
                                                metadataService,
                                                userServices,
                                                deleteService,
                                                renameService,
                                                copyService,
-                                               executorService));
+                                               packageAssetsSummary,
+                                               navigationStore));
     }
 
     @Test
@@ -270,86 +264,28 @@ public class ExplorerServiceHelperTest {
 
     @Test
     public void packageHasNoAssetsTest() {
-        doReturn(false).when(helper).hasAssets(srcPath);
-        doReturn(false).when(helper).hasAssets(srcResourcesPath);
-        doReturn(false).when(helper).hasAssets(srcTestPath);
-        doReturn(false).when(helper).hasAssets(testResourcesPath);
-        doReturn(new HashSet<Package>() {{
-            add(childPkg);
-        }}).when(moduleService).resolvePackages(pkg);
-        doReturn(false).when(helper).hasAssets(childPkg);
+        doReturn(false).when(packageAssetsSummary).hasAssets(pkg);
 
         assertFalse(helper.hasAssets(pkg));
     }
 
     @Test
-    public void packageHasAssetsInsideSrcPathTest() {
-        doReturn(true).when(helper).hasAssets(srcPath);
-        doReturn(false).when(helper).hasAssets(srcResourcesPath);
-        doReturn(false).when(helper).hasAssets(srcTestPath);
-        doReturn(false).when(helper).hasAssets(testResourcesPath);
-        doReturn(new HashSet<Package>() {{
-            add(childPkg);
-        }}).when(moduleService).resolvePackages(pkg);
-        doReturn(false).when(helper).hasAssets(childPkg);
-
-        assertTrue(helper.hasAssets(pkg));
-    }
-
-    @Test
-    public void packageHasAssetsInsideResourcesPathTest() {
-        doReturn(false).when(helper).hasAssets(srcPath);
-        doReturn(true).when(helper).hasAssets(srcResourcesPath);
-        doReturn(false).when(helper).hasAssets(srcTestPath);
-        doReturn(false).when(helper).hasAssets(testResourcesPath);
-        doReturn(new HashSet<Package>() {{
-            add(childPkg);
-        }}).when(moduleService).resolvePackages(pkg);
-        doReturn(false).when(helper).hasAssets(childPkg);
-
-        assertTrue(helper.hasAssets(pkg));
-    }
-
-    @Test
-    public void packageHasAssetsInsideTestSrcPathTest() {
-        doReturn(false).when(helper).hasAssets(srcPath);
-        doReturn(false).when(helper).hasAssets(srcResourcesPath);
-        doReturn(true).when(helper).hasAssets(srcTestPath);
-        doReturn(false).when(helper).hasAssets(testResourcesPath);
-        doReturn(new HashSet<Package>() {{
-            add(childPkg);
-        }}).when(moduleService).resolvePackages(pkg);
-        doReturn(false).when(helper).hasAssets(childPkg);
+    public void packageHasAssetsTest() {
+        doReturn(true).when(packageAssetsSummary).hasAssets(pkg);
 
         assertTrue(helper.hasAssets(pkg));
+        verify(moduleService,
+               never()).resolvePackages(any(Package.class));
+        verify(ioService,
+               never()).newDirectoryStream(any(org.uberfire.java.nio.file.Path.class),
+                                           any(LinkedFilter.class));
     }
 
     @Test
-    public void packageHasAssetsInsideTestResourcesPathTest() {
-        doReturn(false).when(helper).hasAssets(srcPath);
-        doReturn(false).when(helper).hasAssets(srcResourcesPath);
-        doReturn(false).when(helper).hasAssets(srcTestPath);
-        doReturn(true).when(helper).hasAssets(testResourcesPath);
-        doReturn(new HashSet<Package>() {{
-            add(childPkg);
-        }}).when(moduleService).resolvePackages(pkg);
-        doReturn(false).when(helper).hasAssets(childPkg);
-
-        assertTrue(helper.hasAssets(pkg));
-    }
-
-    @Test
-    public void packageHasAssetsInsideChildPackageTest() {
-        doReturn(false).when(helper).hasAssets(srcPath);
-        doReturn(false).when(helper).hasAssets(srcResourcesPath);
-        doReturn(false).when(helper).hasAssets(srcTestPath);
-        doReturn(false).when(helper).hasAssets(testResourcesPath);
-        doReturn(new HashSet<Package>() {{
-            add(childPkg);
-        }}).when(moduleService).resolvePackages(pkg);
-        doReturn(true).when(helper).hasAssets(childPkg);
-
-        assertTrue(helper.hasAssets(pkg));
+    public void nullPackageHasNoAssetsTest() {
+        assertFalse(helper.hasAssets((Package) null));
+        verify(packageAssetsSummary,
+               never()).hasAssets(any(Package.class));
     }
 
     @Test
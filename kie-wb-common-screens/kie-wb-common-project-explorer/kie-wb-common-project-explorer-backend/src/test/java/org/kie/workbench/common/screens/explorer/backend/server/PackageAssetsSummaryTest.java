@@ -0,0 +1,234 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.guvnor.common.services.backend.file.LinkedFilter;
+import org.guvnor.common.services.project.model.Package;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PackageAssetsSummaryTest {
+
+    @Mock
+    private IOService ioService;
+
+    private File moduleRoot;
+
+    private org.uberfire.java.nio.file.Path nioModuleRoot;
+
+    private PackageAssetsSummary summary;
+
+    @Before
+    public void setUp() throws Exception {
+        final SimpleFileSystemProvider fileSystemProvider = new SimpleFileSystemProvider();
+
+        //Ensure URLs use the default:// scheme
+        fileSystemProvider.forceAsDefault();
+
+        moduleRoot = java.nio.file.Files.createTempDirectory("module").toFile();
+        nioModuleRoot = fileSystemProvider.getPath(moduleRoot.toURI());
+
+        doAnswer(invocation -> Files.newDirectoryStream((org.uberfire.java.nio.file.Path) invocation.getArguments()[0],
+                                                        (LinkedFilter) invocation.getArguments()[1]))
+                .when(ioService).newDirectoryStream(any(org.uberfire.java.nio.file.Path.class),
+                                                    any(LinkedFilter.class));
+
+        summary = new PackageAssetsSummary(ioService);
+    }
+
+    @After
+    public void tearDown() {
+        delete(moduleRoot);
+    }
+
+    @Test
+    public void packageHasNoAssetsTest() {
+        mkdirs("src/main/java/org/test/child");
+        mkdirs("src/main/resources/org/test");
+        createFile("src/main/resources/org/test/.hidden");
+
+        assertFalse(summary.hasAssets(makePackage("org/test")));
+    }
+
+    @Test
+    public void packageHasAssetsInsideSrcPathTest() {
+        createFile("src/main/java/org/test/MyType.java");
+
+        assertTrue(summary.hasAssets(makePackage("org/test")));
+    }
+
+    @Test
+    public void packageHasAssetsInsideResourcesPathTest() {
+        createFile("src/main/resources/org/test/rules.drl");
+
+        assertTrue(summary.hasAssets(makePackage("org/test")));
+    }
+
+    @Test
+    public void packageHasAssetsInsideTestSrcPathTest() {
+        createFile("src/test/java/org/test/MyTest.java");
+
+        assertTrue(summary.hasAssets(makePackage("org/test")));
+    }
+
+    @Test
+    public void packageHasAssetsInsideTestResourcesPathTest() {
+        createFile("src/test/resources/org/test/test.scesim");
+
+        assertTrue(summary.hasAssets(makePackage("org/test")));
+    }
+
+    @Test
+    public void packageHasAssetsInsideChildPackageTest() {
+        createFile("src/main/resources/org/test/child/rules.drl");
+
+        assertTrue(summary.hasAssets(makePackage("org/test")));
+        assertTrue(summary.hasAssets(makePackage("")));
+        assertFalse(summary.hasAssets(makePackage("org/tests")));
+    }
+
+    @Test
+    public void moduleIsScannedOnceTest() {
+        createFile("src/main/resources/org/test/rules.drl");
+        assertTrue(summary.hasAssets(makePackage("org/test")));
+        reset(ioService);
+
+        assertTrue(summary.hasAssets(makePackage("org/test")));
+        assertFalse(summary.hasAssets(makePackage("org/other")));
+
+        verify(ioService,
+               never()).newDirectoryStream(any(org.uberfire.java.nio.file.Path.class),
+                                           any(LinkedFilter.class));
+    }
+
+    @Test
+    public void resourceAddedAndDeletedTest() {
+        mkdirs("src/main/resources/org/test");
+        assertFalse(summary.hasAssets(makePackage("org/test")));
+
+        final Path asset = createFile("src/main/resources/org/test/rules.drl");
+        summary.onResourceAdded(resourceAdded(asset));
+        assertTrue(summary.hasAssets(makePackage("org/test")));
+
+        delete(new File(moduleRoot,
+                        "src/main/resources/org/test/rules.drl"));
+        summary.onResourceDeleted(resourceDeleted(asset));
+        assertFalse(summary.hasAssets(makePackage("org/test")));
+    }
+
+    @Test
+    public void packageDeletedTest() {
+        createFile("src/main/resources/org/test/child/rules.drl");
+        assertTrue(summary.hasAssets(makePackage("org/test")));
+
+        final Path folder = Paths.convert(nioModuleRoot.resolve("src/main/resources/org/test"));
+        delete(new File(moduleRoot,
+                        "src/main/resources/org/test"));
+        summary.onResourceDeleted(resourceDeleted(folder));
+
+        assertFalse(summary.hasAssets(makePackage("org/test")));
+    }
+
+    @Test
+    public void batchChangesTest() {
+        mkdirs("src/main/resources/org/test");
+        assertFalse(summary.hasAssets(makePackage("org/test")));
+
+        final Path asset = createFile("src/main/resources/org/test/rules.drl");
+        final ResourceBatchChangesEvent event = mock(ResourceBatchChangesEvent.class);
+        doReturn(Collections.singletonMap(asset,
+                                          Collections.emptyList())).when(event).getBatch();
+        summary.onBatchResourceChanges(event);
+
+        assertTrue(summary.hasAssets(makePackage("org/test")));
+    }
+
+    private Package makePackage(final String folder) {
+        final Package pkg = mock(Package.class);
+        doReturn(Paths.convert(nioModuleRoot)).when(pkg).getModuleRootPath();
+        doReturn(Paths.convert(nioModuleRoot.resolve("src/main/java/" + folder))).when(pkg).getPackageMainSrcPath();
+        doReturn(Paths.convert(nioModuleRoot.resolve("src/main/resources/" + folder))).when(pkg).getPackageMainResourcesPath();
+        doReturn(Paths.convert(nioModuleRoot.resolve("src/test/java/" + folder))).when(pkg).getPackageTestSrcPath();
+        doReturn(Paths.convert(nioModuleRoot.resolve("src/test/resources/" + folder))).when(pkg).getPackageTestResourcesPath();
+        return pkg;
+    }
+
+    private ResourceAddedEvent resourceAdded(final Path path) {
+        final ResourceAddedEvent event = mock(ResourceAddedEvent.class);
+        doReturn(path).when(event).getPath();
+        return event;
+    }
+
+    private ResourceDeletedEvent resourceDeleted(final Path path) {
+        final ResourceDeletedEvent event = mock(ResourceDeletedEvent.class);
+        doReturn(path).when(event).getPath();
+        return event;
+    }
+
+    private void mkdirs(final String folder) {
+        new File(moduleRoot,
+                 folder).mkdirs();
+    }
+
+    private Path createFile(final String file) {
+        final File target = new File(moduleRoot,
+                                     file);
+        target.getParentFile().mkdirs();
+        try {
+            target.createNewFile();
+        } catch (java.io.IOException e) {
+            throw new RuntimeException(e);
+        }
+        return Paths.convert(nioModuleRoot.resolve(file));
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (final File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -42,23 +42,31 @@ public class OutputLogAfterDecorator<T extends CompilationResponse, C extends AF
 
     @Override
     public T compile(CompilationRequest req) {
-        T res = compiler.compile(req);
-        return handleMavenOutput(req, res);
+        try {
+            T res = compiler.compile(req);
+            return handleMavenOutput(req, res);
+        } finally {
+            //the captured output is released even when the compilation fails with an exception
+            OutputSharedMap.removeLog(req.getKieCliRequest().getRequestUUID());
+        }
     }
 
     @Override
     public CompilationResponse compile(CompilationRequest req, Map override) {
-        T res = (T) compiler.compile(req, override);
-        return handleMavenOutput(req, res);
+        try {
+            T res = (T) compiler.compile(req, override);
+            return handleMavenOutput(req, res);
+        } finally {
+            OutputSharedMap.removeLog(req.getKieCliRequest().getRequestUUID());
+        }
     }
 
     private T handleMavenOutput(CompilationRequest req, T res) {
         T t = (T) new DefaultCompilationResponse(res.isSuccessful(),
-                                                 OutputSharedMap.getLog(req.getKieCliRequest().getRequestUUID()),
+                                                 OutputSharedMap.releaseLog(req.getKieCliRequest().getRequestUUID()),
                                                  req.getInfo().getPrjPath(),
                                                  res.getDependencies(),
                                                  req.getRequestUUID());
-        OutputSharedMap.removeLog(req.getKieCliRequest().getRequestUUID());
         MDC.clear();
         return t;
     }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.logback;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/***
+ * Bounded capture of the output of a single compilation. The last lines fitting both the maxLines and the maxBytes
+ * budgets (sizes are approximated by the line lengths) are kept, the oldest lines are evicted to make room for new
+ * ones. A single line longer than maxBytes is dropped. The snapshot starts with a summary of the omitted lines, if any.
+ */
+public class CompilationLog {
+
+    static final String OVERFLOW_SUMMARY = "[%d lines omitted, the compilation output exceeded the capture limits]";
+
+    private final int maxLines;
+    private final long maxBytes;
+    private final Deque<String> lines = new ArrayDeque<>();
+    private long bytes = 0;
+    private long omitted = 0;
+
+    public CompilationLog(int maxLines, long maxBytes) {
+        this.maxLines = maxLines;
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized void add(String msg) {
+        if (msg.length() > maxBytes) {
+            omitted++;
+            return;
+        }
+        while (!lines.isEmpty() && (lines.size() >= maxLines || bytes + msg.length() > maxBytes)) {
+            bytes -= lines.removeFirst().length();
+            omitted++;
+        }
+        lines.addLast(msg);
+        bytes += msg.length();
+    }
+
+    public synchronized List<String> getLines() {
+        List<String> snapshot = new ArrayList<>(lines.size() + 1);
+        if (omitted > 0) {
+            snapshot.add(String.format(OVERFLOW_SUMMARY, omitted));
+        }
+        snapshot.addAll(lines);
+        return snapshot;
+    }
+}
@@ -15,22 +15,30 @@
  */
 package org.kie.workbench.common.services.backend.logback;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /***
- * Map to hold the outputs of the compilations using the UUID key to retrieve and store
+ * Map to hold the outputs of the compilations using the UUID key to retrieve and store.
+ * The output captured for each compilation is bounded, see {@link CompilationLog}, the limits can be changed with the
+ * system properties {@value #MAX_LINES_PROPERTY} and {@value #MAX_BYTES_PROPERTY}.
  */
 public class OutputSharedMap {
 
-    private static Map<String, List<String>> map = new ConcurrentHashMap();
+    public static final String MAX_LINES_PROPERTY = "org.kie.workbench.compiler.log.maxLines";
+    public static final String MAX_BYTES_PROPERTY = "org.kie.workbench.compiler.log.maxBytes";
+
+    private static final int MAX_LINES = Integer.getInteger(MAX_LINES_PROPERTY, 10000);
+    private static final long MAX_BYTES = Long.getLong(MAX_BYTES_PROPERTY, 2L * 1024 * 1024);
+
+    private static Map<String, CompilationLog> map = new ConcurrentHashMap<>();
 
     public static List<String> getLog(String key) {
-        if (map.containsKey(key)) {
-            return map.get(key);
+        CompilationLog log = map.get(key);
+        if (log != null) {
+            return log.getLines();
         } else {
             return Collections.emptyList();
         }
@@ -40,15 +48,22 @@ public class OutputSharedMap {
         map.remove(key);
     }
 
-    public static void addMsgToLog(String key, String msg) {
-        if (map.containsKey(key)) {
-            map.get(key).add(msg);
+    /***
+     * Returns the output of the compilation and releases its buffer
+     */
+    public static List<String> releaseLog(String key) {
+        CompilationLog log = map.remove(key);
+        if (log != null) {
+            return log.getLines();
         } else {
-            map.put(key, new ArrayList<>());
-            map.get(key).add(msg);
+            return Collections.emptyList();
         }
     }
 
+    public static void addMsgToLog(String key, String msg) {
+        map.computeIfAbsent(key, k -> new CompilationLog(MAX_LINES, MAX_BYTES)).add(msg);
+    }
+
     public static void purgeAll() {
         map.clear();
     }
@@ -27,10 +27,11 @@ public class KieSiftingAppender extends SiftingAppender {
 
     @Override
     protected void append(ILoggingEvent eventObject) {
-        if (!eventObject.getMDCPropertyMap().isEmpty()) {
+        String compilationID = eventObject.getMDCPropertyMap().get(MavenConfig.COMPILATION_ID);
+        if (compilationID != null) {
             StringBuilder sb = new StringBuilder();
             sb.append(eventObject.getLevel()).append(" ").append(eventObject.getFormattedMessage());
-            OutputSharedMap.addMsgToLog(eventObject.getMDCPropertyMap().get(MavenConfig.COMPILATION_ID), sb.toString());
+            OutputSharedMap.addMsgToLog(compilationID, sb.toString());
         }
     }
 }
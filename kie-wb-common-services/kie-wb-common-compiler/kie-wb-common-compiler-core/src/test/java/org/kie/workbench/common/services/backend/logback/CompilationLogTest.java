@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.logback;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompilationLogTest {
+
+    @Test
+    public void keepsLastLinesTest() {
+        CompilationLog log = new CompilationLog(3, 1000);
+        for (int i = 0; i < 5; i++) {
+            log.add("msg" + i);
+        }
+        assertThat(log.getLines()).containsExactly(String.format(CompilationLog.OVERFLOW_SUMMARY, 2),
+                                                   "msg2",
+                                                   "msg3",
+                                                   "msg4");
+    }
+
+    @Test
+    public void evictsOldestLinesOverBytesLimitTest() {
+        CompilationLog log = new CompilationLog(10, 10);
+        log.add("12345");
+        log.add("1234567");
+        assertThat(log.getLines()).containsExactly(String.format(CompilationLog.OVERFLOW_SUMMARY, 1),
+                                                   "1234567");
+        log.add("123");
+        log.add("12");
+        assertThat(log.getLines()).containsExactly(String.format(CompilationLog.OVERFLOW_SUMMARY, 2),
+                                                   "123",
+                                                   "12");
+    }
+
+    @Test
+    public void dropsLineLongerThanBytesLimitTest() {
+        CompilationLog log = new CompilationLog(10, 10);
+        log.add("12345");
+        log.add("12345678901");
+        assertThat(log.getLines()).containsExactly(String.format(CompilationLog.OVERFLOW_SUMMARY, 1),
+                                                   "12345");
+    }
+
+    @Test
+    public void concurrentAppendsTest() throws Exception {
+        CompilationLog log = new CompilationLog(100000, Long.MAX_VALUE);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    log.add("msg");
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(log.getLines()).hasSize(4000);
+    }
+
+    @Test
+    public void releaseLogTest() {
+        OutputSharedMap.addMsgToLog("key", "msg");
+        assertThat(OutputSharedMap.releaseLog("key")).containsExactly("msg");
+        assertThat(OutputSharedMap.getLog("key")).isEmpty();
+    }
+}
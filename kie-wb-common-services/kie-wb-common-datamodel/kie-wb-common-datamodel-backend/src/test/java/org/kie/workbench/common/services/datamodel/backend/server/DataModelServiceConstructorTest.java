@@ -76,6 +76,7 @@ import org.kie.workbench.common.services.backend.builder.ala.LocalModuleConfigEx
 import org.kie.workbench.common.services.backend.builder.ala.LocalSourceConfigExecutor;
 import org.kie.workbench.common.services.backend.builder.core.BuildHelper;
 import org.kie.workbench.common.services.backend.builder.core.DeploymentVerifier;
+import org.kie.workbench.common.services.backend.builder.core.ExternalClassVerificationCache;
 import org.kie.workbench.common.services.backend.builder.core.LRUBuilderCache;
 import org.kie.workbench.common.services.backend.builder.core.LRUModuleDependenciesClassLoaderCache;
 import org.kie.workbench.common.services.backend.builder.core.LRUPomModelCache;
@@ -294,7 +295,9 @@ public class DataModelServiceConstructorTest {
                                                            dependenciesClassLoaderCache,
                                                            pomModelCache,
                                                            packageNameWhiteListService,
-                                                           classFilterBeans
+                                                           classFilterBeans,
+                                                           new ExternalClassVerificationCache(),
+                                                           null
         );
 
         Instance<PostBuildHandler> handlerInstance = mock(Instance.class);
@@ -42,6 +42,10 @@ public class ResourceReference implements IndexElementsGenerator {
                                                                resoureType);
     }
 
+    public String getResourceFQN() {
+        return this.resourceFQN;
+    }
+
     public ResourceType getResourceType() {
         return this.resourceType;
     }
@@ -32,4 +32,12 @@ public interface AssetsUsageService {
                                   String resourcePart,
                                   PartType partType,
                                   Path assetPath);
+
+    /**
+     * Assets of the module affected by a change to a resource: the assets using it and, transitively, the assets
+     * using the resources defined by those.
+     */
+    List<Path> getAssetImpact(String resourceFQN,
+                              ResourceType resourceType,
+                              Path assetPath);
 }
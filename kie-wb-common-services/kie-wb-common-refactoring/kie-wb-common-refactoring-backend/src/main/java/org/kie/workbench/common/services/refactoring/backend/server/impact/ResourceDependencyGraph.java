@@ -0,0 +1,698 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.impact;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.kie.soup.commons.validation.PortablePreconditions;
+import org.kie.workbench.common.services.refactoring.IndexElementsGenerator;
+import org.kie.workbench.common.services.refactoring.Resource;
+import org.kie.workbench.common.services.refactoring.ResourceReference;
+import org.kie.workbench.common.services.refactoring.model.index.terms.ReferenceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValuePartReferenceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueReferenceIndexTerm;
+import org.kie.workbench.common.services.refactoring.service.PartType;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.commons.concurrent.Managed;
+import org.uberfire.ext.metadata.MetadataConfig;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.ext.metadata.model.KProperty;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeleted;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+
+/**
+ * Reverse dependencies of the indexed files: for every resource (or resource part) the files referencing it, and for
+ * every file the resources it defines, so direct and transitive "who uses this" questions can be answered without
+ * querying the index.
+ * </p>
+ * The graph is updated with the references and resources collected by the indexers each time a file is indexed and
+ * forgets the files that are deleted. Every change is appended to a journal next to the index and the journal is
+ * compacted into a snapshot from time to time, so a restart (or a crash) does not lose what was learnt. The snapshot
+ * is written from a copy of the graph, outside of its lock, while new changes go to a fresh journal. The graph only
+ * answers queries once it is known to cover every indexed file: when no complete snapshot exists it is built from the
+ * index in the background and, until then, it is not {@link #isReady() ready} and callers should query the index
+ * instead.
+ */
+@ApplicationScoped
+public class ResourceDependencyGraph {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceDependencyGraph.class);
+
+    public static final String GRAPH_DIR_PROPERTY = "org.kie.workbench.refactoring.dependencyGraph.dir";
+
+    private static final String INDEX_DIR_PROPERTY = "org.uberfire.metadata.index.dir";
+    private static final String GRAPH_FILE_NAME = "refactoring-dependency-graph";
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String COMPACTING_SUFFIX = ".compacting";
+    private static final int VERSION = 3;
+    //The journal is compacted once it holds more records than this or than the files known by the graph
+    private static final int MIN_JOURNAL_RECORDS = 1000;
+
+    private static final byte UPDATE = 1;
+    private static final byte REMOVE = 2;
+
+    private static final String REFERENCE_TERM_PREFIX = ReferenceIndexTerm.TERM + ":";
+
+    //Names of the index terms of the resources defined by a file
+    private static final Map<String, ResourceType> RESOURCE_TERMS = new HashMap<>();
+
+    static {
+        for (ResourceType type : ResourceType.values()) {
+            RESOURCE_TERMS.put(type.toString(),
+                               type);
+        }
+    }
+
+    //File URI -> keys referenced and defined by the file
+    private final Map<String, FileDependencies> files = new ConcurrentHashMap<>();
+    //Reference key -> URIs of the files referencing it
+    private final Map<String, Set<String>> referencedBy = new ConcurrentHashMap<>();
+
+    private MetadataConfig config;
+    private ExecutorService executorService;
+    private File graphFile;
+    private File journalFile;
+    //The journal being compacted, replayed before the journal in case the snapshot was not written
+    private File compactingJournalFile;
+
+    private volatile boolean ready = false;
+    //Files changed while the graph is built from the index, the index may hold an older version of them
+    private Set<String> changedWhileBuilding;
+    private DataOutputStream journal;
+    private int journalRecords = 0;
+    private boolean compacting = false;
+
+    public ResourceDependencyGraph() {
+        //CDI proxy
+    }
+
+    @Inject
+    public ResourceDependencyGraph(final @Named("luceneConfig") MetadataConfig config,
+                                   final @Managed ExecutorService executorService) {
+        this(getDefaultGraphFile(),
+             config,
+             executorService);
+    }
+
+    ResourceDependencyGraph(final File graphFile,
+                            final MetadataConfig config,
+                            final ExecutorService executorService) {
+        this.graphFile = graphFile;
+        this.journalFile = new File(graphFile.getPath() + JOURNAL_SUFFIX);
+        this.compactingJournalFile = new File(journalFile.getPath() + COMPACTING_SUFFIX);
+        this.config = config;
+        this.executorService = executorService;
+    }
+
+    @PostConstruct
+    public void load() {
+        final boolean complete;
+        final Snapshot snapshot;
+        synchronized (this) {
+            complete = readSnapshot() && replayJournal(compactingJournalFile) && replayJournal(journalFile);
+            if (complete) {
+                ready = true;
+            } else {
+                clear();
+                changedWhileBuilding = new HashSet<>();
+            }
+            snapshot = takeSnapshot(complete);
+        }
+        write(snapshot);
+        if (!complete && config != null && executorService != null) {
+            executorService.execute(this::buildFromIndex);
+        }
+    }
+
+    @PreDestroy
+    public void store() {
+        final Snapshot snapshot;
+        synchronized (this) {
+            snapshot = takeSnapshot(ready);
+        }
+        write(snapshot);
+        synchronized (this) {
+            closeJournal();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces what is known about a file with the references and resources collected while indexing it.
+     * @param fileUri URI of the indexed file
+     * @param generators The elements indexed for the file
+     */
+    public void update(final String fileUri,
+                       final Collection<? extends IndexElementsGenerator> generators) {
+        PortablePreconditions.checkNotNull("fileUri",
+                                           fileUri);
+        PortablePreconditions.checkNotNull("generators",
+                                           generators);
+
+        final Set<String> references = new HashSet<>();
+        final Set<String> definitions = new HashSet<>();
+        for (IndexElementsGenerator generator : generators) {
+            if (generator instanceof ResourceReference) {
+                final ResourceReference reference = (ResourceReference) generator;
+                references.add(referenceKey(reference.getResourceFQN(),
+                                            reference.getResourceType()));
+                for (ValuePartReferenceIndexTerm part : reference.getPartReferences().values()) {
+                    references.add(key(part.getTerm(),
+                                       part.getValue()));
+                }
+            } else if (generator instanceof Resource) {
+                final Resource resource = (Resource) generator;
+                definitions.add(referenceKey(resource.getResourceFQN(),
+                                             resource.getResourceType()));
+            }
+        }
+        final Snapshot snapshot;
+        synchronized (this) {
+            put(fileUri,
+                new FileDependencies(references,
+                                     definitions));
+            snapshot = journal(UPDATE,
+                               fileUri,
+                               references,
+                               definitions);
+        }
+        write(snapshot);
+    }
+
+    public void remove(final String fileUri) {
+        PortablePreconditions.checkNotNull("fileUri",
+                                           fileUri);
+        Snapshot snapshot = null;
+        synchronized (this) {
+            if (files.containsKey(fileUri) || changedWhileBuilding != null) {
+                unlink(fileUri);
+                snapshot = journal(REMOVE,
+                                   fileUri,
+                                   Collections.emptySet(),
+                                   Collections.emptySet());
+            }
+        }
+        write(snapshot);
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        remove(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        //The destination is indexed as a new file
+        remove(event.getPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        for (final Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet()) {
+            for (final ResourceChange change : entry.getValue()) {
+                if (change instanceof ResourceDeleted) {
+                    remove(entry.getKey());
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return URIs of the files referencing directly the given key.
+     */
+    public Set<String> findReferencingFiles(final String key) {
+        final Set<String> result = referencedBy.get(key);
+        if (result == null) {
+            return Collections.emptySet();
+        }
+        synchronized (this) {
+            return new HashSet<>(result);
+        }
+    }
+
+    /**
+     * @return URIs of the files referencing directly every one of the given keys.
+     */
+    public synchronized Set<String> findReferencingFiles(final Collection<String> keys) {
+        Set<String> result = null;
+        for (String key : keys) {
+            final Set<String> uris = referencedBy.get(key);
+            if (uris == null) {
+                return Collections.emptySet();
+            }
+            if (result == null) {
+                result = new HashSet<>(uris);
+            } else {
+                result.retainAll(uris);
+            }
+        }
+        return result == null ? Collections.emptySet() : result;
+    }
+
+    /**
+     * @return URIs of the files referencing the given key, and of the files referencing the resources defined by
+     * those files, and so on.
+     */
+    public synchronized Set<String> findImpactedFiles(final String key) {
+        final Set<String> impacted = new HashSet<>();
+        final Set<String> visitedKeys = new HashSet<>();
+        final Deque<String> keys = new ArrayDeque<>();
+        keys.add(key);
+        visitedKeys.add(key);
+        while (!keys.isEmpty()) {
+            final Set<String> uris = referencedBy.get(keys.poll());
+            if (uris == null) {
+                continue;
+            }
+            for (String fileUri : uris) {
+                if (!impacted.add(fileUri)) {
+                    continue;
+                }
+                final FileDependencies dependencies = files.get(fileUri);
+                if (dependencies == null) {
+                    continue;
+                }
+                for (String definition : dependencies.definitions) {
+                    if (visitedKeys.add(definition)) {
+                        keys.add(definition);
+                    }
+                }
+            }
+        }
+        return impacted;
+    }
+
+    public static String referenceKey(final String resourceFQN,
+                                      final ResourceType resourceType) {
+        return key(new ValueReferenceIndexTerm(resourceFQN,
+                                               resourceType));
+    }
+
+    public static String partReferenceKey(final String resourceFQN,
+                                          final String partName,
+                                          final PartType partType) {
+        return key(new ValuePartReferenceIndexTerm(resourceFQN,
+                                                   partName,
+                                                   partType));
+    }
+
+    /**
+     * @return The key of a reference or part reference term.
+     */
+    public static String key(final ValueIndexTerm term) {
+        return key(term.getTerm(),
+                   term.getValue());
+    }
+
+    int size() {
+        return files.size();
+    }
+
+    /**
+     * Adds the references held by the index for the files that were not re-indexed meanwhile, then marks the graph
+     * as ready. Package protected for tests.
+     */
+    void buildFromIndex() {
+        final List<KObject> indexed;
+        try {
+            indexed = config.getIndexProvider().findByQuery(Collections.emptyList(),
+                                                            new MatchAllDocsQuery(),
+                                                            new Sort(),
+                                                            0);
+        } catch (final RuntimeException e) {
+            logger.warn("Unable to build the dependency graph from the index, the index will be queried instead.",
+                        e);
+            return;
+        }
+        final Snapshot snapshot;
+        synchronized (this) {
+            for (KObject kObject : indexed) {
+                if (kObject == null || changedWhileBuilding.contains(kObject.getKey())) {
+                    continue;
+                }
+                final Set<String> references = new HashSet<>();
+                final Set<String> definitions = new HashSet<>();
+                for (KProperty<?> property : kObject.getProperties()) {
+                    if (property.getValue() == null) {
+                        continue;
+                    }
+                    if (property.getName().startsWith(REFERENCE_TERM_PREFIX)) {
+                        references.add(key(property.getName(),
+                                           property.getValue().toString()));
+                    } else if (RESOURCE_TERMS.containsKey(property.getName())) {
+                        definitions.add(referenceKey(property.getValue().toString(),
+                                                     RESOURCE_TERMS.get(property.getName())));
+                    }
+                }
+                put(kObject.getKey(),
+                    new FileDependencies(references,
+                                         definitions));
+            }
+            changedWhileBuilding = null;
+            ready = true;
+            snapshot = takeSnapshot(true);
+        }
+        write(snapshot);
+    }
+
+    private void remove(final Path path) {
+        if (path != null) {
+            remove(path.toURI());
+        }
+    }
+
+    private static String key(final String term,
+                              final String value) {
+        return term + "=" + value;
+    }
+
+    private void put(final String fileUri,
+                     final FileDependencies dependencies) {
+        unlink(fileUri);
+        if (dependencies.isEmpty()) {
+            return;
+        }
+        files.put(fileUri,
+                  dependencies);
+        for (String key : dependencies.references) {
+            referencedBy.computeIfAbsent(key,
+                                         (k) -> new HashSet<>(2)).add(fileUri);
+        }
+    }
+
+    private void unlink(final String fileUri) {
+        if (changedWhileBuilding != null) {
+            changedWhileBuilding.add(fileUri);
+        }
+        final FileDependencies previous = files.remove(fileUri);
+        if (previous == null) {
+            return;
+        }
+        for (String key : previous.references) {
+            final Set<String> uris = referencedBy.get(key);
+            if (uris != null) {
+                uris.remove(fileUri);
+                if (uris.isEmpty()) {
+                    referencedBy.remove(key);
+                }
+            }
+        }
+    }
+
+    private void clear() {
+        files.clear();
+        referencedBy.clear();
+        ready = false;
+    }
+
+    /**
+     * @return true when the snapshot exists and covers every indexed file
+     */
+    private boolean readSnapshot() {
+        if (!graphFile.isFile()) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(graphFile)))) {
+            if (in.readInt() != VERSION) {
+                return false;
+            }
+            final boolean complete = in.readBoolean();
+            final int fileCount = in.readInt();
+            for (int i = 0; i < fileCount; i++) {
+                final String fileUri = in.readUTF();
+                put(fileUri,
+                    new FileDependencies(readKeys(in),
+                                         readKeys(in)));
+            }
+            return complete;
+        } catch (IOException e) {
+            logger.warn("Unable to load the dependency graph from " + graphFile + ", it will be built from the index.",
+                        e);
+            return false;
+        }
+    }
+
+    /**
+     * Applies the changes recorded after the last snapshot. A truncated last record (e.g. after a crash) is ignored.
+     * @return false when the journal can not be read
+     */
+    private boolean replayJournal(final File file) {
+        if (!file.isFile()) {
+            return true;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                final byte operation;
+                try {
+                    operation = in.readByte();
+                } catch (EOFException e) {
+                    return true;
+                }
+                final String fileUri = in.readUTF();
+                final Set<String> references = readKeys(in);
+                final Set<String> definitions = readKeys(in);
+                if (operation == UPDATE) {
+                    put(fileUri,
+                        new FileDependencies(references,
+                                             definitions));
+                } else {
+                    unlink(fileUri);
+                }
+            }
+        } catch (EOFException e) {
+            return true;
+        } catch (IOException e) {
+            logger.warn("Unable to replay the dependency graph journal " + file + ", it will be built from the index.",
+                        e);
+            return false;
+        }
+    }
+
+    /**
+     * Appends a change to the journal.
+     * @return The snapshot to write once the lock is released when the journal is due for compaction, or null
+     */
+    private Snapshot journal(final byte operation,
+                             final String fileUri,
+                             final Set<String> references,
+                             final Set<String> definitions) {
+        try {
+            if (journal == null) {
+                journal = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalFile,
+                                                                                             true)));
+            }
+            journal.writeByte(operation);
+            journal.writeUTF(fileUri);
+            writeKeys(journal,
+                      references);
+            writeKeys(journal,
+                      definitions);
+            journal.flush();
+            journalRecords++;
+        } catch (IOException e) {
+            logger.warn("Unable to write the dependency graph journal " + journalFile,
+                        e);
+            closeJournal();
+        }
+        if (journalRecords >= Math.max(MIN_JOURNAL_RECORDS,
+                                       files.size())) {
+            return takeSnapshot(ready);
+        }
+        return null;
+    }
+
+    /**
+     * Copies the graph and moves the journal aside, so the snapshot can be written without holding the lock while the
+     * changes made meanwhile go to a new journal. Must be called holding the lock.
+     * @return The snapshot to {@link #write(Snapshot)}, or null when a compaction is already running
+     */
+    private Snapshot takeSnapshot(final boolean complete) {
+        if (compacting) {
+            return null;
+        }
+        closeJournal();
+        try {
+            if (journalFile.isFile()) {
+                if (compactingJournalFile.isFile()) {
+                    //The previous compaction failed, its journal still has to be replayed first
+                    Files.write(compactingJournalFile.toPath(),
+                                Files.readAllBytes(journalFile.toPath()),
+                                StandardOpenOption.APPEND);
+                    Files.delete(journalFile.toPath());
+                } else {
+                    Files.move(journalFile.toPath(),
+                               compactingJournalFile.toPath(),
+                               StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to compact the dependency graph journal " + journalFile,
+                        e);
+            return null;
+        }
+        journalRecords = 0;
+        compacting = true;
+        return new Snapshot(complete,
+                            new HashMap<>(files));
+    }
+
+    /**
+     * Writes the snapshot and drops the journal it replaces. Must be called without holding the lock.
+     */
+    private void write(final Snapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            final File parent = graphFile.getAbsoluteFile().getParentFile();
+            if (!parent.isDirectory() && !parent.mkdirs()) {
+                logger.warn("Unable to store the dependency graph in " + parent);
+                return;
+            }
+            final File temp = new File(parent,
+                                       graphFile.getName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(VERSION);
+                out.writeBoolean(snapshot.complete);
+                out.writeInt(snapshot.files.size());
+                for (Map.Entry<String, FileDependencies> e : snapshot.files.entrySet()) {
+                    out.writeUTF(e.getKey());
+                    writeKeys(out,
+                              e.getValue().references);
+                    writeKeys(out,
+                              e.getValue().definitions);
+                }
+            }
+            Files.move(temp.toPath(),
+                       graphFile.toPath(),
+                       StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(compactingJournalFile.toPath());
+        } catch (IOException e) {
+            logger.warn("Unable to store the dependency graph in " + graphFile,
+                        e);
+        } finally {
+            synchronized (this) {
+                compacting = false;
+            }
+        }
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.warn("Unable to close the dependency graph journal " + journalFile,
+                        e);
+        }
+        journal = null;
+    }
+
+    private static Set<String> readKeys(final DataInputStream in) throws IOException {
+        final int count = in.readInt();
+        final Set<String> keys = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            keys.add(in.readUTF());
+        }
+        return keys;
+    }
+
+    private static void writeKeys(final DataOutputStream out,
+                                  final Set<String> keys) throws IOException {
+        out.writeInt(keys.size());
+        for (String key : keys) {
+            out.writeUTF(key);
+        }
+    }
+
+    private static File getDefaultGraphFile() {
+        final String dir = System.getProperty(GRAPH_DIR_PROPERTY,
+                                              System.getProperty(INDEX_DIR_PROPERTY,
+                                                                 "."));
+        return new File(new File(dir,
+                                 ".index"),
+                        GRAPH_FILE_NAME);
+    }
+
+    private static class FileDependencies {
+
+        private final Set<String> references;
+        private final Set<String> definitions;
+
+        private FileDependencies(final Set<String> references,
+                                 final Set<String> definitions) {
+            this.references = Collections.unmodifiableSet(references);
+            this.definitions = Collections.unmodifiableSet(definitions);
+        }
+
+        private boolean isEmpty() {
+            return references.isEmpty() && definitions.isEmpty();
+        }
+    }
+
+    private static class Snapshot {
+
+        private final boolean complete;
+        private final Map<String, FileDependencies> files;
+
+        private Snapshot(final boolean complete,
+                         final Map<String, FileDependencies> files) {
+            this.complete = complete;
+            this.files = files;
+        }
+    }
+}
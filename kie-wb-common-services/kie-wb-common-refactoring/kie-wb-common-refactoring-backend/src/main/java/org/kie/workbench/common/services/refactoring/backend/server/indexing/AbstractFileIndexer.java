@@ -26,6 +26,7 @@ import org.guvnor.common.services.project.model.Package;
 import org.kie.workbench.common.services.refactoring.Resource;
 import org.kie.workbench.common.services.refactoring.ResourceReference;
 import org.kie.workbench.common.services.refactoring.SharedPart;
+import org.kie.workbench.common.services.refactoring.backend.server.impact.ResourceDependencyGraph;
 import org.kie.workbench.common.services.refactoring.backend.server.impact.ResourceReferenceCollector;
 import org.kie.workbench.common.services.refactoring.backend.server.util.KObjectUtil;
 import org.kie.workbench.common.services.refactoring.model.index.terms.IndexTerm;
@@ -54,6 +55,9 @@ public abstract class AbstractFileIndexer implements Indexer {
     @Inject
     protected KieModuleService moduleService;
 
+    @Inject
+    protected ResourceDependencyGraph dependencyGraph;
+
     /**
      * This method fills a {@link DefaultIndexBuilder} instance with the default information.
      * If the index builder could not be built, it should either throw an exception or return null.
@@ -88,6 +92,9 @@ public abstract class AbstractFileIndexer implements Indexer {
             index = KObjectUtil.toKObject(path,
                                           IndexTerm.REFACTORING_CLASSIFIER,
                                           indexElements);
+
+            updateDependencyGraph(path,
+                                  builder);
         } catch (Exception e) {
             // Unexpected parsing or processing error
             logger.error("Unable to index '" + path.toUri().toString() + "'.",
@@ -98,6 +105,20 @@ public abstract class AbstractFileIndexer implements Indexer {
         return index;
     }
 
+    private void updateDependencyGraph(final Path path,
+                                       final IndexBuilder builder) {
+        if (dependencyGraph == null) {
+            return;
+        }
+        final String fileUri = path.toUri().toString();
+        if (builder instanceof DefaultIndexBuilder) {
+            dependencyGraph.update(fileUri,
+                                   ((DefaultIndexBuilder) builder).getGenerators());
+        } else {
+            dependencyGraph.remove(fileUri);
+        }
+    }
+
     protected DefaultIndexBuilder getIndexBuilder(Path path) {
         final Module module = moduleService.resolveModule(Paths.convert(path));
         if (module == null) {
@@ -93,6 +93,14 @@ public class DefaultIndexBuilder implements IndexBuilder {
         indexElements.addAll(generatorsIndexElements);
     }
 
+    Set<IndexElementsGenerator> getGenerators() {
+        return generators;
+    }
+
+    public Module getModule() {
+        return module;
+    }
+
     public void setPackageName(String pkgName) {
         this.pkgName = pkgName;
     }
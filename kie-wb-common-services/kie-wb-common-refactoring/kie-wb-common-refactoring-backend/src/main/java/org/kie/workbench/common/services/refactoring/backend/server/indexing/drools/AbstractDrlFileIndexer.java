@@ -17,10 +17,13 @@ package org.kie.workbench.common.services.refactoring.backend.server.indexing.dr
 
 import java.util.List;
 
+import javax.inject.Inject;
+
 import org.drools.compiler.compiler.DrlParser;
 import org.drools.compiler.compiler.DroolsError;
 import org.drools.compiler.lang.descr.PackageDescr;
 import org.kie.api.io.ResourceType;
+import org.kie.soup.project.datamodel.commons.oracle.ModuleDataModelOracleImpl;
 import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.AbstractFileIndexer;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
@@ -40,6 +43,9 @@ public abstract class AbstractDrlFileIndexer extends AbstractFileIndexer {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractDrlFileIndexer.class);
 
+    @Inject
+    protected DeferredDrlIndexing deferredIndexing;
+
     /**
      * All Drools-related {@link Indexer} implementations end up extracting the DRL from the related Rule representation
      * (see {@link ResourceType}).
@@ -68,8 +74,6 @@ public abstract class AbstractDrlFileIndexer extends AbstractFileIndexer {
             return null;
         }
 
-        final ModuleDataModelOracle dmo = getModuleDataModelOracle(path);
-
         // responsible for basic index info: project name, branch, etc
         final DefaultIndexBuilder builder = getIndexBuilder(path);
         if (builder == null) {
@@ -77,6 +81,23 @@ public abstract class AbstractDrlFileIndexer extends AbstractFileIndexer {
         }
         builder.setPackageName(packageDescr.getName());
 
+        // Until the module's oracle is built only the structural terms are indexed, types and fields are added later
+        final String moduleRootUri = getModuleRootUri(builder);
+        final ModuleDataModelOracle dmo;
+        if (deferredIndexing == null || moduleRootUri == null || deferredIndexing.isReady(moduleRootUri)) {
+            dmo = getModuleDataModelOracle(path);
+            if (deferredIndexing != null && moduleRootUri != null) {
+                deferredIndexing.resolved(moduleRootUri,
+                                          path);
+            }
+        } else {
+            dmo = new ModuleDataModelOracleImpl();
+            deferredIndexing.defer(moduleRootUri,
+                                   path,
+                                   (p) -> ioService.exists(p) ? toKObject(p) : null,
+                                   () -> getModuleDataModelOracle(path));
+        }
+
         // Retrieves info from the parsed syntac tree (PackageDescr)
         final PackageDescrIndexVisitor visitor = new PackageDescrIndexVisitor(dmo,
                                                                               builder,
@@ -88,6 +109,13 @@ public abstract class AbstractDrlFileIndexer extends AbstractFileIndexer {
         return builder;
     }
 
+    private String getModuleRootUri(final DefaultIndexBuilder builder) {
+        if (builder.getModule().getRootPath() == null) {
+            return null;
+        }
+        return builder.getModule().getRootPath().toURI();
+    }
+
     /**
      * Delegate resolution of package name to method to assist testing
      * @param path The {@link Path} of the file being indexed
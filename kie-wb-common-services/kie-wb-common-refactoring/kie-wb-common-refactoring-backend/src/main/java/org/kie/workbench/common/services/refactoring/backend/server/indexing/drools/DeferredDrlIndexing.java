@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing.drools;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOModuleCacheEvent;
+import org.guvnor.common.services.project.model.Module;
+import org.kie.soup.commons.validation.PortablePreconditions;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
+import org.uberfire.ext.metadata.MetadataConfig;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Keeps track of the DRL files that were indexed before the {@link org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle}
+ * of their module was built, so only their structural terms (package, rule names, type names as written) are in the
+ * index. The oracle of the module is built in the background once, then the files are indexed again, in batches, to add
+ * the fully qualified type and field terms. Until the oracle of the module is invalidated its DRL files are indexed
+ * completely at once.
+ */
+@ApplicationScoped
+public class DeferredDrlIndexing {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeferredDrlIndexing.class);
+
+    public static final String BATCH_SIZE_PROPERTY = "org.kie.workbench.refactoring.drl.deferredIndexingBatchSize";
+
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    //Module root URI -> (file URI -> pending file), files are indexed in the order they were deferred
+    private final Map<String, Map<String, PendingFile>> pendingFiles = new ConcurrentHashMap<>();
+
+    //Modules whose oracle has been built, and modules whose oracle is being built in the background
+    private final Set<String> readyModules = ConcurrentHashMap.newKeySet();
+    private final Set<String> resolvingModules = ConcurrentHashMap.newKeySet();
+
+    private MetadataConfig config;
+    private ExecutorService executorService;
+    private KieModuleService moduleService;
+    private int batchSize;
+
+    public DeferredDrlIndexing() {
+        //CDI proxy
+    }
+
+    @Inject
+    public DeferredDrlIndexing(final @Named("luceneConfig") MetadataConfig config,
+                               final @Managed ExecutorService executorService,
+                               final KieModuleService moduleService) {
+        this.config = config;
+        this.executorService = executorService;
+        this.moduleService = moduleService;
+        this.batchSize = Math.max(1,
+                                  Integer.getInteger(BATCH_SIZE_PROPERTY,
+                                                     DEFAULT_BATCH_SIZE));
+    }
+
+    /**
+     * Whether the oracle of the module has been built, so its DRL files can be indexed completely at once.
+     */
+    public boolean isReady(final String moduleRootUri) {
+        return readyModules.contains(moduleRootUri);
+    }
+
+    /**
+     * Records a file whose type and field terms could not be resolved yet, and builds the oracle of its module in the
+     * background unless it's already being built.
+     * @param moduleRootUri URI of the root of the module the file belongs to
+     * @param path The file
+     * @param indexer Builds the complete {@link KObject} of the file once the oracle is available
+     * @param oracleLoader Builds the oracle of the module
+     */
+    public void defer(final String moduleRootUri,
+                      final Path path,
+                      final Function<Path, KObject> indexer,
+                      final Runnable oracleLoader) {
+        PortablePreconditions.checkNotNull("moduleRootUri", moduleRootUri);
+        PortablePreconditions.checkNotNull("path", path);
+        PortablePreconditions.checkNotNull("indexer", indexer);
+        PortablePreconditions.checkNotNull("oracleLoader", oracleLoader);
+
+        final Map<String, PendingFile> files = pendingFiles.computeIfAbsent(moduleRootUri,
+                                                                            (k) -> new LinkedHashMap<>());
+        synchronized (files) {
+            files.put(path.toUri().toString(),
+                      new PendingFile(path,
+                                      indexer));
+        }
+
+        if (resolvingModules.add(moduleRootUri)) {
+            executorService.execute(() -> resolve(moduleRootUri,
+                                                  oracleLoader));
+        }
+    }
+
+    /**
+     * A file that is indexed completely no longer needs the second pass.
+     */
+    public void resolved(final String moduleRootUri,
+                         final Path path) {
+        final Map<String, PendingFile> files = pendingFiles.get(moduleRootUri);
+        if (files != null) {
+            synchronized (files) {
+                files.remove(path.toUri().toString());
+            }
+        }
+    }
+
+    public boolean hasPendingFiles(final String moduleRootUri) {
+        final Map<String, PendingFile> files = pendingFiles.get(moduleRootUri);
+        if (files == null) {
+            return false;
+        }
+        synchronized (files) {
+            return !files.isEmpty();
+        }
+    }
+
+    public void onInvalidateDMOModuleCache(final @Observes InvalidateDMOModuleCacheEvent event) {
+        PortablePreconditions.checkNotNull("event",
+                                           event);
+        final Module module = moduleService.resolveModule(event.getResourcePath());
+
+        //The oracle is built again the next time a DRL file of the module is indexed
+        if (module != null && module.getRootPath() != null) {
+            readyModules.remove(module.getRootPath().toURI());
+        }
+    }
+
+    void resolve(final String moduleRootUri,
+                 final Runnable oracleLoader) {
+        try {
+            oracleLoader.run();
+            readyModules.add(moduleRootUri);
+        } catch (Exception e) {
+            logger.error("Unable to build the data model of module '" + moduleRootUri + "', its DRL files are indexed without types.",
+                         e);
+            return;
+        } finally {
+            //Files deferred from now on schedule a new pass
+            resolvingModules.remove(moduleRootUri);
+        }
+        index(moduleRootUri,
+              takePendingFiles(moduleRootUri));
+    }
+
+    void index(final String moduleRootUri,
+               final List<PendingFile> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        logger.debug("Resolving types of {} DRL files of module {}.",
+                     files.size(),
+                     moduleRootUri);
+
+        final List<KObject> batch = new ArrayList<>(Math.min(batchSize,
+                                                             files.size()));
+        for (PendingFile file : files) {
+            try {
+                final KObject kObject = file.indexer.apply(file.path);
+                if (kObject != null) {
+                    batch.add(kObject);
+                }
+            } catch (Exception e) {
+                logger.error("Unable to resolve types of '" + file.path.toUri().toString() + "'.",
+                             e);
+            }
+            if (batch.size() >= batchSize) {
+                flush(batch);
+            }
+        }
+        flush(batch);
+    }
+
+    private void flush(final List<KObject> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        config.getIndexEngine().index(batch.toArray(new KObject[batch.size()]));
+        batch.clear();
+    }
+
+    private List<PendingFile> takePendingFiles(final String moduleRootUri) {
+        final Map<String, PendingFile> files = pendingFiles.get(moduleRootUri);
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        synchronized (files) {
+            final List<PendingFile> result = new ArrayList<>(files.values());
+            files.clear();
+            return result;
+        }
+    }
+
+    static class PendingFile {
+
+        private final Path path;
+        private final Function<Path, KObject> indexer;
+
+        PendingFile(final Path path,
+                    final Function<Path, KObject> indexer) {
+            this.path = path;
+            this.indexer = indexer;
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.kie.workbench.common.services.refactoring.backend.server.query;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -38,21 +39,29 @@ import org.apache.lucene.search.TopFieldDocs;
 import org.apache.lucene.search.TotalHitCountCollector;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.soup.commons.validation.PortablePreconditions;
+import org.kie.workbench.common.services.refactoring.backend.server.impact.ResourceDependencyGraph;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindAllChangeImpactQuery;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueBranchNameIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueModuleNameIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueModuleRootPathIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValuePartReferenceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueReferenceIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPathPageRow;
 import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
 import org.kie.workbench.common.services.refactoring.service.impact.QueryOperationRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
 import org.uberfire.ext.metadata.MetadataConfig;
 import org.uberfire.ext.metadata.model.KObject;
 import org.uberfire.ext.metadata.search.ClusterSegment;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.base.SegmentedPath;
+import org.uberfire.java.nio.file.Path;
 import org.uberfire.paging.PageResponse;
 
 @Service
@@ -63,19 +72,33 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
     private MetadataConfig config;
     private NamedQueries namedQueries;
+    private ResourceDependencyGraph dependencyGraph;
+    private IOService ioService;
     private PageResponse<RefactoringPageRow> emptyResponse;
 
     public RefactoringQueryServiceImpl() {
         //Make proxyable
     }
 
+    public RefactoringQueryServiceImpl(final MetadataConfig config,
+                                       final NamedQueries namedQueries) {
+        this(config,
+             namedQueries,
+             null,
+             null);
+    }
+
     @Inject
     public RefactoringQueryServiceImpl(@Named("luceneConfig") final MetadataConfig config,
-                                       final NamedQueries namedQueries) {
+                                       final NamedQueries namedQueries,
+                                       final ResourceDependencyGraph dependencyGraph,
+                                       @Named("ioStrategy") final IOService ioService) {
         this.config = PortablePreconditions.checkNotNull("config",
                                                          config);
         this.namedQueries = PortablePreconditions.checkNotNull("namedQueries",
                                                                namedQueries);
+        this.dependencyGraph = dependencyGraph;
+        this.ioService = ioService;
     }
 
     @PostConstruct
@@ -258,6 +281,13 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
     public PageResponse<RefactoringPageRow> queryToPageResponse(QueryOperationRequest queryOpRequest) {
         final RefactoringPageRequest request = convertToRefactoringPageRequest(queryOpRequest);
 
+        final List<RefactoringPageRow> rows = queryDependencyGraph(request.getQueryTerms());
+        if (rows != null) {
+            return toPageResponse(rows,
+                                  request.getStartRowIndex(),
+                                  request.getPageSize());
+        }
+
         final PageResponse<RefactoringPageRow> response = query(request);
 
         return response;
@@ -267,12 +297,89 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
     public List<RefactoringPageRow> queryToList(final QueryOperationRequest queryOpRequest) {
         final RefactoringPageRequest request = convertToRefactoringPageRequest(queryOpRequest);
 
+        final List<RefactoringPageRow> rows = queryDependencyGraph(request.getQueryTerms());
+        if (rows != null) {
+            return rows;
+        }
+
         final List<RefactoringPageRow> response = query(request.getQueryName(),
                                                         request.getQueryTerms());
 
         return response;
     }
 
+    /**
+     * Answers an impact analysis from the {@link ResourceDependencyGraph} rather than the index when the graph is
+     * ready and the request only combines exact (part) references with the module root path and the branch.
+     * @return The files referencing every requested (part) reference, or null when the index has to be queried
+     */
+    List<RefactoringPageRow> queryDependencyGraph(final Set<ValueIndexTerm> queryTerms) {
+        if (dependencyGraph == null || ioService == null || !dependencyGraph.isReady()) {
+            return null;
+        }
+
+        final List<String> keys = new ArrayList<>();
+        String moduleRootPathURI = null;
+        String branchName = null;
+        for (ValueIndexTerm term : queryTerms) {
+            if (term.getSearchType() != ValueIndexTerm.TermSearchType.NORMAL) {
+                return null;
+            }
+            if (term instanceof ValueReferenceIndexTerm || term instanceof ValuePartReferenceIndexTerm) {
+                keys.add(ResourceDependencyGraph.key(term));
+            } else if (term instanceof ValueModuleRootPathIndexTerm) {
+                moduleRootPathURI = term.getValue();
+            } else if (term instanceof ValueBranchNameIndexTerm) {
+                branchName = term.getValue();
+            } else {
+                //Module names and shared parts are only known by the index
+                return null;
+            }
+        }
+        if (keys.isEmpty()) {
+            return null;
+        }
+
+        final String prefix = moduleRootPathURI == null || moduleRootPathURI.endsWith("/") ? moduleRootPathURI : moduleRootPathURI + "/";
+        final List<RefactoringPageRow> rows = new ArrayList<>();
+        dependencyGraph.findReferencingFiles(keys).stream()
+                .filter(uri -> prefix == null || uri.startsWith(prefix))
+                .sorted()
+                .forEach(uri -> {
+                    final Path path = ioService.get(URI.create(uri));
+                    if (isOnBranch(path,
+                                   branchName) && ioService.exists(path)) {
+                        final RefactoringPathPageRow row = new RefactoringPathPageRow();
+                        row.setValue(Paths.convert(path));
+                        rows.add(row);
+                    }
+                });
+        return rows;
+    }
+
+    private boolean isOnBranch(final Path path,
+                               final String branchName) {
+        return branchName == null || !(path instanceof SegmentedPath) || branchName.equals(((SegmentedPath) path).getSegmentId());
+    }
+
+    private PageResponse<RefactoringPageRow> toPageResponse(final List<RefactoringPageRow> rows,
+                                                            final int startIndex,
+                                                            final int pageSize) {
+        if (startIndex >= rows.size()) {
+            return emptyResponse;
+        }
+        final int endIndex = pageSize > 0 ? Math.min(rows.size(),
+                                                     startIndex + pageSize) : rows.size();
+        final PageResponse<RefactoringPageRow> response = new PageResponse<>();
+        response.setPageRowList(new ArrayList<>(rows.subList(startIndex,
+                                                             endIndex)));
+        response.setStartRowIndex(startIndex);
+        response.setTotalRowSize(rows.size());
+        response.setTotalRowSizeExact(true);
+        response.setLastPage(endIndex >= rows.size());
+        return response;
+    }
+
     private RefactoringPageRequest convertToRefactoringPageRequest(QueryOperationRequest refOpRequest) {
         RefactoringPageRequest request = new RefactoringPageRequest(
                 FindAllChangeImpactQuery.NAME,
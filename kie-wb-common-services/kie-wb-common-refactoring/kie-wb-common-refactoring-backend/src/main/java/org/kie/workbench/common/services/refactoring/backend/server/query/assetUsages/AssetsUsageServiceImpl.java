@@ -16,12 +16,17 @@
 
 package org.kie.workbench.common.services.refactoring.backend.server.query.assetUsages;
 
+import java.net.URI;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import javax.inject.Named;
 
 import org.jboss.errai.bus.server.annotations.Service;
+import org.kie.workbench.common.services.refactoring.backend.server.impact.ResourceDependencyGraph;
 import org.kie.workbench.common.services.refactoring.service.AssetsUsageService;
 import org.kie.workbench.common.services.refactoring.service.PartType;
 import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
@@ -32,6 +37,7 @@ import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
 import org.uberfire.java.nio.base.SegmentedPath;
 
 @Service
@@ -42,11 +48,27 @@ public class AssetsUsageServiceImpl implements AssetsUsageService {
 
     private RefactoringQueryService refactoringQueryService;
 
-    @Inject
+    private ResourceDependencyGraph dependencyGraph;
+
+    private IOService ioService;
+
     public AssetsUsageServiceImpl(KieModuleService moduleService,
                                   RefactoringQueryService refactoringQueryService) {
+        this(moduleService,
+             refactoringQueryService,
+             null,
+             null);
+    }
+
+    @Inject
+    public AssetsUsageServiceImpl(KieModuleService moduleService,
+                                  RefactoringQueryService refactoringQueryService,
+                                  ResourceDependencyGraph dependencyGraph,
+                                  @Named("ioStrategy") IOService ioService) {
         this.moduleService = moduleService;
         this.refactoringQueryService = refactoringQueryService;
+        this.dependencyGraph = dependencyGraph;
+        this.ioService = ioService;
     }
 
     @Override
@@ -54,6 +76,12 @@ public class AssetsUsageServiceImpl implements AssetsUsageService {
                                      ResourceType resourceType,
                                      Path assetPath) {
 
+        if (isDependencyGraphReady()) {
+            return getUsages(assetPath,
+                             dependencyGraph.findReferencingFiles(ResourceDependencyGraph.referenceKey(resourceFQN,
+                                                                                                       resourceType)));
+        }
+
         return getQueryList(assetPath,
                             QueryOperationRequest
                                     .references(resourceFQN,
@@ -66,15 +94,74 @@ public class AssetsUsageServiceImpl implements AssetsUsageService {
                                          PartType partType,
                                          Path assetPath) {
 
+        if (isDependencyGraphReady()) {
+            return getUsages(assetPath,
+                             dependencyGraph.findReferencingFiles(ResourceDependencyGraph.partReferenceKey(resourceFQN,
+                                                                                                           resourcePart,
+                                                                                                           partType)));
+        }
+
         return getQueryList(assetPath,
                             QueryOperationRequest.referencesPart(resourceFQN,
                                                                  resourcePart,
                                                                  partType));
     }
 
+    @Override
+    public List<Path> getAssetImpact(String resourceFQN,
+                                     ResourceType resourceType,
+                                     Path assetPath) {
+
+        if (isDependencyGraphReady()) {
+            return getUsages(assetPath,
+                             dependencyGraph.findImpactedFiles(ResourceDependencyGraph.referenceKey(resourceFQN,
+                                                                                                    resourceType)));
+        }
+
+        //The index only knows the direct usages
+        return getQueryList(assetPath,
+                            QueryOperationRequest
+                                    .references(resourceFQN,
+                                                resourceType));
+    }
+
+    private boolean isDependencyGraphReady() {
+        return dependencyGraph != null && dependencyGraph.isReady();
+    }
+
+    protected List<Path> getUsages(Path assetPath,
+                                   Set<String> referencingFiles) {
+        KieModule project = moduleService.resolveModule(assetPath);
+        if (project == null) {
+            return Collections.emptyList();
+        }
+
+        String moduleRootURI = project.getRootPath().toURI();
+        String prefix = moduleRootURI.endsWith("/") ? moduleRootURI : moduleRootURI + "/";
+
+        return referencingFiles.stream()
+                .filter(uri -> uri.startsWith(prefix))
+                .map(uri -> ioService.get(URI.create(uri)))
+                .filter(this::exists)
+                .map(Paths::convert)
+                .collect(Collectors.toList());
+    }
+
+    private boolean exists(final org.uberfire.java.nio.file.Path nioPath) {
+        if (ioService.exists(nioPath)) {
+            return true;
+        }
+        //Deleted without a delete event reaching this node (e.g. removed by a push), forget it
+        dependencyGraph.remove(nioPath.toUri().toString());
+        return false;
+    }
+
     protected List<Path> getQueryList(Path assetPath,
                                       RefactorOperationBuilder<QueryOperationRequest>.RequiresModule builder) {
         KieModule project = moduleService.resolveModule(assetPath);
+        if (project == null) {
+            return Collections.emptyList();
+        }
 
         String branch = "master";
 
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.impact;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.services.refactoring.Resource;
+import org.kie.workbench.common.services.refactoring.ResourceReference;
+import org.kie.workbench.common.services.refactoring.service.PartType;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.ext.metadata.MetadataConfig;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.ext.metadata.model.KProperty;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResourceDependencyGraphTest {
+
+    private static final String WHEEL = "org.test.Wheel";
+    private static final String BIKE = "org.test.Bike";
+    private static final String SADDLE = "org.test.Saddle";
+
+    private static final String WHEEL_FILE = "default://master@repo/module/src/main/java/org/test/Wheel.java";
+    private static final String BIKE_FILE = "default://master@repo/module/src/main/java/org/test/Bike.java";
+    private static final String RULES_FILE = "default://master@repo/module/src/main/resources/org/test/rules.drl";
+    private static final String CAR_FILE = "default://master@repo/module/src/main/java/org/test/Car.java";
+    private static final String GARAGE = "org.test.Garage";
+    private static final String GARAGE_FILE = "default://master@repo/module/src/main/java/org/test/Garage.java";
+    private static final String GARAGE_RULES_FILE = "default://master@repo/module/src/main/resources/org/test/garage.drl";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File graphFile;
+
+    private MetadataConfig config;
+
+    private ExecutorService executorService;
+
+    private ResourceDependencyGraph graph;
+
+    @Before
+    public void setup() {
+        graphFile = new File(folder.getRoot(),
+                             "graph");
+        config = mock(MetadataConfig.class,
+                      RETURNS_DEEP_STUBS);
+        executorService = mock(ExecutorService.class);
+        indexHolds(Collections.emptyList());
+
+        graph = newGraph();
+
+        graph.update(WHEEL_FILE,
+                     Collections.singletonList(new Resource(WHEEL,
+                                                            ResourceType.JAVA)));
+
+        final ResourceReference wheelReference = new ResourceReference(WHEEL,
+                                                                       ResourceType.JAVA);
+        wheelReference.addPartReference("size",
+                                        PartType.FIELD);
+        graph.update(BIKE_FILE,
+                     Arrays.asList(new Resource(BIKE,
+                                                ResourceType.JAVA),
+                                   wheelReference));
+
+        graph.update(RULES_FILE,
+                     Collections.singletonList(new ResourceReference(BIKE,
+                                                                     ResourceType.JAVA)));
+    }
+
+    @Test
+    public void testDirectUsages() {
+        assertEquals(Collections.singleton(BIKE_FILE),
+                     graph.findReferencingFiles(ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                                     ResourceType.JAVA)));
+        assertEquals(Collections.singleton(BIKE_FILE),
+                     graph.findReferencingFiles(ResourceDependencyGraph.partReferenceKey(WHEEL,
+                                                                                         "size",
+                                                                                         PartType.FIELD)));
+        assertTrue(graph.findReferencingFiles(ResourceDependencyGraph.partReferenceKey(WHEEL,
+                                                                                       "colour",
+                                                                                       PartType.FIELD)).isEmpty());
+    }
+
+    @Test
+    public void testReferencesToEveryKey() {
+        assertEquals(Collections.singleton(BIKE_FILE),
+                     graph.findReferencingFiles(Arrays.asList(ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                                                   ResourceType.JAVA),
+                                                              ResourceDependencyGraph.partReferenceKey(WHEEL,
+                                                                                                       "size",
+                                                                                                       PartType.FIELD))));
+        assertTrue(graph.findReferencingFiles(Arrays.asList(ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                                                 ResourceType.JAVA),
+                                                            ResourceDependencyGraph.referenceKey(BIKE,
+                                                                                                 ResourceType.JAVA))).isEmpty());
+    }
+
+    @Test
+    public void testTransitiveUsages() {
+        assertEquals(new HashSet<>(Arrays.asList(BIKE_FILE,
+                                                 RULES_FILE)),
+                     graph.findImpactedFiles(ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                                  ResourceType.JAVA)));
+        assertEquals(Collections.singleton(RULES_FILE),
+                     graph.findImpactedFiles(ResourceDependencyGraph.referenceKey(BIKE,
+                                                                                  ResourceType.JAVA)));
+    }
+
+    @Test
+    public void testReindexReplacesReferences() {
+        graph.update(BIKE_FILE,
+                     Collections.singletonList(new Resource(BIKE,
+                                                            ResourceType.JAVA)));
+
+        assertTrue(graph.findReferencingFiles(ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                                   ResourceType.JAVA)).isEmpty());
+
+        graph.remove(RULES_FILE);
+
+        assertTrue(graph.findReferencingFiles(ResourceDependencyGraph.referenceKey(BIKE,
+                                                                                   ResourceType.JAVA)).isEmpty());
+    }
+
+    @Test
+    public void testNotReadyUntilBuiltFromIndex() {
+        verify(executorService).execute(any(Runnable.class));
+        assertFalse(graph.isReady());
+
+        //Only the files indexed during this run are known, a restart must not trust them
+        graph.store();
+
+        final ResourceDependencyGraph loaded = newGraph();
+
+        assertFalse(loaded.isReady());
+        assertEquals(0,
+                     loaded.size());
+    }
+
+    @Test
+    public void testBuildFromIndex() {
+        indexHolds(Arrays.asList(indexed(CAR_FILE,
+                                         ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                              ResourceType.JAVA)),
+                                 indexed(GARAGE_FILE,
+                                         ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                              ResourceType.JAVA),
+                                         ResourceType.JAVA.toString() + "=" + GARAGE),
+                                 indexed(GARAGE_RULES_FILE,
+                                         ResourceDependencyGraph.referenceKey(GARAGE,
+                                                                              ResourceType.JAVA)),
+                                 //Older than what the indexer reported meanwhile
+                                 indexed(BIKE_FILE,
+                                         ResourceDependencyGraph.referenceKey(SADDLE,
+                                                                              ResourceType.JAVA))));
+
+        graph.buildFromIndex();
+
+        assertTrue(graph.isReady());
+        assertEquals(new HashSet<>(Arrays.asList(BIKE_FILE,
+                                                 CAR_FILE,
+                                                 GARAGE_FILE)),
+                     graph.findReferencingFiles(ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                                     ResourceType.JAVA)));
+        assertTrue(graph.findReferencingFiles(ResourceDependencyGraph.referenceKey(SADDLE,
+                                                                                   ResourceType.JAVA)).isEmpty());
+
+        graph.store();
+
+        final ResourceDependencyGraph loaded = newGraph();
+
+        assertTrue(loaded.isReady());
+        assertEquals(6,
+                     loaded.size());
+        //The resources defined by the indexed files are read too
+        assertEquals(new HashSet<>(Arrays.asList(BIKE_FILE,
+                                                 CAR_FILE,
+                                                 GARAGE_FILE,
+                                                 GARAGE_RULES_FILE,
+                                                 RULES_FILE)),
+                     loaded.findImpactedFiles(ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                                   ResourceType.JAVA)));
+    }
+
+    @Test
+    public void testChangesArePersistedWithoutStore() {
+        graph.buildFromIndex();
+
+        graph.remove(RULES_FILE);
+        graph.update(CAR_FILE,
+                     Collections.singletonList(new ResourceReference(WHEEL,
+                                                                     ResourceType.JAVA)));
+
+        //No store(), e.g. the server was killed
+        final ResourceDependencyGraph loaded = newGraph();
+
+        assertTrue(loaded.isReady());
+        assertEquals(new HashSet<>(Arrays.asList(BIKE_FILE,
+                                                 CAR_FILE)),
+                     loaded.findReferencingFiles(ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                                      ResourceType.JAVA)));
+        assertTrue(loaded.findReferencingFiles(ResourceDependencyGraph.referenceKey(BIKE,
+                                                                                    ResourceType.JAVA)).isEmpty());
+    }
+
+    @Test
+    public void testDeletedFilesAreForgotten() {
+        graph.buildFromIndex();
+
+        final Path path = mock(Path.class);
+        when(path.toURI()).thenReturn(BIKE_FILE);
+        graph.onResourceDeleted(new ResourceDeletedEvent(path,
+                                                         "deleted",
+                                                         mock(SessionInfo.class)));
+
+        assertTrue(graph.findReferencingFiles(ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                                   ResourceType.JAVA)).isEmpty());
+        assertTrue(newGraph().findReferencingFiles(ResourceDependencyGraph.referenceKey(WHEEL,
+                                                                                        ResourceType.JAVA)).isEmpty());
+    }
+
+    private ResourceDependencyGraph newGraph() {
+        final ResourceDependencyGraph graph = new ResourceDependencyGraph(graphFile,
+                                                                          config,
+                                                                          executorService);
+        graph.load();
+        return graph;
+    }
+
+    private void indexHolds(final List<KObject> kObjects) {
+        when(config.getIndexProvider().findByQuery(any(),
+                                                   any(),
+                                                   any(),
+                                                   anyInt())).thenReturn(kObjects);
+    }
+
+    @SuppressWarnings("unchecked")
+    private KObject indexed(final String fileUri,
+                            final String... keys) {
+        final List<KProperty<?>> properties = new ArrayList<>();
+        for (String key : keys) {
+            final String[] termAndValue = key.split("=",
+                                                    2);
+            final KProperty property = mock(KProperty.class);
+            when(property.getName()).thenReturn(termAndValue[0]);
+            when(property.getValue()).thenReturn(termAndValue[1]);
+            properties.add(property);
+        }
+
+        final KObject kObject = mock(KObject.class);
+        when(kObject.getKey()).thenReturn(fileUri);
+        when(kObject.getProperties()).thenReturn(properties);
+        return kObject;
+    }
+}
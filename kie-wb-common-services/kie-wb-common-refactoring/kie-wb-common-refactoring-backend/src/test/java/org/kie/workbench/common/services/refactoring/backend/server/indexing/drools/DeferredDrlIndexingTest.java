@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing.drools;
+
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOModuleCacheEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.ext.metadata.MetadataConfig;
+import org.uberfire.ext.metadata.engine.MetaIndexEngine;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DeferredDrlIndexingTest {
+
+    private static final String MODULE_ROOT = "default://master@repo/module/";
+    private static final String OTHER_MODULE_ROOT = "default://master@repo/other/";
+
+    @Mock
+    private MetadataConfig config;
+
+    @Mock
+    private MetaIndexEngine indexEngine;
+
+    @Mock
+    private ExecutorService executorService;
+
+    @Mock
+    private KieModuleService moduleService;
+
+    @Mock
+    private Function<Path, KObject> indexer;
+
+    @Mock
+    private Runnable oracleLoader;
+
+    private DeferredDrlIndexing deferredIndexing;
+
+    @Before
+    public void setup() {
+        System.setProperty(DeferredDrlIndexing.BATCH_SIZE_PROPERTY,
+                           "2");
+        when(config.getIndexEngine()).thenReturn(indexEngine);
+        when(indexer.apply(any(Path.class))).thenAnswer((invocation) -> mock(KObject.class));
+        deferredIndexing = new DeferredDrlIndexing(config,
+                                                   executorService,
+                                                   moduleService);
+    }
+
+    @After
+    public void cleanup() {
+        System.clearProperty(DeferredDrlIndexing.BATCH_SIZE_PROPERTY);
+    }
+
+    @Test
+    public void testPendingFilesAreIndexedInBatchesOnceTheOracleIsBuilt() {
+        for (int i = 0; i < 5; i++) {
+            deferredIndexing.defer(MODULE_ROOT,
+                                   mockPath(MODULE_ROOT + "src/main/resources/rule" + i + ".drl"),
+                                   indexer,
+                                   oracleLoader);
+        }
+
+        assertFalse(deferredIndexing.isReady(MODULE_ROOT));
+        assertTrue(deferredIndexing.hasPendingFiles(MODULE_ROOT));
+
+        runBackgroundTask();
+
+        verify(oracleLoader).run();
+        assertTrue(deferredIndexing.isReady(MODULE_ROOT));
+        assertFalse(deferredIndexing.hasPendingFiles(MODULE_ROOT));
+        verify(indexer,
+               times(5)).apply(any(Path.class));
+        // 5 files in batches of 2
+        verify(indexEngine,
+               times(3)).index(Matchers.<KObject[]>anyVararg());
+    }
+
+    @Test
+    public void testModulesAreResolvedSeparately() {
+        deferredIndexing.defer(MODULE_ROOT,
+                               mockPath(MODULE_ROOT + "src/main/resources/rule.drl"),
+                               indexer,
+                               oracleLoader);
+        deferredIndexing.defer(OTHER_MODULE_ROOT,
+                               mockPath(OTHER_MODULE_ROOT + "src/main/resources/rule.drl"),
+                               indexer,
+                               oracleLoader);
+
+        final ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService,
+               times(2)).execute(tasks.capture());
+        tasks.getAllValues().get(0).run();
+
+        assertTrue(deferredIndexing.isReady(MODULE_ROOT));
+        assertFalse(deferredIndexing.isReady(OTHER_MODULE_ROOT));
+        assertTrue(deferredIndexing.hasPendingFiles(OTHER_MODULE_ROOT));
+    }
+
+    @Test
+    public void testResolvedFilesAreNotIndexedAgain() {
+        final Path path = mockPath(MODULE_ROOT + "src/main/resources/rule.drl");
+        deferredIndexing.defer(MODULE_ROOT,
+                               path,
+                               indexer,
+                               oracleLoader);
+
+        deferredIndexing.resolved(MODULE_ROOT,
+                                  path);
+        runBackgroundTask();
+
+        verify(indexer,
+               never()).apply(any(Path.class));
+    }
+
+    @Test
+    public void testFileDeferredTwiceIsIndexedOnce() {
+        deferredIndexing.defer(MODULE_ROOT,
+                               mockPath(MODULE_ROOT + "src/main/resources/rule.drl"),
+                               indexer,
+                               oracleLoader);
+        deferredIndexing.defer(MODULE_ROOT,
+                               mockPath(MODULE_ROOT + "src/main/resources/rule.drl"),
+                               indexer,
+                               oracleLoader);
+
+        runBackgroundTask();
+
+        verify(indexer,
+               times(1)).apply(any(Path.class));
+    }
+
+    @Test
+    public void testFilesStayPendingWhenTheOracleCanNotBeBuilt() {
+        doThrow(new IllegalStateException("build failed")).when(oracleLoader).run();
+        deferredIndexing.defer(MODULE_ROOT,
+                               mockPath(MODULE_ROOT + "src/main/resources/rule.drl"),
+                               indexer,
+                               oracleLoader);
+
+        runBackgroundTask();
+
+        assertFalse(deferredIndexing.isReady(MODULE_ROOT));
+        assertTrue(deferredIndexing.hasPendingFiles(MODULE_ROOT));
+        verify(indexer,
+               never()).apply(any(Path.class));
+    }
+
+    @Test
+    public void testInvalidatedModulesAreNoLongerReady() {
+        deferredIndexing.defer(MODULE_ROOT,
+                               mockPath(MODULE_ROOT + "src/main/resources/rule.drl"),
+                               indexer,
+                               oracleLoader);
+        runBackgroundTask();
+
+        final org.uberfire.backend.vfs.Path rootPath = mock(org.uberfire.backend.vfs.Path.class);
+        when(rootPath.toURI()).thenReturn(MODULE_ROOT);
+        final KieModule module = mock(KieModule.class);
+        when(module.getRootPath()).thenReturn(rootPath);
+        final org.uberfire.backend.vfs.Path resourcePath = mock(org.uberfire.backend.vfs.Path.class);
+        when(moduleService.resolveModule(resourcePath)).thenReturn(module);
+
+        deferredIndexing.onInvalidateDMOModuleCache(new InvalidateDMOModuleCacheEvent(mock(SessionInfo.class),
+                                                                                      module,
+                                                                                      resourcePath));
+
+        assertFalse(deferredIndexing.isReady(MODULE_ROOT));
+    }
+
+    private void runBackgroundTask() {
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).execute(task.capture());
+        assertEquals(1,
+                     task.getAllValues().size());
+        task.getValue().run();
+    }
+
+    private Path mockPath(final String uri) {
+        final Path path = mock(Path.class);
+        when(path.toUri()).thenReturn(URI.create(uri));
+        return path;
+    }
+}
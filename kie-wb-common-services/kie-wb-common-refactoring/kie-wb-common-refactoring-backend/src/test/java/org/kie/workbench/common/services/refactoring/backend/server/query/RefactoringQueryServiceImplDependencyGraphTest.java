@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.refactoring.backend.server.impact.ResourceDependencyGraph;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueModuleNameIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueModuleRootPathIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueReferenceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.ext.metadata.MetadataConfig;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RefactoringQueryServiceImplDependencyGraphTest {
+
+    private static final String MODULE_ROOT = "default://master@repo/module";
+    private static final String RULES = MODULE_ROOT + "/src/main/resources/rules.drl";
+    private static final String OTHER_RULES = "default://master@repo/other/src/main/resources/rules.drl";
+    private static final String CAR = "org.test.Car";
+
+    @Mock
+    private MetadataConfig config;
+
+    @Mock
+    private NamedQueries namedQueries;
+
+    @Mock
+    private ResourceDependencyGraph dependencyGraph;
+
+    @Mock
+    private IOService ioService;
+
+    private RefactoringQueryServiceImpl service;
+
+    @Before
+    public void setup() {
+        service = new RefactoringQueryServiceImpl(config,
+                                                  namedQueries,
+                                                  dependencyGraph,
+                                                  ioService);
+        service.init();
+
+        when(dependencyGraph.isReady()).thenReturn(true);
+        when(dependencyGraph.findReferencingFiles(anyCollectionOf(String.class))).thenReturn(new HashSet<>(Arrays.asList(RULES,
+                                                                                                                          OTHER_RULES)));
+        mockPath(RULES);
+        mockPath(OTHER_RULES);
+    }
+
+    @Test
+    public void testReferencesAreAnsweredFromTheGraph() {
+        final List<RefactoringPageRow> rows = service.queryDependencyGraph(terms(new ValueReferenceIndexTerm(CAR,
+                                                                                                             ResourceType.JAVA),
+                                                                                 new ValueModuleRootPathIndexTerm(MODULE_ROOT)));
+
+        assertEquals(1,
+                     rows.size());
+        verify(dependencyGraph).findReferencingFiles(Arrays.asList(ResourceDependencyGraph.referenceKey(CAR,
+                                                                                                        ResourceType.JAVA)));
+    }
+
+    @Test
+    public void testDeletedFilesAreSkipped() {
+        when(ioService.exists(any(Path.class))).thenReturn(false);
+
+        final List<RefactoringPageRow> rows = service.queryDependencyGraph(terms(new ValueReferenceIndexTerm(CAR,
+                                                                                                             ResourceType.JAVA)));
+
+        assertEquals(0,
+                     rows.size());
+    }
+
+    @Test
+    public void testTheIndexIsQueriedUntilTheGraphIsReady() {
+        when(dependencyGraph.isReady()).thenReturn(false);
+
+        assertNull(service.queryDependencyGraph(terms(new ValueReferenceIndexTerm(CAR,
+                                                                                  ResourceType.JAVA))));
+    }
+
+    @Test
+    public void testTheIndexIsQueriedForWildcards() {
+        assertNull(service.queryDependencyGraph(terms(new ValueReferenceIndexTerm("org.test.*",
+                                                                                  ResourceType.JAVA,
+                                                                                  ValueIndexTerm.TermSearchType.WILDCARD))));
+        verify(dependencyGraph,
+               never()).findReferencingFiles(anyCollectionOf(String.class));
+    }
+
+    @Test
+    public void testTheIndexIsQueriedForOtherTerms() {
+        assertNull(service.queryDependencyGraph(terms(new ValueReferenceIndexTerm(CAR,
+                                                                                  ResourceType.JAVA),
+                                                      new ValueModuleNameIndexTerm("module"))));
+    }
+
+    private Set<ValueIndexTerm> terms(final ValueIndexTerm... terms) {
+        return new HashSet<>(Arrays.asList(terms));
+    }
+
+    private void mockPath(final String uri) {
+        final Path path = mock(Path.class);
+        final Path fileName = mock(Path.class);
+        when(fileName.toString()).thenReturn(uri.substring(uri.lastIndexOf('/') + 1));
+        when(path.getFileName()).thenReturn(fileName);
+        when(path.toUri()).thenReturn(URI.create(uri));
+        when(ioService.get(URI.create(uri))).thenReturn(path);
+        when(ioService.exists(path)).thenReturn(true);
+    }
+}
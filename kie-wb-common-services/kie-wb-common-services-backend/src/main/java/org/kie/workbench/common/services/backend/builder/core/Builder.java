@@ -27,6 +27,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 import org.appformer.maven.support.DependencyFilter;
@@ -110,10 +116,61 @@ public class Builder implements Serializable {
     private final DirectoryStream.Filter<Path> dotFileFilter = new DotFileFilter();
     private final Set<String> javaResources = new HashSet<String>();
     private final Predicate<String> classFilter;
+    private final AtomicLong version = new AtomicLong();
     private KieBuilder kieBuilder;
     private LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache;
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListService packageNameWhiteListService;
+    private ExternalClassVerificationCache classVerificationCache;
+    private transient ExecutorService validationExecutor;
+
+    public Builder(final Module project,
+                   final IOService ioService,
+                   final KieModuleService moduleService,
+                   final ProjectImportsService importsService,
+                   final List<BuildValidationHelper> buildValidationHelpers,
+                   final LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                   final LRUPomModelCache pomModelCache,
+                   final PackageNameWhiteListService packageNameWhiteListService,
+                   final Predicate<String> classFilter) {
+        this(project,
+             ioService,
+             moduleService,
+             importsService,
+             buildValidationHelpers,
+             dependenciesClassLoaderCache,
+             pomModelCache,
+             packageNameWhiteListService,
+             classFilter,
+             (ExternalClassVerificationCache) null,
+             null);
+    }
+
+    public Builder(final Module project,
+                   final IOService ioService,
+                   final KieModuleService moduleService,
+                   final ProjectImportsService importsService,
+                   final List<BuildValidationHelper> buildValidationHelpers,
+                   final LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                   final LRUPomModelCache pomModelCache,
+                   final PackageNameWhiteListService packageNameWhiteListService,
+                   final Predicate<String> classFilter,
+                   final ExternalClassVerificationCache classVerificationCache,
+                   final ExecutorService validationExecutor) {
+        this(project,
+             ioService,
+             moduleService,
+             importsService,
+             buildValidationHelpers,
+             dependenciesClassLoaderCache,
+             pomModelCache,
+             packageNameWhiteListService,
+             classFilter,
+             classVerificationCache,
+             validationExecutor,
+             null,
+             KieServices.Factory.get().newKieFileSystem());
+    }
 
     public Builder(final Module project,
                    final IOService ioService,
@@ -126,6 +183,34 @@ public class Builder implements Serializable {
                    final Predicate<String> classFilter,
                    final KieBuilder kieBuilder,
                    final KieFileSystem kieFileSystem) {
+        this(project,
+             ioService,
+             moduleService,
+             importsService,
+             buildValidationHelpers,
+             dependenciesClassLoaderCache,
+             pomModelCache,
+             packageNameWhiteListService,
+             classFilter,
+             null,
+             null,
+             kieBuilder,
+             kieFileSystem);
+    }
+
+    private Builder(final Module project,
+                    final IOService ioService,
+                    final KieModuleService moduleService,
+                    final ProjectImportsService importsService,
+                    final List<BuildValidationHelper> buildValidationHelpers,
+                    final LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                    final LRUPomModelCache pomModelCache,
+                    final PackageNameWhiteListService packageNameWhiteListService,
+                    final Predicate<String> classFilter,
+                    final ExternalClassVerificationCache classVerificationCache,
+                    final ExecutorService validationExecutor,
+                    final KieBuilder kieBuilder,
+                    final KieFileSystem kieFileSystem) {
         this.project = project;
         this.ioService = ioService;
         this.moduleService = moduleService;
@@ -142,36 +227,20 @@ public class Builder implements Serializable {
         this.kieFileSystem = kieFileSystem;
         this.dependenciesClassLoaderCache = dependenciesClassLoaderCache;
         this.pomModelCache = pomModelCache;
+        this.classVerificationCache = classVerificationCache;
+        this.validationExecutor = validationExecutor;
 
         DirectoryStream<Path> directoryStream = Files.newDirectoryStream(projectRoot);
         visitPaths(directoryStream);
     }
 
-    public Builder(final Module project,
-                   final IOService ioService,
-                   final KieModuleService moduleService,
-                   final ProjectImportsService importsService,
-                   final List<BuildValidationHelper> buildValidationHelpers,
-                   final LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
-                   final LRUPomModelCache pomModelCache,
-                   final PackageNameWhiteListService packageNameWhiteListService,
-                   final Predicate<String> classFilter) {
-        this(project,
-             ioService,
-             moduleService,
-             importsService,
-             buildValidationHelpers,
-             dependenciesClassLoaderCache,
-             pomModelCache,
-             packageNameWhiteListService,
-             classFilter,
-             null,
-             KieServices.Factory.get().newKieFileSystem());
-    }
-
     public Builder clone() {
-        final KieFileSystem kieFileSystemClone = kieFileSystemClone();
-        final KieBuilderImpl kieBuilder = kieBuilderClone(kieFileSystemClone);
+        final KieFileSystem kieFileSystemClone;
+        final KieBuilderImpl kieBuilder;
+        synchronized (kieFileSystem) {
+            kieFileSystemClone = kieFileSystemClone();
+            kieBuilder = kieBuilderClone(kieFileSystemClone);
+        }
 
         return new Builder(project,
                            ioService,
@@ -182,6 +251,8 @@ public class Builder implements Serializable {
                            pomModelCache,
                            packageNameWhiteListService,
                            classFilter,
+                           classVerificationCache,
+                           validationExecutor,
                            kieBuilder,
                            kieFileSystemClone);
     }
@@ -207,6 +278,7 @@ public class Builder implements Serializable {
         synchronized (kieFileSystem) {
             //KieBuilder is not re-usable for successive "full" builds
             kieBuilder = createKieBuilder(kieFileSystem);
+            version.incrementAndGet();
 
             //Record RTEs from KieBuilder - that can fail if a rule uses an inaccessible class
             try {
@@ -232,6 +304,24 @@ public class Builder implements Serializable {
             }
         }
 
+        //The post-build checks are read-only against the built module, so the external imports and classes are
+        //verified as independent tasks once the KieFileSystem lock has been released. The BuildValidationHelpers stay
+        //on the building thread: they are CDI beans and may need the request context, which other threads do not
+        //have. The messages are merged in a fixed order, whatever finishes first.
+        final Future<List<BuildMessage>> importMessages = submit(this::verifyExternalImports);
+
+        //Store the project dependencies ClassLoader for optimization purposes.
+        final KieModuleMetaData kieModuleMetaData = KieModuleMetaData.Factory.newKieModuleMetaData(getKieModuleIgnoringErrors(),
+                                                                                                   DependencyFilter.COMPILE_FILTER);
+        updateDependenciesClassLoader(project,
+                                      kieModuleMetaData);
+
+        final ClassVerifier classVerifier = new ClassVerifier(kieModuleMetaData,
+                                                              getTypeSourceResolver(kieModuleMetaData),
+                                                              classVerificationCache);
+        final WhiteList whiteList = getWhiteList(kieModuleMetaData);
+        final Future<List<BuildMessage>> classMessages = submit(() -> classVerifier.verify(whiteList));
+
         //Add validate messages from external helpers
         for (Map.Entry<Path, BuildValidationHelper> e : nonKieResourceValidationHelpers.entrySet()) {
             final org.uberfire.backend.vfs.Path vfsPath = Paths.convert(e.getKey());
@@ -240,8 +330,31 @@ public class Builder implements Serializable {
                                                        validationMessages);
             results.addAllBuildMessages(convertValidationMessages(validationMessages));
         }
+        results.addAllBuildMessages(join(importMessages));
+        //At the end we are interested to ensure that external .jar files referenced as dependencies don't have
+        // referential inconsistencies. We will at least provide a basic algorithm to ensure that if an external class
+        // X references another external class Y, Y is also accessible by the class loader.
+        results.addAllBuildMessages(join(classMessages));
 
+        return results;
+    }
+
+    public BuildResults build(final Path resource,
+                              final InputStream inputStream) {
+        synchronized (kieFileSystem) {
+            final String destinationPath = destinationPath(resource);
+            final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource(new BufferedInputStream(inputStream));
+
+            kieFileSystem.write(destinationPath,
+                                inputStreamResource);
+        }
+
+        return build();
+    }
+
+    private List<BuildMessage> verifyExternalImports() {
         //Check external imports are available. These are loaded when a DMO is requested, but it's better to report them early
+        final List<BuildMessage> messages = new ArrayList<>();
         final Path nioExternalImportsPath = projectRoot.resolve("project.imports");
         if (Files.exists(nioExternalImportsPath)) {
             final org.uberfire.backend.vfs.Path externalImportsPath = Paths.convert(nioExternalImportsPath);
@@ -255,41 +368,39 @@ public class Builder implements Serializable {
                     logger.warn(cnfe.getMessage());
                     final String msg = MessageFormat.format(ERROR_CLASS_NOT_FOUND,
                                                             fullyQualifiedClassName);
-                    results.addBuildMessage(makeWarningMessage(msg));
+                    messages.add(makeWarningMessage(msg));
                 }
             }
         }
-
-        //Store the project dependencies ClassLoader for optimization purposes.
-        final KieModuleMetaData kieModuleMetaData = KieModuleMetaData.Factory.newKieModuleMetaData(getKieModuleIgnoringErrors(),
-                                                                                                   DependencyFilter.COMPILE_FILTER);
-        updateDependenciesClassLoader(project,
-                                      kieModuleMetaData);
-
-        results.addAllBuildMessages(verifyClasses(kieModuleMetaData));
-
-        return results;
+        return messages;
     }
 
-    public BuildResults build(final Path resource,
-                              final InputStream inputStream) {
-        synchronized (kieFileSystem) {
-            final String destinationPath = destinationPath(resource);
-            final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource(new BufferedInputStream(inputStream));
-
-            kieFileSystem.write(destinationPath,
-                                inputStreamResource);
+    private <T> Future<T> submit(final Callable<T> task) {
+        //Without an executor (e.g. a Builder created outside CDI) the checks run on the building thread, as they do
+        //when all the threads of the executor are busy
+        if (validationExecutor == null) {
+            final FutureTask<T> future = new FutureTask<>(task);
+            future.run();
+            return future;
         }
-
-        return build();
+        return validationExecutor.submit(task);
     }
 
-    private List<BuildMessage> verifyClasses(final KieModuleMetaData kieModuleMetaData) {
-        //At the end we are interested to ensure that external .jar files referenced as dependencies don't have
-        // referential inconsistencies. We will at least provide a basic algorithm to ensure that if an external class
-        // X references another external class Y, Y is also accessible by the class loader.
-        return new ClassVerifier(kieModuleMetaData,
-                                 getTypeSourceResolver(kieModuleMetaData)).verify(getWhiteList(kieModuleMetaData));
+    private <T> T join(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
     }
 
     private WhiteList getWhiteList(final KieModuleMetaData kieModuleMetaData) {
@@ -365,6 +476,7 @@ public class Builder implements Serializable {
 
         kieFileSystem.write(destinationPath,
                             inputStreamResource);
+        version.incrementAndGet();
         handles.put(getBaseFileName(destinationPath),
                     Paths.convert(path));
         addJavaClass(path);
@@ -395,9 +507,40 @@ public class Builder implements Serializable {
 
     private void removeResource(final Path resource) {
         kieFileSystem.delete(destinationPath(resource));
+        version.incrementAndGet();
         removeJavaClass(resource);
     }
 
+    /**
+     * Restores a resource of this Builder, a {@link #clone()} of the given one, to its content in the given Builder.
+     * Restoring the resource updated to validate it allows the same clone to be re-used for the next validation.
+     * @param resource The resource to restore.
+     * @param origin The Builder this Builder was cloned from.
+     */
+    public void restoreResource(final Path resource,
+                                final Builder origin) {
+        final String destinationPath = destinationPath(resource);
+        final byte[] content;
+        synchronized (origin.kieFileSystem) {
+            content = ((KieFileSystemImpl) origin.kieFileSystem).getMfs().getBytes(destinationPath);
+        }
+        synchronized (kieFileSystem) {
+            if (content == null) {
+                kieFileSystem.delete(destinationPath);
+            } else {
+                kieFileSystem.write(destinationPath,
+                                    content);
+            }
+            version.incrementAndGet();
+            //Compiled state of the resource must match its restored content, as for other resources validated next
+            buildIncrementally(new IncrementalBuildResults(projectGAV),
+                               destinationPath);
+        }
+        //A clone does not hold any "external" validation state of its own
+        nonKieResourceValidationHelpers.remove(resource);
+        nonKieResourceValidationHelperMessages.remove(resource);
+    }
+
     private String destinationPath(final Path resource) {
         final String destinationPath = EncodingUtil.decode(resource.toUri().toString().substring(projectPrefix.length()));
 
@@ -623,6 +766,13 @@ public class Builder implements Serializable {
         return kieBuilder != null;
     }
 
+    /**
+     * @return A number that changes whenever the resources or the build of this Builder change.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
     private void visitPaths(final DirectoryStream<Path> directoryStream) {
         for (final Path path : directoryStream) {
             if (Files.isDirectory(path)) {
@@ -37,21 +37,33 @@ public class ClassVerifier {
 
     private final TypeSourceResolver typeSourceResolver;
     private final KieModuleMetaData kieModuleMetaData;
+    private final ExternalClassVerificationCache verificationCache;
 
     private final List<BuildMessage> buildMessages = new ArrayList<BuildMessage>();
 
     public ClassVerifier(final KieModuleMetaData kieModuleMetaData,
                          final TypeSourceResolver typeSourceResolver) {
+        this(kieModuleMetaData,
+             typeSourceResolver,
+             null);
+    }
+
+    public ClassVerifier(final KieModuleMetaData kieModuleMetaData,
+                         final TypeSourceResolver typeSourceResolver,
+                         final ExternalClassVerificationCache verificationCache) {
         this.kieModuleMetaData = kieModuleMetaData;
         this.typeSourceResolver = typeSourceResolver;
+        this.verificationCache = verificationCache;
     }
 
     public List<BuildMessage> verify(WhiteList whiteList) {
 
+        final String classpath = getClasspath();
         for (final String packageName : kieModuleMetaData.getPackages()) {
             if (whiteList.contains(packageName)) {
                 for (final String className : kieModuleMetaData.getClasses(packageName)) {
-                    verifyClass(packageName,
+                    verifyClass(classpath,
+                                packageName,
                                 className);
                 }
             }
@@ -59,9 +71,19 @@ public class ClassVerifier {
         return buildMessages;
     }
 
-    private void verifyClass(final String packageName,
+    private void verifyClass(final String classpath,
+                             final String packageName,
                              final String className) {
 
+        //Classes of an artifact already verified by another build with the same dependencies are not loaded again
+        final String artifact = classpath == null ? null : getArtifact(packageName,
+                                                                       className);
+        if (artifact != null && verificationCache.isVerified(classpath,
+                                                             artifact,
+                                                             toFQCN(packageName, className))) {
+            return;
+        }
+
         try {
             final Class clazz = kieModuleMetaData.getClass(packageName,
                                                            className);
@@ -69,6 +91,11 @@ public class ClassVerifier {
                 if (TypeSource.JAVA_DEPENDENCY == typeSourceResolver.getTypeSource(clazz)) {
                     verifyExternalClass(clazz);
                 }
+                if (artifact != null) {
+                    verificationCache.setVerified(classpath,
+                                                  artifact,
+                                                  toFQCN(packageName, className));
+                }
             } else {
                 logger.warn(MessageFormat.format(ERROR_EXTERNAL_CLASS_VERIFICATION,
                                                  toFQCN(packageName, className)));
@@ -84,6 +111,23 @@ public class ClassVerifier {
         }
     }
 
+    private String getClasspath() {
+        if (verificationCache == null) {
+            return null;
+        }
+        return verificationCache.getClasspath(kieModuleMetaData.getClassLoader());
+    }
+
+    private String getArtifact(final String packageName,
+                               final String className) {
+        if (verificationCache == null) {
+            return null;
+        }
+        return verificationCache.getArtifact(kieModuleMetaData.getClassLoader(),
+                                             packageName,
+                                             className);
+    }
+
     private String toFQCN(final String packageName,
                           final String className) {
         return packageName + "." + className;
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers the external classes that passed {@link ClassVerifier} verification, grouped by the dependency artifact
+ * (GAV and jar checksum) that provides them and by the dependency classpath they were loaded from. Whether a class
+ * can be loaded depends on the other jars of the classpath, so the verifications are only shared by the modules and
+ * builds having the same dependencies: the classes of a jar are verified again when the jar or any other dependency
+ * of the module changes.
+ * <p>
+ * Failed verifications are not cached, they usually depend on the dependencies (e.g. 'provided' or 'optional' scope)
+ * of the module being built rather than on the artifact itself.
+ * <p>
+ * The verifications of a classpath that is no longer used, e.g. once a module changed its dependencies, are never
+ * looked up again, so only the {@link #MAX_ENTRIES_PROPERTY} (classpath, artifact) pairs and jars used last are kept.
+ */
+@ApplicationScoped
+public class ExternalClassVerificationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExternalClassVerificationCache.class);
+
+    public static final String MAX_ENTRIES_PROPERTY = "org.kie.workbench.build.verifiedArtifacts";
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private static final String POM_PROPERTIES = "pom.properties";
+    private static final String MAVEN_METADATA_DIR = "META-INF/maven/";
+
+    //Classpath and artifact -> verified classes
+    private final Map<String, Set<String>> verifiedClassesByArtifact;
+
+    private final Map<String, ArtifactFile> artifactFiles;
+
+    public ExternalClassVerificationCache() {
+        this(Integer.getInteger(MAX_ENTRIES_PROPERTY,
+                                DEFAULT_MAX_ENTRIES));
+    }
+
+    ExternalClassVerificationCache(final int maxEntries) {
+        this.verifiedClassesByArtifact = Collections.synchronizedMap(new LRUMap<>(maxEntries));
+        this.artifactFiles = Collections.synchronizedMap(new LRUMap<>(maxEntries));
+    }
+
+    /**
+     * Resolves the artifact providing a class, without loading the class.
+     * @return the artifact key, or null when the class is not provided by a jar (e.g. a class of the module itself)
+     */
+    public String getArtifact(final ClassLoader classLoader,
+                              final String packageName,
+                              final String className) {
+        if (classLoader == null) {
+            return null;
+        }
+        final URL resource = classLoader.getResource(packageName.replace('.', '/') + "/" + className + ".class");
+        if (resource == null || !"jar".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            final URL jarFileURL = ((JarURLConnection) resource.openConnection()).getJarFileURL();
+            if (!"file".equals(jarFileURL.getProtocol())) {
+                return null;
+            }
+            return getArtifact(new File(jarFileURL.toURI()));
+        } catch (IOException | URISyntaxException | ClassCastException e) {
+            logger.debug("Unable to resolve the artifact of class " + packageName + "." + className,
+                         e);
+            return null;
+        }
+    }
+
+    /**
+     * Resolves the dependency classpath of a module class loader, i.e. the artifacts of its dependency jars.
+     * @return the classpath key, or null when the dependencies of the class loader can not be resolved
+     */
+    public String getClasspath(final ClassLoader classLoader) {
+        //The module classes are loaded by a child of the dependencies URLClassLoader
+        final URLClassLoader dependencies = getDependenciesClassLoader(classLoader);
+        if (dependencies == null) {
+            return null;
+        }
+        final Set<String> artifacts = new TreeSet<>();
+        for (URL url : dependencies.getURLs()) {
+            if (!"file".equals(url.getProtocol())) {
+                return null;
+            }
+            try {
+                final File file = new File(url.toURI());
+                artifacts.add(file.isFile() ? getArtifact(file) : file.getAbsolutePath());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                logger.debug("Unable to resolve the classpath entry " + url,
+                             e);
+                return null;
+            }
+        }
+        return Hashing.sha1().hashUnencodedChars(String.join("\n",
+                                                             artifacts)).toString();
+    }
+
+    private URLClassLoader getDependenciesClassLoader(final ClassLoader classLoader) {
+        if (classLoader instanceof URLClassLoader) {
+            return (URLClassLoader) classLoader;
+        }
+        if (classLoader != null && classLoader.getParent() instanceof URLClassLoader) {
+            return (URLClassLoader) classLoader.getParent();
+        }
+        return null;
+    }
+
+    String getArtifact(final File jar) {
+        final ArtifactFile current = artifactFiles.get(jar.getAbsolutePath());
+        if (current != null && current.isUpToDate(jar)) {
+            return current.artifact;
+        }
+        final ArtifactFile artifactFile = new ArtifactFile(jar.length(),
+                                                           jar.lastModified(),
+                                                           readGAV(jar) + ":" + checksum(jar));
+        artifactFiles.put(jar.getAbsolutePath(),
+                          artifactFile);
+        return artifactFile.artifact;
+    }
+
+    public boolean isVerified(final String classpath,
+                              final String artifact,
+                              final String fullyQualifiedClassName) {
+        final Set<String> verifiedClasses = verifiedClassesByArtifact.get(key(classpath,
+                                                                              artifact));
+        return verifiedClasses != null && verifiedClasses.contains(fullyQualifiedClassName);
+    }
+
+    public void setVerified(final String classpath,
+                            final String artifact,
+                            final String fullyQualifiedClassName) {
+        verifiedClassesByArtifact.computeIfAbsent(key(classpath,
+                                                      artifact),
+                                                  key -> ConcurrentHashMap.newKeySet()).add(fullyQualifiedClassName);
+    }
+
+    private static String key(final String classpath,
+                              final String artifact) {
+        return classpath + "|" + artifact;
+    }
+
+    private String readGAV(final File jar) {
+        try (final JarFile jarFile = new JarFile(jar)) {
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                if (entry.getName().startsWith(MAVEN_METADATA_DIR) && entry.getName().endsWith(POM_PROPERTIES)) {
+                    final Properties properties = new Properties();
+                    try (final InputStream is = jarFile.getInputStream(entry)) {
+                        properties.load(is);
+                    }
+                    return properties.getProperty("groupId") + ":" + properties.getProperty("artifactId") + ":" + properties.getProperty("version");
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Unable to read the Maven metadata of " + jar,
+                         e);
+        }
+        //Not built by Maven, fall back to the file name
+        return jar.getName();
+    }
+
+    static String checksum(final File jar) {
+        try {
+            return Files.asByteSource(jar).hash(Hashing.sha1()).toString();
+        } catch (IOException e) {
+            //Use the jar identity so the artifact is still verified once per change
+            return jar.length() + "-" + jar.lastModified();
+        }
+    }
+
+    private static class LRUMap<K, V> extends LinkedHashMap<K, V> {
+
+        private final int maxEntries;
+
+        private LRUMap(final int maxEntries) {
+            super(16,
+                  0.75f,
+                  true);
+            this.maxEntries = Math.max(1,
+                                       maxEntries);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    private static class ArtifactFile {
+
+        private final long length;
+        private final long lastModified;
+        private final String artifact;
+
+        private ArtifactFile(final long length,
+                             final long lastModified,
+                             final String artifact) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.artifact = artifact;
+        }
+
+        private boolean isUpToDate(final File jar) {
+            return length == jar.length() && lastModified == jar.lastModified();
+        }
+    }
+}
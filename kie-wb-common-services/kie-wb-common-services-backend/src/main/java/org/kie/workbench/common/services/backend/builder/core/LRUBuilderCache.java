@@ -17,6 +17,7 @@ package org.kie.workbench.common.services.backend.builder.core;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -38,6 +39,7 @@ import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListS
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.io.IOService;
 
 import static java.util.stream.Collectors.toCollection;
@@ -49,6 +51,12 @@ import static java.util.stream.StreamSupport.stream;
 @ApplicationScoped
 public class LRUBuilderCache extends LRUCache<Module, Builder> {
 
+    /**
+     * Maximum number of threads running the post-build checks of all the builds. When they are all busy the checks
+     * run on the building thread, so a build never waits for a thread held by another build.
+     */
+    public static final String VALIDATION_THREADS_PROPERTY = "org.kie.workbench.build.validation.threads";
+
     private final List<BuildValidationHelper> buildValidationHelpers = new ArrayList<>();
     private final List<Predicate<String>> classFilters = new ArrayList<>();
     private IOService ioService;
@@ -59,6 +67,8 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListServiceImpl packageNameWhiteListService;
     private Instance<Predicate<String>> classFilterBeans;
+    private ExternalClassVerificationCache classVerificationCache;
+    private ExecutorService validationExecutor;
 
     public LRUBuilderCache() {
         //CDI proxy
@@ -72,7 +82,31 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
                            final @Named("LRUModuleDependenciesClassLoaderCache") LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
                            final @Named("LRUPomModelCache") LRUPomModelCache pomModelCache,
                            final PackageNameWhiteListService packageNameWhiteListService,
-                           final @JavaSourceFilter Instance<Predicate<String>> classFilterBeans) {
+                           final @JavaSourceFilter Instance<Predicate<String>> classFilterBeans,
+                           final ExternalClassVerificationCache classVerificationCache,
+                           final @Managed ExecutorService executorService) {
+        this(ioService,
+             moduleService,
+             importsService,
+             buildValidationHelperBeans,
+             dependenciesClassLoaderCache,
+             pomModelCache,
+             packageNameWhiteListService,
+             classFilterBeans,
+             classVerificationCache,
+             newValidationExecutor(executorService));
+    }
+
+    LRUBuilderCache(final IOService ioService,
+                    final KieModuleService moduleService,
+                    final ProjectImportsService importsService,
+                    final Instance<BuildValidationHelper> buildValidationHelperBeans,
+                    final LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                    final LRUPomModelCache pomModelCache,
+                    final PackageNameWhiteListService packageNameWhiteListService,
+                    final Instance<Predicate<String>> classFilterBeans,
+                    final ExternalClassVerificationCache classVerificationCache,
+                    final ExecutorService validationExecutor) {
         this.ioService = ioService;
         this.moduleService = moduleService;
         this.importsService = importsService;
@@ -81,6 +115,8 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
         this.pomModelCache = pomModelCache;
         this.packageNameWhiteListService = (PackageNameWhiteListServiceImpl) packageNameWhiteListService;
         this.classFilterBeans = classFilterBeans;
+        this.classVerificationCache = classVerificationCache;
+        this.validationExecutor = validationExecutor;
     }
 
     @PostConstruct
@@ -95,6 +131,18 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
     public void destroyInstances() {
         buildValidationHelpers.forEach(helper -> buildValidationHelperBeans.destroy(helper));
         classFilters.forEach(filter -> classFilterBeans.destroy(filter));
+        if (validationExecutor != null) {
+            validationExecutor.shutdown();
+        }
+    }
+
+    static ExecutorService newValidationExecutor(final ExecutorService executorService) {
+        if (executorService == null) {
+            return null;
+        }
+        return new ValidationExecutor(executorService,
+                                      Integer.getInteger(VALIDATION_THREADS_PROPERTY,
+                                                         Runtime.getRuntime().availableProcessors()));
     }
 
     public void invalidateProjectCache(@Observes final InvalidateDMOModuleCacheEvent event) {
@@ -137,7 +185,9 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
                                   dependenciesClassLoaderCache,
                                   pomModelCache,
                                   packageNameWhiteListService,
-                                  createSingleClassFilterPredicate());
+                                  createSingleClassFilterPredicate(),
+                                  classVerificationCache,
+                                  validationExecutor);
 
             setEntry(module,
                      builder);
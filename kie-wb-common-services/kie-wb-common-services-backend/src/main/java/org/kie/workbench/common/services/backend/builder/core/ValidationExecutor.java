@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the post-build checks on the threads of a container managed executor, using at most a given number of them at
+ * once. When they are all taken a check runs on the calling thread, so a build never waits for a thread held by another
+ * build. The threads belong to the container, shutting this executor down only stops it from using them.
+ */
+class ValidationExecutor extends AbstractExecutorService {
+
+    private final Executor executor;
+    private final Semaphore permits;
+    private volatile boolean shutdown;
+
+    ValidationExecutor(final Executor executor,
+                       final int threads) {
+        this.executor = executor;
+        this.permits = new Semaphore(Math.max(1,
+                                              threads));
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (shutdown || !permits.tryAcquire()) {
+            command.run();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            command.run();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout,
+                                    final TimeUnit unit) {
+        return shutdown;
+    }
+}
@@ -43,6 +43,8 @@ import static org.kie.workbench.common.services.backend.dependencies.DependencyT
 public class DependencyServiceImpl
         implements DependencyService {
 
+    private final PackageNamesCache packageNamesCache = new PackageNamesCache();
+
     public DependencyServiceImpl() {
     }
 
@@ -67,7 +69,10 @@ public class DependencyServiceImpl
         final Artifact artifact = getMavenRepository().resolveArtifact(gav.toString());
 
         if (artifact != null) {
-            return stripPackageNamesFromJar(artifact.getFile());
+            return new HashSet<>(packageNamesCache.getPackageNames(gav.toString(),
+                                                                   artifact.getGroupId(),
+                                                                   artifact.getFile(),
+                                                                   this::stripPackageNamesFromJar));
         } else {
             return new HashSet<>();
         }
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+package org.kie.workbench.common.services.backend.dependencies;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Package names held by the artifacts' jar files, so each jar is only enumerated once. The names are kept in memory by
+ * artifact and persisted in a file of a dedicated directory beside the local Maven repository, so they survive
+ * restarts while the repository itself is left untouched. Both are bound to the size and last modification time of
+ * the jar, a jar that changes (e.g. a new SNAPSHOT) is enumerated again.
+ */
+class PackageNamesCache {
+
+    static final String CACHE_DIRECTORY = "kie-package-names";
+
+    static final String PACKAGES_FILE_SUFFIX = ".packages";
+
+    private static final Logger logger = LoggerFactory.getLogger(PackageNamesCache.class);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param artifact Key of the artifact, its GAV.
+     * @param groupId Group of the artifact, used to locate the local Maven repository holding the jar file.
+     * @param file The artifact's jar file.
+     * @param loader Enumerates the package names of the jar file when they are not cached.
+     * @return The package names of the artifact, they must not be modified.
+     */
+    Set<String> getPackageNames(final String artifact,
+                                final String groupId,
+                                final File file,
+                                final Function<File, Set<String>> loader) {
+        final long length = file.length();
+        final long lastModified = file.lastModified();
+
+        final Entry entry = entries.get(artifact);
+        if (entry != null && entry.matches(file,
+                                           length,
+                                           lastModified)) {
+            return entry.packageNames;
+        }
+
+        final File packagesFile = getPackagesFile(groupId,
+                                                  file);
+        Set<String> packageNames = packagesFile == null ? null : read(packagesFile,
+                                                                      length,
+                                                                      lastModified);
+        if (packageNames == null) {
+            packageNames = Collections.unmodifiableSet(new HashSet<>(loader.apply(file)));
+            if (packagesFile != null) {
+                write(packagesFile,
+                      length,
+                      lastModified,
+                      packageNames);
+            }
+        }
+        entries.put(artifact,
+                    new Entry(file,
+                              length,
+                              lastModified,
+                              packageNames));
+        return packageNames;
+    }
+
+    private Set<String> read(final File packagesFile,
+                             final long length,
+                             final long lastModified) {
+        if (!packagesFile.isFile()) {
+            return null;
+        }
+        try {
+            final List<String> lines = Files.readAllLines(packagesFile.toPath(),
+                                                          StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(header(length,
+                                                               lastModified))) {
+                return null;
+            }
+            return Collections.unmodifiableSet(new HashSet<>(lines.subList(1,
+                                                                           lines.size())));
+        } catch (IOException e) {
+            logger.debug("Package names could not be read from " + packagesFile,
+                         e);
+            return null;
+        }
+    }
+
+    private void write(final File packagesFile,
+                       final long length,
+                       final long lastModified,
+                       final Set<String> packageNames) {
+        final List<String> lines = new ArrayList<>(packageNames.size() + 1);
+        lines.add(header(length,
+                         lastModified));
+        lines.addAll(packageNames);
+        try {
+            Files.createDirectories(packagesFile.getParentFile().toPath());
+            //Written aside and then moved, concurrent readers never see a partial file
+            final File tempFile = File.createTempFile(packagesFile.getName(),
+                                                      ".tmp",
+                                                      packagesFile.getParentFile());
+            try {
+                Files.write(tempFile.toPath(),
+                            lines,
+                            StandardCharsets.UTF_8);
+                Files.move(tempFile.toPath(),
+                           packagesFile.toPath(),
+                           StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile.toPath());
+            }
+        } catch (IOException | RuntimeException e) {
+            //The repository may be read only, the names are still kept in memory
+            logger.debug("Package names could not be written to " + packagesFile,
+                         e);
+        }
+    }
+
+    /**
+     * @return The file holding the package names of the jar file, in the cache directory beside the local Maven
+     * repository. Null when the jar file is not laid out as in a Maven repository.
+     */
+    static File getPackagesFile(final String groupId,
+                                final File file) {
+        //<repository>/<group path>/<artifactId>/<version>/<jar file>
+        File repository = file.getAbsoluteFile().getParentFile();
+        for (int i = 0; repository != null && i < groupId.split("\\.").length + 2; i++) {
+            repository = repository.getParentFile();
+        }
+        if (repository == null || repository.getParentFile() == null) {
+            return null;
+        }
+        return new File(new File(repository.getParentFile(),
+                                 CACHE_DIRECTORY),
+                        groupId + "_" + file.getName() + PACKAGES_FILE_SUFFIX);
+    }
+
+    private static String header(final long length,
+                                 final long lastModified) {
+        return "#" + length + ":" + lastModified;
+    }
+
+    private static class Entry {
+
+        private final File file;
+        private final long length;
+        private final long lastModified;
+        private final Set<String> packageNames;
+
+        private Entry(final File file,
+                      final long length,
+                      final long lastModified,
+                      final Set<String> packageNames) {
+            this.file = file;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.packageNames = packageNames;
+        }
+
+        private boolean matches(final File file,
+                                final long length,
+                                final long lastModified) {
+            return this.file.equals(file) && this.length == length && this.lastModified == lastModified;
+        }
+    }
+}
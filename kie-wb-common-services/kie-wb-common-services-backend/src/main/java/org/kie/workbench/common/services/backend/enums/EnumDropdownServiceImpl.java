@@ -17,23 +17,33 @@
 package org.kie.workbench.common.services.backend.enums;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOModuleCacheEvent;
+import org.guvnor.common.services.project.model.Module;
 import org.jboss.errai.bus.server.annotations.Service;
-import org.kie.scanner.KieModuleMetaData;
+import org.kie.soup.commons.validation.PortablePreconditions;
 import org.kie.soup.project.datamodel.commons.util.MVELEvaluator;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.backend.project.ModuleClassLoaderHelper;
 import org.kie.workbench.common.services.shared.enums.EnumDropdownService;
 import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.mvel2.MVEL;
 import org.mvel2.ParserConfiguration;
 import org.mvel2.ParserContext;
+import org.mvel2.templates.CompiledTemplate;
+import org.mvel2.templates.TemplateCompiler;
 import org.mvel2.templates.TemplateRuntime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,15 +55,24 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
 
     private static final Logger logger = LoggerFactory.getLogger(EnumDropdownServiceImpl.class);
 
+    //Upper bound for the templates, expressions and results kept per module, they are dropped when reached
+    static final int MAX_CACHED_ENTRIES = 1000;
+
     @Inject
     private BuildInfoService buildInfoService;
 
     @Inject
     private KieModuleService moduleService;
 
+    @Inject
+    private ModuleClassLoaderHelper moduleClassLoaderHelper;
+
     @Inject
     private MVELEvaluator mvelEvaluator;
 
+    //Dependent enums evaluate the same expressions over and over, so they are compiled and evaluated once per module
+    private final Map<String, ModuleEnums> moduleEnums = new ConcurrentHashMap<>();
+
     @Override
     public String[] loadDropDownExpression(final Path resource,
                                            final String[] valuePairs,
@@ -70,12 +89,35 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
             logger.error("A KieModule could not be resolved for path '" + resource.toURI() + "'. No enums will be returned.");
             return null;
         }
-        final ClassLoader classLoader = KieModuleMetaData.Factory.newKieModuleMetaData(kieModule).getClassLoader();
 
-        return loadDropDownExpression(classLoader,
-                                      mvelEvaluator,
-                                      valuePairs,
-                                      expression);
+        return getModuleEnums(module,
+                              kieModule).loadDropDownExpression(valuePairs,
+                                                                expression);
+    }
+
+    public void invalidateModuleCache(@Observes final InvalidateDMOModuleCacheEvent event) {
+        PortablePreconditions.checkNotNull("event",
+                                           event);
+        final Module module = event.getModule();
+
+        //If resource was not within a Module there's nothing to invalidate
+        if (module != null && module.getRootPath() != null) {
+            moduleEnums.remove(module.getRootPath().toURI());
+        }
+    }
+
+    private ModuleEnums getModuleEnums(final KieModule module,
+                                       final org.kie.api.builder.KieModule kieModule) {
+        final String key = module.getRootPath().toURI();
+        ModuleEnums enums = moduleEnums.get(key);
+        //A full build produces a new KieModule, its classes can differ from the ones of the cached class loader
+        if (enums == null || enums.kieModule != kieModule) {
+            enums = new ModuleEnums(kieModule,
+                                    moduleClassLoaderHelper.getModuleClassLoader(module));
+            moduleEnums.put(key,
+                            enums);
+        }
+        return enums;
     }
 
     protected String[] loadDropDownExpression(final ClassLoader classLoader,
@@ -83,20 +125,9 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
                                               final String[] valuePairs,
                                               String expression) {
         try {
-            final Map<String, String> context = new HashMap<String, String>();
-            for (final String valuePair : valuePairs) {
-                if (valuePair == null) {
-                    return new String[0];
-                }
-                String[] pair = valuePair.split("=");
-                if (pair.length == 1) {
-                    String[] swap = new String[2];
-                    swap[0] = pair[0];
-                    swap[1] = "";
-                    pair = swap;
-                }
-                context.put(pair[0],
-                            pair[1]);
+            final Map<String, String> context = toContext(valuePairs);
+            if (context == null) {
+                return new String[0];
             }
 
             // first interpolate the pairs
@@ -104,31 +135,142 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
                                                        context);
 
             // now we can eval it for real...
-            final ParserConfiguration pconf = new ParserConfiguration();
-            final ParserContext pctx = new ParserContext(pconf);
-            pconf.setClassLoader(classLoader);
-
-            final Serializable compiled = MVEL.compileExpression(expression,
-                                                                 pctx);
-            Object result = mvelEvaluator.executeExpression(compiled,
-                                                            new HashMap<String, Object>());
-
-            //Handle result of evaluation
-            if (result instanceof String[]) {
-                return (String[]) result;
-            } else if (result instanceof List) {
-                List l = (List) result;
-                String[] xs = new String[l.size()];
-                for (int i = 0; i < xs.length; i++) {
-                    Object el = l.get(i);
-                    xs[i] = el.toString();
-                }
-                return xs;
-            } else {
-                return null;
-            }
+            final Serializable compiled = compileExpression(classLoader,
+                                                            expression);
+            return toDropDownValues(mvelEvaluator.executeExpression(compiled,
+                                                                    new HashMap<String, Object>()));
         } catch (Exception e) {
             throw ExceptionUtilities.handleException(e);
         }
     }
+
+    private static Map<String, String> toContext(final String[] valuePairs) {
+        final Map<String, String> context = new HashMap<String, String>();
+        for (final String valuePair : valuePairs) {
+            if (valuePair == null) {
+                return null;
+            }
+            String[] pair = valuePair.split("=");
+            if (pair.length == 1) {
+                String[] swap = new String[2];
+                swap[0] = pair[0];
+                swap[1] = "";
+                pair = swap;
+            }
+            context.put(pair[0],
+                        pair[1]);
+        }
+        return context;
+    }
+
+    private static Serializable compileExpression(final ClassLoader classLoader,
+                                                  final String expression) {
+        final ParserConfiguration pconf = new ParserConfiguration();
+        final ParserContext pctx = new ParserContext(pconf);
+        pconf.setClassLoader(classLoader);
+
+        return MVEL.compileExpression(expression,
+                                      pctx);
+    }
+
+    private static String[] toDropDownValues(final Object result) {
+        //Handle result of evaluation
+        if (result instanceof String[]) {
+            return (String[]) result;
+        } else if (result instanceof List) {
+            List l = (List) result;
+            String[] xs = new String[l.size()];
+            for (int i = 0; i < xs.length; i++) {
+                Object el = l.get(i);
+                xs[i] = el.toString();
+            }
+            return xs;
+        } else {
+            return null;
+        }
+    }
+
+    private static <K, V> V computeIfAbsent(final Map<K, V> cache,
+                                            final K key,
+                                            final Function<K, V> mapping) {
+        final V value = cache.get(key);
+        if (value != null) {
+            return value;
+        }
+        if (cache.size() >= MAX_CACHED_ENTRIES) {
+            cache.clear();
+        }
+        return cache.computeIfAbsent(key,
+                                     mapping);
+    }
+
+    /**
+     * Compiled templates and expressions of a module, along with the values they have resolved. Everything is bound to
+     * the module's class loader so it is discarded as a whole when the module is built again.
+     */
+    private class ModuleEnums {
+
+        private final org.kie.api.builder.KieModule kieModule;
+        private final ClassLoader classLoader;
+
+        private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+        private final Map<String, Serializable> expressions = new ConcurrentHashMap<>();
+        private final Map<List<String>, String[]> values = new ConcurrentHashMap<>();
+
+        private ModuleEnums(final org.kie.api.builder.KieModule kieModule,
+                            final ClassLoader classLoader) {
+            this.kieModule = kieModule;
+            this.classLoader = classLoader;
+        }
+
+        private String[] loadDropDownExpression(final String[] valuePairs,
+                                                final String expression) {
+            final List<String> key = new ArrayList<>(valuePairs.length + 1);
+            key.add(expression);
+            key.addAll(Arrays.asList(valuePairs));
+
+            String[] result = values.get(key);
+            if (result == null) {
+                result = evaluate(valuePairs,
+                                  expression);
+                if (result == null) {
+                    return null;
+                }
+                if (values.size() >= MAX_CACHED_ENTRIES) {
+                    values.clear();
+                }
+                values.put(key,
+                           result);
+            }
+            //Callers get their own copy, the cached one must remain untouched
+            return result.clone();
+        }
+
+        private String[] evaluate(final String[] valuePairs,
+                                  final String expression) {
+            try {
+                final Map<String, String> context = toContext(valuePairs);
+                if (context == null) {
+                    return new String[0];
+                }
+
+                // first interpolate the pairs
+                final CompiledTemplate template = computeIfAbsent(templates,
+                                                                  expression,
+                                                                  TemplateCompiler::compileTemplate);
+                final String interpolated = (String) TemplateRuntime.execute(template,
+                                                                             context);
+
+                // now we can eval it for real...
+                final Serializable compiled = computeIfAbsent(expressions,
+                                                              interpolated,
+                                                              e -> compileExpression(classLoader,
+                                                                                     e));
+                return toDropDownValues(mvelEvaluator.executeExpression(compiled,
+                                                                        new HashMap<String, Object>()));
+            } catch (Exception e) {
+                throw ExceptionUtilities.handleException(e);
+            }
+        }
+    }
 }
@@ -19,9 +19,14 @@ package org.kie.workbench.common.services.backend.validation.asset;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -42,11 +47,32 @@ import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 
+/**
+ * Validates resources against a copy of the module's Builder, so the cached Builder is left untouched. Validations of
+ * different modules run concurrently, while the validations of a module are serialized as they share the module's
+ * compiled state. The copy of a module's Builder is re-used across its validations, each validation only updating
+ * the resource being validated, and is made again once the cached Builder changes.
+ * <p>
+ * A copy takes as much memory as the module's Builder, so only the copies of the {@link #MAX_VALIDATION_BUILDERS}
+ * modules validated last are kept, and only as long as the JVM does not need the memory. Validating a module
+ * without a kept copy costs a full copy of its Builder. The resource validated last is restored in the copy by the
+ * next validation of another resource, so validating the same resource again, e.g. while it is being edited, compiles
+ * it only once.
+ */
 @ApplicationScoped
 public class ValidatorBuildService {
 
     private final static String ERROR_CLASS_NOT_FOUND = "Definition of class \"{0}\" was not found. Consequentially validation cannot be performed.\nPlease check the necessary external dependencies for this module are configured correctly.";
 
+    public static final String MAX_VALIDATION_BUILDERS_PROPERTY = "org.kie.workbench.build.validation.builders";
+
+    static final int MAX_VALIDATION_BUILDERS = Integer.getInteger(MAX_VALIDATION_BUILDERS_PROPERTY,
+                                                                  4);
+
+    private final Map<String, Object> moduleLocks = new ConcurrentHashMap<>();
+    //The copies are softly referenced, so the JVM can reclaim them when running out of memory
+    private final Map<String, SoftReference<ValidationBuilder>> validationBuilders = Collections.synchronizedMap(new ValidationBuilders());
+
     private IOService ioService;
     private LRUBuilderCache builderCache;
     private KieModuleService moduleService;
@@ -67,8 +93,8 @@ public class ValidatorBuildService {
         this.buildInfoService = buildInfoService;
     }
 
-    public synchronized List<ValidationMessage> validate(final Path resourcePath,
-                                                         final String content) {
+    public List<ValidationMessage> validate(final Path resourcePath,
+                                            final String content) {
         InputStream inputStream = null;
         try {
             inputStream = new ByteArrayInputStream(content.getBytes(Charsets.UTF_8));
@@ -92,7 +118,7 @@ public class ValidatorBuildService {
         }
     }
 
-    public synchronized List<ValidationMessage> validate(final Path resourcePath) {
+    public List<ValidationMessage> validate(final Path resourcePath) {
         InputStream inputStream = null;
         try {
             inputStream = ioService.newInputStream(Paths.convert(resourcePath));
@@ -121,30 +147,93 @@ public class ValidatorBuildService {
         final ValidatorResultBuilder resultBuilder = new ValidatorResultBuilder();
         final Module module = module(resourcePath);
         final org.uberfire.java.nio.file.Path nioResourcePath = Paths.convert(resourcePath);
+        final String moduleKey = module.getRootPath().toURI();
 
         //Incremental Build does not support Java classes
         if (isIncrementalBuildPossible(resourcePath)) {
             //Build the Builder from the cache so it's "built" state can be preserved for re-use
             BuildInfo buildInfo = buildInfoService.getBuildInfo(module);
-            final Builder clone = ((BuildInfoImpl) buildInfo).getBuilder().clone();
-            //First delete resource otherwise if the resource already had errors following builder.build()
-            //the incremental compilation will not report any additional errors and the resource will be
-            //considered valid.
-            clone.deleteResource(nioResourcePath);
-
-            final IncrementalBuildResults incrementalBuildResults = clone.updateResource(nioResourcePath,
-                                                                                         inputStream);
-            resultBuilder.add(incrementalBuildResults.getAddedMessages());
+            final Builder builder = ((BuildInfoImpl) buildInfo).getBuilder();
+            synchronized (getModuleLock(moduleKey)) {
+                final ValidationBuilder validationBuilder = getValidationBuilder(moduleKey,
+                                                                                 builder);
+                final Builder clone = validationBuilder.clone;
+                restoreResource(moduleKey,
+                                validationBuilder,
+                                nioResourcePath);
+                try {
+                    //First delete resource otherwise if the resource already had errors following builder.build()
+                    //the incremental compilation will not report any additional errors and the resource will be
+                    //considered valid.
+                    clone.deleteResource(nioResourcePath);
+
+                    final IncrementalBuildResults incrementalBuildResults = clone.updateResource(nioResourcePath,
+                                                                                                 inputStream);
+                    resultBuilder.add(incrementalBuildResults.getAddedMessages());
+                } finally {
+                    validationBuilder.validatedResource = nioResourcePath;
+                }
+            }
         } else {
-            Builder builder = builderCache.assertBuilder(module(resourcePath));
-            final Builder clone = builder.clone();
-            resultBuilder.add(clone.build(nioResourcePath,
-                                          inputStream).getMessages());
+            Builder builder = builderCache.assertBuilder(module);
+            synchronized (getModuleLock(moduleKey)) {
+                final Builder clone = builder.clone();
+                resultBuilder.add(clone.build(nioResourcePath,
+                                              inputStream).getMessages());
+            }
         }
 
         return resultBuilder.results();
     }
 
+    private Object getModuleLock(final String moduleKey) {
+        return moduleLocks.computeIfAbsent(moduleKey,
+                                           k -> new Object());
+    }
+
+    /**
+     * Must be called holding the module's lock.
+     */
+    private ValidationBuilder getValidationBuilder(final String moduleKey,
+                                                   final Builder builder) {
+        final SoftReference<ValidationBuilder> reference = validationBuilders.get(moduleKey);
+        final ValidationBuilder validationBuilder = reference == null ? null : reference.get();
+        if (validationBuilder != null && validationBuilder.isCopyOf(builder)) {
+            return validationBuilder;
+        }
+
+        //The version is taken before cloning, so changes made while cloning make a new clone on the next validation
+        final long version = builder.getVersion();
+        final ValidationBuilder newValidationBuilder = new ValidationBuilder(builder,
+                                                                             version,
+                                                                             builder.clone());
+        validationBuilders.put(moduleKey,
+                               new SoftReference<>(newValidationBuilder));
+        return newValidationBuilder;
+    }
+
+    /**
+     * Restores the resource validated last in the copy, unless it is the one about to be validated as its content gets
+     * replaced anyway. Must be called holding the module's lock.
+     */
+    private void restoreResource(final String moduleKey,
+                                 final ValidationBuilder validationBuilder,
+                                 final org.uberfire.java.nio.file.Path nioResourcePath) {
+        final org.uberfire.java.nio.file.Path validatedResource = validationBuilder.validatedResource;
+        if (validatedResource == null || validatedResource.equals(nioResourcePath)) {
+            return;
+        }
+        try {
+            validationBuilder.clone.restoreResource(validatedResource,
+                                                    validationBuilder.builder);
+            validationBuilder.validatedResource = null;
+        } catch (RuntimeException e) {
+            //The clone can't be trusted anymore, it's made again on the next validation
+            validationBuilders.remove(moduleKey);
+            throw e;
+        }
+    }
+
     private boolean isIncrementalBuildPossible(final Path resourcePath) throws NoModuleException {
         return getDestinationPath(resourcePath).startsWith("src/main/resources/");
     }
@@ -168,4 +257,42 @@ public class ValidatorBuildService {
             add(new ValidationMessage(Level.ERROR, errorMessage));
         }};
     }
+
+    /**
+     * The copies of the modules validated last, least recently validated first.
+     */
+    private static class ValidationBuilders extends LinkedHashMap<String, SoftReference<ValidationBuilder>> {
+
+        private ValidationBuilders() {
+            super(16,
+                  0.75f,
+                  true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, SoftReference<ValidationBuilder>> eldest) {
+            return size() > MAX_VALIDATION_BUILDERS;
+        }
+    }
+
+    private static class ValidationBuilder {
+
+        private final Builder builder;
+        private final long version;
+        private final Builder clone;
+        //The resource whose content in the clone is the validated one, rather than the one in the Builder
+        private org.uberfire.java.nio.file.Path validatedResource;
+
+        private ValidationBuilder(final Builder builder,
+                                  final long version,
+                                  final Builder clone) {
+            this.builder = builder;
+            this.version = version;
+            this.clone = clone;
+        }
+
+        private boolean isCopyOf(final Builder builder) {
+            return this.builder == builder && this.version == builder.getVersion();
+        }
+    }
 }
@@ -24,6 +24,9 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
 
 import com.google.common.io.Resources;
@@ -384,6 +387,92 @@ public class BuilderTest
         assertTrue(errorMessages.get(0).getText().contains("mismatched input 'Build' expecting one of the following tokens:"));
     }
 
+    @Test
+    public void testPostBuildValidationOnExecutor() throws Exception {
+        final URL url = this.getClass().getResource("/ModuleBuildTestFileWithSpecialCharacter");
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+
+        final List<BuildMessage> sequentialMessages = new Builder(module,
+                                                                  ioService,
+                                                                  moduleService,
+                                                                  importsService,
+                                                                  new ArrayList<>(),
+                                                                  dependenciesClassLoaderCache,
+                                                                  pomModelCache,
+                                                                  getPackageNameWhiteListService(),
+                                                                  alwaysTrue).build().getMessages();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Builder builder = new Builder(module,
+                                                ioService,
+                                                moduleService,
+                                                importsService,
+                                                new ArrayList<>(),
+                                                dependenciesClassLoaderCache,
+                                                pomModelCache,
+                                                getPackageNameWhiteListService(),
+                                                alwaysTrue,
+                                                new ExternalClassVerificationCache(),
+                                                executor);
+
+            final List<BuildMessage> parallelMessages = builder.build().getMessages();
+
+            assertEquals(sequentialMessages.size(),
+                         parallelMessages.size());
+            for (int i = 0; i < sequentialMessages.size(); i++) {
+                assertEquals(sequentialMessages.get(i).getText(),
+                             parallelMessages.get(i).getText());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPostBuildValidationWhenExecutorIsSaturated() throws Exception {
+        final URL url = this.getClass().getResource("/ModuleBuildTestFileWithSpecialCharacter");
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+
+        System.setProperty(LRUBuilderCache.VALIDATION_THREADS_PROPERTY,
+                           "1");
+        final ExecutorService threads = Executors.newCachedThreadPool();
+        final ExecutorService executor = LRUBuilderCache.newValidationExecutor(threads);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            //Another build holds the only thread
+            executor.submit(() -> {
+                release.await();
+                return null;
+            });
+
+            final Builder builder = new Builder(module,
+                                                ioService,
+                                                moduleService,
+                                                importsService,
+                                                new ArrayList<>(),
+                                                dependenciesClassLoaderCache,
+                                                pomModelCache,
+                                                getPackageNameWhiteListService(),
+                                                alwaysTrue,
+                                                new ExternalClassVerificationCache(),
+                                                executor);
+
+            //The checks run on the building thread instead of waiting for the busy one
+            assertNotNull(builder.build());
+        } finally {
+            System.clearProperty(LRUBuilderCache.VALIDATION_THREADS_PROPERTY);
+            release.countDown();
+            threads.shutdownNow();
+        }
+    }
+
     @Test
     public void testBuildProjectWithDmn() throws Exception {
         final LRUPomModelCache pomModelCache = getReference(LRUPomModelCache.class);
@@ -17,16 +17,29 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
 
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.kie.scanner.KieModuleMetaData;
+import org.kie.soup.project.datamodel.oracle.TypeSource;
 import org.kie.workbench.common.services.shared.whitelist.WhiteList;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -34,6 +47,9 @@ import org.mockito.runners.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class ClassVerifierTest {
 	
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@Mock
 	private KieModuleMetaData kieModuleMetaData;
 	@Mock
@@ -61,4 +77,105 @@ public class ClassVerifierTest {
 				+ "Underlying system error is: The access to the class is not allowed. Please check the necessary external dependencies for this project are configured correctly.",
 				messages.get(0).getText());
 	}		
-}
\ No newline at end of file
+
+	@Test
+	public void testExternalClassesAreVerifiedOncePerArtifact() throws Exception {
+		final File jar = makeJar("1.0");
+		final URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null);
+		when(kieModuleMetaData.getPackages()).thenReturn(Arrays.asList("org.example"));
+		when(kieModuleMetaData.getClasses("org.example")).thenReturn(Arrays.asList("Foo"));
+		when(kieModuleMetaData.getClass("org.example", "Foo")).thenReturn((Class) String.class);
+		when(kieModuleMetaData.getClassLoader()).thenReturn(classLoader);
+		when(typeSourceResolver.getTypeSource(String.class)).thenReturn(TypeSource.JAVA_DEPENDENCY);
+
+		final WhiteList whiteList = new WhiteList();
+		whiteList.add("org.example");
+		final ExternalClassVerificationCache cache = new ExternalClassVerificationCache();
+
+		assertTrue(new ClassVerifier(kieModuleMetaData, typeSourceResolver, cache).verify(whiteList).isEmpty());
+		assertTrue(new ClassVerifier(kieModuleMetaData, typeSourceResolver, cache).verify(whiteList).isEmpty());
+
+		verify(kieModuleMetaData, times(1)).getClass("org.example", "Foo");
+		assertTrue(cache.getArtifact(classLoader, "org.example", "Foo").startsWith("org.example:foo:1.0:"));
+
+		//A changed artifact is verified again
+		final File changedJar = makeJar("1.1");
+		when(kieModuleMetaData.getClassLoader()).thenReturn(new URLClassLoader(new URL[]{changedJar.toURI().toURL()}, null));
+
+		new ClassVerifier(kieModuleMetaData, typeSourceResolver, cache).verify(whiteList);
+
+		verify(kieModuleMetaData, times(2)).getClass("org.example", "Foo");
+	}
+
+	@Test
+	public void testVerificationsAreSharedByModulesWithTheSameDependencies() throws Exception {
+		final URL jar = makeJar("1.0").toURI().toURL();
+		final URL otherJar = temporaryFolder.newFile("bar-1.0.jar").toURI().toURL();
+		when(kieModuleMetaData.getPackages()).thenReturn(Arrays.asList("org.example"));
+		when(kieModuleMetaData.getClasses("org.example")).thenReturn(Arrays.asList("Foo"));
+		when(kieModuleMetaData.getClass("org.example", "Foo")).thenReturn((Class) String.class);
+		when(typeSourceResolver.getTypeSource(String.class)).thenReturn(TypeSource.JAVA_DEPENDENCY);
+
+		final WhiteList whiteList = new WhiteList();
+		whiteList.add("org.example");
+		final ExternalClassVerificationCache cache = new ExternalClassVerificationCache();
+
+		when(kieModuleMetaData.getClassLoader()).thenReturn(new URLClassLoader(new URL[]{jar}, null));
+		new ClassVerifier(kieModuleMetaData, typeSourceResolver, cache).verify(whiteList);
+
+		//Another module with the same dependencies
+		when(kieModuleMetaData.getClassLoader()).thenReturn(new URLClassLoader(new URL[]{jar}, null));
+		new ClassVerifier(kieModuleMetaData, typeSourceResolver, cache).verify(whiteList);
+
+		verify(kieModuleMetaData, times(1)).getClass("org.example", "Foo");
+
+		//The same artifact with other dependencies may not link
+		when(kieModuleMetaData.getClassLoader()).thenReturn(new URLClassLoader(new URL[]{jar, otherJar}, null));
+		new ClassVerifier(kieModuleMetaData, typeSourceResolver, cache).verify(whiteList);
+
+		verify(kieModuleMetaData, times(2)).getClass("org.example", "Foo");
+	}
+
+	@Test
+	public void testFailedVerificationsAreNotCached() throws Exception {
+		final File jar = makeJar("1.0");
+		when(kieModuleMetaData.getClassLoader()).thenReturn(new URLClassLoader(new URL[]{jar.toURI().toURL()}, null));
+		when(kieModuleMetaData.getPackages()).thenReturn(Arrays.asList("org.example"));
+		when(kieModuleMetaData.getClasses("org.example")).thenReturn(Arrays.asList("Foo"));
+		when(kieModuleMetaData.getClass("org.example", "Foo")).thenThrow(new NoClassDefFoundError("org/example/Bar"));
+
+		final WhiteList whiteList = new WhiteList();
+		whiteList.add("org.example");
+		final ExternalClassVerificationCache cache = new ExternalClassVerificationCache();
+
+		assertEquals(1, new ClassVerifier(kieModuleMetaData, typeSourceResolver, cache).verify(whiteList).size());
+		assertEquals(1, new ClassVerifier(kieModuleMetaData, typeSourceResolver, cache).verify(whiteList).size());
+	}
+
+	@Test
+	public void testOnlyTheArtifactsVerifiedLastAreKept() {
+		final ExternalClassVerificationCache cache = new ExternalClassVerificationCache(2);
+		cache.setVerified("classpath", "foo", "org.example.Foo");
+		cache.setVerified("classpath", "bar", "org.example.Bar");
+		assertTrue(cache.isVerified("classpath", "foo", "org.example.Foo"));
+
+		cache.setVerified("classpath", "baz", "org.example.Baz");
+
+		assertTrue(cache.isVerified("classpath", "foo", "org.example.Foo"));
+		assertFalse(cache.isVerified("classpath", "bar", "org.example.Bar"));
+		assertTrue(cache.isVerified("classpath", "baz", "org.example.Baz"));
+	}
+
+	private File makeJar(final String version) throws Exception {
+		final File jar = temporaryFolder.newFile("foo-" + version + ".jar");
+		try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jar))) {
+			jos.putNextEntry(new ZipEntry("META-INF/maven/org.example/foo/pom.properties"));
+			jos.write(("groupId=org.example\nartifactId=foo\nversion=" + version + "\n").getBytes());
+			jos.closeEntry();
+			jos.putNextEntry(new ZipEntry("org/example/Foo.class"));
+			jos.write(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+			jos.closeEntry();
+		}
+		return jar;
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+package org.kie.workbench.common.services.backend.dependencies;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class PackageNamesCacheTest {
+
+    private static final String ARTIFACT = "org.test:test:1.0";
+
+    private static final String GROUP_ID = "org.test";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<File, Set<String>> loader = file -> {
+        loads.incrementAndGet();
+        return new HashSet<>(Arrays.asList("org.test",
+                                           "org.test.model",
+                                           ""));
+    };
+
+    private File jar;
+
+    @Before
+    public void setUp() throws Exception {
+        final File folder = temporaryFolder.newFolder("m2",
+                                                      "repository",
+                                                      "org",
+                                                      "test",
+                                                      "test",
+                                                      "1.0");
+        jar = new File(folder,
+                       "test-1.0.jar");
+        assertTrue(jar.createNewFile());
+    }
+
+    @Test
+    public void testPackageNamesAreLoadedOnce() {
+        final PackageNamesCache cache = new PackageNamesCache();
+
+        final Set<String> packageNames = cache.getPackageNames(ARTIFACT,
+                                                               GROUP_ID,
+                                                               jar,
+                                                               loader);
+        assertEquals(packageNames,
+                     cache.getPackageNames(ARTIFACT,
+                                           GROUP_ID,
+                                           jar,
+                                           loader));
+
+        assertEquals(1,
+                     loads.get());
+        assertEquals(3,
+                     packageNames.size());
+    }
+
+    @Test
+    public void testPackageNamesArePersisted() {
+        new PackageNamesCache().getPackageNames(ARTIFACT,
+                                                GROUP_ID,
+                                                jar,
+                                                loader);
+        assertTrue(new File(temporaryFolder.getRoot(),
+                            "m2/" + PackageNamesCache.CACHE_DIRECTORY + "/org.test_test-1.0.jar" + PackageNamesCache.PACKAGES_FILE_SUFFIX).isFile());
+        //The local Maven repository is left untouched
+        assertArrayEquals(new String[]{jar.getName()},
+                          jar.getParentFile().list());
+
+        final Set<String> packageNames = new PackageNamesCache().getPackageNames(ARTIFACT,
+                                                                                 GROUP_ID,
+                                                                                 jar,
+                                                                                 loader);
+
+        assertEquals(1,
+                     loads.get());
+        assertEquals(new HashSet<>(Arrays.asList("org.test",
+                                                 "org.test.model",
+                                                 "")),
+                     packageNames);
+    }
+
+    @Test
+    public void testModifiedJarIsLoadedAgain() {
+        final PackageNamesCache cache = new PackageNamesCache();
+        cache.getPackageNames(ARTIFACT,
+                              GROUP_ID,
+                              jar,
+                              loader);
+
+        assertTrue(jar.setLastModified(jar.lastModified() - 10000));
+        cache.getPackageNames(ARTIFACT,
+                              GROUP_ID,
+                              jar,
+                              loader);
+        new PackageNamesCache().getPackageNames(ARTIFACT,
+                                                GROUP_ID,
+                                                jar,
+                                                loader);
+
+        assertEquals(2,
+                     loads.get());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.enums;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOModuleCacheEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.soup.project.datamodel.commons.util.MVELEvaluator;
+import org.kie.soup.project.datamodel.commons.util.RawMVELEvaluator;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.backend.project.ModuleClassLoaderHelper;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EnumDropdownServiceImplTest {
+
+    private static final String EXPRESSION = "['@{type}', 'other']";
+
+    @Mock
+    private BuildInfoService buildInfoService;
+
+    @Mock
+    private KieModuleService moduleService;
+
+    @Mock
+    private ModuleClassLoaderHelper moduleClassLoaderHelper;
+
+    @Spy
+    private MVELEvaluator mvelEvaluator = new RawMVELEvaluator();
+
+    @Mock
+    private BuildInfo buildInfo;
+
+    @Mock
+    private KieModule module;
+
+    @Mock
+    private Path resource;
+
+    @Mock
+    private Path moduleRootPath;
+
+    @InjectMocks
+    private EnumDropdownServiceImpl service;
+
+    @Before
+    public void setup() {
+        doReturn(module).when(moduleService).resolveModule(resource);
+        doReturn(moduleRootPath).when(module).getRootPath();
+        doReturn("default://main@repo/module").when(moduleRootPath).toURI();
+        doReturn(buildInfo).when(buildInfoService).getBuildInfo(module);
+        doReturn(mock(org.kie.api.builder.KieModule.class)).when(buildInfo).getKieModuleIgnoringErrors();
+        doReturn(getClass().getClassLoader()).when(moduleClassLoaderHelper).getModuleClassLoader(module);
+    }
+
+    @Test
+    public void testLoadDropDownExpression() {
+        assertArrayEquals(new String[]{"car", "other"},
+                          load("type=car"));
+        assertArrayEquals(new String[]{"", "other"},
+                          load("type"));
+        assertArrayEquals(new String[0],
+                          load((String) null));
+    }
+
+    @Test
+    public void testValuesAreEvaluatedOnce() {
+        load("type=car");
+        load("type=car");
+        load("type=bus");
+
+        verify(mvelEvaluator,
+               times(2)).executeExpression(any(Serializable.class),
+                                           any(Map.class));
+        verify(moduleClassLoaderHelper,
+               times(1)).getModuleClassLoader(module);
+    }
+
+    @Test
+    public void testCachedValuesCannotBeModified() {
+        load("type=car")[0] = "modified";
+
+        assertArrayEquals(new String[]{"car", "other"},
+                          load("type=car"));
+    }
+
+    @Test
+    public void testModuleCacheIsInvalidated() {
+        load("type=car");
+
+        service.invalidateModuleCache(new InvalidateDMOModuleCacheEvent(mock(SessionInfo.class),
+                                                                        module,
+                                                                        resource));
+        load("type=car");
+
+        verify(mvelEvaluator,
+               times(2)).executeExpression(any(Serializable.class),
+                                           any(Map.class));
+        verify(moduleClassLoaderHelper,
+               times(2)).getModuleClassLoader(module);
+    }
+
+    @Test
+    public void testModuleCacheIsDiscardedOnNewBuild() {
+        load("type=car");
+
+        doReturn(mock(org.kie.api.builder.KieModule.class)).when(buildInfo).getKieModuleIgnoringErrors();
+        load("type=car");
+
+        verify(moduleClassLoaderHelper,
+               times(2)).getModuleClassLoader(module);
+    }
+
+    private String[] load(final String... valuePairs) {
+        return service.loadDropDownExpression(resource,
+                                              valuePairs,
+                                              EXPRESSION);
+    }
+}
@@ -112,6 +112,63 @@ public class ValidatorTest {
         assertFalse(errors.isEmpty());
     }
 
+    @Test
+    public void testValidateTheSameDRLFileTwice() throws Throwable {
+        final Path path = path("/GuvnorM2RepoDependencyExample1/src/main/resources/rule2.drl");
+        final String invalidContent = "package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "\n" +
+                "rule R2\n" +
+                "when\n" +
+                "Ban()\n" +
+                "then\n" +
+                "end";
+        final String validContent = "package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "\n" +
+                "rule R2\n" +
+                "when\n" +
+                "Bean()\n" +
+                "then\n" +
+                "end";
+
+        //The second validation re-uses the module's Builder copy, the first validated content must not remain in it
+        assertFalse(validator.validate(path,
+                                       invalidContent).isEmpty());
+        assertTrue(validator.validate(path,
+                                      validContent).isEmpty());
+        assertFalse(validator.validate(path,
+                                       invalidContent).isEmpty());
+    }
+
+    @Test
+    public void testValidateAResourceAfterAnInvalidResourceItDependsOn() throws Throwable {
+        final Path rule1Path = path("/GuvnorM2RepoDependencyExample1/src/main/resources/rule1.drl");
+        final Path rule2Path = path("/GuvnorM2RepoDependencyExample1/src/main/resources/rule2.drl");
+        final String invalidRule1Content = "package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "\n" +
+                "rule R1\n" +
+                "when\n" +
+                "Ban()\n" +
+                "then\n" +
+                "end";
+        //The global is declared by rule1.drl
+        final String rule2Content = "package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "\n" +
+                "rule R2\n" +
+                "when\n" +
+                "Bean()\n" +
+                "then\n" +
+                "list.add(1);\n" +
+                "end";
+
+        assertTrue(validator.validate(rule2Path,
+                                      rule2Content).isEmpty());
+        assertFalse(validator.validate(rule1Path,
+                                       invalidRule1Content).isEmpty());
+        //The validated content of rule1.drl must not remain in the module's Builder copy
+        assertTrue(validator.validate(rule2Path,
+                                      rule2Content).isEmpty());
+    }
+
     @Test
     public void testValidateWithAValidJavaFile() throws Throwable {
         final Path path1 = path("/GuvnorM2RepoDependencyExample1/src/main/java/org/kie/workbench/common/services/builder/tests/test1/Bean.java");
@@ -16,8 +16,13 @@
 
 package org.kie.workbench.common.services.verifier.service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
 
 import javax.inject.Inject;
 import javax.servlet.ServletException;
@@ -25,17 +30,30 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Serves the web worker scripts. The scripts do not change while the application runs, so each one is kept in memory
+ * together with its gzip variant and served with an ETag: the strong named *.cache.js files can be cached forever,
+ * the *.nocache.js selection script is revalidated and answered with a 304 when unchanged.
+ */
 public class VerifierWebWorkerServlet
         extends HttpServlet {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(VerifierWebWorkerServlet.class);
 
+    private static final String GZIP = "gzip";
+
+    private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+    private static final String CACHE_REVALIDATE = "no-cache";
+
     @Inject
     private VerifierWebWorkerRegistry verifierWebWorkerRegistry;
 
+    private final Map<String, WebWorkerScript> scripts = new ConcurrentHashMap<>();
+
     @Override
     protected void doGet(final HttpServletRequest request,
                          final HttpServletResponse response) throws
@@ -53,20 +71,18 @@ public class VerifierWebWorkerServlet
                 final String fileName = requestURI.substring(indexOf + "/verifier".length());
 
                 if (fileName.endsWith("cache.js")) {
-                    final Optional<VerifierWebWorkerProvider> verifierWebWorkerProvider = verifierWebWorkerRegistry.get(trimId(fileName));
+                    final String id = trimId(fileName);
+                    final Optional<VerifierWebWorkerProvider> verifierWebWorkerProvider = verifierWebWorkerRegistry.get(id);
 
                     if (!verifierWebWorkerProvider.isPresent()) {
                         LOGGER.error("Failed to load verifier web worker. Verifier with id " + fileName + " was not found.");
                     } else {
-                        final byte[] bytes = verifierWebWorkerProvider.get().getWebWorker(fileName).getBytes();
-
-                        response.setContentType("application/javascript");
-
-                        response.getOutputStream()
-                                .write(
-                                        bytes,
-                                        0,
-                                        bytes.length);
+                        send(request,
+                             response,
+                             fileName,
+                             getScript(id,
+                                       fileName,
+                                       verifierWebWorkerProvider.get()));
                     }
                 }
             }
@@ -75,9 +91,154 @@ public class VerifierWebWorkerServlet
         }
     }
 
+    private WebWorkerScript getScript(final String id,
+                                      final String fileName,
+                                      final VerifierWebWorkerProvider provider) throws Exception {
+        final String key = id + ":" + fileName;
+        WebWorkerScript script = scripts.get(key);
+        if (script == null) {
+            //Two requests may load the same script at once, both get the same content so either can be kept
+            script = new WebWorkerScript(provider.getWebWorker(fileName).getBytes(StandardCharsets.UTF_8));
+            scripts.putIfAbsent(key,
+                                script);
+        }
+        return script;
+    }
+
+    private void send(final HttpServletRequest request,
+                      final HttpServletResponse response,
+                      final String fileName,
+                      final WebWorkerScript script) throws IOException {
+        final boolean gzip = script.gzipped != null && acceptsGzip(request.getHeader("Accept-Encoding"));
+        final String eTag = gzip ? script.gzippedETag : script.eTag;
+
+        response.setHeader("ETag",
+                           eTag);
+        response.setHeader("Cache-Control",
+                           fileName.endsWith(".nocache.js") ? CACHE_REVALIDATE : CACHE_FOREVER);
+        response.setHeader("Vary",
+                           "Accept-Encoding");
+
+        if (matches(request.getHeader("If-None-Match"),
+                    eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        final byte[] bytes = gzip ? script.gzipped : script.bytes;
+
+        response.setContentType("application/javascript;charset=UTF-8");
+        if (gzip) {
+            response.setHeader("Content-Encoding",
+                               GZIP);
+        }
+        response.setContentLength(bytes.length);
+
+        response.getOutputStream()
+                .write(
+                        bytes,
+                        0,
+                        bytes.length);
+    }
+
+    /**
+     * Content negotiation of the Accept-Encoding header (RFC 7231, section 5.3.4). An explicit gzip coding takes
+     * precedence over "*", whatever their order, and a quality of 0 means the coding is not acceptable.
+     */
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.trim().split(";");
+            final String name = parts[0].trim();
+            final Double quality = quality(parts);
+            if (quality == null) {
+                continue;
+            }
+            if (GZIP.equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality,
+                                                                       quality);
+            } else if ("*".equals(name)) {
+                anyQuality = anyQuality == null ? quality : Math.max(anyQuality,
+                                                                     quality);
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return anyQuality != null && anyQuality > 0;
+    }
+
+    /**
+     * @return the quality of a coding, 1 when not given, or null when it is not valid and the coding must be ignored.
+     */
+    private static Double quality(final String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            final String parameter = parts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    final double quality = Double.parseDouble(parameter.substring(2).trim());
+                    return quality >= 0 && quality <= 1 ? quality : null;
+                } catch (final NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return 1d;
+    }
+
+    static boolean matches(final String ifNoneMatch,
+                           final String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (final String candidate : ifNoneMatch.split(",")) {
+            final String value = candidate.trim();
+            if ("*".equals(value) || eTag.equals(value.startsWith("W/") ? value.substring(2) : value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String trimId(final String fileName) {
         String result = fileName.substring(1, fileName.length());
         result = result.substring(0, result.indexOf("/"));
         return result;
     }
+
+    private static class WebWorkerScript {
+
+        private final byte[] bytes;
+        private final String eTag;
+        private final byte[] gzipped;
+        private final String gzippedETag;
+
+        private WebWorkerScript(final byte[] bytes) throws IOException {
+            this.bytes = bytes;
+            final String hash = DigestUtils.sha256Hex(bytes);
+            this.eTag = "\"" + hash + "\"";
+
+            final byte[] compressed = gzip(bytes);
+            //Not worth sending compressed when it does not save anything
+            if (compressed.length < bytes.length) {
+                this.gzipped = compressed;
+                this.gzippedETag = "\"" + hash + "-" + GZIP + "\"";
+            } else {
+                this.gzipped = null;
+                this.gzippedETag = null;
+            }
+        }
+
+        private static byte[] gzip(final byte[] bytes) throws IOException {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(bytes);
+            }
+            return out.toByteArray();
+        }
+    }
 }
@@ -0,0 +1,463 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.verifier.service.headless;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.drools.verifier.api.Status;
+import org.drools.verifier.api.reporting.Issue;
+import org.drools.verifier.core.checks.base.CheckConfiguration;
+import org.drools.verifier.core.configuration.AnalyzerConfiguration;
+import org.drools.verifier.core.configuration.DateTimeFormatProvider;
+import org.drools.verifier.core.index.Index;
+import org.drools.verifier.core.index.IndexImpl;
+import org.drools.verifier.core.index.keys.UUIDKeyProvider;
+import org.drools.verifier.core.index.keys.Values;
+import org.drools.verifier.core.index.model.Column;
+import org.drools.verifier.core.index.model.DataType.DataTypes;
+import org.drools.verifier.core.index.model.Field;
+import org.drools.verifier.core.index.model.FieldAction;
+import org.drools.verifier.core.index.model.FieldCondition;
+import org.drools.verifier.core.index.model.ObjectField;
+import org.drools.verifier.core.index.model.ObjectType;
+import org.drools.verifier.core.index.model.Pattern;
+import org.drools.verifier.core.index.model.Rule;
+import org.drools.verifier.core.main.Analyzer;
+import org.drools.verifier.core.main.Reporter;
+import org.drools.workbench.models.datamodel.rule.BaseSingleFieldConstraint;
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionInsertFactCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionSetFieldCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.BRLActionVariableColumn;
+import org.drools.workbench.models.guided.dtable.shared.model.BRLConditionVariableColumn;
+import org.drools.workbench.models.guided.dtable.shared.model.BaseColumn;
+import org.drools.workbench.models.guided.dtable.shared.model.ConditionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.models.guided.dtable.shared.model.LimitedEntryCol;
+import org.drools.workbench.models.guided.dtable.shared.model.Pattern52;
+import org.kie.soup.commons.util.ListSplitter;
+import org.kie.soup.project.datamodel.oracle.DataType;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Verifies guided decision tables (.gdst). The verifier index is built from the literal field constraints and the
+ * set field or insert fact actions of the table, the columns the verifier reasons about, and analysed with the
+ * default checks on the calling thread. Cells are read the way the decision table editor's verifier reads them: a
+ * limited entry cell selects the column's own value, "in" and "not in" cells hold a list of values and the
+ * "== null" and "!= null" cells only tell whether the constraint applies to the row.
+ */
+@ApplicationScoped
+public class GuidedDecisionTableVerifierProvider
+        implements HeadlessVerifierProvider {
+
+    public static final String ID = "gdst";
+
+    private static final String EXTENSION = "." + ID;
+
+    private static final String DATE_FORMAT = System.getProperty("drools.dateformat",
+                                                                 "dd-MMM-yyyy");
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public boolean accepts(final Path path) {
+        return path.getFileName() != null && path.getFileName().toString().endsWith(EXTENSION);
+    }
+
+    @Override
+    public Set<Issue> verify(final String content) throws Exception {
+        final GuidedDecisionTable52 model = GuidedDTXMLPersistence.getInstance().unmarshal(content);
+        final AnalyzerConfiguration configuration = new AnalyzerConfiguration(new SimpleDateTimeFormatProvider(),
+                                                                              new RandomUUIDKeyProvider(),
+                                                                              CheckConfiguration.newDefault(),
+                                                                              new SynchronousCheckRunner());
+
+        final Set<Issue> issues = new HashSet<>();
+        final Analyzer analyzer = new Analyzer(new Reporter() {
+            @Override
+            public void sendReport(final Set<Issue> report) {
+                //Each report holds every issue found so far
+                issues.clear();
+                issues.addAll(report);
+            }
+
+            @Override
+            public void sendStatus(final Status status) {
+                //Progress is not reported, the analysis runs until it's done
+            }
+        },
+                                               buildIndex(model,
+                                                          configuration),
+                                               configuration);
+        analyzer.resetChecks();
+        analyzer.analyze();
+        return issues;
+    }
+
+    Index buildIndex(final GuidedDecisionTable52 model,
+                     final AnalyzerConfiguration configuration) {
+        final Index index = new IndexImpl();
+
+        final List<BaseColumn> columns = model.getExpandedColumns();
+        final Map<Integer, Column> indexColumns = new HashMap<>();
+        for (int columnIndex = 0; columnIndex < columns.size(); columnIndex++) {
+            if (isVerified(columns.get(columnIndex))) {
+                final Column column = new Column(columnIndex,
+                                                 configuration);
+                indexColumns.put(columnIndex,
+                                 column);
+                index.getColumns().add(column);
+            }
+        }
+
+        final Map<String, String> factTypes = getFactTypesByBoundName(model);
+        final Map<String, ObjectType> objectTypes = new HashMap<>();
+
+        final List<List<DTCellValue52>> data = model.getData();
+        for (int rowIndex = 0; rowIndex < data.size(); rowIndex++) {
+            final Rule rule = new Rule(rowIndex + 1,
+                                       model.getTableName(),
+                                       configuration);
+            final Map<String, Pattern> patterns = new HashMap<>();
+            final Map<String, Field> fields = new HashMap<>();
+
+            final List<DTCellValue52> row = data.get(rowIndex);
+            for (final Map.Entry<Integer, Column> entry : indexColumns.entrySet()) {
+                final BaseColumn column = columns.get(entry.getKey());
+                final DTCellValue52 cell = getCellValue(column,
+                                                        row.get(entry.getKey()));
+                if (cell == null) {
+                    continue;
+                }
+
+                if (column instanceof ConditionCol52) {
+                    final ConditionCol52 conditionColumn = (ConditionCol52) column;
+                    final Values values = toValues(conditionColumn,
+                                                   cell);
+                    if (values == null) {
+                        continue;
+                    }
+                    final Pattern52 pattern = model.getPattern(conditionColumn);
+                    final Field field = getField(index,
+                                                 rule,
+                                                 patterns,
+                                                 fields,
+                                                 objectTypes,
+                                                 pattern.getBoundName(),
+                                                 pattern.getFactType(),
+                                                 conditionColumn.getFactField(),
+                                                 conditionColumn.getFieldType(),
+                                                 configuration);
+                    final FieldCondition condition = new FieldCondition(field,
+                                                                        entry.getValue(),
+                                                                        conditionColumn.getOperator(),
+                                                                        values,
+                                                                        configuration);
+                    field.getConditions().add(condition);
+                    rule.getConditions().add(condition);
+                } else if (column instanceof ActionSetFieldCol52) {
+                    final ActionSetFieldCol52 actionColumn = (ActionSetFieldCol52) column;
+                    addAction(index,
+                              rule,
+                              patterns,
+                              fields,
+                              objectTypes,
+                              actionColumn.getBoundName(),
+                              factTypes.get(actionColumn.getBoundName()),
+                              actionColumn.getFactField(),
+                              actionColumn.getType(),
+                              entry.getValue(),
+                              cell,
+                              configuration);
+                } else if (column instanceof ActionInsertFactCol52) {
+                    final ActionInsertFactCol52 actionColumn = (ActionInsertFactCol52) column;
+                    addAction(index,
+                              rule,
+                              patterns,
+                              fields,
+                              objectTypes,
+                              actionColumn.getBoundName(),
+                              actionColumn.getFactType(),
+                              actionColumn.getFactField(),
+                              actionColumn.getType(),
+                              entry.getValue(),
+                              cell,
+                              configuration);
+                }
+            }
+
+            index.getRules().add(rule);
+        }
+        return index;
+    }
+
+    private boolean isVerified(final BaseColumn column) {
+        if (column instanceof BRLConditionVariableColumn || column instanceof BRLActionVariableColumn) {
+            return false;
+        }
+        if (column instanceof ConditionCol52) {
+            final ConditionCol52 conditionColumn = (ConditionCol52) column;
+            return conditionColumn.getConstraintValueType() == BaseSingleFieldConstraint.TYPE_LITERAL
+                    && conditionColumn.getFactField() != null
+                    && conditionColumn.getOperator() != null;
+        }
+        return column instanceof ActionSetFieldCol52 || column instanceof ActionInsertFactCol52;
+    }
+
+    private Map<String, String> getFactTypesByBoundName(final GuidedDecisionTable52 model) {
+        final Map<String, String> factTypes = new HashMap<>();
+        for (final BaseColumn column : model.getExpandedColumns()) {
+            if (column instanceof ConditionCol52 && !(column instanceof BRLConditionVariableColumn)) {
+                final Pattern52 pattern = model.getPattern((ConditionCol52) column);
+                factTypes.putIfAbsent(pattern.getBoundName(),
+                                      pattern.getFactType());
+            } else if (column instanceof ActionInsertFactCol52) {
+                factTypes.putIfAbsent(((ActionInsertFactCol52) column).getBoundName(),
+                                      ((ActionInsertFactCol52) column).getFactType());
+            }
+        }
+        return factTypes;
+    }
+
+    private void addAction(final Index index,
+                           final Rule rule,
+                           final Map<String, Pattern> patterns,
+                           final Map<String, Field> fields,
+                           final Map<String, ObjectType> objectTypes,
+                           final String boundName,
+                           final String factType,
+                           final String factField,
+                           final String fieldType,
+                           final Column column,
+                           final DTCellValue52 cell,
+                           final AnalyzerConfiguration configuration) {
+        final Values values = toValues(cell);
+        if (factType == null || factField == null || values == null) {
+            return;
+        }
+        final Field field = getField(index,
+                                     rule,
+                                     patterns,
+                                     fields,
+                                     objectTypes,
+                                     boundName,
+                                     factType,
+                                     factField,
+                                     fieldType,
+                                     configuration);
+        final FieldAction action = new FieldAction(field,
+                                                   column,
+                                                   toDataType(cell),
+                                                   values,
+                                                   configuration);
+        field.getActions().add(action);
+        rule.getActions().add(action);
+    }
+
+    private Field getField(final Index index,
+                           final Rule rule,
+                           final Map<String, Pattern> patterns,
+                           final Map<String, Field> fields,
+                           final Map<String, ObjectType> objectTypes,
+                           final String boundName,
+                           final String factType,
+                           final String factField,
+                           final String fieldType,
+                           final AnalyzerConfiguration configuration) {
+        final Field existing = fields.get(boundName + "." + factField);
+        if (existing != null) {
+            return existing;
+        }
+
+        final ObjectType objectType = objectTypes.computeIfAbsent(factType,
+                                                                  type -> {
+                                                                      final ObjectType newObjectType = new ObjectType(type,
+                                                                                                                      configuration);
+                                                                      index.getObjectTypes().add(newObjectType);
+                                                                      return newObjectType;
+                                                                  });
+        final ObjectField objectField = new ObjectField(factType,
+                                                        fieldType,
+                                                        factField,
+                                                        configuration);
+        objectType.getFields().add(objectField);
+
+        final Pattern pattern = patterns.computeIfAbsent(boundName,
+                                                         name -> {
+                                                             final Pattern newPattern = new Pattern(name,
+                                                                                                    objectType,
+                                                                                                    configuration);
+                                                             rule.getPatterns().add(newPattern);
+                                                             return newPattern;
+                                                         });
+        final Field field = new Field(objectField,
+                                      factType,
+                                      fieldType,
+                                      factField,
+                                      configuration);
+        pattern.getFields().add(field);
+        fields.put(boundName + "." + factField,
+                   field);
+        return field;
+    }
+
+    private DTCellValue52 getCellValue(final BaseColumn column,
+                                       final DTCellValue52 cell) {
+        if (cell == null || !cell.hasValue()) {
+            return null;
+        }
+        if (column instanceof LimitedEntryCol && !isValueless(column)) {
+            //A limited entry cell only selects the column's own value for the row
+            return Boolean.TRUE.equals(cell.getBooleanValue()) ? ((LimitedEntryCol) column).getValue() : null;
+        }
+        return cell;
+    }
+
+    private boolean isValueless(final BaseColumn column) {
+        if (!(column instanceof ConditionCol52)) {
+            return false;
+        }
+        final String operator = ((ConditionCol52) column).getOperator();
+        return "== null".equals(operator) || "!= null".equals(operator);
+    }
+
+    private boolean isList(final ConditionCol52 column) {
+        final String operator = column.getOperator();
+        return "in".equals(operator) || "not in".equals(operator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Values toValues(final ConditionCol52 column,
+                            final DTCellValue52 cell) {
+        if (isValueless(column)) {
+            return Boolean.TRUE.equals(cell.getBooleanValue()) ? new Values() : null;
+        }
+        if (isList(column)) {
+            if (cell.getStringValue() == null) {
+                return null;
+            }
+            final List<Comparable> values = new ArrayList<>();
+            for (final String item : ListSplitter.split("\"",
+                                                        true,
+                                                        cell.getStringValue())) {
+                final Comparable value = toValue(column.getFieldType(),
+                                                 item);
+                if (value == null) {
+                    //The verifier can't reason about a list it can only read in part
+                    return null;
+                }
+                values.add(value);
+            }
+            return values.isEmpty() ? null : new Values(values.toArray(new Comparable[values.size()]));
+        }
+        return toValues(cell);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Values toValues(final DTCellValue52 cell) {
+        if (cell == null || !cell.hasValue()) {
+            return null;
+        }
+        switch (cell.getDataType()) {
+            case BOOLEAN:
+                return new Values(cell.getBooleanValue());
+            case DATE:
+                return new Values(cell.getDateValue());
+            case STRING:
+                return new Values(cell.getStringValue());
+            default:
+                //Every other type is numeric, the Number implementations used are all Comparable
+                return new Values((Comparable) cell.getNumericValue());
+        }
+    }
+
+    private Comparable toValue(final String fieldType,
+                               final String value) {
+        try {
+            switch (fieldType == null ? DataType.TYPE_STRING : fieldType) {
+                case DataType.TYPE_NUMERIC:
+                case DataType.TYPE_NUMERIC_BIGDECIMAL:
+                    return new BigDecimal(value);
+                case DataType.TYPE_NUMERIC_BIGINTEGER:
+                    return new BigInteger(value);
+                case DataType.TYPE_NUMERIC_BYTE:
+                    return Byte.valueOf(value);
+                case DataType.TYPE_NUMERIC_DOUBLE:
+                    return Double.valueOf(value);
+                case DataType.TYPE_NUMERIC_FLOAT:
+                    return Float.valueOf(value);
+                case DataType.TYPE_NUMERIC_INTEGER:
+                    return Integer.valueOf(value);
+                case DataType.TYPE_NUMERIC_LONG:
+                    return Long.valueOf(value);
+                case DataType.TYPE_NUMERIC_SHORT:
+                    return Short.valueOf(value);
+                case DataType.TYPE_BOOLEAN:
+                    return Boolean.valueOf(value);
+                case DataType.TYPE_DATE:
+                    return new SimpleDateFormat(DATE_FORMAT).parse(value);
+                default:
+                    return value;
+            }
+        } catch (NumberFormatException | ParseException e) {
+            return null;
+        }
+    }
+
+    private DataTypes toDataType(final DTCellValue52 cell) {
+        try {
+            return DataTypes.valueOf(cell.getDataType().name());
+        } catch (IllegalArgumentException e) {
+            return DataTypes.STRING;
+        }
+    }
+
+    private static class SimpleDateTimeFormatProvider
+            implements DateTimeFormatProvider {
+
+        @Override
+        public String format(final Date dateValue) {
+            return new SimpleDateFormat(DATE_FORMAT).format(dateValue);
+        }
+    }
+
+    private static class RandomUUIDKeyProvider
+            extends UUIDKeyProvider {
+
+        @Override
+        protected String newUUID() {
+            return UUID.randomUUID().toString();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.verifier.service.headless;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.drools.verifier.api.reporting.Issue;
+import org.kie.soup.commons.validation.PortablePreconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.FileVisitResult;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.SimpleFileVisitor;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+
+import static org.uberfire.java.nio.file.Files.walkFileTree;
+
+/**
+ * Verifies every asset handled by a {@link HeadlessVerifierProvider} under a set of roots, for example all the
+ * decision tables of a project or of every repository in a space, without opening them in an editor. Assets are
+ * verified in parallel and the issues of unchanged assets are taken from the {@link VerificationResultCache}.
+ * This is a server side API only, it's meant to be injected by the REST, build or batch tooling that needs the
+ * verification of whole projects.
+ */
+@ApplicationScoped
+public class HeadlessVerificationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HeadlessVerificationService.class);
+
+    private IOService ioService;
+    private VerificationResultCache cache;
+    private ExecutorService executorService;
+    private List<HeadlessVerifierProvider> providers = new ArrayList<>();
+
+    public HeadlessVerificationService() {
+        //CDI proxy
+    }
+
+    @Inject
+    public HeadlessVerificationService(final @Named("ioStrategy") IOService ioService,
+                                       final VerificationResultCache cache,
+                                       final @Managed ExecutorService executorService,
+                                       final @Any Instance<HeadlessVerifierProvider> providers) {
+        this.ioService = ioService;
+        this.cache = cache;
+        this.executorService = executorService;
+        for (final HeadlessVerifierProvider provider : providers) {
+            this.providers.add(provider);
+        }
+    }
+
+    public VerificationReport verify(final Path root) {
+        PortablePreconditions.checkNotNull("root", root);
+        return verify(Collections.singletonList(root));
+    }
+
+    public VerificationReport verify(final Collection<Path> roots) {
+        PortablePreconditions.checkNotNull("roots", roots);
+
+        final long start = System.currentTimeMillis();
+
+        final List<Future<VerifiedAsset>> futures = new ArrayList<>();
+        for (final Path root : roots) {
+            if (!ioService.exists(root)) {
+                continue;
+            }
+            walkFileTree(root,
+                         new SimpleFileVisitor<Path>() {
+                             @Override
+                             public FileVisitResult visitFile(final Path file,
+                                                              final BasicFileAttributes attrs) {
+                                 findProvider(file).ifPresent(provider -> futures.add(executorService.submit(() -> verify(file,
+                                                                                                                          provider))));
+                                 return FileVisitResult.CONTINUE;
+                             }
+                         });
+        }
+
+        final List<VerifiedAsset> assets = new ArrayList<>(futures.size());
+        for (final Future<VerifiedAsset> future : futures) {
+            assets.add(getResult(future));
+        }
+        assets.sort(Comparator.comparing(asset -> asset.getPath().toUri().toString()));
+
+        final VerificationReport report = new VerificationReport(assets,
+                                                                 System.currentTimeMillis() - start);
+        LOGGER.debug("Verification of {} finished: {}",
+                     roots,
+                     report);
+        return report;
+    }
+
+    VerifiedAsset verify(final Path path,
+                         final HeadlessVerifierProvider provider) {
+        try {
+            final String content = ioService.readAllString(path);
+            final String contentHash = DigestUtils.sha256Hex(content);
+
+            final Set<Issue> cachedIssues = cache.getIssues(provider.getId(),
+                                                            contentHash);
+            if (cachedIssues != null) {
+                return new VerifiedAsset(path,
+                                         provider.getId(),
+                                         cachedIssues,
+                                         true);
+            }
+
+            final Set<Issue> issues = provider.verify(content);
+            cache.setIssues(provider.getId(),
+                            contentHash,
+                            issues);
+            return new VerifiedAsset(path,
+                                     provider.getId(),
+                                     issues,
+                                     false);
+        } catch (final Exception e) {
+            LOGGER.error("Failed to verify " + path.toUri(),
+                         e);
+            return new VerifiedAsset(path,
+                                     provider.getId(),
+                                     String.valueOf(e.getMessage()));
+        }
+    }
+
+    private Optional<HeadlessVerifierProvider> findProvider(final Path path) {
+        return providers.stream()
+                .filter(provider -> provider.accepts(path))
+                .findFirst();
+    }
+
+    private VerifiedAsset getResult(final Future<VerifiedAsset> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.verifier.service.headless;
+
+import java.util.Set;
+
+import org.drools.verifier.api.reporting.Issue;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Runs the verifier for one kind of asset on the server, without a Web Worker. Implementations build the verifier
+ * index from the asset content and run the analysis with a {@link SynchronousCheckRunner}.
+ */
+public interface HeadlessVerifierProvider {
+
+    String getId();
+
+    boolean accepts(final Path path);
+
+    Set<Issue> verify(final String content) throws Exception;
+}
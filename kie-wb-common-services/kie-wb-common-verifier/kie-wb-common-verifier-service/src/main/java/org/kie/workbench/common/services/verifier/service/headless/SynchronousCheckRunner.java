@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.verifier.service.headless;
+
+import java.util.Set;
+
+import org.drools.verifier.api.Command;
+import org.drools.verifier.api.StatusUpdate;
+import org.drools.verifier.core.checks.base.Check;
+import org.drools.verifier.core.checks.base.CheckRunner;
+import org.drools.verifier.core.checks.base.ChecksRepeatingCommand;
+
+/**
+ * Runs the checks on the calling thread until they are all done, the JVM counterpart of the GWT check runner that
+ * splits the work into increments of the browser event loop.
+ */
+public class SynchronousCheckRunner
+        implements CheckRunner {
+
+    private ChecksRepeatingCommand activeAnalysis;
+
+    @Override
+    public void run(final Set<Check> rechecks,
+                    final StatusUpdate onStatus,
+                    final Command onCompletion) {
+        final ChecksRepeatingCommand analysis = new ChecksRepeatingCommand(rechecks,
+                                                                           onStatus,
+                                                                           onCompletion);
+        activeAnalysis = analysis;
+        while (analysis.execute()) {
+            //Keep going until every check has been run
+        }
+        activeAnalysis = null;
+    }
+
+    @Override
+    public void cancelExistingAnalysis() {
+
+        if (activeAnalysis != null) {
+            activeAnalysis.cancel();
+            activeAnalysis = null;
+        }
+    }
+}
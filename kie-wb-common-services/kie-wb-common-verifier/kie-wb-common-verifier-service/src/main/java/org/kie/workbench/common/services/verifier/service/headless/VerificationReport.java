@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.verifier.service.headless;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.drools.verifier.api.reporting.Severity;
+
+/**
+ * Issues found on every asset of a verification run, ordered by asset path.
+ */
+public class VerificationReport {
+
+    private final List<VerifiedAsset> assets;
+    private final long duration;
+
+    VerificationReport(final List<VerifiedAsset> assets,
+                       final long duration) {
+        this.assets = Collections.unmodifiableList(assets);
+        this.duration = duration;
+    }
+
+    public List<VerifiedAsset> getAssets() {
+        return assets;
+    }
+
+    /**
+     * @return milliseconds taken by the run.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    public long countIssues(final Severity severity) {
+        return assets.stream()
+                .mapToLong(asset -> asset.countIssues(severity))
+                .sum();
+    }
+
+    public long countCachedAssets() {
+        return assets.stream()
+                .filter(VerifiedAsset::isFromCache)
+                .count();
+    }
+
+    public long countFailedAssets() {
+        return assets.stream()
+                .filter(VerifiedAsset::hasFailed)
+                .count();
+    }
+
+    public boolean hasErrors() {
+        return countFailedAssets() > 0 || countIssues(Severity.ERROR) > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "VerificationReport{" +
+                "assets=" + assets.size() +
+                ", cached=" + countCachedAssets() +
+                ", failed=" + countFailedAssets() +
+                ", errors=" + countIssues(Severity.ERROR) +
+                ", warnings=" + countIssues(Severity.WARNING) +
+                ", notes=" + countIssues(Severity.NOTE) +
+                ", duration=" + duration +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.verifier.service.headless;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.drools.verifier.api.reporting.Issue;
+import org.kie.soup.commons.validation.PortablePreconditions;
+
+/**
+ * Keeps the issues found for each verified content, keyed by verifier id and the hash of the content, so unchanged
+ * assets are not analysed again. The least recently used results are dropped once the cache is full.
+ */
+@ApplicationScoped
+public class VerificationResultCache {
+
+    public static final String CACHE_SIZE_PROPERTY = "org.kie.workbench.verifier.headless.cacheSize";
+
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+
+    private final Map<String, Set<Issue>> results;
+
+    public VerificationResultCache() {
+        this(Integer.getInteger(CACHE_SIZE_PROPERTY,
+                                DEFAULT_CACHE_SIZE));
+    }
+
+    VerificationResultCache(final int maxSize) {
+        this.results = new LinkedHashMap<String, Set<Issue>>(16,
+                                                             0.75f,
+                                                             true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Set<Issue>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public Set<Issue> getIssues(final String verifierId,
+                                final String contentHash) {
+        PortablePreconditions.checkNotNull("verifierId", verifierId);
+        PortablePreconditions.checkNotNull("contentHash", contentHash);
+
+        synchronized (results) {
+            return results.get(key(verifierId, contentHash));
+        }
+    }
+
+    public void setIssues(final String verifierId,
+                          final String contentHash,
+                          final Set<Issue> issues) {
+        PortablePreconditions.checkNotNull("verifierId", verifierId);
+        PortablePreconditions.checkNotNull("contentHash", contentHash);
+        PortablePreconditions.checkNotNull("issues", issues);
+
+        final Set<Issue> copy = Collections.unmodifiableSet(new HashSet<>(issues));
+        synchronized (results) {
+            results.put(key(verifierId, contentHash), copy);
+        }
+    }
+
+    public void invalidate() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    private String key(final String verifierId,
+                       final String contentHash) {
+        return verifierId + ":" + contentHash;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.verifier.service.headless;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.drools.verifier.api.reporting.Issue;
+import org.drools.verifier.api.reporting.Severity;
+import org.uberfire.java.nio.file.Path;
+
+public class VerifiedAsset {
+
+    private final Path path;
+    private final String verifierId;
+    private final Set<Issue> issues;
+    private final boolean fromCache;
+    private final String error;
+
+    VerifiedAsset(final Path path,
+                  final String verifierId,
+                  final Set<Issue> issues,
+                  final boolean fromCache) {
+        this(path,
+             verifierId,
+             issues,
+             fromCache,
+             null);
+    }
+
+    VerifiedAsset(final Path path,
+                  final String verifierId,
+                  final String error) {
+        this(path,
+             verifierId,
+             Collections.emptySet(),
+             false,
+             error);
+    }
+
+    private VerifiedAsset(final Path path,
+                          final String verifierId,
+                          final Set<Issue> issues,
+                          final boolean fromCache,
+                          final String error) {
+        this.path = path;
+        this.verifierId = verifierId;
+        this.issues = Collections.unmodifiableSet(issues);
+        this.fromCache = fromCache;
+        this.error = error;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getVerifierId() {
+        return verifierId;
+    }
+
+    public Set<Issue> getIssues() {
+        return issues;
+    }
+
+    /**
+     * @return true when the content was unchanged since a previous run and its issues were reused.
+     */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    /**
+     * @return the reason the asset could not be verified, or null if it was verified.
+     */
+    public String getError() {
+        return error;
+    }
+
+    public boolean hasFailed() {
+        return error != null;
+    }
+
+    public long countIssues(final Severity severity) {
+        return issues.stream()
+                .filter(issue -> severity.equals(issue.getSeverity()))
+                .count();
+    }
+}
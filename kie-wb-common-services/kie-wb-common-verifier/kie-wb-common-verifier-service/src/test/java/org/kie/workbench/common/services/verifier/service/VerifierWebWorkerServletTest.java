@@ -27,19 +27,30 @@ import javax.servlet.http.HttpServletResponse;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class VerifierWebWorkerServletTest {
 
+    private static final String CACHE_FILE = "/dtableVerifier/0BD650E7DC9A4B57B8AFCE8F27AACA84.cache.js";
+
+    private static final String SCRIPT = new String(new char[100]).replace("\0", "function f(){return 1;}\n");
+
     @Mock
     private HttpServletRequest httpServletRequest;
 
@@ -85,6 +96,107 @@ public class VerifierWebWorkerServletTest {
         downloadStarts();
     }
 
+    @Test
+    public void scriptIsLoadedOnce() throws
+            Exception {
+
+        final VerifierWebWorkerProvider verifierWebWorkerProvider = mockProvider(SCRIPT);
+
+        servlet.doGet(httpServletRequest,
+                      httpServletResponse);
+        servlet.doGet(httpServletRequest,
+                      httpServletResponse);
+
+        verify(httpServletResponse,
+               times(2)).getOutputStream();
+        verify(verifierWebWorkerProvider,
+               times(1)).getWebWorker(CACHE_FILE);
+    }
+
+    @Test
+    public void strongNamedFileIsCachedForever() throws
+            Exception {
+
+        mockProvider(SCRIPT);
+
+        downloadStarts();
+
+        verify(httpServletResponse).setHeader(eq("ETag"),
+                                              any(String.class));
+        verify(httpServletResponse).setHeader("Cache-Control",
+                                              "public, max-age=31536000, immutable");
+        verify(httpServletResponse).setContentLength(SCRIPT.length());
+        verify(httpServletResponse,
+               never()).setHeader(eq("Content-Encoding"),
+                                  any(String.class));
+    }
+
+    @Test
+    public void gzipIsSentWhenAccepted() throws
+            Exception {
+
+        mockProvider(SCRIPT);
+        when(httpServletRequest.getHeader("Accept-Encoding")).thenReturn("gzip, deflate, br");
+
+        downloadStarts();
+
+        final ArgumentCaptor<Integer> contentLength = ArgumentCaptor.forClass(Integer.class);
+        verify(httpServletResponse).setHeader("Content-Encoding",
+                                              "gzip");
+        verify(httpServletResponse).setContentLength(contentLength.capture());
+        assertTrue(contentLength.getValue() < SCRIPT.length());
+    }
+
+    @Test
+    public void notModified() throws
+            Exception {
+
+        mockProvider(SCRIPT);
+
+        downloadStarts();
+
+        final ArgumentCaptor<String> eTag = ArgumentCaptor.forClass(String.class);
+        verify(httpServletResponse).setHeader(eq("ETag"),
+                                              eTag.capture());
+
+        final HttpServletResponse secondResponse = mock(HttpServletResponse.class);
+        when(httpServletRequest.getHeader("If-None-Match")).thenReturn(eTag.getValue());
+
+        servlet.doGet(httpServletRequest,
+                      secondResponse);
+
+        verify(secondResponse).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(secondResponse,
+               never()).getOutputStream();
+        verify(secondResponse,
+               never()).setContentLength(anyInt());
+    }
+
+    @Test
+    public void acceptsGzip() {
+        assertTrue(VerifierWebWorkerServlet.acceptsGzip("gzip"));
+        assertTrue(VerifierWebWorkerServlet.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(VerifierWebWorkerServlet.acceptsGzip("*"));
+        assertFalse(VerifierWebWorkerServlet.acceptsGzip("gzip;q=0"));
+        assertFalse(VerifierWebWorkerServlet.acceptsGzip("gzip;q=0, *"));
+        assertFalse(VerifierWebWorkerServlet.acceptsGzip("*, gzip; q=0.0"));
+        assertFalse(VerifierWebWorkerServlet.acceptsGzip("*;q=0"));
+        assertTrue(VerifierWebWorkerServlet.acceptsGzip("*;q=0, gzip;q=0.1"));
+        assertTrue(VerifierWebWorkerServlet.acceptsGzip("identity;q=1, *;q=0.5"));
+        assertFalse(VerifierWebWorkerServlet.acceptsGzip("gzip;q=2"));
+        assertFalse(VerifierWebWorkerServlet.acceptsGzip("br"));
+        assertFalse(VerifierWebWorkerServlet.acceptsGzip(null));
+    }
+
+    @Test
+    public void eTagMatching() {
+        assertTrue(VerifierWebWorkerServlet.matches("\"a\"", "\"a\""));
+        assertTrue(VerifierWebWorkerServlet.matches("\"b\", W/\"a\"", "\"a\""));
+        assertTrue(VerifierWebWorkerServlet.matches("*", "\"a\""));
+        assertFalse(VerifierWebWorkerServlet.matches("\"b\"", "\"a\""));
+        assertFalse(VerifierWebWorkerServlet.matches(null, "\"a\""));
+    }
+
     // TEST WRONG ID
 
     @Test
@@ -118,6 +230,15 @@ public class VerifierWebWorkerServletTest {
         downloadDoesNotStart();
     }
 
+    private VerifierWebWorkerProvider mockProvider(final String script) throws
+            Exception {
+        final VerifierWebWorkerProvider verifierWebWorkerProvider = mock(VerifierWebWorkerProvider.class);
+        doReturn(script).when(verifierWebWorkerProvider).getWebWorker(CACHE_FILE);
+        doReturn(Optional.of(verifierWebWorkerProvider)).when(verifierWebWorkerRegistry).get("dtableVerifier");
+        when(httpServletRequest.getRequestURI()).thenReturn("/verifier" + CACHE_FILE);
+        return verifierWebWorkerProvider;
+    }
+
     private void downloadStarts() throws
             ServletException,
             IOException {
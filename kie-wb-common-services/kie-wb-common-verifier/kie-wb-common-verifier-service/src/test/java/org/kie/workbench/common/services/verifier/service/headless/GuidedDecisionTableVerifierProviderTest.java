@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.verifier.service.headless;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.drools.verifier.api.reporting.CheckType;
+import org.drools.verifier.api.reporting.Issue;
+import org.drools.workbench.models.datamodel.rule.BaseSingleFieldConstraint;
+import org.drools.workbench.models.guided.dtable.backend.GuidedDTXMLPersistence;
+import org.drools.workbench.models.guided.dtable.shared.model.ActionSetFieldCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.ConditionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.DTCellValue52;
+import org.drools.workbench.models.guided.dtable.shared.model.GuidedDecisionTable52;
+import org.drools.workbench.models.guided.dtable.shared.model.LimitedEntryConditionCol52;
+import org.drools.workbench.models.guided.dtable.shared.model.Pattern52;
+import org.junit.Test;
+import org.kie.soup.project.datamodel.oracle.DataType;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GuidedDecisionTableVerifierProviderTest {
+
+    private GuidedDecisionTableVerifierProvider provider = new GuidedDecisionTableVerifierProvider();
+
+    @Test
+    public void acceptsGuidedDecisionTables() {
+        assertTrue(provider.accepts(mockPath("table.gdst")));
+        assertFalse(provider.accepts(mockPath("rule.drl")));
+    }
+
+    @Test
+    public void redundantRowsAreReported() throws Exception {
+        final GuidedDecisionTable52 model = newTable();
+        model.getData().add(newRow(1,
+                                   18,
+                                   true));
+        model.getData().add(newRow(2,
+                                   18,
+                                   true));
+
+        final Set<Issue> issues = provider.verify(GuidedDTXMLPersistence.getInstance().marshal(model));
+
+        assertTrue(issues.stream().anyMatch(issue -> CheckType.REDUNDANT_ROWS.equals(issue.getCheckType())));
+    }
+
+    @Test
+    public void distinctRowsAreNotRedundant() throws Exception {
+        final GuidedDecisionTable52 model = newTable();
+        model.getData().add(newRow(1,
+                                   18,
+                                   true));
+        model.getData().add(newRow(2,
+                                   21,
+                                   false));
+
+        final Set<Issue> issues = provider.verify(GuidedDTXMLPersistence.getInstance().marshal(model));
+
+        assertFalse(issues.stream().anyMatch(issue -> CheckType.REDUNDANT_ROWS.equals(issue.getCheckType())));
+    }
+
+    @Test
+    public void limitedEntriesUseTheColumnValue() throws Exception {
+        final GuidedDecisionTable52 model = newTable(newLimitedEntryCondition(18),
+                                                     newLimitedEntryCondition(21));
+        model.getData().add(Arrays.asList(new DTCellValue52(1),
+                                          new DTCellValue52(""),
+                                          new DTCellValue52(true),
+                                          new DTCellValue52(false),
+                                          new DTCellValue52(true)));
+        model.getData().add(Arrays.asList(new DTCellValue52(2),
+                                          new DTCellValue52(""),
+                                          new DTCellValue52(false),
+                                          new DTCellValue52(true),
+                                          new DTCellValue52(true)));
+
+        final Set<Issue> issues = provider.verify(GuidedDTXMLPersistence.getInstance().marshal(model));
+
+        assertFalse(issues.stream().anyMatch(issue -> CheckType.REDUNDANT_ROWS.equals(issue.getCheckType())));
+    }
+
+    @Test
+    public void selectedLimitedEntriesAreRedundant() throws Exception {
+        final GuidedDecisionTable52 model = newTable(newLimitedEntryCondition(18));
+        model.getData().add(Arrays.asList(new DTCellValue52(1),
+                                          new DTCellValue52(""),
+                                          new DTCellValue52(true),
+                                          new DTCellValue52(true)));
+        model.getData().add(Arrays.asList(new DTCellValue52(2),
+                                          new DTCellValue52(""),
+                                          new DTCellValue52(true),
+                                          new DTCellValue52(true)));
+
+        final Set<Issue> issues = provider.verify(GuidedDTXMLPersistence.getInstance().marshal(model));
+
+        assertTrue(issues.stream().anyMatch(issue -> CheckType.REDUNDANT_ROWS.equals(issue.getCheckType())));
+    }
+
+    @Test
+    public void inListsAreSplit() throws Exception {
+        final GuidedDecisionTable52 model = newTable(newCondition("in"));
+        model.getData().add(Arrays.asList(new DTCellValue52(1),
+                                          new DTCellValue52(""),
+                                          new DTCellValue52("18, 21"),
+                                          new DTCellValue52(true)));
+        model.getData().add(Arrays.asList(new DTCellValue52(2),
+                                          new DTCellValue52(""),
+                                          new DTCellValue52("18,21"),
+                                          new DTCellValue52(true)));
+
+        final Set<Issue> issues = provider.verify(GuidedDTXMLPersistence.getInstance().marshal(model));
+
+        assertTrue(issues.stream().anyMatch(issue -> CheckType.REDUNDANT_ROWS.equals(issue.getCheckType())));
+    }
+
+    @Test
+    public void nullChecksHaveNoValue() throws Exception {
+        final GuidedDecisionTable52 model = newTable(newCondition("== null"));
+        model.getData().add(Arrays.asList(new DTCellValue52(1),
+                                          new DTCellValue52(""),
+                                          new DTCellValue52(true),
+                                          new DTCellValue52(true)));
+        model.getData().add(Arrays.asList(new DTCellValue52(2),
+                                          new DTCellValue52(""),
+                                          new DTCellValue52(true),
+                                          new DTCellValue52(false)));
+
+        final Set<Issue> issues = provider.verify(GuidedDTXMLPersistence.getInstance().marshal(model));
+
+        assertTrue(issues.stream().anyMatch(issue -> CheckType.CONFLICTING_ROWS.equals(issue.getCheckType())));
+    }
+
+    private GuidedDecisionTable52 newTable() {
+        return newTable(newCondition("=="));
+    }
+
+    private ConditionCol52 newCondition(final String operator) {
+        final ConditionCol52 condition = new ConditionCol52();
+        condition.setHeader("age");
+        condition.setFactField("age");
+        condition.setFieldType(DataType.TYPE_NUMERIC_INTEGER);
+        condition.setOperator(operator);
+        condition.setConstraintValueType(BaseSingleFieldConstraint.TYPE_LITERAL);
+        return condition;
+    }
+
+    private ConditionCol52 newLimitedEntryCondition(final int age) {
+        final LimitedEntryConditionCol52 condition = new LimitedEntryConditionCol52();
+        condition.setHeader("age " + age);
+        condition.setFactField("age");
+        condition.setFieldType(DataType.TYPE_NUMERIC_INTEGER);
+        condition.setOperator("==");
+        condition.setConstraintValueType(BaseSingleFieldConstraint.TYPE_LITERAL);
+        condition.setValue(new DTCellValue52(age));
+        return condition;
+    }
+
+    private GuidedDecisionTable52 newTable(final ConditionCol52... conditions) {
+        final GuidedDecisionTable52 model = new GuidedDecisionTable52();
+        model.setTableName("table");
+
+        final Pattern52 pattern = new Pattern52();
+        pattern.setBoundName("$p");
+        pattern.setFactType("Person");
+        pattern.getChildColumns().addAll(Arrays.asList(conditions));
+        model.getConditions().add(pattern);
+
+        final ActionSetFieldCol52 action = new ActionSetFieldCol52();
+        action.setHeader("approved");
+        action.setBoundName("$p");
+        action.setFactField("approved");
+        action.setType(DataType.TYPE_BOOLEAN);
+        model.getActionCols().add(action);
+        return model;
+    }
+
+    private List<DTCellValue52> newRow(final int rowNumber,
+                                       final int age,
+                                       final boolean approved) {
+        return Arrays.asList(new DTCellValue52(rowNumber),
+                             new DTCellValue52(""),
+                             new DTCellValue52(age),
+                             new DTCellValue52(approved));
+    }
+
+    private Path mockPath(final String fileName) {
+        final Path path = mock(Path.class);
+        final Path name = mock(Path.class);
+        when(name.toString()).thenReturn(fileName);
+        when(path.getFileName()).thenReturn(name);
+        return path;
+    }
+}
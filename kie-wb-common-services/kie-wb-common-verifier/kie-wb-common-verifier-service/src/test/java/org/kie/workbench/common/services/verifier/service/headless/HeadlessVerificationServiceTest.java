@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.verifier.service.headless;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import javax.enterprise.inject.Instance;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.drools.verifier.api.reporting.CheckType;
+import org.drools.verifier.api.reporting.Issue;
+import org.drools.verifier.api.reporting.Severity;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HeadlessVerificationServiceTest {
+
+    private static final String VERIFIER_ID = "dtableVerifier";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private ExecutorService executorService;
+
+    @Mock
+    private Instance<HeadlessVerifierProvider> providers;
+
+    @Mock
+    private HeadlessVerifierProvider provider;
+
+    private VerificationResultCache cache;
+
+    private HeadlessVerificationService service;
+
+    @Before
+    public void setUp() {
+        when(provider.getId()).thenReturn(VERIFIER_ID);
+        when(providers.iterator()).thenAnswer(invocation -> Collections.singletonList(provider).iterator());
+        cache = new VerificationResultCache();
+        service = new HeadlessVerificationService(ioService,
+                                                  cache,
+                                                  executorService,
+                                                  providers);
+    }
+
+    @Test
+    public void unchangedContentIsNotVerifiedAgain() throws Exception {
+        final Path first = mockPath("default://master@space/project/src/main/resources/first.gdst");
+        final Path copy = mockPath("default://master@space/project/src/main/resources/copy.gdst");
+        final Set<Issue> issues = Collections.singleton(new Issue(Severity.WARNING,
+                                                                  CheckType.REDUNDANT_ROWS,
+                                                                  Collections.singleton(1)));
+        when(ioService.readAllString(first)).thenReturn("<decision-table52/>");
+        when(ioService.readAllString(copy)).thenReturn("<decision-table52/>");
+        doReturn(issues).when(provider).verify("<decision-table52/>");
+
+        final VerifiedAsset firstResult = service.verify(first,
+                                                         provider);
+        final VerifiedAsset copyResult = service.verify(copy,
+                                                        provider);
+
+        assertFalse(firstResult.isFromCache());
+        assertTrue(copyResult.isFromCache());
+        assertEquals(issues,
+                     copyResult.getIssues());
+        assertEquals(1,
+                     copyResult.countIssues(Severity.WARNING));
+        verify(provider,
+               times(1)).verify("<decision-table52/>");
+    }
+
+    @Test
+    public void changedContentIsVerifiedAgain() throws Exception {
+        final Path path = mockPath("default://master@space/project/src/main/resources/table.gdst");
+        doReturn(Collections.emptySet()).when(provider).verify("<decision-table52/>");
+        doReturn(Collections.emptySet()).when(provider).verify("<decision-table52><tableName>changed</tableName></decision-table52>");
+
+        when(ioService.readAllString(path)).thenReturn("<decision-table52/>");
+        service.verify(path,
+                       provider);
+
+        when(ioService.readAllString(path)).thenReturn("<decision-table52><tableName>changed</tableName></decision-table52>");
+        final VerifiedAsset result = service.verify(path,
+                                                    provider);
+
+        assertFalse(result.isFromCache());
+        verify(provider).verify("<decision-table52><tableName>changed</tableName></decision-table52>");
+    }
+
+    @Test
+    public void failuresAreReported() throws Exception {
+        final Path path = mockPath("default://master@space/project/src/main/resources/broken.gdst");
+        when(ioService.readAllString(path)).thenReturn("broken");
+        doThrow(new IllegalArgumentException("Cannot unmarshal")).when(provider).verify("broken");
+
+        final VerifiedAsset result = service.verify(path,
+                                                    provider);
+
+        assertTrue(result.hasFailed());
+        assertEquals("Cannot unmarshal",
+                     result.getError());
+        assertNull(cache.getIssues(VERIFIER_ID,
+                                   DigestUtils.sha256Hex("broken")));
+    }
+
+    @Test
+    public void assetsUnderEveryRootAreVerifiedInParallel() throws Exception {
+        final SimpleFileSystemProvider fileSystemProvider = new SimpleFileSystemProvider();
+        fileSystemProvider.forceAsDefault();
+
+        final File project1 = temporaryFolder.newFolder("project1");
+        final File resources = new File(project1,
+                                        "src/main/resources/org/test");
+        resources.mkdirs();
+        new File(resources,
+                 "a.gdst").createNewFile();
+        new File(resources,
+                 "b.gdst").createNewFile();
+        new File(resources,
+                 "readme.txt").createNewFile();
+        final File project2 = temporaryFolder.newFolder("project2");
+        new File(project2,
+                 "c.gdst").createNewFile();
+
+        final Path root1 = fileSystemProvider.getPath(project1.toURI());
+        final Path root2 = fileSystemProvider.getPath(project2.toURI());
+        final Path missingRoot = mockPath("default://master@space/missing");
+        when(ioService.exists(root1)).thenReturn(true);
+        when(ioService.exists(root2)).thenReturn(true);
+        when(ioService.readAllString(any(Path.class))).thenAnswer(invocation -> ((Path) invocation.getArguments()[0]).getFileName().toString());
+        when(provider.accepts(any(Path.class))).thenAnswer(invocation -> ((Path) invocation.getArguments()[0]).getFileName().toString().endsWith(".gdst"));
+        doReturn(Collections.emptySet()).when(provider).verify(anyString());
+        doReturn(Collections.singleton(new Issue(Severity.WARNING,
+                                                 CheckType.REDUNDANT_ROWS,
+                                                 Collections.singleton(1)))).when(provider).verify("c.gdst");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final VerificationReport report = new HeadlessVerificationService(ioService,
+                                                                              cache,
+                                                                              executor,
+                                                                              providers).verify(Arrays.asList(root1,
+                                                                                                              root2,
+                                                                                                              missingRoot));
+
+            assertEquals(Arrays.asList("a.gdst",
+                                       "b.gdst",
+                                       "c.gdst"),
+                         report.getAssets().stream()
+                                 .map(asset -> asset.getPath().getFileName().toString())
+                                 .collect(Collectors.toList()));
+            assertEquals(1,
+                         report.countIssues(Severity.WARNING));
+            assertEquals(0,
+                         report.countFailedAssets());
+            verify(provider,
+                   never()).verify("readme.txt");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void leastRecentlyUsedResultsAreEvicted() {
+        final VerificationResultCache smallCache = new VerificationResultCache(2);
+
+        smallCache.setIssues(VERIFIER_ID, "a", Collections.emptySet());
+        smallCache.setIssues(VERIFIER_ID, "b", Collections.emptySet());
+        smallCache.getIssues(VERIFIER_ID, "a");
+        smallCache.setIssues(VERIFIER_ID, "c", Collections.emptySet());
+
+        assertEquals(2,
+                     smallCache.size());
+        assertNull(smallCache.getIssues(VERIFIER_ID, "b"));
+        assertEquals(Collections.emptySet(),
+                     smallCache.getIssues(VERIFIER_ID, "a"));
+    }
+
+    private Path mockPath(final String uri) {
+        return mock(Path.class,
+                    uri);
+    }
+}
@@ -17,12 +17,18 @@
 package org.kie.workbench.common.stunner.core.backend.definition.adapter;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -30,6 +36,26 @@ import org.kie.workbench.common.stunner.core.definition.adapter.binding.Bindable
 
 public class ReflectionAdapterUtils {
 
+    // The field accessors are resolved once per type and field name (or annotation type), as the adapters read the
+    // same fields for every bean being marshalled. The accessors of a type are stored on the type itself by the
+    // ClassValue, so they are collected together with the type and its class loader (e.g. a redeployed module).
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class,
+                                                                          Object.class);
+    private static final MethodHandle NO_ACCESSOR = MethodHandles.constant(Object.class,
+                                                                           null);
+    private static final ClassValue<Map<String, MethodHandle>> FIELD_ACCESSORS = new ClassValue<Map<String, MethodHandle>>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final ClassValue<Map<Class<? extends Annotation>, MethodHandle>> ANNOTATED_FIELD_ACCESSORS = new ClassValue<Map<Class<? extends Annotation>, MethodHandle>>() {
+        @Override
+        protected Map<Class<? extends Annotation>, MethodHandle> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     @SuppressWarnings("unchecked")
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
@@ -85,37 +111,68 @@ public class ReflectionAdapterUtils {
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<?> sourceType,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                A annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        final MethodHandle accessor = ANNOTATED_FIELD_ACCESSORS.get(sourceType)
+                .computeIfAbsent(annotationType,
+                                 type -> {
+                                     for (Field field : sourceType.getDeclaredFields()) {
+                                         if (null != field.getAnnotation(annotationType)) {
+                                             return getAccessor(field);
+                                         }
+                                     }
+                                     return NO_ACCESSOR;
+                                 });
+        return getValue(accessor,
+                        object);
     }
 
     @SuppressWarnings("unchecked")
     public static <T, V> V getFieldValue(final T object,
                                          final Class<?> sourceType,
                                          final String fieldName) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
+        final MethodHandle accessor = FIELD_ACCESSORS.get(sourceType)
+                .computeIfAbsent(fieldName,
+                                 name -> {
+                                     final Field field = getField(sourceType,
+                                                                  name);
+                                     return null != field ? getAccessor(field) : NO_ACCESSOR;
+                                 });
+        return getValue(accessor,
+                        object);
+    }
+
+    private static MethodHandle getAccessor(final Field field) {
+        try {
+            field.setAccessible(true);
+            MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter,
+                                                     0,
+                                                     Object.class);
             }
+            return getter.asType(ACCESSOR_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field [" + field.getName() + "] of " + field.getDeclaringClass(),
+                                            e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, V> V getValue(final MethodHandle accessor,
+                                     final T object) {
+        if (NO_ACCESSOR == accessor) {
+            return null;
+        }
+        try {
+            return (V) accessor.invokeExact((Object) object);
+        } catch (ClassCastException e) {
+            // Same contract as Field.get for an object that is not an instance of the field's declaring class
+            throw new IllegalArgumentException("Can not read the field from an instance of " + object.getClass().getName(),
+                                               e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
         }
-        return result;
     }
 
     public static <T> Field getField(final T object,
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.definition.annotation.definition.Category;
+import org.kie.workbench.common.stunner.core.definition.annotation.definition.Title;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ReflectionAdapterUtilsTest {
+
+    @Test
+    public void testGetFieldValue() throws Exception {
+        final FooTestBean bean1 = new FooTestBean("value1",
+                                                  "value2");
+        final FooTestBean bean2 = new FooTestBean("value3",
+                                                  "value4");
+        assertSame(bean1.fooProperty,
+                   ReflectionAdapterUtils.getFieldValue(bean1,
+                                                        FooTestBean.FOO_PROPERTY_NAME));
+        // The accessor resolved for the type must read the given instance
+        assertSame(bean2.fooProperty,
+                   ReflectionAdapterUtils.getFieldValue(bean2,
+                                                        FooTestBean.FOO_PROPERTY_NAME));
+        assertNull(ReflectionAdapterUtils.getFieldValue(bean1,
+                                                        "unknownField"));
+    }
+
+    @Test
+    public void testGetStaticFieldValue() throws Exception {
+        final FooTestBean bean = new FooTestBean("value1",
+                                                 "value2");
+        assertEquals(FooTestBean.TITLE,
+                     ReflectionAdapterUtils.getFieldValue(bean,
+                                                          "TITLE"));
+        assertEquals(FooTestBean.CATEGORY,
+                     ReflectionAdapterUtils.getAnnotatedFieldValue(bean,
+                                                                   Category.class));
+        assertEquals(FooTestBean.TITLE,
+                     ReflectionAdapterUtils.getAnnotatedFieldValue(bean,
+                                                                   Title.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetFieldValueOfAnotherType() throws Exception {
+        ReflectionAdapterUtils.getFieldValue(new FooTestBeanNoParent(),
+                                             FooTestBean.class,
+                                             FooTestBean.FOO_PROPERTY_NAME);
+    }
+}
@@ -16,8 +16,11 @@
 
 package org.kie.workbench.common.stunner.core.client.canvas;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -60,7 +63,25 @@ public abstract class AbstractCanvasHandler<D extends Diagram, C extends Abstrac
     private final String uuid;
     private final List<CanvasElementListener> listeners = new LinkedList<>();
     private final List<CanvasDomainObjectListener> domainObjectListeners = new LinkedList<>();
+    private final Map<String, PendingNotification> pendingNotifications = new LinkedHashMap<>();
+    private final CanvasElementListener notificationEvents = new CanvasElementListener() {
+        @Override
+        public void register(final Element item) {
+            fireCanvasElementAdded(item);
+        }
+
+        @Override
+        public void deregister(final Element item) {
+            fireCanvasElementRemoved(item);
+        }
+
+        @Override
+        public void update(final Element item) {
+            fireCanvasElementUpdated(item);
+        }
+    };
     private Supplier<GraphCommandExecutionContext> commandExecutionContextSupplier;
+    private int notificationsBatchDepth = 0;
 
     public AbstractCanvasHandler() {
         this.uuid = UUID.uuid();
@@ -378,42 +399,125 @@ public abstract class AbstractCanvasHandler<D extends Diagram, C extends Abstrac
         return this;
     }
 
+    /**
+     * Opens a notifications batch (e.g. around a command execution). The element notifications produced meanwhile
+     * are not delivered to the listeners right away, but coalesced by element and delivered once the batch gets
+     * closed, so each listener gets at most a single notification per element. Batches can be nested, notifications
+     * are delivered when the outermost one gets closed.
+     */
+    public void openNotificationsBatch() {
+        notificationsBatchDepth++;
+    }
+
+    /**
+     * Closes a notifications batch opened by {@link #openNotificationsBatch()}.
+     */
+    public void closeNotificationsBatch() {
+        if (notificationsBatchDepth > 0 && --notificationsBatchDepth == 0) {
+            flushNotifications();
+        }
+    }
+
     /**
      * Notifies an element added to the listeners.
      */
     public void notifyCanvasElementAdded(final Element candidate) {
+        if (isBatchingNotifications()) {
+            getPendingNotification(candidate).add(candidate);
+            return;
+        }
         for (final CanvasElementListener instance : listeners) {
             instance.register(candidate);
         }
+        fireCanvasElementAdded(candidate);
     }
 
     /**
      * Notifies an element removed to the listeners.
      */
     public void notifyCanvasElementRemoved(final Element candidate) {
+        if (isBatchingNotifications()) {
+            if (getPendingNotification(candidate).remove(candidate)) {
+                // Added and removed within the same batch, nothing to notify.
+                pendingNotifications.remove(candidate.getUUID());
+            }
+            return;
+        }
         for (final CanvasElementListener instance : listeners) {
             instance.deregister(candidate);
         }
+        fireCanvasElementRemoved(candidate);
     }
 
     /**
      * Notifies an element updated to the listeners.
      */
     public void notifyCanvasElementUpdated(final Element candidate) {
+        if (isBatchingNotifications()) {
+            getPendingNotification(candidate).update(candidate);
+            return;
+        }
         for (final CanvasElementListener instance : listeners) {
             instance.update(candidate);
         }
+        fireCanvasElementUpdated(candidate);
     }
 
     /**
      * Notifies a clean canvas to the listeners.
      */
     public void notifyCanvasClear() {
+        // Listeners get the notifications pending so far before the clear one.
+        flushNotifications();
         for (final CanvasElementListener instance : listeners) {
             instance.clear();
         }
     }
 
+    private boolean isBatchingNotifications() {
+        return notificationsBatchDepth > 0;
+    }
+
+    private PendingNotification getPendingNotification(final Element candidate) {
+        return pendingNotifications.computeIfAbsent(candidate.getUUID(),
+                                                    uuid -> new PendingNotification());
+    }
+
+    private void flushNotifications() {
+        if (pendingNotifications.isEmpty()) {
+            return;
+        }
+        final List<PendingNotification> notifications = new ArrayList<>(pendingNotifications.values());
+        pendingNotifications.clear();
+        for (final CanvasElementListener instance : new ArrayList<>(listeners)) {
+            for (final PendingNotification notification : notifications) {
+                notification.deliver(instance);
+            }
+        }
+        for (final PendingNotification notification : notifications) {
+            notification.deliver(notificationEvents);
+        }
+    }
+
+    /**
+     * Fires an element added notification out of the handler (e.g. as a CDI event), once the listeners got it.
+     * Within a batch it is fired once the batch gets closed, coalesced as the listeners' notifications.
+     */
+    protected void fireCanvasElementAdded(final Element candidate) {
+    }
+
+    /**
+     * Fires an element removed notification out of the handler, see {@link #fireCanvasElementAdded(Element)}.
+     */
+    protected void fireCanvasElementRemoved(final Element candidate) {
+    }
+
+    /**
+     * Fires an element updated notification out of the handler, see {@link #fireCanvasElementAdded(Element)}.
+     */
+    protected void fireCanvasElementUpdated(final Element candidate) {
+    }
+
     /**
      * Notifies {@link CanvasDomainObjectListener}s that a {@link DomainObject} has been added.
      */
@@ -481,6 +585,7 @@ public abstract class AbstractCanvasHandler<D extends Diagram, C extends Abstrac
         doDestroy();
         listeners.clear();
         domainObjectListeners.clear();
+        pendingNotifications.clear();
         commandExecutionContextSupplier = null;
     }
 
@@ -522,4 +627,52 @@ public abstract class AbstractCanvasHandler<D extends Diagram, C extends Abstrac
     public String toString() {
         return this.getClass().getSimpleName() + " [" + getUuid() + "]";
     }
+
+    /**
+     * The notifications for an element within a batch, coalesced. A removal is kept apart as it must reach
+     * the listeners before the element gets added again (e.g. when morphing it).
+     */
+    private static class PendingNotification {
+
+        private Element removed;
+        private Element added;
+        private Element updated;
+
+        private void add(final Element element) {
+            added = element;
+            updated = null;
+        }
+
+        private void update(final Element element) {
+            if (null != added) {
+                added = element;
+            } else {
+                updated = element;
+            }
+        }
+
+        /**
+         * @return If the element was added within the batch, so the notifications cancel each other.
+         */
+        private boolean remove(final Element element) {
+            if (null != added && null == removed) {
+                return true;
+            }
+            removed = element;
+            added = null;
+            updated = null;
+            return false;
+        }
+
+        private void deliver(final CanvasElementListener listener) {
+            if (null != removed) {
+                listener.deregister(removed);
+            }
+            if (null != added) {
+                listener.register(added);
+            } else if (null != updated) {
+                listener.update(updated);
+            }
+        }
+    }
 }
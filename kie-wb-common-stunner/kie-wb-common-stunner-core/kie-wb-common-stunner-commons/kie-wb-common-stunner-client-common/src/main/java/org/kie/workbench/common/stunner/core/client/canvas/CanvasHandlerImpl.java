@@ -22,11 +22,13 @@ import javax.inject.Inject;
 
 import org.kie.workbench.common.stunner.core.client.api.ClientDefinitionManager;
 import org.kie.workbench.common.stunner.core.client.api.ShapeManager;
+import org.kie.workbench.common.stunner.core.client.canvas.command.DrawCanvasCommand;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.actions.TextPropertyProviderFactory;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementAddedEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementRemovedEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementUpdatedEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementsClearEvent;
+import org.kie.workbench.common.stunner.core.client.command.CanvasCommand;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommandFactory;
 import org.kie.workbench.common.stunner.core.client.shape.Shape;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
@@ -99,7 +101,14 @@ public class CanvasHandlerImpl<D extends Diagram, C extends AbstractCanvas> exte
 
     @Override
     public void draw(final ParameterizedCommand<CommandResult> loadCallback) {
-        loadCallback.execute(commandFactory.draw().execute(this));
+        final CanvasCommand<AbstractCanvasHandler> command = commandFactory.draw();
+        if (command instanceof DrawCanvasCommand) {
+            // Large diagrams are drawn incrementally, the visible area first.
+            ((DrawCanvasCommand) command).execute(this,
+                                                  loadCallback::execute);
+        } else {
+            loadCallback.execute(command.execute(this));
+        }
     }
 
     @Override
@@ -111,17 +120,11 @@ public class CanvasHandlerImpl<D extends Diagram, C extends AbstractCanvas> exte
     @Override
     protected void afterElementAdded(final Element element,
                                      final Shape shape) {
-        // Fire a canvas element added event.
-        canvasElementAddedEvent.fire(new CanvasElementAddedEvent(this,
-                                                                 element));
     }
 
     @Override
     protected void beforeElementDeleted(final Element element,
                                         final Shape shape) {
-        // Fire a canvas element deleted event.
-        canvasElementRemovedEvent.fire(new CanvasElementRemovedEvent(this,
-                                                                     element));
     }
 
     @Override
@@ -137,9 +140,27 @@ public class CanvasHandlerImpl<D extends Diagram, C extends AbstractCanvas> exte
     @Override
     protected void afterElementUpdated(final Element element,
                                        final Shape shape) {
+    }
+
+    @Override
+    protected void fireCanvasElementAdded(final Element candidate) {
         // Fire a canvas element added event.
+        canvasElementAddedEvent.fire(new CanvasElementAddedEvent(this,
+                                                                 candidate));
+    }
+
+    @Override
+    protected void fireCanvasElementRemoved(final Element candidate) {
+        // Fire a canvas element deleted event.
+        canvasElementRemovedEvent.fire(new CanvasElementRemovedEvent(this,
+                                                                     candidate));
+    }
+
+    @Override
+    protected void fireCanvasElementUpdated(final Element candidate) {
+        // Fire a canvas element updated event.
         canvasElementUpdatedEvent.fire(new CanvasElementUpdatedEvent(this,
-                                                                     element));
+                                                                     candidate));
     }
 
     @Override
@@ -16,29 +16,52 @@
 
 package org.kie.workbench.common.stunner.core.client.canvas.command;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiPredicate;
 
+import com.google.gwt.core.client.Scheduler;
+import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvas;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
+import org.kie.workbench.common.stunner.core.client.canvas.Transform;
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
+import org.kie.workbench.common.stunner.core.client.shape.Shape;
+import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.impl.CommandResultImpl;
 import org.kie.workbench.common.stunner.core.command.impl.CompositeCommand;
+import org.kie.workbench.common.stunner.core.command.util.CommandUtils;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.Bounds;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
+import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.AbstractChildrenTraverseCallback;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.AbstractContentTraverseCallback;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessor;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ViewTraverseProcessor;
+import org.uberfire.mvp.ParameterizedCommand;
 
+/**
+ * Draws the whole graph on the canvas.
+ * <p>
+ * The commands are ordered so the nodes which intersect the canvas viewport, along with their children, docked nodes
+ * and the connectors between them, come first. This way {@link #execute(AbstractCanvasHandler, ParameterizedCommand)}
+ * can draw the visible area at once and the rest of the graph in chunks, yielding to the browser between them.
+ */
 public class DrawCanvasCommand extends AbstractCanvasCommand {
 
+    static final int CHUNK_SIZE = 100;
+
     private final ChildrenTraverseProcessor childrenTraverseProcessor;
     private final ViewTraverseProcessor viewTraverseProcessor;
 
@@ -49,19 +72,100 @@ public class DrawCanvasCommand extends AbstractCanvasCommand {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public CommandResult<CanvasViolation> execute(final AbstractCanvasHandler context) {
+        final DrawCommands drawCommands = buildCommands(context);
+        final CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation> commandBuilder =
+                new CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation>()
+                        .forward()
+                        .addCommands(drawCommands.viewport)
+                        .addCommands(drawCommands.others);
+        return executeCommands(context, commandBuilder);
+    }
+
+    /**
+     * Incremental version of {@link #execute(AbstractCanvasHandler)}. The elements in the viewport are drawn in the
+     * first chunk, the others in chunks of {@link #CHUNK_SIZE} commands, each one scheduled once the browser got
+     * the chance to render the previous ones. Once complete, the canvas is in the same state as after a
+     * synchronous execution, including the shapes' z-order, if any chunk fails the already drawn ones are undone as
+     * well. The pending chunks are discarded if the canvas handler is cleared or destroyed meanwhile.
+     * @param callback Receives the aggregated result once the drawing completes or fails. It is not called when the
+     * drawing is discarded.
+     */
+    public void execute(final AbstractCanvasHandler context,
+                        final ParameterizedCommand<CommandResult<CanvasViolation>> callback) {
+        final Index<?, ?> graphIndex = context.getGraphIndex();
+        final DrawCommands drawCommands = buildCommands(context);
+        final boolean reordered = !drawCommands.viewport.isEmpty() && !drawCommands.others.isEmpty();
+        final List<List<Command<AbstractCanvasHandler, CanvasViolation>>> chunks = new LinkedList<>();
+        if (!drawCommands.viewport.isEmpty()) {
+            chunks.add(drawCommands.viewport);
+        }
+        for (int i = 0; i < drawCommands.others.size(); i += CHUNK_SIZE) {
+            chunks.add(drawCommands.others.subList(i,
+                                                   Math.min(i + CHUNK_SIZE,
+                                                            drawCommands.others.size())));
+        }
+
+        final Iterator<List<Command<AbstractCanvasHandler, CanvasViolation>>> chunksIt = chunks.iterator();
+        final LinkedList<CompositeCommand<AbstractCanvasHandler, CanvasViolation>> executed = new LinkedList<>();
+        final List<CommandResult<CanvasViolation>> results = new LinkedList<>();
+        if (!chunksIt.hasNext()) {
+            callback.execute(buildResult(results));
+            return;
+        }
+        scheduleIncremental(() -> {
+            if (graphIndex != context.getGraphIndex() || null == context.getAbstractCanvas()) {
+                // The handler has been cleared or destroyed, the graph being drawn is gone.
+                return false;
+            }
+            final CompositeCommand<AbstractCanvasHandler, CanvasViolation> chunk =
+                    new CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation>()
+                            .forward()
+                            .addCommands(chunksIt.next())
+                            .build();
+            final CommandResult<CanvasViolation> result = executeChunk(context,
+                                                                       chunk);
+            results.add(result);
+            if (CommandUtils.isError(result)) {
+                // The failed chunk already reverted its own commands.
+                while (!executed.isEmpty()) {
+                    executed.pop().undo(context);
+                }
+                callback.execute(buildResult(results));
+                return false;
+            }
+            executed.push(chunk);
+            if (!chunksIt.hasNext()) {
+                if (reordered) {
+                    restoreOrder(context,
+                                 drawCommands.uuids);
+                }
+                callback.execute(buildResult(results));
+                return false;
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public CommandResult<CanvasViolation> undo(final AbstractCanvasHandler context) {
+        throw new UnsupportedOperationException("Undo operation for [" + this.getClass().getName() + "[ is not supported..");
+    }
+
+    @SuppressWarnings("unchecked")
+    private DrawCommands buildCommands(final AbstractCanvasHandler context) {
         final Graph graph = context.getGraphIndex().getGraph();
         final String shapeSetId = getShapeSetId(context);
+        final Optional<Bounds> viewport = getViewport(context);
 
-        final CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation> commandBuilder =
-                new CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation>().forward();
+        // Nodes are grouped by the top level node they get drawn into.
+        final List<DrawGroup> groups = new LinkedList<>();
+        final Map<String, DrawGroup> nodeGroups = new HashMap<>();
 
         // Aggregate all nodes in the parent-child-dock hierarchy.
         childrenTraverseProcessor
                 .traverse(graph,
                           new AbstractChildrenTraverseCallback<Node<View, Edge>, Edge<Child, Node>>() {
-                              private Map<String, Boolean> processedNodes = new HashMap<>();
 
                               @Override
                               public void startNodeTraversal(final Node<View, Edge> node) {
@@ -98,59 +202,66 @@ public class DrawCanvasCommand extends AbstractCanvasCommand {
 
                               private void addNode(final Node node) {
                                   //skip in case the node was already processed
-                                  if (processedNodes.containsKey(node.getUUID())) {
+                                  if (nodeGroups.containsKey(node.getUUID())) {
                                       return;
                                   }
 
-                                  commandBuilder.addCommand(new AddCanvasNodeCommand(node,
-                                                                                     shapeSetId));
-                                  addProcessedNode(node);
+                                  final DrawGroup group = new DrawGroup(isInViewport(viewport,
+                                                                                     node));
+                                  groups.add(group);
+                                  group.commands.add(new AddCanvasNodeCommand(node,
+                                                                              shapeSetId));
+                                  group.uuids.add(node.getUUID());
+                                  nodeGroups.put(node.getUUID(),
+                                                 group);
                               }
 
                               private void addChildNode(final Node<View, Edge> parent,
                                                         final Node<View, Edge> node) {
                                   //skip in case the node was already processed
-                                  if (processedNodes.containsKey(node.getUUID())) {
+                                  if (nodeGroups.containsKey(node.getUUID())) {
                                       return;
                                   }
 
                                   //check whether the parent was processed, is must be processed before child node
-                                  if (!processedNodes.containsKey(parent.getUUID())) {
+                                  if (!nodeGroups.containsKey(parent.getUUID())) {
                                       addNode(parent);
                                   }
 
-                                  commandBuilder.addCommand(new AddCanvasChildNodeCommand(parent,
-                                                                                          node,
-                                                                                          shapeSetId));
-                                  addProcessedNode(node);
+                                  final DrawGroup group = nodeGroups.get(parent.getUUID());
+                                  group.commands.add(new AddCanvasChildNodeCommand(parent,
+                                                                                   node,
+                                                                                   shapeSetId));
+                                  group.uuids.add(node.getUUID());
+                                  nodeGroups.put(node.getUUID(),
+                                                 group);
                               }
 
                               private void addDockedNode(final Node<View, Edge> parent,
                                                          final Node<View, Edge> node) {
                                   //check whether the dock parent was processed, is must be processed before docked the node
-                                  if (!processedNodes.containsKey(parent.getUUID())) {
+                                  if (!nodeGroups.containsKey(parent.getUUID())) {
                                       addNode(parent);
                                   }
 
-                                  commandBuilder.addCommand(new AddCanvasDockedNodeCommand(parent,
-                                                                                           node,
-                                                                                           shapeSetId));
-                                  addProcessedNode(node);
-                              }
-
-                              private void addProcessedNode(Node<View, Edge> node) {
-                                  processedNodes.put(node.getUUID(), true);
-                              }
-
-                              @Override
-                              public void endGraphTraversal() {
-                                  super.endGraphTraversal();
-                                  processedNodes.clear();
-                                  processedNodes = null;
+                                  final DrawGroup group = nodeGroups.get(parent.getUUID());
+                                  group.commands.add(new AddCanvasDockedNodeCommand(parent,
+                                                                                    node,
+                                                                                    shapeSetId));
+                                  group.uuids.add(node.getUUID());
+                                  nodeGroups.put(node.getUUID(),
+                                                 group);
                               }
                           });
 
-        // Aggregate all connectors.
+        final DrawCommands drawCommands = new DrawCommands();
+        for (final DrawGroup group : groups) {
+            (group.inViewport ? drawCommands.viewport : drawCommands.others).addAll(group.commands);
+            drawCommands.uuids.addAll(group.uuids);
+        }
+
+        // Aggregate all connectors, once all nodes are drawn.
+        final List<Command<AbstractCanvasHandler, CanvasViolation>> otherConnectors = new LinkedList<>();
         viewTraverseProcessor
                 .traverse(graph,
                           new AbstractContentTraverseCallback<View<?>, Node<View, Edge>, Edge<View<?>, Node>>() {
@@ -158,17 +269,99 @@ public class DrawCanvasCommand extends AbstractCanvasCommand {
                               @Override
                               public void startEdgeTraversal(final Edge<View<?>, Node> edge) {
                                   super.startEdgeTraversal(edge);
-                                  commandBuilder.addCommand(new AddCanvasConnectorCommand(edge,
-                                                                                          shapeSetId));
+                                  final AddCanvasConnectorCommand command = new AddCanvasConnectorCommand(edge,
+                                                                                                          shapeSetId);
+                                  drawCommands.uuids.add(edge.getUUID());
+                                  if (isInViewport(nodeGroups,
+                                                   edge.getSourceNode()) && isInViewport(nodeGroups,
+                                                                                         edge.getTargetNode())) {
+                                      drawCommands.viewport.add(command);
+                                  } else {
+                                      otherConnectors.add(command);
+                                  }
                               }
                           });
+        drawCommands.others.addAll(otherConnectors);
 
-        return executeCommands(context, commandBuilder);
+        return drawCommands;
     }
 
-    @Override
-    public CommandResult<CanvasViolation> undo(final AbstractCanvasHandler context) {
-        throw new UnsupportedOperationException("Undo operation for [" + this.getClass().getName() + "[ is not supported..");
+    private static boolean isInViewport(final Map<String, DrawGroup> nodeGroups,
+                                        final Node node) {
+        // Connectors may not be connected, or connected to nodes which are not drawn (e.g. the canvas root).
+        if (null == node || !nodeGroups.containsKey(node.getUUID())) {
+            return true;
+        }
+        return nodeGroups.get(node.getUUID()).inViewport;
+    }
+
+    private static boolean isInViewport(final Optional<Bounds> viewport,
+                                        final Node node) {
+        if (!viewport.isPresent()) {
+            return true;
+        }
+        if (!(node.getContent() instanceof View)) {
+            return false;
+        }
+        final Bounds bounds = ((View) node.getContent()).getBounds();
+        if (null == bounds || null == bounds.getUpperLeft() || null == bounds.getLowerRight()) {
+            return false;
+        }
+        final Bounds area = viewport.get();
+        return bounds.getUpperLeft().getX() <= area.getLowerRight().getX() &&
+                bounds.getLowerRight().getX() >= area.getUpperLeft().getX() &&
+                bounds.getUpperLeft().getY() <= area.getLowerRight().getY() &&
+                bounds.getLowerRight().getY() >= area.getUpperLeft().getY();
+    }
+
+    /**
+     * The visible area of the canvas, in diagram coordinates. It is not present when unknown (e.g. the canvas is not
+     * attached yet), so all the elements are considered visible.
+     */
+    private static Optional<Bounds> getViewport(final AbstractCanvasHandler context) {
+        final AbstractCanvas canvas = context.getAbstractCanvas();
+        final Transform transform = null != canvas ? canvas.getTransform() : null;
+        if (null == transform || canvas.getWidthPx() <= 0 || canvas.getHeightPx() <= 0) {
+            return Optional.empty();
+        }
+        final Point2D upperLeft = transform.inverse(0,
+                                                    0);
+        final Point2D lowerRight = transform.inverse(canvas.getWidthPx(),
+                                                     canvas.getHeightPx());
+        return Optional.of(Bounds.create(upperLeft.getX(),
+                                         upperLeft.getY(),
+                                         lowerRight.getX(),
+                                         lowerRight.getY()));
+    }
+
+    /**
+     * Drawing the viewport first adds its connectors to the canvas before the nodes outside of it, so once all the
+     * shapes are drawn they are brought to the top in the order a synchronous execution adds them.
+     */
+    private static void restoreOrder(final AbstractCanvasHandler context,
+                                     final List<String> uuids) {
+        final AbstractCanvas canvas = context.getAbstractCanvas();
+        for (final String uuid : uuids) {
+            final Shape shape = canvas.getShape(uuid);
+            if (null != shape && null != shape.getShapeView()) {
+                shape.getShapeView().moveToTop();
+            }
+        }
+    }
+
+    private static CommandResult<CanvasViolation> buildResult(final List<CommandResult<CanvasViolation>> results) {
+        CommandResult.Type type = CommandResult.Type.INFO;
+        final List<CanvasViolation> violations = new LinkedList<>();
+        for (final CommandResult<CanvasViolation> result : results) {
+            if (result.getType().getSeverity() > type.getSeverity()) {
+                type = result.getType();
+            }
+            if (null != result.getViolations()) {
+                result.getViolations().forEach(violations::add);
+            }
+        }
+        return new CommandResultImpl<>(type,
+                                       violations);
     }
 
     private BiPredicate<AbstractCanvasHandler, String> isCanvasRoot() {
@@ -192,8 +385,36 @@ public class DrawCanvasCommand extends AbstractCanvasCommand {
                 .execute(context);
     }
 
+    protected CommandResult<CanvasViolation> executeChunk(final AbstractCanvasHandler context,
+                                                          final CompositeCommand<AbstractCanvasHandler, CanvasViolation> chunk) {
+        return chunk.execute(context);
+    }
+
+    protected void scheduleIncremental(final Scheduler.RepeatingCommand command) {
+        Scheduler.get().scheduleIncremental(command);
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName();
     }
+
+    private static class DrawGroup {
+
+        private final boolean inViewport;
+        private final List<Command<AbstractCanvasHandler, CanvasViolation>> commands = new LinkedList<>();
+        private final List<String> uuids = new LinkedList<>();
+
+        private DrawGroup(final boolean inViewport) {
+            this.inViewport = inViewport;
+        }
+    }
+
+    private static class DrawCommands {
+
+        private final List<Command<AbstractCanvasHandler, CanvasViolation>> viewport = new LinkedList<>();
+        private final List<Command<AbstractCanvasHandler, CanvasViolation>> others = new ArrayList<>();
+        // The elements in the order they are drawn by a synchronous execution.
+        private final List<String> uuids = new LinkedList<>();
+    }
 }
@@ -38,6 +38,8 @@ import org.kie.workbench.common.stunner.core.graph.command.ContextualGraphComman
 /**
  * The default canvas command manager implementation.
  * It operates with instances of type <code>CanvasCommand</code> and throw different context events.
+ * The canvas element notifications produced while executing or undoing a command are batched, so the
+ * listeners get them once the command completes.
  */
 @Dependent
 public class CanvasCommandManagerImpl<H extends AbstractCanvasHandler>
@@ -84,14 +86,14 @@ public class CanvasCommandManagerImpl<H extends AbstractCanvasHandler>
     public CommandResult<CanvasViolation> execute(final H context,
                                                   final Command<H, CanvasViolation> command) {
         return runInContext(context,
-                            () -> postExecute(context, command, commandManager.execute(context, command)));
+                            () -> postExecute(context, command, batchNotifications(context, () -> commandManager.execute(context, command))));
     }
 
     @Override
     public CommandResult<CanvasViolation> undo(final H context,
                                                final Command<H, CanvasViolation> command) {
         return runInContext(context,
-                            () -> postUndo(context, command, commandManager.undo(context, command)));
+                            () -> postUndo(context, command, batchNotifications(context, () -> commandManager.undo(context, command))));
     }
 
     @Override
@@ -109,6 +111,16 @@ public class CanvasCommandManagerImpl<H extends AbstractCanvasHandler>
         return result;
     }
 
+    private CommandResult<CanvasViolation> batchNotifications(final AbstractCanvasHandler context,
+                                                              final Supplier<CommandResult<CanvasViolation>> function) {
+        context.openNotificationsBatch();
+        try {
+            return function.get();
+        } finally {
+            context.closeNotificationsBatch();
+        }
+    }
+
     private ContextualGraphCommandExecutionContext newGraphExecutionContext(final AbstractCanvasHandler context) {
         return new ContextualGraphCommandExecutionContext(context.getDefinitionManager(),
                                                           clientFactoryManager,
@@ -28,6 +28,7 @@ import org.kie.workbench.common.stunner.core.graph.content.HasBounds;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.Layout;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.LayoutExecutor;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.LayoutService;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 
 @Default
 public class LayoutHelper {
@@ -55,6 +56,7 @@ public class LayoutHelper {
                 if (CanvasLayoutUtils.isCanvasRoot(diagram, node)) {
                     if (node.getContent() instanceof HasBounds) {
                         ((HasBounds) node.getContent()).setBounds(Bounds.create(0, 0, 0, 0));
+                        GraphUtils.invalidateComputedPosition(node);
                     }
                 }
             }
@@ -30,6 +30,7 @@ import org.kie.workbench.common.stunner.core.graph.content.HasBounds;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.Layout;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.LayoutExecutor;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.VertexPosition;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.i18n.CoreTranslationMessages;
 import org.uberfire.workbench.events.NotificationEvent;
 
@@ -71,6 +72,7 @@ public final class OpenDiagramLayoutExecutor implements LayoutExecutor {
                         position.getBottomRight().getX(),
                         position.getBottomRight().getY()
                 ));
+                GraphUtils.invalidateComputedPosition(indexed);
             }
         }
 
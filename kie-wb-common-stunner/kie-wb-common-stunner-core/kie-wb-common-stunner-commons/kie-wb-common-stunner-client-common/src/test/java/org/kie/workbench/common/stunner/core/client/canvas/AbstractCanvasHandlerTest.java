@@ -0,0 +1,206 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.client.canvas;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementAddedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementRemovedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementUpdatedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementsClearEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.listener.CanvasElementListener;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.mocks.EventSourceMock;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbstractCanvasHandlerTest {
+
+    private static final String ELEMENT_UUID = "element1";
+
+    @Mock
+    private CanvasElementListener listener;
+
+    @Mock
+    private Element element;
+
+    @Mock
+    private EventSourceMock<CanvasElementAddedEvent> canvasElementAddedEvent;
+
+    @Mock
+    private EventSourceMock<CanvasElementRemovedEvent> canvasElementRemovedEvent;
+
+    @Mock
+    private EventSourceMock<CanvasElementUpdatedEvent> canvasElementUpdatedEvent;
+
+    @Mock
+    private EventSourceMock<CanvasElementsClearEvent> canvasElementsClearEvent;
+
+    private AbstractCanvasHandler tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        when(element.getUUID()).thenReturn(ELEMENT_UUID);
+        tested = new CanvasHandlerImpl(null,
+                                       null,
+                                       null,
+                                       null,
+                                       null,
+                                       null,
+                                       null,
+                                       canvasElementAddedEvent,
+                                       canvasElementRemovedEvent,
+                                       canvasElementUpdatedEvent,
+                                       canvasElementsClearEvent);
+        tested.addRegistrationListener(listener);
+    }
+
+    @Test
+    public void testNotifyOutOfBatch() {
+        tested.notifyCanvasElementAdded(element);
+        tested.notifyCanvasElementUpdated(element);
+        tested.notifyCanvasElementUpdated(element);
+
+        verify(listener).register(element);
+        verify(listener,
+               times(2)).update(element);
+    }
+
+    @Test
+    public void testNotificationsAreCoalesced() {
+        tested.openNotificationsBatch();
+        tested.notifyCanvasElementUpdated(element);
+        tested.notifyCanvasElementUpdated(element);
+        tested.notifyCanvasElementUpdated(element);
+        verifyZeroInteractions(listener);
+
+        tested.closeNotificationsBatch();
+        verify(listener,
+               times(1)).update(element);
+    }
+
+    @Test
+    public void testUpdatesAfterAddAreCoalesced() {
+        tested.openNotificationsBatch();
+        tested.notifyCanvasElementAdded(element);
+        tested.notifyCanvasElementUpdated(element);
+        tested.closeNotificationsBatch();
+
+        verify(listener).register(element);
+        verify(listener,
+               never()).update(any(Element.class));
+    }
+
+    @Test
+    public void testAddedAndRemovedInBatch() {
+        tested.openNotificationsBatch();
+        tested.notifyCanvasElementAdded(element);
+        tested.notifyCanvasElementRemoved(element);
+        tested.closeNotificationsBatch();
+
+        verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void testRemovedAndAddedInBatch() {
+        tested.openNotificationsBatch();
+        tested.notifyCanvasElementUpdated(element);
+        tested.notifyCanvasElementRemoved(element);
+        tested.notifyCanvasElementAdded(element);
+        tested.closeNotificationsBatch();
+
+        final InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).deregister(element);
+        inOrder.verify(listener).register(element);
+        verify(listener,
+               never()).update(any(Element.class));
+    }
+
+    @Test
+    public void testNestedBatches() {
+        tested.openNotificationsBatch();
+        tested.openNotificationsBatch();
+        tested.notifyCanvasElementUpdated(element);
+        tested.closeNotificationsBatch();
+        verifyZeroInteractions(listener);
+
+        tested.notifyCanvasElementUpdated(element);
+        tested.closeNotificationsBatch();
+        verify(listener,
+               times(1)).update(element);
+    }
+
+    @Test
+    public void testEventsOutOfBatch() {
+        tested.notifyCanvasElementAdded(element);
+        tested.notifyCanvasElementUpdated(element);
+        tested.notifyCanvasElementUpdated(element);
+        tested.notifyCanvasElementRemoved(element);
+
+        verify(canvasElementAddedEvent).fire(any(CanvasElementAddedEvent.class));
+        verify(canvasElementUpdatedEvent,
+               times(2)).fire(any(CanvasElementUpdatedEvent.class));
+        verify(canvasElementRemovedEvent).fire(any(CanvasElementRemovedEvent.class));
+    }
+
+    @Test
+    public void testEventsAreCoalesced() {
+        tested.openNotificationsBatch();
+        tested.notifyCanvasElementUpdated(element);
+        tested.notifyCanvasElementUpdated(element);
+        tested.notifyCanvasElementUpdated(element);
+        verify(canvasElementUpdatedEvent,
+               never()).fire(any(CanvasElementUpdatedEvent.class));
+
+        tested.closeNotificationsBatch();
+        final ArgumentCaptor<CanvasElementUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(CanvasElementUpdatedEvent.class);
+        verify(canvasElementUpdatedEvent,
+               times(1)).fire(eventCaptor.capture());
+        assertEquals(element,
+                     eventCaptor.getValue().getElement());
+    }
+
+    @Test
+    public void testEventsForAddedAndRemovedInBatch() {
+        tested.openNotificationsBatch();
+        tested.notifyCanvasElementAdded(element);
+        tested.notifyCanvasElementUpdated(element);
+        tested.notifyCanvasElementRemoved(element);
+        tested.closeNotificationsBatch();
+
+        verify(canvasElementAddedEvent,
+               never()).fire(any(CanvasElementAddedEvent.class));
+        verify(canvasElementUpdatedEvent,
+               never()).fire(any(CanvasElementUpdatedEvent.class));
+        verify(canvasElementRemovedEvent,
+               never()).fire(any(CanvasElementRemovedEvent.class));
+    }
+}
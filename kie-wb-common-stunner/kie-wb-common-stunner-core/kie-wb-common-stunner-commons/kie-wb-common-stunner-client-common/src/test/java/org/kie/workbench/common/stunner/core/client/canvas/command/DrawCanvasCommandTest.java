@@ -17,9 +17,12 @@
 package org.kie.workbench.common.stunner.core.client.canvas.command;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.StreamSupport;
 
+import com.google.gwt.core.client.Scheduler;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -27,29 +30,49 @@ import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
 import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvas;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
+import org.kie.workbench.common.stunner.core.client.canvas.Transform;
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.client.shape.Shape;
 import org.kie.workbench.common.stunner.core.client.shape.impl.ConnectorShape;
+import org.kie.workbench.common.stunner.core.client.shape.view.HasManageableControlPoints;
 import org.kie.workbench.common.stunner.core.client.shape.view.ShapeView;
 import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.impl.CommandResultImpl;
 import org.kie.workbench.common.stunner.core.command.impl.CompositeCommand;
+import org.kie.workbench.common.stunner.core.command.util.CommandUtils;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessorImpl;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ViewTraverseProcessorImpl;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.mvp.ParameterizedCommand;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DrawCanvasCommandTest {
@@ -87,6 +110,15 @@ public class DrawCanvasCommandTest {
     @Mock
     private ShapeView shapeView;
 
+    @Mock
+    private Transform transform;
+
+    @Mock
+    private ParameterizedCommand<CommandResult<CanvasViolation>> callback;
+
+    @Captor
+    private ArgumentCaptor<CommandResult<CanvasViolation>> resultCaptor;
+
     @Before
     public void setUp() throws Exception {
         this.graphHolder = TestingGraphInstanceBuilder.newGraph4(new TestingGraphMockHandler());
@@ -127,4 +159,163 @@ public class DrawCanvasCommandTest {
         assertEquals(commandList.stream().filter(cmd -> cmd instanceof AddCanvasDockedNodeCommand).count(), 1);
         assertEquals(commandList.stream().filter(cmd -> cmd instanceof AddCanvasConnectorCommand).count(), 2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void executeOutOfViewport() {
+        when(canvas.getTransform()).thenReturn(transform);
+        when(canvas.getWidthPx()).thenReturn(100);
+        when(canvas.getHeightPx()).thenReturn(100);
+        when(transform.inverse(0, 0)).thenReturn(new Point2D(-1000, -1000));
+        when(transform.inverse(100, 100)).thenReturn(new Point2D(-900, -900));
+
+        tested.execute(context);
+        verify(tested).executeCommands(eq(context), commandsCapture.capture());
+        final CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation> commands = commandsCapture.getValue();
+        assertEquals(7, commands.size());
+        assertTrue(commands.get(0) instanceof AddCanvasNodeCommand);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void executeIncrementally() {
+        doAnswer(invocation -> {
+            final Scheduler.RepeatingCommand command = (Scheduler.RepeatingCommand) invocation.getArguments()[0];
+            while (command.execute()) {
+            }
+            return null;
+        }).when(tested).scheduleIncremental(any(Scheduler.RepeatingCommand.class));
+
+        tested.execute(context, callback);
+        verify(tested).scheduleIncremental(any(Scheduler.RepeatingCommand.class));
+        verify(tested, never()).executeCommands(any(AbstractCanvasHandler.class), any(CompositeCommand.Builder.class));
+        verify(callback).execute(resultCaptor.capture());
+        assertFalse(CommandUtils.isError(resultCaptor.getValue()));
+        verify(context, times(7)).register(anyString(), any(Element.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void executeIncrementallyViewportFirst() {
+        final ViewportGraph viewportGraph = new ViewportGraph();
+        executeScheduledCommands();
+
+        tested.execute(context, callback);
+        final InOrder drawOrder = inOrder(context);
+        drawOrder.verify(context).register(SHAPE_SET_ID, viewportGraph.visibleNode1);
+        drawOrder.verify(context).register(SHAPE_SET_ID, viewportGraph.visibleNode2);
+        drawOrder.verify(context).register(SHAPE_SET_ID, viewportGraph.edge);
+        drawOrder.verify(context).register(SHAPE_SET_ID, viewportGraph.hiddenNode);
+        verify(callback).execute(resultCaptor.capture());
+        assertFalse(CommandUtils.isError(resultCaptor.getValue()));
+
+        // The connector is on top of the node out of the viewport, as when drawn synchronously.
+        final InOrder zOrder = inOrder(viewportGraph.hiddenNodeView,
+                                       viewportGraph.visibleNode1View,
+                                       viewportGraph.visibleNode2View,
+                                       viewportGraph.edgeView);
+        zOrder.verify(viewportGraph.hiddenNodeView).moveToTop();
+        zOrder.verify(viewportGraph.visibleNode1View).moveToTop();
+        zOrder.verify(viewportGraph.visibleNode2View).moveToTop();
+        zOrder.verify(viewportGraph.edgeView).moveToTop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void executeIncrementallyRevertOnError() {
+        final ViewportGraph viewportGraph = new ViewportGraph();
+        final CommandResult<CanvasViolation> error = new CommandResultImpl<>(CommandResult.Type.ERROR,
+                                                                             Collections.emptyList());
+        final List<CompositeCommand> chunks = new ArrayList<>();
+        doAnswer(invocation -> {
+            chunks.add((CompositeCommand) invocation.getArguments()[1]);
+            return chunks.size() == 1 ? invocation.callRealMethod() : error;
+        }).when(tested).executeChunk(eq(context), any(CompositeCommand.class));
+        executeScheduledCommands();
+
+        tested.execute(context, callback);
+        assertEquals(2, chunks.size());
+        verify(context).deregister(viewportGraph.visibleNode1);
+        verify(context).deregister(viewportGraph.visibleNode2);
+        verify(context).deregister(viewportGraph.edge);
+        verify(context, never()).register(SHAPE_SET_ID, viewportGraph.hiddenNode);
+        verify(viewportGraph.edgeView, never()).moveToTop();
+        verify(callback).execute(resultCaptor.capture());
+        assertTrue(CommandUtils.isError(resultCaptor.getValue()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void executeIncrementallyDiscardedOnDestroy() {
+        final ViewportGraph viewportGraph = new ViewportGraph();
+        final List<Scheduler.RepeatingCommand> scheduled = new ArrayList<>();
+        doAnswer(invocation -> scheduled.add((Scheduler.RepeatingCommand) invocation.getArguments()[0]))
+                .when(tested).scheduleIncremental(any(Scheduler.RepeatingCommand.class));
+
+        tested.execute(context, callback);
+        assertEquals(1, scheduled.size());
+        assertTrue(scheduled.get(0).execute());
+
+        // The handler destroys the graph index once cleared or destroyed.
+        when(context.getGraphIndex()).thenReturn(null);
+        assertFalse(scheduled.get(0).execute());
+        verify(context, never()).register(SHAPE_SET_ID, viewportGraph.hiddenNode);
+        verify(context, never()).deregister(any(Element.class));
+        verify(callback, never()).execute(any(CommandResult.class));
+    }
+
+    private void executeScheduledCommands() {
+        doAnswer(invocation -> {
+            final Scheduler.RepeatingCommand command = (Scheduler.RepeatingCommand) invocation.getArguments()[0];
+            while (command.execute()) {
+            }
+            return null;
+        }).when(tested).scheduleIncremental(any(Scheduler.RepeatingCommand.class));
+    }
+
+    /**
+     * A node out of the viewport, added first, and two nodes in the viewport, connected by an edge.
+     */
+    private class ViewportGraph {
+
+        private final Node hiddenNode;
+        private final Node visibleNode1;
+        private final Node visibleNode2;
+        private final Edge edge;
+        private final ShapeView hiddenNodeView;
+        private final ShapeView visibleNode1View;
+        private final ShapeView visibleNode2View;
+        private final ShapeView edgeView;
+
+        private ViewportGraph() {
+            final TestingGraphMockHandler handler = new TestingGraphMockHandler();
+            hiddenNode = handler.newViewNode("hiddenNode", Optional.empty(), 1000, 1000, 100, 100);
+            visibleNode1 = handler.newViewNode("visibleNode1", Optional.empty(), 0, 0, 100, 100);
+            visibleNode2 = handler.newViewNode("visibleNode2", Optional.empty(), 150, 0, 100, 100);
+            edge = handler.newEdge("edge", Optional.empty());
+            handler.addEdge(edge, visibleNode1)
+                    .connectTo(edge, visibleNode2);
+            when(graphIndex.getGraph()).thenReturn(handler.graph);
+
+            hiddenNodeView = mockShape(hiddenNode.getUUID(), mock(Shape.class), mock(ShapeView.class));
+            visibleNode1View = mockShape(visibleNode1.getUUID(), mock(Shape.class), mock(ShapeView.class));
+            visibleNode2View = mockShape(visibleNode2.getUUID(), mock(Shape.class), mock(ShapeView.class));
+            edgeView = mockShape(edge.getUUID(),
+                                 mock(ConnectorShape.class),
+                                 mock(ShapeView.class, withSettings().extraInterfaces(HasManageableControlPoints.class)));
+
+            when(canvas.getTransform()).thenReturn(transform);
+            when(canvas.getWidthPx()).thenReturn(300);
+            when(canvas.getHeightPx()).thenReturn(300);
+            when(transform.inverse(0, 0)).thenReturn(new Point2D(0, 0));
+            when(transform.inverse(300, 300)).thenReturn(new Point2D(300, 300));
+        }
+
+        private ShapeView mockShape(final String uuid,
+                                    final Shape shape,
+                                    final ShapeView view) {
+            when(canvas.getShape(uuid)).thenReturn(shape);
+            when(shape.getShapeView()).thenReturn(view);
+            return view;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.kie.workbench.common.stunner.core.rule.context.CardinalityContext;
 
@@ -67,6 +68,7 @@ public class DeregisterNodeCommand extends AbstractGraphCommand {
             this.removed = candidate;
             graph.removeNode(candidate.getUUID());
             getMutableIndex(context).removeNode(candidate);
+            GraphUtils.invalidateComputedPosition(candidate);
             LOGGER.log(Level.FINE,
                        "Node [" + uuid + " removed from strcture and index.");
         }
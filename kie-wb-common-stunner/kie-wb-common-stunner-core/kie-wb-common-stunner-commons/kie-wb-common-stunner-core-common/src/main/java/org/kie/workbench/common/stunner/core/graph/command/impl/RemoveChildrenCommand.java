@@ -31,6 +31,7 @@ import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecution
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Parent;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 
 /**
@@ -89,6 +90,7 @@ public class RemoveChildrenCommand extends AbstractGraphCommand {
             parent.getOutEdges().remove(edge);
             candidate.getInEdges().remove(edge);
             getMutableIndex(context).removeEdge(edge);
+            GraphUtils.invalidateComputedPosition(candidate);
         }
     }
 
@@ -23,12 +23,14 @@ import org.jboss.errai.common.client.api.annotations.MapsTo;
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 
 @Portable
 public class NodeImpl<C> extends AbstractElement<C> implements Node<C, Edge> {
 
     private final List<Edge> inEdges = new ArrayList<Edge>();
     private final List<Edge> outEdges = new ArrayList<Edge>();
+    private transient Point2D computedOrigin;
 
     public NodeImpl(final @MapsTo("uuid") String uuid) {
         super(uuid);
@@ -44,6 +46,17 @@ public class NodeImpl<C> extends AbstractElement<C> implements Node<C, Edge> {
         return outEdges;
     }
 
+    /**
+     * The absolute origin of this node, as cached by {@link org.kie.workbench.common.stunner.core.graph.util.GraphUtils}.
+     */
+    public Point2D getComputedOrigin() {
+        return computedOrigin;
+    }
+
+    public void setComputedOrigin(final Point2D computedOrigin) {
+        this.computedOrigin = computedOrigin;
+    }
+
     @Override
     public Node<C, Edge> asNode() {
         return this;
@@ -48,6 +48,7 @@ import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
 import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
 
 import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
 
@@ -219,19 +220,56 @@ public class GraphUtils {
     }
 
     public static Point2D getComputedPosition(final Node<?, ? extends Edge> element) {
-        double x = 0;
-        double y = 0;
-        Element<?> parent = element;
-        while (null != parent
-                && null != parent.asNode()
-                && parent.getContent() instanceof View) {
-            final Point2D position = getPosition((View) parent.getContent());
-            x += position.getX();
-            y += position.getY();
-            parent = getParent((Node<?, ? extends Edge>) parent);
+        if (null == element || !(element.getContent() instanceof View)) {
+            return new Point2D(0,
+                               0);
+        }
+        final Bound ul = ((View) element.getContent()).getBounds().getUpperLeft();
+        final Point2D origin = getComputedOrigin(element);
+        return new Point2D(origin.getX() + ul.getX(),
+                           origin.getY() + ul.getY());
+    }
+
+    /**
+     * The absolute origin of a node (the computed position of its parent) is kept by the node instance itself, so it
+     * is released together with the graph. As the node's own location is not cached, the origin only becomes stale
+     * when some ancestor is moved or when the node or some ancestor changes its parent.
+     */
+    @SuppressWarnings("unchecked")
+    private static Point2D getComputedOrigin(final Node<?, ? extends Edge> element) {
+        Point2D origin = element instanceof NodeImpl ? ((NodeImpl) element).getComputedOrigin() : null;
+        if (null == origin) {
+            final Element<?> parent = getParent(element);
+            origin = null != parent && null != parent.asNode() && parent.getContent() instanceof View ?
+                    getComputedPosition((Node<?, ? extends Edge>) parent) :
+                    new Point2D(0,
+                                0);
+            if (element instanceof NodeImpl) {
+                ((NodeImpl) element).setComputedOrigin(origin);
+            }
+        }
+        return origin;
+    }
+
+    /**
+     * Must be called once the given node or its parent relationship has changed (e.g. it has been moved, resized,
+     * added to or removed from a parent), so the computed positions of the node and its children are updated.
+     */
+    @SuppressWarnings("unchecked")
+    public static void invalidateComputedPosition(final Node<?, ? extends Edge> element) {
+        if (null == element) {
+            return;
+        }
+        if (element instanceof NodeImpl) {
+            ((NodeImpl) element).setComputedOrigin(null);
+        }
+        if (null != element.getOutEdges()) {
+            for (final Edge edge : element.getOutEdges()) {
+                if (edge.getContent() instanceof Child && null != edge.getTargetNode()) {
+                    invalidateComputedPosition(edge.getTargetNode());
+                }
+            }
         }
-        return new Point2D(x,
-                           y);
     }
 
     public static double[] getNodeSize(final View element) {
@@ -19,9 +19,11 @@ package org.kie.workbench.common.stunner.core.registry.impl;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.List;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.impl.AbstractCompositeCommand;
 import org.kie.workbench.common.stunner.core.registry.command.CommandRegistry;
 
 /**
@@ -29,15 +31,37 @@ import org.kie.workbench.common.stunner.core.registry.command.CommandRegistry;
  * It's implemented for achieving an in-memory and lightweight registry approach, don't do an overuse of it.
  * Note: The Stack class behavior when using the iterator is not the expected one, so used
  * ArrayDeque instead of an Stack to provide right iteration order.
+ * Besides the maximum number of commands, the registry is bounded by the total weight of the commands it keeps, so
+ * a few commands holding large fragments can't retain an unbounded amount of memory. Once the budget is exceeded
+ * the oldest commands are evicted, the weight of each command is computed once at registration time so peek and pop
+ * do not depend on the size of the history.
+ * The weight of a command is the number of commands it's composed of, within a budget of {@link #DEFAULT_MAX_WEIGHT}.
  */
 public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C> {
 
-    private final Deque<C> commands = new ArrayDeque<>();
+    static final int DEFAULT_MAX_WEIGHT = 10000;
+
+    private final Deque<Entry<C>> commands = new ArrayDeque<>();
     private int maxStackSize = 200;
+    private final int maxWeight;
+    private final ToIntFunction<C> weigher;
+    private int weight = 0;
+
+    public CommandRegistryImpl() {
+        this(DEFAULT_MAX_WEIGHT,
+             CommandRegistryImpl::weightOf);
+    }
+
+    CommandRegistryImpl(final int maxWeight,
+                        final ToIntFunction<C> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
 
     @Override
     public void setMaxSize(final int size) {
         this.maxStackSize = size;
+        evict();
     }
 
     @Override
@@ -53,6 +77,7 @@ public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C
     @Override
     public void clear() {
         commands.clear();
+        weight = 0;
     }
 
     @Override
@@ -67,25 +92,63 @@ public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C
 
     @Override
     public List<C> getCommandHistory() {
-        return commands.stream().collect(Collectors.toList());
+        return commands.stream().map(entry -> entry.command).collect(Collectors.toList());
     }
 
     @Override
     public C peek() {
-        return commands.peek();
+        final Entry<C> entry = commands.peek();
+        return null != entry ? entry.command : null;
     }
 
     @Override
     public C pop() {
-        return commands.pop();
+        final Entry<C> entry = commands.pop();
+        weight -= entry.weight;
+        return entry.command;
+    }
+
+    int getWeight() {
+        return weight;
     }
 
     private void addIntoStack(final C command) {
         if (null != command) {
-            if ((commands.size() + 1) > maxStackSize) {
-                commands.removeLast();
+            final Entry<C> entry = new Entry<>(command,
+                                               weigher.applyAsInt(command));
+            commands.push(entry);
+            weight += entry.weight;
+            evict();
+        }
+    }
+
+    private void evict() {
+        // The last registered command is always kept, even if it exceeds the weight budget on its own.
+        while (commands.size() > maxStackSize || (weight > maxWeight && commands.size() > 1)) {
+            weight -= commands.removeLast().weight;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static int weightOf(final Command command) {
+        int weight = 1;
+        if (command instanceof AbstractCompositeCommand) {
+            for (Command child : (List<Command>) ((AbstractCompositeCommand) command).getCommands()) {
+                weight += weightOf(child);
             }
-            commands.push(command);
+        }
+        return weight;
+    }
+
+    private static class Entry<C> {
+
+        private final C command;
+        private final int weight;
+
+        private Entry(final C command,
+                      final int weight) {
+            this.command = command;
+            this.weight = weight;
         }
     }
 }
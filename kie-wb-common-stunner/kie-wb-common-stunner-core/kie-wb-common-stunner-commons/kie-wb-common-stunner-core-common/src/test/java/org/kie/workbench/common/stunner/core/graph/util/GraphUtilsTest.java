@@ -26,10 +26,17 @@ import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
 import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
 import org.kie.workbench.common.stunner.core.TestingSimpleDomainObject;
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.Bounds;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -201,6 +208,86 @@ public class GraphUtilsTest {
         assertFalse(index5.isPresent());
     }
 
+    @Test
+    public void testGetComputedPosition() {
+        final Node<View<?>, Edge> parent = newViewNode("parent", 10d, 20d);
+        final Node<View<?>, Edge> child = newViewNode("child", 5d, 5d);
+        final Node<View<?>, Edge> grandChild = newViewNode("grandChild", 1d, 2d);
+        setChild(parent, child);
+        setChild(child, grandChild);
+
+        assertEquals(new Point2D(16d, 27d), GraphUtils.getComputedPosition(grandChild));
+
+        //The node's own location is not cached
+        grandChild.getContent().setBounds(Bounds.create(3d, 3d, 13d, 13d));
+        assertEquals(new Point2D(18d, 28d), GraphUtils.getComputedPosition(grandChild));
+
+        //Moving an ancestor invalidates the computed positions of its children
+        parent.getContent().setBounds(Bounds.create(100d, 100d, 200d, 200d));
+        GraphUtils.invalidateComputedPosition(parent);
+        assertEquals(new Point2D(105d, 105d), GraphUtils.getComputedPosition(child));
+        assertEquals(new Point2D(108d, 108d), GraphUtils.getComputedPosition(grandChild));
+    }
+
+    @Test
+    public void testGetComputedPositionWhenParentChanges() {
+        final Node<View<?>, Edge> parent = newViewNode("parent", 10d, 20d);
+        final Node<View<?>, Edge> child = newViewNode("child", 5d, 5d);
+        final Edge<Child, Node> edge = setChild(parent, child);
+        assertEquals(new Point2D(15d, 25d), GraphUtils.getComputedPosition(child));
+
+        parent.getOutEdges().remove(edge);
+        child.getInEdges().remove(edge);
+        GraphUtils.invalidateComputedPosition(child);
+        assertEquals(new Point2D(5d, 5d), GraphUtils.getComputedPosition(child));
+    }
+
+    @Test
+    public void testGetComputedPositionForSameUUIDOnDifferentGraphs() {
+        final Node<View<?>, Edge> parent1 = newViewNode("parent", 10d, 10d);
+        final Node<View<?>, Edge> child1 = newViewNode("child", 5d, 5d);
+        setChild(parent1, child1);
+        final Node<View<?>, Edge> parent2 = newViewNode("parent", 20d, 20d);
+        final Node<View<?>, Edge> child2 = newViewNode("child", 5d, 5d);
+        setChild(parent2, child2);
+
+        assertEquals(new Point2D(15d, 15d), GraphUtils.getComputedPosition(child1));
+        assertEquals(new Point2D(25d, 25d), GraphUtils.getComputedPosition(child2));
+    }
+
+    @Test
+    public void testComputedOriginIsKeptByTheNode() {
+        final Node<View<?>, Edge> parent = newViewNode("parent", 10d, 20d);
+        final Node<View<?>, Edge> child = newViewNode("child", 5d, 5d);
+        setChild(parent, child);
+        GraphUtils.getComputedPosition(child);
+        assertEquals(new Point2D(10d, 20d), ((NodeImpl) child).getComputedOrigin());
+
+        GraphUtils.invalidateComputedPosition(parent);
+        assertNull(((NodeImpl) child).getComputedOrigin());
+    }
+
+    private static Node<View<?>, Edge> newViewNode(final String uuid,
+                                                   final double x,
+                                                   final double y) {
+        final Node<View<?>, Edge> node = new NodeImpl<>(uuid);
+        node.setContent(new ViewImpl<>(new Object(),
+                                       Bounds.create(x, y, x + 10d, y + 10d)));
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Edge<Child, Node> setChild(final Node<View<?>, Edge> parent,
+                                              final Node<View<?>, Edge> child) {
+        final Edge<Child, Node> edge = new EdgeImpl<>(parent.getUUID() + "-" + child.getUUID());
+        edge.setContent(new Child());
+        edge.setSourceNode(parent);
+        edge.setTargetNode(child);
+        parent.getOutEdges().add(edge);
+        child.getInEdges().add(edge);
+        return edge;
+    }
+
     private DefinitionManager getDefinitionManager() {
         return graphTestHandler.getDefinitionManager();
     }
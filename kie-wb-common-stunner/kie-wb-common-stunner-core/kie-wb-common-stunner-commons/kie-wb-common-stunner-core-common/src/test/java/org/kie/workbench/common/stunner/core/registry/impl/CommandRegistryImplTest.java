@@ -22,6 +22,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.impl.CompositeCommand;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -171,4 +172,51 @@ public class CommandRegistryImplTest {
         assertTrue(tested.getCommandHistory().contains(commandTwo));
         assertTrue(tested.getCommandHistory().contains(commandThree));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCompositeCommandWeight() {
+        final Command composite = new CompositeCommand.Builder<>()
+                .addCommand(mock(Command.class))
+                .addCommand(mock(Command.class))
+                .build();
+        tested.register(command);
+        tested.register(composite);
+        assertEquals(4, tested.getWeight());
+        tested.pop();
+        assertEquals(1, tested.getWeight());
+    }
+
+    @Test
+    public void testEvictOldestCommandsOverMaxWeight() {
+        final Command commandTwo = mock(Command.class);
+        tested = new CommandRegistryImpl<>(7,
+                                           c -> c == command1 ? 5 : 2);
+        tested.register(command);
+        tested.register(commandTwo);
+        assertEquals(2, tested.getCommandHistory().size());
+        tested.register(command1);
+        assertEquals(2, tested.getCommandHistory().size());
+        assertEquals(command1, tested.getCommandHistory().get(0));
+        assertEquals(commandTwo, tested.getCommandHistory().get(1));
+        assertEquals(7, tested.getWeight());
+    }
+
+    @Test
+    public void testKeepLastCommandOverMaxWeight() {
+        tested = new CommandRegistryImpl<>(5,
+                                           c -> 10);
+        tested.register(command);
+        tested.register(command1);
+        assertEquals(1, tested.getCommandHistory().size());
+        assertEquals(command1, tested.peek());
+    }
+
+    @Test
+    public void testClearResetsWeight() {
+        tested.register(command);
+        tested.register(command1);
+        tested.clear();
+        assertEquals(0, tested.getWeight());
+    }
 }
@@ -43,6 +43,7 @@ import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
 import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnectorImpl;
 import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.kie.workbench.common.stunner.core.util.UUID;
 
@@ -272,6 +273,7 @@ public class CaseManagementSetChildNodeGraphCommand extends AbstractGraphCommand
         sourceNode.getOutEdges().remove(edge);
         targetNode.getInEdges().remove(edge);
         getMutableIndex(context).removeEdge(edge);
+        GraphUtils.invalidateComputedPosition(targetNode);
     }
 
     @SuppressWarnings("unchecked")
@@ -288,6 +290,7 @@ public class CaseManagementSetChildNodeGraphCommand extends AbstractGraphCommand
         sourceNode.getOutEdges().add(index.orElseGet(() -> sourceNode.getOutEdges().size()), edge);
         targetNode.getInEdges().add(edge);
         getMutableIndex(context).addEdge(edge);
+        GraphUtils.invalidateComputedPosition(targetNode);
     }
 
     @SuppressWarnings("unchecked")
@@ -389,6 +392,7 @@ public class CaseManagementSetChildNodeGraphCommand extends AbstractGraphCommand
                                                 pBounds.getUpperLeft().getX() + CHILD_WIDTH + STAGE_GAP * 2,
                                                 pBounds.getUpperLeft().getY() + STAGE_GAP + (STAGE_GAP + CHILD_HEIGHT) * childNodes.size());
             parent.getContent().setBounds(parentBounds);
+            GraphUtils.invalidateComputedPosition(parent);
         }
     }
 
@@ -402,6 +406,7 @@ public class CaseManagementSetChildNodeGraphCommand extends AbstractGraphCommand
                     final Optional<Bounds> cBounds = originalBounds.get(cNode.getUUID());
                     cBounds.ifPresent(b -> ((Node<View, Edge>) cNode).getContent().setBounds(b));
                 });
+        GraphUtils.invalidateComputedPosition(parent);
     }
 
     public OptionalInt getIndex() {
@@ -1216,6 +1216,9 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
             }
         }
 
+        //Merging is asserted once, around the changed cells only, when all the changes have been applied
+        data.beginUpdate();
+
         //---Update selected cells (before ungrouping otherwise selections would need to be expanded too)---
         changedBlock = new ArrayList<List<CellValue<? extends Comparable<?>>>>();
         for (CellValue<? extends Comparable<?>> cell : selections) {
@@ -1283,6 +1286,8 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
                             changedBlock);
         }
 
+        data.endUpdate();
+
         //Ungroup if applicable
         if (bUngroupCells) {
             for (CellValue<? extends Comparable<?>> cell : selections) {
@@ -1298,7 +1303,6 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
             //rows to be redrawn as a cell's new value could cause the merged span to increase. This is also 
             //the only mechanism available to update multiple individual cells' values when multiple 
             //cells are selected.
-            data.assertModelMerging();
 
             // Partial redraw
             int baseRowIndex = selections.first().getCoordinate().getRow();
@@ -1348,6 +1352,7 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
         }
 
         // Update underlying data (update before ungrouping as selections would need to be expanded too)
+        data.beginUpdate();
         for (CellValue<? extends Comparable<?>> cell : selections) {
             Coordinate c = cell.getCoordinate();
             if (!columns.get(c.getCol()).isSystemControlled()) {
@@ -1365,6 +1370,7 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
                             break;
                     }
                 }
+                data.assertModelMerging(c);
 
                 //Copy data that is changing for an event to update the underlying model
                 if (cell instanceof CellValue.GroupedCellValue) {
@@ -1381,6 +1387,7 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
                 }
             }
         }
+        data.endUpdate();
 
         //Ungroup if applicable
         if (bUngroupCells) {
@@ -1392,7 +1399,6 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
                 }
             }
         } else {
-            data.assertModelMerging();
 
             // Partial redraw
             int baseRowIndex = selections.first().getCoordinate().getRow();
@@ -18,8 +18,10 @@ package org.kie.workbench.common.widgets.decoratedgrid.client.widget.data;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.SortConfiguration;
@@ -39,6 +41,46 @@ public class DynamicData
 
     private List<DynamicDataRow> data = new ArrayList<DynamicDataRow>();
 
+    //Number of nested beginUpdate() calls pending of an endUpdate()
+    private int updating = 0;
+
+    //Changes recorded while updating, to be applied on endUpdate()
+    private boolean structureChanged = false;
+    private boolean indexesChanged = false;
+    private Map<Integer, int[]> changedCells = new HashMap<Integer, int[]>();
+
+    /**
+     * Start a bulk update. Merging and indexing are not asserted by the changes made until the matching call to
+     * {@link #endUpdate()}, that asserts them once for all the changes. Calls can be nested.
+     */
+    public void beginUpdate() {
+        updating++;
+    }
+
+    /**
+     * Finish a bulk update started with {@link #beginUpdate()}. If only cell values changed merging is only
+     * recalculated for the affected columns and neighbouring rows, otherwise the whole model is asserted.
+     */
+    public void endUpdate() {
+        if ( updating == 0 ) {
+            throw new IllegalStateException( "endUpdate() called without beginUpdate()" );
+        }
+        if ( --updating > 0 ) {
+            return;
+        }
+        if ( structureChanged ) {
+            assertModelMerging();
+        } else if ( !changedCells.isEmpty() ) {
+            assertChangedCellsMerging();
+            if ( indexesChanged ) {
+                assertModelIndexes();
+            }
+        } else if ( indexesChanged ) {
+            assertModelIndexes();
+        }
+        clearPendingChanges();
+    }
+
     /**
      * Add column to data
      * @param index
@@ -94,7 +136,7 @@ public class DynamicData
         visibleColumns.add( index,
                             isVisible );
 
-        assertModelMerging();
+        assertModelMergingUnlessUpdating();
     }
 
     /**
@@ -111,7 +153,7 @@ public class DynamicData
         }
         visibleColumns.add( targetColumnIndex,
                             visibleColumns.remove( sourceColumnIndex ) );
-        assertModelMerging();
+        assertModelMergingUnlessUpdating();
     }
 
     /**
@@ -122,7 +164,7 @@ public class DynamicData
         DynamicDataRow row = new DynamicDataRow();
         data.add( row );
 
-        assertModelMerging();
+        assertModelMergingUnlessUpdating();
         return row;
     }
 
@@ -136,7 +178,7 @@ public class DynamicData
         data.add( index,
                   rowData );
 
-        assertModelMerging();
+        assertModelMergingUnlessUpdating();
     }
 
     /**
@@ -200,12 +242,12 @@ public class DynamicData
             row.remove( index );
         }
         visibleColumns.remove( index );
-        assertModelMerging();
+        assertModelMergingUnlessUpdating();
     }
 
     public DynamicDataRow deleteRow( int index ) {
         DynamicDataRow row = data.remove( index );
-        assertModelMerging();
+        assertModelMergingUnlessUpdating();
         return row;
     }
 
@@ -335,7 +377,7 @@ public class DynamicData
             throw new IllegalArgumentException( "c cannot be null" );
         }
         data.get( c.getRow() ).get( c.getCol() ).setValue( value );
-        assertModelMerging();
+        assertModelMerging( c );
     }
 
     /**
@@ -347,7 +389,11 @@ public class DynamicData
                                      boolean isVisible ) {
         this.visibleColumns.set( index,
                                  isVisible );
-        assertModelIndexes();
+        if ( updating > 0 ) {
+            indexesChanged = true;
+        } else {
+            assertModelIndexes();
+        }
     }
 
     /**
@@ -445,7 +491,7 @@ public class DynamicData
                               } );
         }
 
-        assertModelMerging();
+        assertModelMergingUnlessUpdating();
 
     }
 
@@ -463,46 +509,50 @@ public class DynamicData
         }
 
         for ( int iRow = 0; iRow < data.size(); iRow++ ) {
-            DynamicDataRow row = data.get( iRow );
+            assertRowIndexes( iRow );
+        }
+    }
 
-            int colCount = 0;
-            for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+    private void assertRowIndexes( int iRow ) {
+        DynamicDataRow row = data.get( iRow );
 
-                int newRow = iRow;
-                int newCol = colCount;
-                CellValue<? extends Comparable<?>> indexCell = row.get( iCol );
-                indexCell.setCoordinate( new Coordinate( iRow,
-                                                         iCol ) );
+        int colCount = 0;
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
 
-                // Don't index hidden columns; indexing is used to
-                // map between HTML elements and the data behind
-                if ( visibleColumns.get( iCol ) ) {
+            int newRow = iRow;
+            int newCol = colCount;
+            CellValue<? extends Comparable<?>> indexCell = row.get( iCol );
+            indexCell.setCoordinate( new Coordinate( iRow,
+                                                     iCol ) );
 
-                    if ( indexCell.getRowSpan() != 0 ) {
-                        newRow = iRow;
-                        newCol = colCount++;
+            // Don't index hidden columns; indexing is used to
+            // map between HTML elements and the data behind
+            if ( visibleColumns.get( iCol ) ) {
 
-                        CellValue<? extends Comparable<?>> cell = data.get( newRow ).get( newCol );
-                        cell.setPhysicalCoordinate( new Coordinate( iRow,
-                                                                    iCol ) );
+                if ( indexCell.getRowSpan() != 0 ) {
+                    newRow = iRow;
+                    newCol = colCount++;
+
+                    CellValue<? extends Comparable<?>> cell = data.get( newRow ).get( newCol );
+                    cell.setPhysicalCoordinate( new Coordinate( iRow,
+                                                                iCol ) );
 
-                    } else {
-                        DynamicDataRow priorRow = data.get( iRow - 1 );
-                        CellValue<? extends Comparable<?>> priorCell = priorRow.get( iCol );
-                        Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
-                        newRow = priorHtmlCoordinate.getRow();
-                        newCol = priorHtmlCoordinate.getCol();
-                    }
                 } else {
-                    final int priorColIndex = ( iCol > 0 ? iCol - 1 : 0 );
-                    CellValue<? extends Comparable<?>> priorCell = row.get( priorColIndex );
+                    DynamicDataRow priorRow = data.get( iRow - 1 );
+                    CellValue<? extends Comparable<?>> priorCell = priorRow.get( iCol );
                     Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
                     newRow = priorHtmlCoordinate.getRow();
                     newCol = priorHtmlCoordinate.getCol();
                 }
-                indexCell.setHtmlCoordinate( new Coordinate( newRow,
-                                                             newCol ) );
+            } else {
+                final int priorColIndex = ( iCol > 0 ? iCol - 1 : 0 );
+                CellValue<? extends Comparable<?>> priorCell = row.get( priorColIndex );
+                Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
+                newRow = priorHtmlCoordinate.getRow();
+                newCol = priorHtmlCoordinate.getCol();
             }
+            indexCell.setHtmlCoordinate( new Coordinate( newRow,
+                                                         newCol ) );
         }
     }
 
@@ -515,6 +565,8 @@ public class DynamicData
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public void assertModelMerging() {
 
+        clearPendingChanges();
+
         if ( data.size() == 0 ) {
             return;
         }
@@ -553,32 +605,8 @@ public class DynamicData
                     cell2 = data.get( iRow ).get( iCol );
 
                     //Merge if both cells contain the same value and neither is grouped
-                    boolean bSplit = true;
-                    if ( !cell1.isEmpty() && !cell2.isEmpty() ) {
-                        if ( cell1.getValue().equals( cell2.getValue() ) ) {
-                            bSplit = false;
-                            if ( cell1 instanceof CellValue.GroupedCellValue ) {
-                                bSplit = true;
-                            }
-                            if ( cell2 instanceof CellValue.GroupedCellValue ) {
-                                bSplit = true;
-                            }
-                        }
-                    } else if ( cell1.isOtherwise() && cell2.isOtherwise() ) {
-                        bSplit = false;
-                        if ( cell1 instanceof CellValue.GroupedCellValue ) {
-                            CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell1;
-                            if ( gcv.hasMultipleValues() ) {
-                                bSplit = true;
-                            }
-                        }
-                        if ( cell2 instanceof CellValue.GroupedCellValue ) {
-                            CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell2;
-                            if ( gcv.hasMultipleValues() ) {
-                                bSplit = true;
-                            }
-                        }
-                    }
+                    boolean bSplit = isSplit( cell1,
+                                              cell2 );
 
                     if ( bSplit ) {
                         mergeCells( cell1,
@@ -599,6 +627,208 @@ public class DynamicData
 
     }
 
+    /**
+     * Ensure merging and indexing reflect a change to the value or state of a single cell. Only the merged cells of
+     * the cell's column that neighbour the change, and the indexes of the rows they span, are recalculated. This
+     * should be called whenever a cell's value or state is changed externally to {@link #set(Coordinate, Object)}.
+     * @param c coordinate of the changed cell
+     */
+    public void assertModelMerging( Coordinate c ) {
+        if ( c == null ) {
+            throw new IllegalArgumentException( "c cannot be null" );
+        }
+
+        int[] rows = changedCells.get( c.getCol() );
+        if ( rows == null ) {
+            changedCells.put( c.getCol(),
+                              new int[]{ c.getRow(), c.getRow() } );
+        } else {
+            rows[ 0 ] = Math.min( rows[ 0 ],
+                                  c.getRow() );
+            rows[ 1 ] = Math.max( rows[ 1 ],
+                                  c.getRow() );
+        }
+
+        if ( updating == 0 ) {
+            assertChangedCellsMerging();
+            clearPendingChanges();
+        }
+    }
+
+    private void assertModelMergingUnlessUpdating() {
+        if ( updating > 0 ) {
+            structureChanged = true;
+        } else {
+            assertModelMerging();
+        }
+    }
+
+    private void clearPendingChanges() {
+        structureChanged = false;
+        indexesChanged = false;
+        changedCells.clear();
+    }
+
+    //Recalculate merging and indexing around the cells whose values changed. Merging does not depend on values when
+    //the data is not merged and cells' coordinates only depend on the structure of the data, so there is nothing to do.
+    private void assertChangedCellsMerging() {
+        if ( !isMerged || data.size() == 0 ) {
+            return;
+        }
+
+        int minRowIndex = data.size();
+        int maxRowIndex = -1;
+        for ( Map.Entry<Integer, int[]> e : changedCells.entrySet() ) {
+            final int iCol = e.getKey();
+            final int[] rows = e.getValue();
+
+            //Changed rows can only join or split the merged cells adjacent to them
+            final int startRowIndex = findMergedCellStart( iCol,
+                                                           Math.max( rows[ 0 ] - 1,
+                                                                     0 ) );
+            final int endRowIndex = ( rows[ 1 ] + 1 < data.size() ) ? findMergedCellEnd( iCol,
+                                                                                         rows[ 1 ] + 1 ) : data.size();
+            mergeColumn( iCol,
+                         startRowIndex,
+                         endRowIndex );
+
+            minRowIndex = Math.min( minRowIndex,
+                                    startRowIndex );
+            maxRowIndex = Math.max( maxRowIndex,
+                                    endRowIndex - 1 );
+        }
+
+        //Rows following the changed ones keep their merging, however their HTML coordinates change if they reference
+        //a merged cell whose HTML coordinate changed. Stop as soon as a row is left unchanged.
+        for ( int iRow = minRowIndex; iRow < data.size(); iRow++ ) {
+            if ( iRow <= maxRowIndex ) {
+                resetRowIndexes( iRow );
+                assertRowIndexes( iRow );
+            } else if ( !isMergedWithPriorRow( iRow ) || !reassertRowIndexes( iRow ) ) {
+                break;
+            }
+        }
+    }
+
+    //Replicate the state removeModelMerging() leaves a row in, prior to indexing
+    private void resetRowIndexes( int iRow ) {
+        DynamicDataRow row = data.get( iRow );
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+            Coordinate c = new Coordinate( iRow,
+                                           iCol );
+            row.get( iCol ).setHtmlCoordinate( c );
+            row.get( iCol ).setPhysicalCoordinate( c );
+        }
+        int colCount = 0;
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+            if ( visibleColumns.get( iCol ) ) {
+                row.get( colCount++ ).setPhysicalCoordinate( new Coordinate( iRow,
+                                                                             iCol ) );
+            }
+        }
+    }
+
+    //Re-index a row whose merging did not change, returning whether any HTML coordinate changed
+    private boolean reassertRowIndexes( int iRow ) {
+        DynamicDataRow row = data.get( iRow );
+        Coordinate[] htmlCoordinates = new Coordinate[ row.size() ];
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+            htmlCoordinates[ iCol ] = row.get( iCol ).getHtmlCoordinate();
+        }
+
+        resetRowIndexes( iRow );
+        assertRowIndexes( iRow );
+
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+            Coordinate c = row.get( iCol ).getHtmlCoordinate();
+            if ( c.getRow() != htmlCoordinates[ iCol ].getRow() || c.getCol() != htmlCoordinates[ iCol ].getCol() ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Find the first row of the merged cell containing the given row
+    private int findMergedCellStart( int iCol,
+                                     int iRow ) {
+        while ( iRow > 0 && data.get( iRow ).get( iCol ).getRowSpan() == 0 ) {
+            iRow--;
+        }
+        return iRow;
+    }
+
+    //Find the row following the merged cell starting at, or containing, the given row
+    private int findMergedCellEnd( int iCol,
+                                   int iRow ) {
+        iRow++;
+        while ( iRow < data.size() && data.get( iRow ).get( iCol ).getRowSpan() == 0 ) {
+            iRow++;
+        }
+        return iRow;
+    }
+
+    //Merge cells with identical values in a column between startRowIndex (inclusive) and endRowIndex (exclusive)
+    private void mergeColumn( int iCol,
+                              int startRowIndex,
+                              int endRowIndex ) {
+        CellValue<?> cell1 = data.get( startRowIndex ).get( iCol );
+        int iMergeStartRowIndex = startRowIndex;
+        for ( int iRow = startRowIndex + 1; iRow <= endRowIndex; iRow++ ) {
+            CellValue<?> cell2 = ( iRow < endRowIndex ) ? data.get( iRow ).get( iCol ) : null;
+            if ( cell2 == null || isSplit( cell1,
+                                           cell2 ) ) {
+                for ( int iMergedRow = iMergeStartRowIndex; iMergedRow < iRow; iMergedRow++ ) {
+                    data.get( iMergedRow ).get( iCol ).setRowSpan( 0 );
+                }
+                cell1.setRowSpan( iRow - iMergeStartRowIndex );
+                cell1 = cell2;
+                iMergeStartRowIndex = iRow;
+            }
+        }
+    }
+
+    private boolean isMergedWithPriorRow( int iRow ) {
+        DynamicDataRow row = data.get( iRow );
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+            if ( visibleColumns.get( iCol ) && row.get( iCol ).getRowSpan() == 0 ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Check whether two cells in the same column should not be merged
+    private boolean isSplit( CellValue<?> cell1,
+                             CellValue<?> cell2 ) {
+        boolean bSplit = true;
+        if ( !cell1.isEmpty() && !cell2.isEmpty() ) {
+            if ( cell1.getValue().equals( cell2.getValue() ) ) {
+                bSplit = false;
+                if ( cell1 instanceof CellValue.GroupedCellValue ) {
+                    bSplit = true;
+                }
+                if ( cell2 instanceof CellValue.GroupedCellValue ) {
+                    bSplit = true;
+                }
+            }
+        } else if ( cell1.isOtherwise() && cell2.isOtherwise() ) {
+            bSplit = false;
+            if ( cell1 instanceof CellValue.GroupedCellValue ) {
+                CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell1;
+                if ( gcv.hasMultipleValues() ) {
+                    bSplit = true;
+                }
+            }
+            if ( cell2 instanceof CellValue.GroupedCellValue ) {
+                CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell2;
+                if ( gcv.hasMultipleValues() ) {
+                    bSplit = true;
+                }
+            }
+        }
+        return bSplit;
+    }
+
     //Expand a grouped row and return a list of expanded rows
     private List<DynamicDataRow> expandGroupedRow( DynamicDataRow row,
                                                    boolean bRecursive ) {
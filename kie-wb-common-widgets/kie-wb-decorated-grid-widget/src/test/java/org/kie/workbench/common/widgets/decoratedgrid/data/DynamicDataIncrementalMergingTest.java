@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.data;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import org.junit.Test;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Coordinate;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicData;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks merging maintained incrementally by DynamicData matches merging asserted for the whole model, and measures
+ * it on a large table.
+ */
+public class DynamicDataIncrementalMergingTest {
+
+    private static final Logger logger = Logger.getLogger(DynamicDataIncrementalMergingTest.class.getName());
+
+    private static final String[] VALUES = {"a", "b", null};
+
+    private final Random random = new Random(1234);
+
+    @Test
+    public void testIncrementalMergingMatchesFullMerging() {
+        for (int table = 0; table < 200; table++) {
+            final int rows = 1 + random.nextInt(12);
+            final int columns = 1 + random.nextInt(5);
+            final DynamicData data = makeData(rows,
+                                              columns,
+                                              3,
+                                              true);
+            data.setMerged(true);
+
+            for (int operation = 0; operation < 30; operation++) {
+                final boolean batched = random.nextInt(3) == 0;
+                if (batched) {
+                    data.beginUpdate();
+                }
+                final int changes = batched ? 1 + random.nextInt(4) : 1;
+                for (int change = 0; change < changes; change++) {
+                    setValue(data,
+                             new Coordinate(random.nextInt(rows),
+                                            random.nextInt(columns)));
+                }
+                if (batched) {
+                    data.endUpdate();
+                }
+
+                assertMergingIsComplete(data);
+            }
+        }
+    }
+
+    @Test
+    public void testLargeTable() {
+        final int rows = 5000;
+        final int columns = 50;
+        final DynamicData data = makeData(rows,
+                                          columns,
+                                          2,
+                                          false);
+        data.setMerged(true);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 1000; i++) {
+            setValue(data,
+                     new Coordinate(random.nextInt(rows),
+                                    random.nextInt(columns)));
+        }
+        logger.info("1000 single cell changes on a " + rows + "x" + columns + " table: " + (System.currentTimeMillis() - start) + " ms");
+
+        start = System.currentTimeMillis();
+        data.beginUpdate();
+        for (int i = 0; i < 1000; i++) {
+            setValue(data,
+                     new Coordinate(random.nextInt(rows),
+                                    random.nextInt(columns)));
+        }
+        data.endUpdate();
+        logger.info("1000 batched cell changes on a " + rows + "x" + columns + " table: " + (System.currentTimeMillis() - start) + " ms");
+
+        start = System.currentTimeMillis();
+        data.beginUpdate();
+        for (int i = 0; i < 100; i++) {
+            data.deleteRow(random.nextInt(data.size()));
+        }
+        data.endUpdate();
+        logger.info("100 batched row deletions on a " + rows + "x" + columns + " table: " + (System.currentTimeMillis() - start) + " ms");
+
+        assertMergingIsComplete(data);
+    }
+
+    private DynamicData makeData(final int rows,
+                                 final int columns,
+                                 final int values,
+                                 final boolean hiddenColumns) {
+        final DynamicData data = new DynamicData();
+        data.beginUpdate();
+        for (int iCol = 0; iCol < columns; iCol++) {
+            data.addColumn(iCol,
+                           new ArrayList<CellValue<? extends Comparable<?>>>(),
+                           !hiddenColumns || random.nextInt(4) != 0);
+        }
+        for (int iRow = 0; iRow < rows; iRow++) {
+            final DynamicDataRow row = new DynamicDataRow();
+            for (int iCol = 0; iCol < columns; iCol++) {
+                final CellValue<String> cell = new CellValue<String>(VALUES[random.nextInt(values)]);
+                if (cell.getValue() == null && random.nextBoolean()) {
+                    cell.addState(CellValue.CellState.OTHERWISE);
+                }
+                row.add(cell);
+            }
+            data.addRow(row);
+        }
+        data.endUpdate();
+        return data;
+    }
+
+    //Mimic the way cells are changed by the grid widget
+    private void setValue(final DynamicData data,
+                          final Coordinate c) {
+        final String value = VALUES[random.nextInt(VALUES.length)];
+        data.set(c,
+                 value);
+        if (value != null) {
+            data.get(c).removeState(CellValue.CellState.OTHERWISE);
+            data.assertModelMerging(c);
+        } else if (random.nextBoolean()) {
+            data.get(c).addState(CellValue.CellState.OTHERWISE);
+            data.assertModelMerging(c);
+        }
+    }
+
+    private void assertMergingIsComplete(final DynamicData data) {
+        final String incremental = describe(data);
+        data.assertModelMerging();
+        assertEquals(describe(data),
+                     incremental);
+    }
+
+    private String describe(final DynamicData data) {
+        final StringBuilder sb = new StringBuilder();
+        for (int iRow = 0; iRow < data.size(); iRow++) {
+            final DynamicDataRow row = data.get(iRow);
+            for (int iCol = 0; iCol < row.size(); iCol++) {
+                final CellValue<?> cell = row.get(iCol);
+                sb.append(cell.getRowSpan())
+                        .append(describe(cell.getCoordinate()))
+                        .append(describe(cell.getHtmlCoordinate()))
+                        .append(describe(cell.getPhysicalCoordinate()))
+                        .append(' ');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private String describe(final Coordinate c) {
+        return "(" + c.getRow() + "," + c.getCol() + ")";
+    }
+}